@@ -0,0 +1,143 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Chooses the chunk size of a data stream to a remote worker from what the stream observes.
+ *
+ * The smallest round trip time seen by the stream and the throughput of the last window of
+ * chunks estimate the bandwidth-delay product of the connection. While the stream mostly waits
+ * on the network, the chunk size moves towards a fraction of the bandwidth-delay product, so a
+ * few chunks are in flight while the per chunk overhead stays low. When the round trip time is
+ * not known yet, the chunk size doubles instead. While the stream mostly waits on the
+ * application, larger chunks do not help and the chunk size shrinks towards the same target.
+ * The chunk size changes at most by a factor of two per window, is a power of two and stays
+ * within the configured bounds.
+ */
+@NotThreadSafe
+public final class AdaptiveChunkSizer {
+  /** The number of chunks the bandwidth-delay product is split into. */
+  private static final int CHUNKS_PER_BDP = 4;
+  /** The number of chunks between two adjustments. */
+  static final int WINDOW_CHUNKS = 8;
+
+  private final long mMinChunkSize;
+  private final long mMaxChunkSize;
+  private long mChunkSize;
+
+  private long mMinRttNanos = Long.MAX_VALUE;
+  private long mWindowStartNanos = -1;
+  private long mWindowBytes;
+  private int mWindowChunks;
+  private int mNetworkBoundChunks;
+
+  /**
+   * @param conf the Alluxio configuration
+   * @param initialChunkSize the chunk size to start from
+   * @return a chunk sizer, or null if adaptive chunk sizing is disabled
+   */
+  @Nullable
+  public static AdaptiveChunkSizer create(AlluxioConfiguration conf, long initialChunkSize) {
+    if (!conf.getBoolean(PropertyKey.USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED)) {
+      return null;
+    }
+    return new AdaptiveChunkSizer(initialChunkSize,
+        conf.getBytes(PropertyKey.USER_STREAMING_CHUNK_SIZE_MIN),
+        conf.getBytes(PropertyKey.USER_STREAMING_CHUNK_SIZE_MAX));
+  }
+
+  /**
+   * @param initialChunkSize the chunk size to start from
+   * @param minChunkSize the min chunk size
+   * @param maxChunkSize the max chunk size
+   */
+  public AdaptiveChunkSizer(long initialChunkSize, long minChunkSize, long maxChunkSize) {
+    Preconditions.checkArgument(minChunkSize > 0 && minChunkSize <= maxChunkSize,
+        "invalid chunk size bounds [%s, %s]", minChunkSize, maxChunkSize);
+    mMinChunkSize = minChunkSize;
+    mMaxChunkSize = maxChunkSize;
+    mChunkSize = clamp(initialChunkSize);
+  }
+
+  /**
+   * Records a round trip of the stream, e.g. from a request to its first response.
+   *
+   * @param nanos the round trip time in nanoseconds
+   */
+  public void onRoundTrip(long nanos) {
+    if (nanos > 0) {
+      mMinRttNanos = Math.min(mMinRttNanos, nanos);
+    }
+  }
+
+  /**
+   * Records a chunk transferred by the stream.
+   *
+   * @param bytes the size of the chunk
+   * @param networkBound whether the stream had to wait on the network for the chunk
+   * @param nowNanos the current time in nanoseconds
+   */
+  public void onChunk(long bytes, boolean networkBound, long nowNanos) {
+    if (mWindowStartNanos < 0) {
+      // the first chunk only starts the clock
+      mWindowStartNanos = nowNanos;
+      return;
+    }
+    mWindowBytes += bytes;
+    mWindowChunks++;
+    if (networkBound) {
+      mNetworkBoundChunks++;
+    }
+    if (mWindowChunks >= WINDOW_CHUNKS) {
+      adjust(nowNanos);
+    }
+  }
+
+  /**
+   * @return the chunk size to use for the next chunks
+   */
+  public long getChunkSize() {
+    return mChunkSize;
+  }
+
+  private void adjust(long nowNanos) {
+    long elapsedNanos = nowNanos - mWindowStartNanos;
+    long target = mChunkSize;
+    if (elapsedNanos > 0) {
+      long bdpTarget = mMinRttNanos == Long.MAX_VALUE ? -1
+          : (long) ((double) mWindowBytes / elapsedNanos * mMinRttNanos / CHUNKS_PER_BDP);
+      if (mNetworkBoundChunks * 2 >= mWindowChunks) {
+        target = bdpTarget < 0 ? mChunkSize * 2 : bdpTarget;
+      } else if (bdpTarget >= 0) {
+        target = Math.min(mChunkSize, bdpTarget);
+      }
+    }
+    target = Math.max(mChunkSize / 2, Math.min(mChunkSize * 2, target));
+    mChunkSize = clamp(Long.highestOneBit(Math.max(1, target)));
+    mWindowStartNanos = nowNanos;
+    mWindowBytes = 0;
+    mWindowChunks = 0;
+    mNetworkBoundChunks = 0;
+  }
+
+  private long clamp(long chunkSize) {
+    return Math.max(mMinChunkSize, Math.min(mMaxChunkSize, chunkSize));
+  }
+}
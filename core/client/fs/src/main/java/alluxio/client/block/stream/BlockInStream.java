@@ -23,6 +23,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.status.NotFoundException;
 import alluxio.exception.status.OutOfRangeException;
+import alluxio.grpc.BlockRange;
 import alluxio.grpc.ReadRequest;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.proto.dataserver.Protocol;
@@ -35,6 +36,7 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +44,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Objects;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -224,6 +227,11 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     } else {
       factory = new GrpcDataReader.Factory(context, address, builder);
     }
+    if (blockSource != BlockInStreamSource.UFS
+        && conf.getBoolean(PropertyKey.USER_NETWORK_FILE_TRANSFER_ENABLED)) {
+      // The block is cached by the worker, try its file transfer endpoint first
+      factory = new FileTransferDataReader.Factory(context, address, blockId, factory);
+    }
     return new BlockInStream(factory, address, blockSource, blockId, blockSize);
   }
 
@@ -353,6 +361,18 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
       return -1;
     }
 
+    if (mDataReaderFactory instanceof GrpcDataReader.Factory) {
+      ByteString data = ((GrpcDataReader.Factory) mDataReaderFactory)
+          .readRange(pos, Math.min(len, mLength - pos));
+      if (data != null) {
+        if (data.isEmpty()) {
+          return -1;
+        }
+        data.copyTo(b, off);
+        return data.size();
+      }
+    }
+
     int lenCopy = len;
     try (DataReader reader = mDataReaderFactory.create(pos, len)) {
       // We try to read len bytes instead of returning after reading one chunk because
@@ -473,6 +493,20 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     mClosed = true;
   }
 
+  /**
+   * @param pos the position of the range in the block
+   * @param len the length of the range
+   * @return the range to read with a single call to the worker of this stream, or null if the
+   *         stream does not read from a worker with read streams
+   */
+  @Nullable
+  public BlockRange toBlockRange(long pos, long len) {
+    if (mDataReaderFactory instanceof GrpcDataReader.Factory) {
+      return ((GrpcDataReader.Factory) mDataReaderFactory).toBlockRange(pos, len);
+    }
+    return null;
+  }
+
   /**
    * @return the underlying data reader factory
    */
@@ -0,0 +1,116 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.BlockRange;
+import alluxio.grpc.Chunk;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
+import alluxio.resource.CloseableResource;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.protobuf.ByteString;
+import io.grpc.StatusRuntimeException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reads small ranges of blocks from a worker with single calls instead of read streams, which
+ * saves setting up a stream for each range. The ranges are sent in batches of at most
+ * {@link PropertyKey#USER_BLOCK_RANGE_READ_BATCH_MAX_BYTES} bytes, one call per batch.
+ */
+@ThreadSafe
+public final class BlockRangeReader {
+  private final FileSystemContext mContext;
+  private final long mThreshold;
+  private final long mBatchMaxBytes;
+
+  /**
+   * @param context the file system context
+   * @return a range reader, or null if range reads are disabled
+   */
+  @Nullable
+  public static BlockRangeReader create(FileSystemContext context) {
+    AlluxioConfiguration conf = context.getClusterConf();
+    if (!conf.getBoolean(PropertyKey.USER_BLOCK_RANGE_READ_ENABLED)) {
+      return null;
+    }
+    return new BlockRangeReader(context,
+        conf.getBytes(PropertyKey.USER_BLOCK_RANGE_READ_THRESHOLD),
+        conf.getBytes(PropertyKey.USER_BLOCK_RANGE_READ_BATCH_MAX_BYTES));
+  }
+
+  private BlockRangeReader(FileSystemContext context, long threshold, long batchMaxBytes) {
+    mContext = context;
+    mThreshold = threshold;
+    mBatchMaxBytes = batchMaxBytes;
+  }
+
+  /**
+   * @param length the length of a read
+   * @return whether a read of this length should be served by a range read
+   */
+  public boolean accepts(long length) {
+    return length > 0 && length <= mThreshold;
+  }
+
+  /**
+   * Reads ranges of blocks from a worker.
+   *
+   * @param address the address of the worker
+   * @param ranges the ranges to read
+   * @return the data of each range in order, which is shorter than the range if the block ends
+   *         before the end of the range
+   */
+  public List<ByteString> read(WorkerNetAddress address, List<BlockRange> ranges)
+      throws IOException {
+    List<ByteString> data = new ArrayList<>(ranges.size());
+    try (CloseableResource<BlockWorkerClient> client =
+             mContext.acquireBlockWorkerClient(address)) {
+      int start = 0;
+      while (start < ranges.size()) {
+        ReadBlockRangesRequest.Builder request = ReadBlockRangesRequest.newBuilder();
+        long batchBytes = 0;
+        int end = start;
+        // a batch holds at least one range
+        while (end < ranges.size()
+            && (end == start || batchBytes + ranges.get(end).getLength() <= mBatchMaxBytes)) {
+          batchBytes += ranges.get(end).getLength();
+          request.addRanges(ranges.get(end));
+          end++;
+        }
+        ReadBlockRangesResponse response = client.get().readBlockRanges(request.build());
+        if (response.getChunksCount() != end - start) {
+          throw new UnavailableException(String.format(
+              "Worker %s returned %d ranges for a request of %d ranges", address,
+              response.getChunksCount(), end - start));
+        }
+        for (Chunk chunk : response.getChunksList()) {
+          data.add(chunk.getData());
+        }
+        start = end;
+      }
+    } catch (StatusRuntimeException e) {
+      throw AlluxioStatusException.fromStatusRuntimeException(e);
+    }
+    return data;
+  }
+}
@@ -22,8 +22,12 @@ import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
 import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
+import alluxio.grpc.OpenFileTransferRequest;
+import alluxio.grpc.OpenFileTransferResponse;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.RemoveBlockRequest;
@@ -90,6 +94,24 @@ public interface BlockWorkerClient extends Closeable {
    */
   StreamObserver<ReadRequest> readBlock(StreamObserver<ReadResponse> responseObserver);
 
+  /**
+   * Reads ranges of blocks from the worker in a single call.
+   *
+   * @param request the request listing the ranges to read
+   * @return the response holding the data of each range
+   * @throws StatusRuntimeException if any error occurs
+   */
+  ReadBlockRangesResponse readBlockRanges(ReadBlockRangesRequest request);
+
+  /**
+   * Grants a single read of a block from the file transfer endpoint of the worker.
+   *
+   * @param request the request naming the block to read
+   * @return the response holding the token of the read and the port of the endpoint
+   * @throws StatusRuntimeException if any error occurs
+   */
+  OpenFileTransferResponse openFileTransfer(OpenFileTransferRequest request);
+
   /**
    * Creates a local block on the worker. This is a two stage operations:
    * 1. Client sends a create request through the request stream. Server will respond with the name
@@ -33,8 +33,12 @@ import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
 import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
+import alluxio.grpc.OpenFileTransferRequest;
+import alluxio.grpc.OpenFileTransferResponse;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.RemoveBlockRequest;
@@ -195,6 +199,18 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
     }
   }
 
+  @Override
+  public ReadBlockRangesResponse readBlockRanges(ReadBlockRangesRequest request) {
+    return mRpcBlockingStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
+        .readBlockRanges(request);
+  }
+
+  @Override
+  public OpenFileTransferResponse openFileTransfer(OpenFileTransferRequest request) {
+    return mRpcBlockingStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
+        .openFileTransfer(request);
+  }
+
   @Override
   public StreamObserver<CreateLocalBlockRequest> createLocalBlock(
       StreamObserver<CreateLocalBlockResponse> responseObserver) {
@@ -0,0 +1,195 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.grpc.OpenFileTransferRequest;
+import alluxio.grpc.OpenFileTransferResponse;
+import alluxio.network.protocol.FileTransferProtocol;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NioDataBuffer;
+import alluxio.resource.CloseableResource;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Preconditions;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A data reader that reads a block from the file transfer endpoint of a worker, which sends
+ * the block file to the socket without copying it through user space on the worker. Each
+ * reader is granted its read over the gRPC client of the worker and then uses its own
+ * connection, see {@link FileTransferProtocol}.
+ */
+@NotThreadSafe
+public final class FileTransferDataReader implements DataReader {
+  private static final Logger LOG = LoggerFactory.getLogger(FileTransferDataReader.class);
+
+  private final Socket mSocket;
+  private final DataInputStream mIn;
+  private final long mEnd;
+  private final long mChunkSize;
+  private long mPos;
+  private boolean mClosed;
+
+  /**
+   * Creates an instance of {@link FileTransferDataReader}.
+   *
+   * @param socket the connected socket, the request has been sent and the reply header read
+   * @param in the input stream of the socket
+   * @param offset the offset
+   * @param len the length which will be sent by the worker
+   * @param chunkSize the chunk size
+   */
+  private FileTransferDataReader(Socket socket, DataInputStream in, long offset, long len,
+      long chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0);
+    mSocket = socket;
+    mIn = in;
+    mPos = offset;
+    mEnd = offset + len;
+    mChunkSize = chunkSize;
+  }
+
+  @Override
+  public DataBuffer readChunk() throws IOException {
+    if (mPos >= mEnd) {
+      return null;
+    }
+    byte[] chunk = new byte[(int) Math.min(mChunkSize, mEnd - mPos)];
+    mIn.readFully(chunk);
+    mPos += chunk.length;
+    return new NioDataBuffer(ByteBuffer.wrap(chunk), chunk.length);
+  }
+
+  @Override
+  public long pos() {
+    return mPos;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    mSocket.close();
+  }
+
+  /**
+   * Factory class to create {@link FileTransferDataReader}s. Reads fall back to the given
+   * factory once the worker fails to serve the block from its file transfer endpoint, e.g.
+   * because the endpoint is disabled or the block is not in the worker's local storage.
+   */
+  @NotThreadSafe
+  public static class Factory implements DataReader.Factory {
+    private final FileSystemContext mContext;
+    private final WorkerNetAddress mAddress;
+    private final long mBlockId;
+    private final long mChunkSize;
+    private final int mTimeoutMs;
+    private final DataReader.Factory mFallbackFactory;
+    private boolean mFallback;
+
+    /**
+     * Creates an instance of {@link Factory}.
+     *
+     * @param context the file system context
+     * @param address the worker address
+     * @param blockId the block ID
+     * @param fallbackFactory the factory to create readers when the file transfer fails
+     */
+    public Factory(FileSystemContext context, WorkerNetAddress address, long blockId,
+        DataReader.Factory fallbackFactory) {
+      AlluxioConfiguration conf = context.getClusterConf();
+      mContext = context;
+      mAddress = address;
+      mBlockId = blockId;
+      mChunkSize = conf.getBytes(PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES);
+      mTimeoutMs = (int) conf.getMs(PropertyKey.USER_STREAMING_DATA_READ_TIMEOUT);
+      mFallbackFactory = fallbackFactory;
+    }
+
+    @Override
+    public DataReader create(long offset, long len) throws IOException {
+      if (!mFallback) {
+        try {
+          return open(offset, len);
+        } catch (IOException e) {
+          LOG.debug("Failed to read block {} from the file transfer endpoint {}, falling back",
+              mBlockId, mAddress, e);
+          mFallback = true;
+        }
+      }
+      return mFallbackFactory.create(offset, len);
+    }
+
+    private DataReader open(long offset, long len) throws IOException {
+      OpenFileTransferResponse grant;
+      try (CloseableResource<BlockWorkerClient> client =
+               mContext.acquireBlockWorkerClient(mAddress)) {
+        grant = client.get().openFileTransfer(
+            OpenFileTransferRequest.newBuilder().setBlockId(mBlockId).build());
+      } catch (StatusRuntimeException e) {
+        throw AlluxioStatusException.fromStatusRuntimeException(e);
+      }
+      Socket socket = new Socket();
+      try {
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(mTimeoutMs);
+        socket.connect(new InetSocketAddress(mAddress.getHost(), grant.getPort()), mTimeoutMs);
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeLong(grant.getToken());
+        out.writeLong(mBlockId);
+        out.writeLong(offset);
+        out.writeLong(len);
+        out.flush();
+        DataInputStream in =
+            new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        long length = in.readLong();
+        if (length == FileTransferProtocol.ERROR) {
+          byte[] message = new byte[in.readInt()];
+          in.readFully(message);
+          throw new NotFoundException(new String(message, StandardCharsets.UTF_8));
+        }
+        if (length < 0 || length > len) {
+          throw new IOException(String.format(
+              "Invalid reply length %d for a read of %d bytes", length, len));
+        }
+        return new FileTransferDataReader(socket, in, offset, length, mChunkSize);
+      } catch (IOException | RuntimeException e) {
+        socket.close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      mFallbackFactory.close();
+    }
+  }
+}
@@ -216,6 +216,20 @@ public class GrpcBlockingStream<ReqT, ResT> {
     }
   }
 
+  /**
+   * @return whether a response has arrived which is not received yet
+   */
+  public boolean hasPendingResponse() {
+    return !mResponses.isEmpty();
+  }
+
+  /**
+   * @return whether a request can be sent without waiting for the flow control of the stream
+   */
+  public boolean isReady() {
+    return mRequestObserver.isReady();
+  }
+
   /**
    * Closes the outbound stream. If the stream is already closed then invoking this method has no
    * effect.
@@ -15,6 +15,8 @@ import alluxio.Constants;
 import alluxio.client.file.FileSystemContext;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.status.UnimplementedException;
+import alluxio.grpc.BlockRange;
 import alluxio.grpc.DataMessage;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
@@ -30,11 +32,14 @@ import alluxio.wire.WorkerNetAddress;
 import com.codahale.metrics.Timer;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -63,6 +68,11 @@ public final class GrpcDataReader implements DataReader {
   private final GrpcBlockingStream<ReadRequest, ReadResponse> mStream;
   private final ReadResponseMarshaller mMarshaller;
   private final long mCloseWaitMs;
+  /** Chooses the chunk size requested in the receipts, null if the chunk size is fixed. */
+  @Nullable
+  private final AdaptiveChunkSizer mChunkSizer;
+  /** The time the read request was sent, or -1 once the first chunk has arrived. */
+  private long mRequestSentNanos = -1;
 
   /** The next pos to read. */
   private long mPosToRead;
@@ -87,6 +97,7 @@ public final class GrpcDataReader implements DataReader {
     mCloseWaitMs = alluxioConf.getMs(PropertyKey.USER_STREAMING_READER_CLOSE_TIMEOUT);
     int readerBufferSizeMessages = alluxioConf
         .getInt(PropertyKey.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES);
+    mChunkSizer = AdaptiveChunkSizer.create(alluxioConf, readRequest.getChunkSize());
 
     try {
       if (alluxioConf.getBoolean(PropertyKey.USER_STREAMING_ZEROCOPY_ENABLED)) {
@@ -112,6 +123,7 @@ public final class GrpcDataReader implements DataReader {
             desc);
       }
       mStream.send(mReadRequest, mDataTimeoutMs);
+      mRequestSentNanos = System.nanoTime();
     } catch (Exception e) {
       mClient.close();
       throw e;
@@ -139,6 +151,7 @@ public final class GrpcDataReader implements DataReader {
         "Data reader is closed while reading data chunks.");
     DataBuffer buffer = null;
     ReadResponse response = null;
+    boolean networkBound = mChunkSizer != null && !mStream.hasPendingResponse();
     if (mStream instanceof GrpcDataMessageBlockingStream) {
       DataMessage<ReadResponse, DataBuffer> message =
           ((GrpcDataMessageBlockingStream<ReadRequest, ReadResponse>) mStream)
@@ -166,8 +179,18 @@ public final class GrpcDataReader implements DataReader {
       return null;
     }
     mPosToRead += buffer.readableBytes();
+    ReadRequest.Builder receipt = mReadRequest.toBuilder().setOffsetReceived(mPosToRead);
+    if (mChunkSizer != null) {
+      long now = System.nanoTime();
+      if (mRequestSentNanos >= 0) {
+        mChunkSizer.onRoundTrip(now - mRequestSentNanos);
+        mRequestSentNanos = -1;
+      }
+      mChunkSizer.onChunk(buffer.readableBytes(), networkBound, now);
+      receipt.setChunkSize(mChunkSizer.getChunkSize());
+    }
     try {
-      mStream.send(mReadRequest.toBuilder().setOffsetReceived(mPosToRead).build());
+      mStream.send(receipt.build());
     } catch (Exception e) {
       // nothing is done as the receipt is sent at best effort
       LOG.debug("Failed to send receipt of data to worker {} for request {}: {}.", mAddress,
@@ -203,6 +226,10 @@ public final class GrpcDataReader implements DataReader {
             mCloseWaitMs, mReadRequest.getBlockId(), mAddress);
       }
     } finally {
+      if (mChunkSizer != null) {
+        MetricsSystem.histogram(MetricKey.CLIENT_BLOCK_READ_CHUNK_SIZE.getName())
+            .update(mChunkSizer.getChunkSize());
+      }
       mMarshaller.close();
       mClient.close();
     }
@@ -215,6 +242,10 @@ public final class GrpcDataReader implements DataReader {
     private final FileSystemContext mContext;
     private final WorkerNetAddress mAddress;
     private final ReadRequest.Builder mReadRequestBuilder;
+    /** Reads small ranges with single calls, null if range reads are disabled or unsupported. */
+    @Nullable
+    private BlockRangeReader mRangeReader;
+    private boolean mRangeReaderCreated;
 
     /**
      * Creates an instance of {@link GrpcDataReader.Factory} for block reads.
@@ -236,6 +267,50 @@ public final class GrpcDataReader implements DataReader {
           mReadRequestBuilder.setOffset(offset).setLength(len).build());
     }
 
+    /**
+     * Reads a range of the block with a single call instead of a read stream, if the range is
+     * small enough to be read this way.
+     *
+     * @param offset the offset of the range in the block
+     * @param len the length of the range
+     * @return the data of the range, or null if the range should be read with a read stream
+     */
+    @Nullable
+    public ByteString readRange(long offset, long len) throws IOException {
+      if (!mRangeReaderCreated) {
+        mRangeReader = BlockRangeReader.create(mContext);
+        mRangeReaderCreated = true;
+      }
+      if (mRangeReader == null || !mRangeReader.accepts(len)) {
+        return null;
+      }
+      try {
+        return mRangeReader.read(mAddress, Collections.singletonList(toBlockRange(offset, len)))
+            .get(0);
+      } catch (UnimplementedException e) {
+        LOG.debug("Worker {} does not support range reads: {}", mAddress, e.getMessage());
+        mRangeReader = null;
+        return null;
+      }
+    }
+
+    /**
+     * @param offset the offset of the range in the block
+     * @param len the length of the range
+     * @return the range of the block read by this factory, for reading it with a single call
+     */
+    public BlockRange toBlockRange(long offset, long len) {
+      BlockRange.Builder range = BlockRange.newBuilder()
+          .setBlockId(mReadRequestBuilder.getBlockId())
+          .setOffset(offset)
+          .setLength(len)
+          .setPositionShort(mReadRequestBuilder.getPositionShort());
+      if (mReadRequestBuilder.hasOpenUfsBlockOptions()) {
+        range.setOpenUfsBlockOptions(mReadRequestBuilder.getOpenUfsBlockOptions());
+      }
+      return range.build();
+    }
+
     @Override
     public void close() throws IOException {}
   }
@@ -24,6 +24,8 @@ import alluxio.grpc.WriteRequest;
 import alluxio.grpc.WriteRequestCommand;
 import alluxio.grpc.WriteRequestMarshaller;
 import alluxio.grpc.WriteResponse;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.resource.CloseableResource;
@@ -37,6 +39,7 @@ import io.netty.buffer.ByteBuf;
 
 import java.io.IOException;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -68,6 +71,9 @@ public final class GrpcDataWriter implements DataWriter {
   private final WriteRequestCommand mPartialRequest;
   private final long mChunkSize;
   private final GrpcBlockingStream<WriteRequest, WriteResponse> mStream;
+  /** Chooses the size of the chunks to write, null if the chunk size is fixed. */
+  @Nullable
+  private final AdaptiveChunkSizer mChunkSizer;
 
   /** The content hash resulting from the write operation if one is available. */
   private String mContentHash = null;
@@ -155,6 +161,7 @@ public final class GrpcDataWriter implements DataWriter {
     builder.setSpaceToReserve(reservedBytes);
     mPartialRequest = builder.buildPartial();
     mChunkSize = chunkSize;
+    mChunkSizer = AdaptiveChunkSizer.create(conf, chunkSize);
     mClient = client;
     int writerBufferSizeMessages = conf.getInt(
         PropertyKey.USER_STREAMING_WRITER_BUFFER_SIZE_MESSAGES);
@@ -189,6 +196,9 @@ public final class GrpcDataWriter implements DataWriter {
   @Override
   public void writeChunk(final ByteBuf buf) throws IOException {
     mPosToQueue += buf.readableBytes();
+    if (mChunkSizer != null) {
+      mChunkSizer.onChunk(buf.readableBytes(), !mStream.isReady(), System.nanoTime());
+    }
     try {
       WriteRequest request = WriteRequest.newBuilder().setCommand(mPartialRequest).setChunk(
           Chunk.newBuilder()
@@ -239,6 +249,7 @@ public final class GrpcDataWriter implements DataWriter {
         .setCommand(mPartialRequest.toBuilder().setOffset(mPosToQueue).setFlush(true))
         .build();
     mStream.send(writeRequest, mDataTimeoutMs);
+    long flushStartNanos = System.nanoTime();
     long posWritten;
     do {
       WriteResponse response = mStream.receive(mWriterFlushTimeoutMs);
@@ -252,6 +263,9 @@ public final class GrpcDataWriter implements DataWriter {
         mContentHash = response.getContentHash();
       }
     } while (mPosToQueue != posWritten);
+    if (mChunkSizer != null) {
+      mChunkSizer.onRoundTrip(System.nanoTime() - flushStartNanos);
+    }
   }
 
   @Override
@@ -265,13 +279,17 @@ public final class GrpcDataWriter implements DataWriter {
           .ifPresent(writeResponse -> mContentHash = writeResponse.hasContentHash()
               ? writeResponse.getContentHash() : null);
     } finally {
+      if (mChunkSizer != null) {
+        MetricsSystem.histogram(MetricKey.CLIENT_BLOCK_WRITE_CHUNK_SIZE.getName())
+            .update(mChunkSizer.getChunkSize());
+      }
       mClient.close();
     }
   }
 
   @Override
   public int chunkSize() {
-    return (int) mChunkSize;
+    return (int) (mChunkSizer == null ? mChunkSize : mChunkSizer.getChunkSize());
   }
 }
 
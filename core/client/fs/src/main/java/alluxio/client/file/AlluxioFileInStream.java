@@ -16,6 +16,7 @@ import alluxio.annotation.PublicApi;
 import alluxio.client.ReadType;
 import alluxio.client.block.BlockStoreClient;
 import alluxio.client.block.stream.BlockInStream;
+import alluxio.client.block.stream.BlockRangeReader;
 import alluxio.client.block.stream.BlockWorkerClient;
 import alluxio.client.file.options.InStreamOptions;
 import alluxio.conf.AlluxioConfiguration;
@@ -23,6 +24,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.OutOfRangeException;
+import alluxio.grpc.BlockRange;
 import alluxio.grpc.CacheRequest;
 import alluxio.grpc.FileSystemMasterCommonPOptions;
 import alluxio.grpc.ListStatusPOptions;
@@ -39,6 +41,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import com.google.common.io.Closer;
+import com.google.protobuf.ByteString;
 import io.grpc.StatusRuntimeException;
 import io.netty.util.internal.OutOfDirectMemoryError;
 import org.slf4j.Logger;
@@ -47,10 +50,12 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -340,6 +345,96 @@ public class AlluxioFileInStream extends FileInStream {
     return lenCopy - len;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * When range reads are enabled, the small ranges within a block which are served by remote
+   * workers are read with a few calls per worker. The other ranges, and the ranges whose calls
+   * fail, are read one by one with positioned reads.
+   */
+  @Override
+  public void readVectored(List<FileRange> ranges, IntFunction<ByteBuffer> allocate) {
+    BlockRangeReader rangeReader = BlockRangeReader.create(mContext);
+    if (rangeReader == null) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    List<FileRange> remaining = new ArrayList<>();
+    Map<WorkerNetAddress, List<FileRange>> fileRanges = new HashMap<>();
+    Map<WorkerNetAddress, List<BlockRange>> blockRanges = new HashMap<>();
+    Map<Long, BlockInStream> streams = new HashMap<>();
+    long preadThreshold = mContext.getPathConf(new AlluxioURI(mStatus.getPath()))
+        .getBytes(PropertyKey.USER_FILE_SEQUENTIAL_PREAD_THRESHOLD);
+    try {
+      for (FileRange range : ranges) {
+        long offset = range.getOffset();
+        long blockOffset = offset % mBlockSize;
+        if (!rangeReader.accepts(range.getLength()) || offset < 0
+            || offset + range.getLength() > mLength
+            || blockOffset + range.getLength() > mBlockSize) {
+          remaining.add(range);
+          continue;
+        }
+        if (range.getLength() < preadThreshold) {
+          mOptions.setPositionShort(true);
+        }
+        long blockId = mStatus.getBlockIds().get(Math.toIntExact(offset / mBlockSize));
+        BlockInStream stream = streams.get(blockId);
+        if (stream == null) {
+          try {
+            stream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
+          } catch (IOException | RuntimeException e) {
+            LOG.debug("Failed to open block {} for range reads: {}", blockId, e.toString());
+            remaining.add(range);
+            continue;
+          }
+          streams.put(blockId, stream);
+        }
+        BlockRange blockRange = stream.toBlockRange(blockOffset, range.getLength());
+        if (blockRange == null) {
+          // the block is not read from a remote worker
+          remaining.add(range);
+          continue;
+        }
+        fileRanges.computeIfAbsent(stream.getAddress(), k -> new ArrayList<>()).add(range);
+        blockRanges.computeIfAbsent(stream.getAddress(), k -> new ArrayList<>()).add(blockRange);
+      }
+    } finally {
+      for (BlockInStream stream : streams.values()) {
+        try {
+          closeBlockInStream(stream);
+        } catch (IOException e) {
+          LOG.debug("Failed to close block stream {}: {}", stream.getId(), e.toString());
+        }
+      }
+    }
+    for (Map.Entry<WorkerNetAddress, List<FileRange>> entry : fileRanges.entrySet()) {
+      List<FileRange> workerRanges = entry.getValue();
+      List<ByteString> data;
+      try {
+        data = rangeReader.read(entry.getKey(), blockRanges.get(entry.getKey()));
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to read {} ranges from worker {}, reading them one by one: {}",
+            workerRanges.size(), entry.getKey(), e.toString());
+        remaining.addAll(workerRanges);
+        continue;
+      }
+      for (int i = 0; i < workerRanges.size(); i++) {
+        FileRange range = workerRanges.get(i);
+        if (data.get(i).size() != range.getLength()) {
+          // the block is shorter than expected, the positioned read reports it
+          remaining.add(range);
+          continue;
+        }
+        ByteBuffer buffer = allocate.apply(range.getLength());
+        data.get(i).copyTo(buffer);
+        buffer.flip();
+        range.getData().complete(buffer);
+      }
+    }
+    super.readVectored(remaining, allocate);
+  }
+
   /* Seekable methods */
   @Override
   public long getPos() {
@@ -20,9 +20,12 @@ import alluxio.util.io.BufferUtils;
 
 import com.google.common.base.Preconditions;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -103,6 +106,37 @@ public abstract class FileInStream extends InputStream
     return nread;
   }
 
+  /**
+   * Reads a list of ranges of the file. The data of each range is delivered through
+   * {@link FileRange#getData()}, whose future completes exceptionally if the range cannot be
+   * read. This does not change the position of the stream.
+   *
+   * @param ranges the ranges to read
+   * @param allocate function to allocate a buffer of the given length
+   */
+  public void readVectored(List<FileRange> ranges, IntFunction<ByteBuffer> allocate) {
+    for (FileRange range : ranges) {
+      try {
+        byte[] data = new byte[range.getLength()];
+        int totalBytesRead = 0;
+        while (totalBytesRead < data.length) {
+          int bytesRead = positionedRead(range.getOffset() + totalBytesRead, data,
+              totalBytesRead, data.length - totalBytesRead);
+          if (bytesRead == -1) {
+            throw new EOFException(String.format("Reached end of file reading %s", range));
+          }
+          totalBytesRead += bytesRead;
+        }
+        ByteBuffer buffer = allocate.apply(data.length);
+        buffer.put(data);
+        buffer.flip();
+        range.getData().complete(buffer);
+      } catch (IOException | RuntimeException e) {
+        range.getData().completeExceptionally(e);
+      }
+    }
+  }
+
   @Override
   public void unbuffer() {
   }
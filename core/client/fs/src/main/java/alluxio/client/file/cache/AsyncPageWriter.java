@@ -0,0 +1,245 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.CacheContext;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.ThreadUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded write-behind queue for pages to be added to the cache. Readers hand pages to this
+ * queue and return, while a pool of writer threads persists them in batches.
+ *
+ * A page is pending from the time it is submitted until it has been written. Submitting a page
+ * that is already pending is coalesced into the pending write. When the number of pending pages
+ * reaches the capacity, submissions are refused, so that callers can write the page themselves
+ * instead of dropping it or growing the queue without bound.
+ */
+@ThreadSafe
+public class AsyncPageWriter implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncPageWriter.class);
+  private static final long THREAD_TERMINATION_TIMEOUT_MS = 10000;
+
+  /**
+   * Function to write a page to the cache synchronously.
+   */
+  @FunctionalInterface
+  public interface PageWriter {
+    /**
+     * @param pageId page identifier
+     * @param page page data
+     * @param cacheContext cache related context
+     * @return true if the page was written, false otherwise
+     */
+    boolean write(PageId pageId, ByteBuffer page, CacheContext cacheContext);
+  }
+
+  private final PageWriter mPageWriter;
+  private final int mCapacity;
+  private final int mBatchSize;
+  private final ExecutorService mWriters;
+  private final Lock mLock = new ReentrantLock();
+  private final Condition mNotEmpty = mLock.newCondition();
+  /** Pages waiting to be taken by a writer, in submission order. */
+  @GuardedBy("mLock")
+  private final ArrayDeque<PendingPage> mQueue = new ArrayDeque<>();
+  /** All pending pages, including the ones being written. */
+  @GuardedBy("mLock")
+  private final Map<PageId, PendingPage> mPending = new HashMap<>();
+  @GuardedBy("mLock")
+  private boolean mClosed = false;
+
+  /**
+   * @param pageWriter function to write pages
+   * @param threads number of writer threads
+   * @param capacity max number of pending pages
+   * @param batchSize max number of pages taken by a writer at a time
+   */
+  public AsyncPageWriter(PageWriter pageWriter, int threads, int capacity, int batchSize) {
+    Preconditions.checkArgument(threads > 0, "threads should be positive");
+    Preconditions.checkArgument(capacity > 0, "capacity should be positive");
+    Preconditions.checkArgument(batchSize > 0, "batchSize should be positive");
+    mPageWriter = pageWriter;
+    mCapacity = capacity;
+    mBatchSize = batchSize;
+    mWriters = Executors.newFixedThreadPool(threads,
+        ThreadFactoryUtils.build("cache-async-page-writer-%d", true));
+    for (int i = 0; i < threads; i++) {
+      mWriters.submit(this::runWriter);
+    }
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_ASYNC_WRITE_QUEUE_PAGES.getName(),
+        this::size);
+  }
+
+  /**
+   * Submits a page to be written asynchronously.
+   *
+   * @param pageId page identifier
+   * @param page page data, which must not be modified until the page is written
+   * @param cacheContext cache related context
+   * @return the result of the submission
+   */
+  public SubmitResult submit(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    mLock.lock();
+    try {
+      if (mClosed) {
+        return SubmitResult.CLOSED;
+      }
+      if (mPending.containsKey(pageId)) {
+        Metrics.PUT_ASYNC_COALESCED.inc();
+        return SubmitResult.COALESCED;
+      }
+      if (mPending.size() >= mCapacity) {
+        Metrics.PUT_ASYNC_QUEUE_FULL.inc();
+        return SubmitResult.FULL;
+      }
+      PendingPage pending = new PendingPage(pageId, page, cacheContext);
+      mPending.put(pageId, pending);
+      mQueue.add(pending);
+      mNotEmpty.signal();
+      return SubmitResult.QUEUED;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of pending pages, including the ones being written
+   */
+  public int size() {
+    mLock.lock();
+    try {
+      return mPending.size();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  private void runWriter() {
+    List<PendingPage> batch = new ArrayList<>(mBatchSize);
+    while (true) {
+      mLock.lock();
+      try {
+        while (mQueue.isEmpty() && !mClosed) {
+          mNotEmpty.await();
+        }
+        if (mClosed) {
+          return;
+        }
+        while (!mQueue.isEmpty() && batch.size() < mBatchSize) {
+          batch.add(mQueue.poll());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        mLock.unlock();
+      }
+      for (PendingPage pending : batch) {
+        try {
+          mPageWriter.write(pending.mPageId, pending.mPage, pending.mCacheContext);
+        } catch (Throwable t) {
+          LOG.error("Failed to write page {} asynchronously", pending.mPageId, t);
+        }
+      }
+      mLock.lock();
+      try {
+        for (PendingPage pending : batch) {
+          mPending.remove(pending.mPageId);
+        }
+      } finally {
+        mLock.unlock();
+      }
+      batch.clear();
+    }
+  }
+
+  /**
+   * Stops the writer threads. Pages not taken by a writer yet are discarded, while the pages
+   * being written are written before this method returns, so that the cache can be closed after.
+   */
+  @Override
+  public void close() {
+    mLock.lock();
+    try {
+      mClosed = true;
+      for (PendingPage pending : mQueue) {
+        mPending.remove(pending.mPageId);
+      }
+      mQueue.clear();
+      mNotEmpty.signalAll();
+    } finally {
+      mLock.unlock();
+    }
+    ThreadUtils.shutdownAndAwaitTermination(mWriters, THREAD_TERMINATION_TIMEOUT_MS);
+  }
+
+  /**
+   * Results of submitting a page.
+   */
+  public enum SubmitResult {
+    /** The page is queued to be written. */
+    QUEUED,
+    /** The same page is already pending, so this page is not queued again. */
+    COALESCED,
+    /** Too many pages are pending. */
+    FULL,
+    /** The writer has been closed. */
+    CLOSED,
+  }
+
+  private static final class PendingPage {
+    private final PageId mPageId;
+    private final ByteBuffer mPage;
+    private final CacheContext mCacheContext;
+
+    private PendingPage(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+      mPageId = pageId;
+      mPage = page;
+      mCacheContext = cacheContext;
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Puts dropped because the same page is pending. */
+    private static final Counter PUT_ASYNC_COALESCED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_ASYNC_COALESCED.getName());
+    /** Puts refused because the queue is full. */
+    private static final Counter PUT_ASYNC_QUEUE_FULL =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_ASYNC_QUEUE_FULL.getName());
+  }
+}
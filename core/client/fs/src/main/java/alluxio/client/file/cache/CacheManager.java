@@ -27,6 +27,8 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -117,14 +119,24 @@ public interface CacheManager extends AutoCloseable {
     public static CacheManager create(AlluxioConfiguration conf,
         CacheManagerOptions options, PageMetaStore pageMetaStore) throws IOException {
       try {
+        LocalCacheManager localCacheManager = LocalCacheManager.create(options, pageMetaStore);
+        CacheManager cacheManager = localCacheManager;
+        if (conf.getBytes(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_SIZE) > 0) {
+          CacheManagerOptions memoryTierOptions = CacheManagerOptions.createForMemoryTier(conf);
+          cacheManager = new TieredCacheManager(
+              LocalCacheManager.create(memoryTierOptions,
+                  PageMetaStore.create(memoryTierOptions)),
+              localCacheManager,
+              conf.getInt(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_PROMOTION_HITS),
+              options.getCacheAdmissionOptions().getMaxPages());
+        }
         boolean isShadowCacheEnabled =
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_SHADOW_ENABLED);
         if (isShadowCacheEnabled) {
           return new NoExceptionCacheManager(
-              new CacheManagerWithShadowCache(LocalCacheManager.create(options, pageMetaStore),
-                  conf));
+              new CacheManagerWithShadowCache(cacheManager, conf));
         }
-        return new NoExceptionCacheManager(LocalCacheManager.create(options, pageMetaStore));
+        return new NoExceptionCacheManager(cacheManager);
       } catch (IOException e) {
         Metrics.CREATE_ERRORS.inc();
         LOG.error("Failed to create CacheManager", e);
@@ -208,6 +220,20 @@ public interface CacheManager extends AutoCloseable {
    */
   boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext);
 
+  /**
+   * Puts a page read ahead of a sequential reader into the cache manager. The page has not been
+   * accessed yet but is about to be, so the cache admission policy counts it as accessed. This
+   * method is best effort.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @param cacheContext cache related context
+   * @return true if the put was successful, false otherwise
+   */
+  default boolean prefetch(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    return put(pageId, page, cacheContext);
+  }
+
   /**
    * Reads the entire page if the queried page is found in the cache, stores the result in buffer.
    *
@@ -266,6 +292,27 @@ public interface CacheManager extends AutoCloseable {
   int get(PageId pageId, int pageOffset, int bytesToRead, PageReadTargetBuffer buffer,
       CacheContext cacheContext);
 
+  /**
+   * Checks whether a page is cached without reading it. The answer may be stale by the time it
+   * is returned, so it is only a hint to avoid fetching pages which are already cached.
+   *
+   * @param pageId page identifier
+   * @return true if the page is known to be cached, false otherwise
+   */
+  default boolean hasPage(PageId pageId) {
+    return false;
+  }
+
+  /**
+   * Gets the executor running the prefetch tasks of the streams reading through this cache. The
+   * executor is owned by the cache and shut down when the cache is closed.
+   *
+   * @return the prefetch executor, or empty if prefetching is disabled
+   */
+  default Optional<ExecutorService> getPrefetchExecutor() {
+    return Optional.empty();
+  }
+
   /**
    * Get page ids by the given file id.
    * @param fileId file identifier
@@ -11,24 +11,40 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.cache.admission.CacheAdmissionOptions;
 import alluxio.client.file.cache.evictor.CacheEvictorOptions;
 import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 
+import com.google.common.collect.ImmutableList;
+
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
  * Options for initiating local cache manager.
  */
 public class CacheManagerOptions {
+  /** The name of the root of the memory tier in the first cache directory. */
+  private static final String MEMORY_TIER_DIR = "MEMORY_TIER";
+
   private boolean mAsyncRestoreEnabled;
+  private int mAsyncWriteBatchSize = 16;
   private boolean mAsyncWriteEnabled;
+  private int mAsyncWriteQueueSize = 64;
   private int mAsyncWriteThreads;
+  private CacheAdmissionOptions mCacheAdmissionOptions = new CacheAdmissionOptions();
+  private boolean mCheckpointEnabled;
+  private long mCheckpointIntervalMs;
   private CacheEvictorOptions mCacheEvictorOptions;
   private int mMaxEvictionRetries;
   private long mPageSize;
+  private PageMetaStoreType mPageMetaStoreType = PageMetaStoreType.DEFAULT;
   private List<PageStoreOptions> mPageStoreOptions;
+  private boolean mPrefetchEnabled;
+  private int mPrefetchThreads;
   private boolean mQuotaEnabled;
   private boolean mTtlEnabled;
   private long mTtlCheckIntervalSeconds;
@@ -44,21 +60,70 @@ public class CacheManagerOptions {
         .setIsNondeterministic(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED))
         .setLFULogBase(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE));
+    List<PageStoreOptions> pageStoreOptions = PageStoreOptions.create(conf);
+    CacheAdmissionOptions cacheAdmissionOptions = new CacheAdmissionOptions()
+        .setAdmissionPolicyClass(
+            conf.getClass(PropertyKey.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS))
+        .setMaxPages(pageStoreOptions.stream().mapToLong(PageStoreOptions::getCacheSize).sum()
+            / conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE));
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED))
+        .setAsyncWriteBatchSize(
+            conf.getInt(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_BATCH_SIZE))
+        .setAsyncWriteQueueSize(
+            conf.getInt(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_QUEUE_SIZE))
         .setAsyncWriteThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_THREADS))
         .setIsAsyncWriteEnabled(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED))
+        .setCheckpointEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_ENABLED))
+        .setCheckpointIntervalMs(conf.getMs(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_INTERVAL))
         .setMaxEvictionRetries(conf.getInt(PropertyKey.USER_CLIENT_CACHE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
+        .setPageMetaStoreType(conf.getEnum(PropertyKey.USER_CLIENT_CACHE_METASTORE_TYPE,
+            PageMetaStoreType.class))
+        .setPrefetchEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED))
+        .setPrefetchThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_THREADS))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED))
         .setTtlEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_TTL_ENABLED))
         .setTtlCheckIntervalSeconds(
             conf.getLong(PropertyKey.USER_CLIENT_CACHE_TTL_CHECK_INTERVAL_SECONDS))
         .setTtlThresholdSeconds(conf.getLong(PropertyKey.USER_CLIENT_CACHE_TTL_THRESHOLD_SECONDS))
+        .setCacheAdmissionOptions(cacheAdmissionOptions)
         .setCacheEvictorOptions(cacheEvictorOptions)
-        .setPageStoreOptions(PageStoreOptions.create(conf));
+        .setPageStoreOptions(pageStoreOptions);
+    return options;
+  }
+
+  /**
+   * Creates the options of the memory tier in front of the client cache directories. The memory
+   * tier shares the page size and eviction settings of the client cache, but writes pages
+   * synchronously since writing to memory is cheap. Its pages are never stored on disk, but it
+   * gets a root of its own next to the root of the first cache directory so that it is never
+   * mistaken for the disk tier.
+   *
+   * @param conf
+   * @return instance of CacheManagerOptions
+   */
+  public static CacheManagerOptions createForMemoryTier(AlluxioConfiguration conf) {
+    long pageSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE);
+    long tierSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_SIZE);
+    PageStoreOptions pageStoreOptions = new PageStoreOptions()
+        .setStoreType(PageStoreType.OFF_HEAP)
+        .setRootDir(Paths.get(conf.getList(PropertyKey.USER_CLIENT_CACHE_DIRS).get(0),
+            MEMORY_TIER_DIR))
+        .setPageSize(pageSize)
+        .setCacheSize(tierSize)
+        .setAlluxioVersion(conf.getString(PropertyKey.VERSION));
+    CacheManagerOptions options = create(conf)
+        .setAsyncRestoreEnabled(false)
+        .setIsAsyncWriteEnabled(false)
+        .setCheckpointEnabled(false)
+        .setPrefetchEnabled(false)
+        .setQuotaEnabled(false)
+        .setTtlEnabled(false)
+        .setPageStoreOptions(ImmutableList.of(pageStoreOptions));
+    options.getCacheAdmissionOptions().setMaxPages(tierSize / pageSize);
     return options;
   }
 
@@ -113,6 +178,34 @@ public class CacheManagerOptions {
     return mAsyncWriteThreads;
   }
 
+  /**
+   * @return max number of pages taken from the async write queue at a time
+   */
+  public int getAsyncWriteBatchSize() {
+    return mAsyncWriteBatchSize;
+  }
+
+  /**
+   * @return max number of pages pending in the async write queue
+   */
+  public int getAsyncWriteQueueSize() {
+    return mAsyncWriteQueueSize;
+  }
+
+  /**
+   * @return if prefetching pages ahead of sequential reads is enabled
+   */
+  public boolean isPrefetchEnabled() {
+    return mPrefetchEnabled;
+  }
+
+  /**
+   * @return number of threads prefetching pages
+   */
+  public int getPrefetchThreads() {
+    return mPrefetchThreads;
+  }
+
   /**
    * @return if quota is enabled
    */
@@ -127,6 +220,20 @@ public class CacheManagerOptions {
     return mTtlEnabled;
   }
 
+  /**
+   * @return if checkpointing the page index is enabled
+   */
+  public boolean isCheckpointEnabled() {
+    return mCheckpointEnabled;
+  }
+
+  /**
+   * @return the interval between checkpoints of the page index in milliseconds
+   */
+  public long getCheckpointIntervalMs() {
+    return mCheckpointIntervalMs;
+  }
+
   /**
    * @return the check interval of ttl
    */
@@ -156,6 +263,13 @@ public class CacheManagerOptions {
     return mPageSize;
   }
 
+  /**
+   * @return the type of page meta store
+   */
+  public PageMetaStoreType getPageMetaStoreType() {
+    return mPageMetaStoreType;
+  }
+
   /**
    * @return the list of PageStoreOptions
    */
@@ -163,6 +277,13 @@ public class CacheManagerOptions {
     return mPageStoreOptions;
   }
 
+  /**
+   * @return the options of cache admission policy
+   */
+  public CacheAdmissionOptions getCacheAdmissionOptions() {
+    return mCacheAdmissionOptions;
+  }
+
   /**
    * @return the options of cache evictor
    */
@@ -179,6 +300,24 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param prefetchEnabled
+   * @return the updated options
+   */
+  public CacheManagerOptions setPrefetchEnabled(boolean prefetchEnabled) {
+    mPrefetchEnabled = prefetchEnabled;
+    return this;
+  }
+
+  /**
+   * @param prefetchThreads
+   * @return the updated options
+   */
+  public CacheManagerOptions setPrefetchThreads(int prefetchThreads) {
+    mPrefetchThreads = prefetchThreads;
+    return this;
+  }
+
   /**
    * @param isAsyncWriteEnabled
    * @return the updated options
@@ -197,6 +336,34 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param asyncWriteBatchSize
+   * @return the updated options
+   */
+  public CacheManagerOptions setAsyncWriteBatchSize(int asyncWriteBatchSize) {
+    mAsyncWriteBatchSize = asyncWriteBatchSize;
+    return this;
+  }
+
+  /**
+   * @param asyncWriteQueueSize
+   * @return the updated options
+   */
+  public CacheManagerOptions setAsyncWriteQueueSize(int asyncWriteQueueSize) {
+    mAsyncWriteQueueSize = asyncWriteQueueSize;
+    return this;
+  }
+
+  /**
+   * @param cacheAdmissionOptions
+   * @return the updated options
+   */
+  public CacheManagerOptions setCacheAdmissionOptions(
+      CacheAdmissionOptions cacheAdmissionOptions) {
+    mCacheAdmissionOptions = cacheAdmissionOptions;
+    return this;
+  }
+
   /**
    * @param cacheEvictorOptions
    * @return the updated options
@@ -206,6 +373,24 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param checkpointEnabled
+   * @return the updated options
+   */
+  public CacheManagerOptions setCheckpointEnabled(boolean checkpointEnabled) {
+    mCheckpointEnabled = checkpointEnabled;
+    return this;
+  }
+
+  /**
+   * @param checkpointIntervalMs
+   * @return the updated options
+   */
+  public CacheManagerOptions setCheckpointIntervalMs(long checkpointIntervalMs) {
+    mCheckpointIntervalMs = checkpointIntervalMs;
+    return this;
+  }
+
   /**
    * @param maxEvictionRetries
    * @return the updated options
@@ -224,6 +409,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param pageMetaStoreType
+   * @return the updated options
+   */
+  public CacheManagerOptions setPageMetaStoreType(PageMetaStoreType pageMetaStoreType) {
+    mPageMetaStoreType = pageMetaStoreType;
+    return this;
+  }
+
   /**
    * @param isQuotaEnabled
    * @return the updated options
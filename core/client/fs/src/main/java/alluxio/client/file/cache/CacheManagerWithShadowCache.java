@@ -26,6 +26,8 @@ import com.google.common.hash.Funnel;
 import com.google.common.hash.PrimitiveSink;
 
 import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Nonnull;
 
 /**
@@ -52,6 +54,12 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mCacheManager.put(pageId, page, cacheContext);
   }
 
+  @Override
+  public boolean prefetch(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    updateShadowCache(pageId, page.remaining(), cacheContext);
+    return mCacheManager.prefetch(pageId, page, cacheContext);
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, PageReadTargetBuffer target,
       CacheContext cacheContext) {
@@ -127,6 +135,16 @@ public class CacheManagerWithShadowCache implements CacheManager {
     mShadowCacheManager.stopUpdate();
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManager.hasPage(pageId);
+  }
+
+  @Override
+  public Optional<ExecutorService> getPrefetchExecutor() {
+    return mCacheManager.getPrefetchExecutor();
+  }
+
   @Override
   public State state() {
     return mCacheManager.state();
@@ -0,0 +1,574 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A metadata store for pages stored in cache with a small heap footprint. Instead of keeping a
+ * {@link PageInfo} and a {@link PageId} object per page, file ids are interned to int handles and
+ * every page is stored as a packed long key of file handle and page index in an open addressing
+ * hash table, with its size, creation time, directory and scope in parallel primitive arrays.
+ * {@link PageInfo} objects are only created on demand when pages are looked up. The rare pages
+ * whose index does not fit in the packed key, or whose directory is not one of the directories
+ * of this meta store, are kept in a regular map instead.
+ *
+ * Like {@link DefaultPageMetaStore}, this implementation is not thread safe and requires
+ * synchronizations on external callers by acquiring the associated lock.
+ */
+@NotThreadSafe
+public class CompactPageMetaStore implements PageMetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(CompactPageMetaStore.class);
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final float LOAD_FACTOR = 0.75f;
+  /** Marks an empty slot, never a valid key as file handles are non-negative. */
+  private static final long EMPTY_KEY = -1L;
+  private static final long MAX_PAGE_INDEX = 0xFFFFFFFFL;
+  /** Bytes used per slot of the page table: key, size, created time, dir and scope. */
+  private static final int BYTES_PER_SLOT = 8 + 4 + 8 + 2 + 4;
+  /** Rough heap cost of an interned file id, excluding the characters of the id. */
+  private static final int BYTES_PER_FILE = 96;
+  /** Rough heap cost of a page kept in the overflow map. */
+  private static final int BYTES_PER_OVERFLOW_PAGE = 200;
+  /**
+   * Rough heap cost of the {@link PageId} the evictor of a directory keeps for each of its pages,
+   * including the evictor's own entry for it. File id strings are shared by the pages of a file.
+   */
+  private static final int BYTES_PER_EVICTOR_PAGE = 96;
+  /** Number of slots of the page table read per acquisition of the lock by getPages. */
+  private static final int GET_PAGES_BATCH_SIZE = 4096;
+
+  private final ImmutableList<PageStoreDir> mDirs;
+  private final Allocator mAllocator;
+  private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+
+  /** A map from file id to its handle. */
+  private final Map<String, Integer> mFileHandles = new HashMap<>();
+  /** File ids indexed by handle, null for unused handles. */
+  private String[] mFileIds = new String[16];
+  /** Number of pages of each file indexed by handle. */
+  private int[] mFilePages = new int[16];
+  /** Handles released by files without pages, to be reused before new ones. */
+  private int[] mFreeHandles = new int[16];
+  private int mNumFreeHandles;
+  private int mNextHandle;
+
+  /** A map from cache scope to its index in mScopes. */
+  private final Map<CacheScope, Integer> mScopeIndices = new HashMap<>();
+  private final List<CacheScope> mScopes = new ArrayList<>();
+
+  /** The page table, slot i of every array describes the same page. */
+  private long[] mKeys;
+  private int[] mSizes;
+  private long[] mCreatedTimes;
+  private short[] mDirIndices;
+  private int[] mScopeIndex;
+  /** Pages which cannot be stored in the page table. */
+  private final Map<PageId, PageInfo> mOverflowPages = new HashMap<>();
+  private int mNumPages;
+  private int mResizeThreshold;
+  /** The number of logical bytes used. */
+  private final AtomicLong mBytes = new AtomicLong(0);
+
+  /**
+   * @param dirs storage directories
+   */
+  public CompactPageMetaStore(List<PageStoreDir> dirs) {
+    this(dirs, new HashAllocator(dirs));
+  }
+
+  /**
+   * Constructor of CompactPageMetaStore.
+   *
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   */
+  public CompactPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    mDirs = ImmutableList.copyOf(requireNonNull(dirs));
+    Preconditions.checkArgument(mDirs.size() <= Short.MAX_VALUE, "too many dirs: %s",
+        mDirs.size());
+    mAllocator = requireNonNull(allocator);
+    initTable(INITIAL_CAPACITY);
+    //metrics for the num of pages stored in the cache
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
+        () -> mNumPages);
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_META_STORE_HEAP_BYTES.getName(),
+        this::estimatedHeapBytes);
+  }
+
+  @Override
+  public ReentrantReadWriteLock getLock() {
+    return mLock;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public boolean hasPage(PageId pageId) {
+    return findSlot(pageId) >= 0 || mOverflowPages.containsKey(pageId);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putPage(pageInfo);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void addTempPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+  }
+
+  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+    Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
+    Preconditions.checkArgument(pageInfo.getPageSize() <= Integer.MAX_VALUE,
+        "page %s is too large: %s", pageId, pageInfo.getPageSize());
+    int dirIndex = mDirs.indexOf(pageInfo.getLocalCacheDir());
+    if (dirIndex < 0 || !isPackable(pageId.getPageIndex())) {
+      PageInfo previous = mOverflowPages.put(pageId, pageInfo);
+      if (previous != null) {
+        mBytes.addAndGet(-previous.getPageSize());
+        Metrics.SPACE_USED.dec(previous.getPageSize());
+      } else {
+        mNumPages++;
+      }
+      mBytes.addAndGet(pageInfo.getPageSize());
+      Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+      return;
+    }
+    int handle = getOrCreateFileHandle(pageId.getFileId());
+    long key = toKey(handle, pageId.getPageIndex());
+    int slot = findSlot(key);
+    if (slot >= 0) {
+      // replacing an existing page
+      mBytes.addAndGet(-mSizes[slot]);
+      Metrics.SPACE_USED.dec(mSizes[slot]);
+    } else {
+      if (mNumPages - mOverflowPages.size() + 1 > mResizeThreshold) {
+        resize(mKeys.length * 2);
+      }
+      slot = insertSlot(key);
+      mNumPages++;
+      mFilePages[handle]++;
+    }
+    mSizes[slot] = (int) pageInfo.getPageSize();
+    mCreatedTimes[slot] = pageInfo.getCreatedTimestamp();
+    mDirIndices[slot] = (short) dirIndex;
+    mScopeIndex[slot] = getScopeIndex(pageInfo.getScope());
+    mBytes.addAndGet(pageInfo.getPageSize());
+    Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
+    Integer handle = mFileHandles.get(fileId);
+    boolean hasOverflowPages = commitOverflowPages(fileId, newFileId);
+    if (handle == null) {
+      if (hasOverflowPages) {
+        return;
+      }
+      throw new PageNotFoundException(
+          String.format("No Pages found for file %s when committing", fileId));
+    }
+    if (!mFileHandles.containsKey(newFileId)) {
+      // renaming the handle moves all pages of the file at once
+      mFileHandles.remove(fileId);
+      mFileHandles.put(newFileId, handle);
+      mFileIds[handle] = newFileId;
+      return;
+    }
+    // the new file already has pages, move the pages one by one
+    int newHandle = mFileHandles.get(newFileId);
+    List<Long> oldKeys = new ArrayList<>();
+    for (long key : mKeys) {
+      if (key != EMPTY_KEY && getHandle(key) == handle) {
+        oldKeys.add(key);
+      }
+    }
+    for (long oldKey : oldKeys) {
+      int oldSlot = findSlot(oldKey);
+      int size = mSizes[oldSlot];
+      long createdTime = mCreatedTimes[oldSlot];
+      short dirIndex = mDirIndices[oldSlot];
+      int scopeIndex = mScopeIndex[oldSlot];
+      removeSlot(oldSlot);
+      long newKey = toKey(newHandle, getPageIndex(oldKey));
+      int newSlot = findSlot(newKey);
+      if (newSlot >= 0) {
+        mBytes.addAndGet(-mSizes[newSlot]);
+        Metrics.SPACE_USED.dec(mSizes[newSlot]);
+        mNumPages--;
+      } else {
+        newSlot = insertSlot(newKey);
+        mFilePages[newHandle]++;
+      }
+      mSizes[newSlot] = size;
+      mCreatedTimes[newSlot] = createdTime;
+      mDirIndices[newSlot] = dirIndex;
+      mScopeIndex[newSlot] = scopeIndex;
+    }
+    releaseFileHandle(fileId, handle);
+  }
+
+  /**
+   * Moves the pages of a file in the overflow map to the new file id.
+   *
+   * @return whether the file has any pages in the overflow map
+   */
+  private boolean commitOverflowPages(String fileId, String newFileId) {
+    List<PageInfo> pages = new ArrayList<>();
+    for (PageInfo pageInfo : mOverflowPages.values()) {
+      if (pageInfo.getPageId().getFileId().equals(fileId)) {
+        pages.add(pageInfo);
+      }
+    }
+    for (PageInfo oldPage : pages) {
+      mOverflowPages.remove(oldPage.getPageId());
+      PageId newPageId = new PageId(newFileId, oldPage.getPageId().getPageIndex());
+      PageInfo previous = mOverflowPages.put(newPageId, new PageInfo(newPageId,
+          oldPage.getPageSize(), oldPage.getScope(), oldPage.getLocalCacheDir(),
+          oldPage.getCreatedTimestamp()));
+      if (previous != null) {
+        mBytes.addAndGet(-previous.getPageSize());
+        Metrics.SPACE_USED.dec(previous.getPageSize());
+        mNumPages--;
+      }
+    }
+    return !pages.isEmpty();
+  }
+
+  @Override
+  public List<PageStoreDir> getStoreDirs() {
+    return mDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength) {
+    return mAllocator.allocate(fileId, fileLength);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo = getPageInfoInternal(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    pageInfo.getLocalCacheDir().getEvictor().updateOnGet(pageId);
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo;
+    int slot = findSlot(pageId);
+    if (slot >= 0) {
+      pageInfo = toPageInfo(pageId, slot);
+      int handle = getHandle(mKeys[slot]);
+      removeSlot(slot);
+      if (--mFilePages[handle] == 0) {
+        releaseFileHandle(pageId.getFileId(), handle);
+      }
+    } else {
+      pageInfo = mOverflowPages.remove(pageId);
+      if (pageInfo == null) {
+        throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+      }
+    }
+    mNumPages--;
+    mBytes.addAndGet(-pageInfo.getPageSize());
+    Metrics.SPACE_USED.dec(pageInfo.getPageSize());
+    pageInfo.getLocalCacheDir().deletePage(pageInfo);
+    return pageInfo;
+  }
+
+  @Override
+  public List<PageInfo> getPages(PageStoreDir pageStoreDir) {
+    List<PageInfo> pages = new ArrayList<>();
+    // the lock is held for one batch of slots at a time so a large table does not block
+    // updates for the whole walk, pages moved by a concurrent resize may be missed or repeated
+    for (int start = 0; ; start += GET_PAGES_BATCH_SIZE) {
+      try (LockResource r = new LockResource(mLock.readLock())) {
+        if (start >= mKeys.length) {
+          for (PageInfo pageInfo : mOverflowPages.values()) {
+            if (pageInfo.getLocalCacheDir() == pageStoreDir) {
+              pages.add(pageInfo);
+            }
+          }
+          return pages;
+        }
+        int end = Math.min(start + GET_PAGES_BATCH_SIZE, mKeys.length);
+        for (int slot = start; slot < end; slot++) {
+          long key = mKeys[slot];
+          if (key != EMPTY_KEY && mDirs.get(mDirIndices[slot]) == pageStoreDir) {
+            pages.add(toPageInfo(new PageId(mFileIds[getHandle(key)], getPageIndex(key)), slot));
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.get();
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public long numPages() {
+    return mNumPages;
+  }
+
+  @Override
+  public long estimatedHeapBytes() {
+    long fileIdBytes = 0;
+    for (String fileId : mFileIds) {
+      if (fileId != null) {
+        fileIdBytes += BYTES_PER_FILE + 2L * fileId.length();
+      }
+    }
+    return (long) mKeys.length * BYTES_PER_SLOT + (long) mFileIds.length * (4 + 4 + 4)
+        + fileIdBytes + (long) mOverflowPages.size() * BYTES_PER_OVERFLOW_PAGE
+        + (long) mNumPages * BYTES_PER_EVICTOR_PAGE;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void reset() {
+    mBytes.set(0);
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+    mFileHandles.clear();
+    Arrays.fill(mFileIds, null);
+    Arrays.fill(mFilePages, 0);
+    mNumFreeHandles = 0;
+    mNextHandle = 0;
+    mNumPages = 0;
+    mOverflowPages.clear();
+    initTable(INITIAL_CAPACITY);
+  }
+
+  @Override
+  @Nullable
+  @GuardedBy("getLock()")
+  public PageInfo evict(CacheScope scope, PageStoreDir pageStoreDir) {
+    CacheEvictor evictor = pageStoreDir.getEvictor();
+    PageId victim = evictor.evict();
+    if (victim == null) {
+      return null;
+    }
+    PageInfo victimInfo = getPageInfoInternal(victim);
+    if (victimInfo == null) {
+      LOG.error("Invalid result returned by evictor: page {} not available", victim);
+      evictor.updateOnDelete(victim);
+      return null;
+    }
+    return victimInfo;
+  }
+
+  @Nullable
+  private PageInfo getPageInfoInternal(PageId pageId) {
+    int slot = findSlot(pageId);
+    if (slot >= 0) {
+      return toPageInfo(pageId, slot);
+    }
+    return mOverflowPages.get(pageId);
+  }
+
+  private PageInfo toPageInfo(PageId pageId, int slot) {
+    return new PageInfo(pageId, mSizes[slot], mScopes.get(mScopeIndex[slot]),
+        mDirs.get(mDirIndices[slot]), mCreatedTimes[slot]);
+  }
+
+  private int getOrCreateFileHandle(String fileId) {
+    Integer handle = mFileHandles.get(fileId);
+    if (handle != null) {
+      return handle;
+    }
+    int newHandle;
+    if (mNumFreeHandles > 0) {
+      newHandle = mFreeHandles[--mNumFreeHandles];
+    } else {
+      newHandle = mNextHandle++;
+      if (newHandle == mFileIds.length) {
+        mFileIds = Arrays.copyOf(mFileIds, newHandle * 2);
+        mFilePages = Arrays.copyOf(mFilePages, newHandle * 2);
+        mFreeHandles = Arrays.copyOf(mFreeHandles, newHandle * 2);
+      }
+    }
+    mFileHandles.put(fileId, newHandle);
+    mFileIds[newHandle] = fileId;
+    mFilePages[newHandle] = 0;
+    return newHandle;
+  }
+
+  private void releaseFileHandle(String fileId, int handle) {
+    mFileHandles.remove(fileId);
+    mFileIds[handle] = null;
+    mFilePages[handle] = 0;
+    mFreeHandles[mNumFreeHandles++] = handle;
+  }
+
+  private int getScopeIndex(CacheScope scope) {
+    Integer index = mScopeIndices.get(scope);
+    if (index == null) {
+      index = mScopes.size();
+      mScopes.add(scope);
+      mScopeIndices.put(scope, index);
+    }
+    return index;
+  }
+
+  private static boolean isPackable(long pageIndex) {
+    return pageIndex >= 0 && pageIndex <= MAX_PAGE_INDEX;
+  }
+
+  private static long toKey(int handle, long pageIndex) {
+    return ((long) handle << 32) | pageIndex;
+  }
+
+  private static int getHandle(long key) {
+    return (int) (key >>> 32);
+  }
+
+  private static long getPageIndex(long key) {
+    return key & MAX_PAGE_INDEX;
+  }
+
+  private int getHomeSlot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & (mKeys.length - 1);
+  }
+
+  /**
+   * @return the slot of the page, or -1 if the page is not present
+   */
+  private int findSlot(PageId pageId) {
+    Integer handle = mFileHandles.get(pageId.getFileId());
+    if (handle == null || !isPackable(pageId.getPageIndex())) {
+      return -1;
+    }
+    return findSlot(toKey(handle, pageId.getPageIndex()));
+  }
+
+  private int findSlot(long key) {
+    int mask = mKeys.length - 1;
+    for (int slot = getHomeSlot(key); mKeys[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+      if (mKeys[slot] == key) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Claims an empty slot for a key known to be absent.
+   */
+  private int insertSlot(long key) {
+    int mask = mKeys.length - 1;
+    int slot = getHomeSlot(key);
+    while (mKeys[slot] != EMPTY_KEY) {
+      slot = (slot + 1) & mask;
+    }
+    mKeys[slot] = key;
+    return slot;
+  }
+
+  /**
+   * Empties a slot, shifting back the following entries of the probe sequence so that lookups
+   * never need tombstones.
+   */
+  private void removeSlot(int slot) {
+    int mask = mKeys.length - 1;
+    int hole = slot;
+    for (int next = (hole + 1) & mask; mKeys[next] != EMPTY_KEY; next = (next + 1) & mask) {
+      int home = getHomeSlot(mKeys[next]);
+      // the entry can fill the hole if the hole is not before its home slot on the probe path
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        mKeys[hole] = mKeys[next];
+        mSizes[hole] = mSizes[next];
+        mCreatedTimes[hole] = mCreatedTimes[next];
+        mDirIndices[hole] = mDirIndices[next];
+        mScopeIndex[hole] = mScopeIndex[next];
+        hole = next;
+      }
+    }
+    mKeys[hole] = EMPTY_KEY;
+  }
+
+  private void initTable(int capacity) {
+    mKeys = new long[capacity];
+    Arrays.fill(mKeys, EMPTY_KEY);
+    mSizes = new int[capacity];
+    mCreatedTimes = new long[capacity];
+    mDirIndices = new short[capacity];
+    mScopeIndex = new int[capacity];
+    mResizeThreshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private void resize(int capacity) {
+    long[] keys = mKeys;
+    int[] sizes = mSizes;
+    long[] createdTimes = mCreatedTimes;
+    short[] dirIndices = mDirIndices;
+    int[] scopeIndex = mScopeIndex;
+    initTable(capacity);
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY_KEY) {
+        int slot = insertSlot(keys[i]);
+        mSizes[slot] = sizes[i];
+        mCreatedTimes[slot] = createdTimes[i];
+        mDirIndices[slot] = dirIndices[i];
+        mScopeIndex[slot] = scopeIndex[i];
+      }
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A metadata store for pages stored in cache which is safe for concurrent access without the
+ * associated lock. Pages are partitioned into segments by their file id. Each segment keeps a
+ * concurrent page index, so page lookups never block, while updates only synchronize on the
+ * segment of the file. The number of bytes and pages is tracked with lock-free adders.
+ *
+ * Single lookups and updates are safe without the lock returned by {@link #getLock()}, which is a
+ * regular read-write lock for callers making multi-step updates, like checking the available
+ * space and evicting a page, atomically. The evictor update on a page hit is made atomically with
+ * the lookup in the page index, so it cannot re-add a page removed concurrently to the evictor.
+ */
+@ThreadSafe
+public class ConcurrentPageMetaStore implements PageMetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(ConcurrentPageMetaStore.class);
+  private static final int NUM_SEGMENTS = 64;
+  /**
+   * Rough heap cost of one page: the page info, the page id, and the entries of the page in the
+   * page index and the file index of its segment.
+   */
+  private static final long ESTIMATED_BYTES_PER_PAGE = 170;
+
+  private final Segment[] mSegments = new Segment[NUM_SEGMENTS];
+  private final ImmutableList<PageStoreDir> mDirs;
+  private final Allocator mAllocator;
+  /** The number of logical bytes used. */
+  private final LongAdder mBytes = new LongAdder();
+  private final LongAdder mNumPages = new LongAdder();
+  private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+
+  /**
+   * @param dirs storage directories
+   */
+  public ConcurrentPageMetaStore(List<PageStoreDir> dirs) {
+    this(dirs, new HashAllocator(dirs));
+  }
+
+  /**
+   * Constructor of ConcurrentPageMetaStore.
+   *
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   */
+  public ConcurrentPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    mDirs = ImmutableList.copyOf(requireNonNull(dirs));
+    mAllocator = requireNonNull(allocator);
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      mSegments[i] = new Segment();
+    }
+    //metrics for the num of pages stored in the cache
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
+        mNumPages::sum);
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_META_STORE_HEAP_BYTES.getName(),
+        this::estimatedHeapBytes);
+  }
+
+  @Override
+  public ReentrantReadWriteLock getLock() {
+    return mLock;
+  }
+
+  @Override
+  public boolean isLockFreeLookup() {
+    return true;
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return getSegment(pageId.getFileId()).mPages.containsKey(pageId);
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putPage(pageInfo);
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void addTempPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+  }
+
+  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+    Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
+    PageInfo previous = getSegment(pageId.getFileId()).add(pageInfo);
+    if (previous != null) {
+      // replacing an existing page
+      mBytes.add(-previous.getPageSize());
+      Metrics.SPACE_USED.dec(previous.getPageSize());
+    } else {
+      mNumPages.increment();
+    }
+    mBytes.add(pageInfo.getPageSize());
+    Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
+    List<PageInfo> pages = getSegment(fileId).removeFile(fileId);
+    if (pages.isEmpty()) {
+      throw new PageNotFoundException(
+          String.format("No Pages found for file %s when committing", fileId));
+    }
+    Segment newSegment = getSegment(newFileId);
+    for (PageInfo oldPage : pages) {
+      PageId newPageId = new PageId(newFileId, oldPage.getPageId().getPageIndex());
+      PageInfo newPageInfo = new PageInfo(newPageId, oldPage.getPageSize(), oldPage.getScope(),
+          oldPage.getLocalCacheDir());
+      PageInfo previous = newSegment.add(newPageInfo);
+      if (previous != null) {
+        mNumPages.decrement();
+        mBytes.add(-previous.getPageSize());
+        Metrics.SPACE_USED.dec(previous.getPageSize());
+      }
+    }
+  }
+
+  @Override
+  public List<PageStoreDir> getStoreDirs() {
+    return mDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength) {
+    return mAllocator.allocate(fileId, fileLength);
+  }
+
+  @Override
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    // update the evictor while the page entry is locked, so a concurrent removal either happens
+    // before and the page is not found, or after and its evictor update is made after this one
+    PageInfo pageInfo = getSegment(pageId.getFileId()).mPages.computeIfPresent(pageId,
+        (id, info) -> {
+          info.getLocalCacheDir().getEvictor().updateOnGet(id);
+          return info;
+        });
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo = getSegment(pageId.getFileId()).remove(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    mNumPages.decrement();
+    mBytes.add(-pageInfo.getPageSize());
+    Metrics.SPACE_USED.dec(pageInfo.getPageSize());
+    pageInfo.getLocalCacheDir().deletePage(pageInfo);
+    return pageInfo;
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.sum();
+  }
+
+  @Override
+  public List<PageInfo> getPages(PageStoreDir pageStoreDir) {
+    List<PageInfo> pages = new ArrayList<>();
+    for (Segment segment : mSegments) {
+      for (PageInfo pageInfo : segment.mPages.values()) {
+        if (pageInfo.getLocalCacheDir() == pageStoreDir) {
+          pages.add(pageInfo);
+        }
+      }
+    }
+    return pages;
+  }
+
+  @Override
+  public long numPages() {
+    return mNumPages.sum();
+  }
+
+  @Override
+  public long estimatedHeapBytes() {
+    return mNumPages.sum() * ESTIMATED_BYTES_PER_PAGE;
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void reset() {
+    for (Segment segment : mSegments) {
+      segment.clear();
+    }
+    mBytes.reset();
+    mNumPages.reset();
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+  }
+
+  @Override
+  @Nullable
+  @GuardedBy("getLock().writeLock()")
+  public PageInfo evict(CacheScope scope, PageStoreDir pageStoreDir) {
+    CacheEvictor evictor = pageStoreDir.getEvictor();
+    PageId victim = evictor.evict();
+    if (victim == null) {
+      return null;
+    }
+    PageInfo victimInfo = getSegment(victim.getFileId()).mPages.get(victim);
+    if (victimInfo == null) {
+      LOG.error("Invalid result returned by evictor: page {} not available", victim);
+      evictor.updateOnDelete(victim);
+      return null;
+    }
+    return victimInfo;
+  }
+
+  private Segment getSegment(String fileId) {
+    return mSegments[Math.floorMod(fileId.hashCode(), NUM_SEGMENTS)];
+  }
+
+  /**
+   * A partition of the pages, holding all pages of the files hashed to it.
+   */
+  private static final class Segment {
+    /** A map from PageId to page info, readable without synchronization. */
+    private final Map<PageId, PageInfo> mPages = new ConcurrentHashMap<>();
+    /** A map from file id to the pages of the file. */
+    @GuardedBy("this")
+    private final Map<String, Set<PageId>> mFiles = new HashMap<>();
+
+    /**
+     * @param pageInfo the page to add
+     * @return the page info replaced, or null if the page was not present
+     */
+    synchronized PageInfo add(PageInfo pageInfo) {
+      PageId pageId = pageInfo.getPageId();
+      mFiles.computeIfAbsent(pageId.getFileId(), k -> new HashSet<>()).add(pageId);
+      return mPages.put(pageId, pageInfo);
+    }
+
+    /**
+     * @param pageId the page to remove
+     * @return the page info removed, or null if the page was not present
+     */
+    synchronized PageInfo remove(PageId pageId) {
+      PageInfo pageInfo = mPages.remove(pageId);
+      if (pageInfo != null) {
+        Set<PageId> filePages = mFiles.get(pageId.getFileId());
+        filePages.remove(pageId);
+        if (filePages.isEmpty()) {
+          mFiles.remove(pageId.getFileId());
+        }
+      }
+      return pageInfo;
+    }
+
+    /**
+     * @param fileId the file to remove
+     * @return the pages removed
+     */
+    synchronized List<PageInfo> removeFile(String fileId) {
+      Set<PageId> filePages = mFiles.remove(fileId);
+      if (filePages == null) {
+        return new ArrayList<>();
+      }
+      List<PageInfo> pages = new ArrayList<>(filePages.size());
+      for (PageId pageId : filePages) {
+        pages.add(mPages.remove(pageId));
+      }
+      return pages;
+    }
+
+    synchronized void clear() {
+      mPages.clear();
+      mFiles.clear();
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+  }
+}
@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -46,6 +47,11 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class DefaultPageMetaStore implements PageMetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultPageMetaStore.class);
+  /**
+   * Rough heap cost of one page: the page info, the page id, and the entries of the page in the
+   * unique and non-unique indexes of the indexed set.
+   */
+  private static final long ESTIMATED_BYTES_PER_PAGE = 200;
   /** A map from PageId to page info. */
   private final IndexedSet<PageInfo> mPages = new IndexedSet<>(INDEX_PAGE_ID, INDEX_FILE_ID);
   private final ImmutableList<PageStoreDir> mDirs;
@@ -79,6 +85,8 @@ public class DefaultPageMetaStore implements PageMetaStore {
     //metrics for the num of pages stored in the cache
     MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
         mPages::size);
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_META_STORE_HEAP_BYTES.getName(),
+        this::estimatedHeapBytes);
   }
 
   @Override
@@ -166,6 +174,12 @@ public class DefaultPageMetaStore implements PageMetaStore {
     return pageInfo;
   }
 
+  @Override
+  public List<PageInfo> getPages(PageStoreDir pageStoreDir) {
+    return mPages.stream().filter(pageInfo -> pageInfo.getLocalCacheDir() == pageStoreDir)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public long bytes() {
     return mBytes.get();
@@ -177,6 +191,11 @@ public class DefaultPageMetaStore implements PageMetaStore {
     return mPages.size();
   }
 
+  @Override
+  public long estimatedHeapBytes() {
+    return mPages.size() * ESTIMATED_BYTES_PER_PAGE;
+  }
+
   @Override
   @GuardedBy("getLock()")
   public void reset() {
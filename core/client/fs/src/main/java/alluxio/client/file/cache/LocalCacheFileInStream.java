@@ -16,6 +16,7 @@ import static alluxio.client.file.CacheContext.StatsUnit.NANO;
 
 import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileRange;
 import alluxio.client.file.URIStatus;
 import alluxio.client.file.cache.store.ByteArrayTargetBuffer;
 import alluxio.client.file.cache.store.ByteBufferTargetBuffer;
@@ -34,9 +35,24 @@ import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -45,6 +61,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class LocalCacheFileInStream extends FileInStream {
   private static final Logger LOG = LoggerFactory.getLogger(LocalCacheFileInStream.class);
+  /** Max number of consecutive pages read from external storage at once by vectored reads. */
+  private static final int MAX_VECTORED_READ_PAGES = 16;
 
   /** Page size in bytes. */
   protected final long mPageSize;
@@ -60,6 +78,9 @@ public class LocalCacheFileInStream extends FileInStream {
   private final URIStatus mStatus;
   private final FileInStreamOpener mExternalFileInStreamOpener;
   private final int mBufferSize;
+  /** Prefetcher of the pages following a sequential read, or null if disabled. */
+  @Nullable
+  private final SequentialPrefetcher mPrefetcher;
 
   private byte[] mBuffer = null;
   private long mBufferStartOffset;
@@ -67,6 +88,17 @@ public class LocalCacheFileInStream extends FileInStream {
 
   /** Stream reading from the external file system, opened once. */
   private FileInStream mExternalFileInStream;
+  /** Lock guarding the external stream of the prefetch tasks. */
+  private final Object mPrefetchLock = new Object();
+  /**
+   * Stream reading prefetched pages from the external file system, opened once, so that
+   * prefetches do not move or wait on the stream serving the reads of this stream.
+   */
+  @GuardedBy("mPrefetchLock")
+  private FileInStream mPrefetchFileInStream;
+  /** Whether the prefetch stream is closed, so that no prefetch may reopen it. */
+  @GuardedBy("mPrefetchLock")
+  private boolean mPrefetchStreamClosed = false;
   /** Current position of the stream, relative to the start of the file. */
   private long mPosition = 0;
   private boolean mClosed = false;
@@ -120,6 +152,15 @@ public class LocalCacheFileInStream extends FileInStream {
     if (mBufferSize > 0) {
       mBuffer = new byte[mBufferSize];
     }
+    Optional<ExecutorService> prefetchExecutor = cacheManager.getPrefetchExecutor();
+    if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED)
+        && prefetchExecutor.isPresent()) {
+      mPrefetcher = new SequentialPrefetcher(this::prefetchPage, prefetchExecutor.get(),
+          conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_MAX_PAGES),
+          (mStatus.getLength() + mPageSize - 1) / mPageSize);
+    } else {
+      mPrefetcher = null;
+    }
   }
 
   @Override
@@ -171,13 +212,8 @@ public class LocalCacheFileInStream extends FileInStream {
   private int localCachedRead(PageReadTargetBuffer bytesBuffer, int length,
       ReadType readType, long position, Stopwatch stopwatch) throws IOException {
     long currentPage = position / mPageSize;
-    PageId pageId;
+    PageId pageId = getPageId(currentPage);
     CacheContext cacheContext = mStatus.getCacheContext();
-    if (cacheContext != null && cacheContext.getCacheIdentifier() != null) {
-      pageId = new PageId(cacheContext.getCacheIdentifier(), currentPage);
-    } else {
-      pageId = new PageId(Long.toString(mStatus.getFileId()), currentPage);
-    }
     int currentPageOffset = (int) (position % mPageSize);
     int bytesLeftInPage = (int) (mPageSize - currentPageOffset);
     int bytesToReadInPage = Math.min(bytesLeftInPage, length);
@@ -220,6 +256,49 @@ public class LocalCacheFileInStream extends FileInStream {
     return bytesToReadInPage;
   }
 
+  private PageId getPageId(long pageIndex) {
+    CacheContext cacheContext = mStatus.getCacheContext();
+    if (cacheContext != null && cacheContext.getCacheIdentifier() != null) {
+      return new PageId(cacheContext.getCacheIdentifier(), pageIndex);
+    }
+    return new PageId(Long.toString(mStatus.getFileId()), pageIndex);
+  }
+
+  /**
+   * Reads a page from external storage into the cache ahead of the stream position.
+   *
+   * @param pageIndex index of the page
+   * @return true if the page was read, false if it was already cached or the stream is closed
+   */
+  private boolean prefetchPage(long pageIndex) throws IOException {
+    PageId pageId = getPageId(pageIndex);
+    if (mCacheManager.hasPage(pageId)) {
+      return false;
+    }
+    long pageStart = pageIndex * mPageSize;
+    byte[] page;
+    synchronized (mPrefetchLock) {
+      if (mPrefetchStreamClosed) {
+        return false;
+      }
+      try {
+        if (mPrefetchFileInStream == null) {
+          mPrefetchFileInStream = mExternalFileInStreamOpener.open(mStatus);
+        }
+      } catch (AlluxioException e) {
+        throw new IOException(e);
+      }
+      if (mPrefetchFileInStream.getPos() != pageStart) {
+        mPrefetchFileInStream.seek(pageStart);
+      }
+      page = readFully(mPrefetchFileInStream,
+          (int) Math.min(mPageSize, mStatus.getLength() - pageStart),
+          ReadType.READ_INTO_BYTE_ARRAY);
+    }
+    mCacheManager.prefetch(pageId, ByteBuffer.wrap(page), mCacheContext);
+    return true;
+  }
+
   // TODO(binfan): take ByteBuffer once CacheManager takes ByteBuffer to avoid extra mem copy
   private int readInternal(PageReadTargetBuffer targetBuffer, int offset, int length,
       ReadType readType, long position, boolean isPositionedRead) throws IOException {
@@ -239,6 +318,10 @@ public class LocalCacheFileInStream extends FileInStream {
     Stopwatch stopwatch = createUnstartedStopwatch();
     // for each page, check if it is available in the cache
     while (totalBytesRead < lengthToRead) {
+      if (mPrefetcher != null && !isPositionedRead) {
+        // only the stream's own reads are sequential, positioned reads may come from anywhere
+        mPrefetcher.onPageRead(currentPosition / mPageSize);
+      }
       int bytesRead = bufferedRead(targetBuffer,
           (int) (lengthToRead - totalBytesRead), readType, currentPosition, stopwatch);
       totalBytesRead += bytesRead;
@@ -274,7 +357,20 @@ public class LocalCacheFileInStream extends FileInStream {
 
   @Override
   public void close() throws IOException {
-    mCloser.close();
+    if (mPrefetcher != null) {
+      mPrefetcher.close();
+    }
+    try {
+      // wait for any prefetch reading from the prefetch stream
+      synchronized (mPrefetchLock) {
+        mPrefetchStreamClosed = true;
+        if (mPrefetchFileInStream != null) {
+          mPrefetchFileInStream.close();
+        }
+      }
+    } finally {
+      mCloser.close();
+    }
   }
 
   @Override
@@ -309,6 +405,122 @@ public class LocalCacheFileInStream extends FileInStream {
     mPosition = pos;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Pages cached are read from the cache. Runs of consecutive pages missing from the cache are
+   * read from external storage with a single read each, and added to the cache.
+   */
+  @Override
+  public void readVectored(List<FileRange> ranges, IntFunction<ByteBuffer> allocate) {
+    List<FileRange> sortedRanges = new ArrayList<>(ranges);
+    sortedRanges.sort(Comparator.comparingLong(FileRange::getOffset));
+    Map<FileRange, ByteBuffer> buffers = new HashMap<>();
+    TreeSet<Long> missingPages = new TreeSet<>();
+    for (FileRange range : sortedRanges) {
+      if (range.getOffset() + range.getLength() > mStatus.getLength()) {
+        range.getData().completeExceptionally(new EOFException(
+            String.format("%s exceeds the length of the file (%s)", range, mStatus.getLength())));
+        continue;
+      }
+      ByteBuffer buffer = allocate.apply(range.getLength());
+      int start = buffer.position();
+      boolean complete = true;
+      for (long pos = range.getOffset(); pos < range.getOffset() + range.getLength(); ) {
+        long pageIndex = pos / mPageSize;
+        int pageOffset = (int) (pos % mPageSize);
+        int length = (int) Math.min(mPageSize - pageOffset,
+            range.getOffset() + range.getLength() - pos);
+        buffer.position(start + (int) (pos - range.getOffset()));
+        int bytesRead = mCacheManager.get(getPageId(pageIndex), pageOffset, length,
+            new ByteBufferTargetBuffer(buffer), mCacheContext);
+        if (bytesRead == length) {
+          MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
+        } else {
+          MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
+              .mark(length);
+          missingPages.add(pageIndex);
+          complete = false;
+        }
+        pos += length;
+      }
+      buffer.position(start);
+      buffer.limit(start + range.getLength());
+      if (complete) {
+        range.getData().complete(buffer);
+      } else {
+        buffers.put(range, buffer);
+      }
+    }
+    if (buffers.isEmpty()) {
+      return;
+    }
+    Map<Long, byte[]> pages = readExternalPages(missingPages);
+    for (Map.Entry<FileRange, ByteBuffer> entry : buffers.entrySet()) {
+      FileRange range = entry.getKey();
+      ByteBuffer buffer = entry.getValue();
+      int start = buffer.position();
+      for (long pos = range.getOffset(); pos < range.getOffset() + range.getLength(); ) {
+        long pageIndex = pos / mPageSize;
+        int pageOffset = (int) (pos % mPageSize);
+        int length = (int) Math.min(mPageSize - pageOffset,
+            range.getOffset() + range.getLength() - pos);
+        if (missingPages.contains(pageIndex)) {
+          byte[] page = pages.get(pageIndex);
+          if (page == null) {
+            range.getData().completeExceptionally(new IOException(
+                String.format("Failed to read page %s of %s from external storage", pageIndex,
+                    range)));
+            break;
+          }
+          buffer.position(start + (int) (pos - range.getOffset()));
+          buffer.put(page, pageOffset, length);
+        }
+        pos += length;
+      }
+      buffer.position(start);
+      range.getData().complete(buffer);
+    }
+  }
+
+  /**
+   * Reads pages from external storage into the cache, with a single read for each run of
+   * consecutive pages.
+   *
+   * @param pageIndexes indexes of the pages, in ascending order
+   * @return the pages successfully read, keyed by page index
+   */
+  private Map<Long, byte[]> readExternalPages(SortedSet<Long> pageIndexes) {
+    Map<Long, byte[]> pages = new HashMap<>();
+    Iterator<Long> iterator = pageIndexes.iterator();
+    long runStart = iterator.next();
+    int runLength = 1;
+    while (runLength > 0) {
+      long next = iterator.hasNext() ? iterator.next() : -1;
+      if (next == runStart + runLength && runLength < MAX_VECTORED_READ_PAGES) {
+        runLength++;
+        continue;
+      }
+      long runStartPosition = runStart * mPageSize;
+      int length = (int) Math.min(runLength * mPageSize, mStatus.getLength() - runStartPosition);
+      try {
+        byte[] data = readExternal(runStartPosition, length, ReadType.READ_INTO_BYTE_ARRAY);
+        for (int i = 0; i < runLength; i++) {
+          int from = (int) (i * mPageSize);
+          byte[] page = Arrays.copyOfRange(data, from, (int) Math.min(from + mPageSize, length));
+          pages.put(runStart + i, page);
+          mCacheManager.put(getPageId(runStart + i), page, mCacheContext);
+        }
+      } catch (IOException e) {
+        LOG.debug("Failed to read {} pages from page {} of file {}", runLength, runStart,
+            mStatus.getPath(), e);
+      }
+      runStart = next;
+      runLength = next == -1 ? 0 : 1;
+    }
+    return pages;
+  }
+
   @Override
   public void unbuffer() {
     if (mExternalFileInStream != null) {
@@ -364,8 +576,31 @@ public class LocalCacheFileInStream extends FileInStream {
   private synchronized byte[] readExternalPage(long position, ReadType readType)
       throws IOException {
     long pageStart = position - (position % mPageSize);
-    FileInStream stream = getExternalFileInStream(pageStart);
-    int pageSize = (int) Math.min(mPageSize, mStatus.getLength() - pageStart);
+    return readExternal(pageStart, (int) Math.min(mPageSize, mStatus.getLength() - pageStart),
+        readType);
+  }
+
+  /**
+   * Reads consecutive pages from external storage.
+   *
+   * @param pageStart the start of the first page
+   * @param pageSize the number of bytes to read
+   * @return a byte array of the data
+   */
+  private synchronized byte[] readExternal(long pageStart, int pageSize, ReadType readType)
+      throws IOException {
+    return readFully(getExternalFileInStream(pageStart), pageSize, readType);
+  }
+
+  /**
+   * Reads bytes from the current position of an external stream.
+   *
+   * @param stream the external stream
+   * @param pageSize the number of bytes to read
+   * @return a byte array of the data
+   */
+  private static byte[] readFully(FileInStream stream, int pageSize, ReadType readType)
+      throws IOException {
     byte[] page = new byte[pageSize];
     ByteBuffer buffer = readType == ReadType.READ_INTO_BYTE_BUFFER ? ByteBuffer.wrap(page) : null;
     int totalBytesRead = 0;
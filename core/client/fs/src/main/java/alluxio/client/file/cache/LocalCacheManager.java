@@ -15,21 +15,23 @@ import static alluxio.client.file.cache.CacheManager.State.NOT_IN_USE;
 import static alluxio.client.file.cache.CacheManager.State.READ_ONLY;
 import static alluxio.client.file.cache.CacheManager.State.READ_WRITE;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.CacheAdmissionPolicy;
 import alluxio.client.file.cache.store.ByteArrayTargetBuffer;
 import alluxio.client.file.cache.store.PageReadTargetBuffer;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
-import alluxio.collections.ConcurrentHashSet;
 import alluxio.collections.Pair;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
@@ -41,15 +43,15 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -90,11 +92,19 @@ public class LocalCacheManager implements CacheManager {
   private final PageMetaStore mPageMetaStore;
   /** Executor service for execute the init tasks. */
   private final Optional<ExecutorService> mInitService;
-  /** Executor service for execute the async cache tasks. */
-  private final Optional<ExecutorService> mAsyncCacheExecutor;
+  /** Write-behind queue for the async cache tasks. */
+  private final Optional<AsyncPageWriter> mAsyncPageWriter;
   /** Executor service for execute the cache ttl check tasks. */
   private final Optional<ScheduledExecutorService> mTtlEnforcerExecutor;
-  private final ConcurrentHashSet<PageId> mPendingRequests;
+  /** Executor writing checkpoints of the page index and scanning checkpointed dirs. */
+  private final Optional<ScheduledExecutorService> mCheckpointExecutor;
+  /** Executor running the prefetch tasks of the streams reading through this cache. */
+  private final Optional<ExecutorService> mPrefetchExecutor;
+  /** Policy deciding whether new pages may evict cached ones. */
+  private final CacheAdmissionPolicy mAdmissionPolicy;
+  /** Listener notified with the data of evicted pages. */
+  @Nullable
+  private volatile PageEvictionListener mEvictionListener;
   /** State of this cache. */
   private final AtomicReference<CacheManager.State> mState = new AtomicReference<>();
   private final CacheManagerOptions mOptions;
@@ -136,13 +146,11 @@ public class LocalCacheManager implements CacheManager {
     for (int i = 0; i < LOCK_SIZE; i++) {
       mPageLocks[i] = new ReentrantReadWriteLock(true /* fair ordering */);
     }
-    mPendingRequests = new ConcurrentHashSet<>();
-    mAsyncCacheExecutor =
+    mAdmissionPolicy = CacheAdmissionPolicy.create(options.getCacheAdmissionOptions());
+    mAsyncPageWriter =
         options.isAsyncWriteEnabled()
-            ? Optional.of(
-              new ThreadPoolExecutor(mOptions.getAsyncWriteThreads(),
-                  mOptions.getAsyncWriteThreads(), 60, TimeUnit.SECONDS,
-                  new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy()))
+            ? Optional.of(new AsyncPageWriter(this::putInternal, mOptions.getAsyncWriteThreads(),
+                mOptions.getAsyncWriteQueueSize(), mOptions.getAsyncWriteBatchSize()))
             : Optional.empty();
     mInitService =
         options.isAsyncRestoreEnabled() ? Optional.of(Executors.newSingleThreadExecutor()) :
@@ -162,6 +170,17 @@ public class LocalCacheManager implements CacheManager {
     } else {
       mTtlEnforcerExecutor = Optional.empty();
     }
+    if (options.isCheckpointEnabled()) {
+      mCheckpointExecutor = Optional.of(newScheduledThreadPool(1,
+          ThreadFactoryUtils.build("cache-checkpoint-%d", true)));
+      mCheckpointExecutor.get().scheduleWithFixedDelay(this::checkpoint,
+          options.getCheckpointIntervalMs(), options.getCheckpointIntervalMs(), MILLISECONDS);
+    } else {
+      mCheckpointExecutor = Optional.empty();
+    }
+    mPrefetchExecutor = options.isPrefetchEnabled()
+        ? Optional.of(SequentialPrefetcher.createExecutorService(options.getPrefetchThreads()))
+        : Optional.empty();
     Metrics.registerGauges(mCacheSize, mPageMetaStore);
     mState.set(READ_ONLY);
     Metrics.STATE.inc();
@@ -214,6 +233,7 @@ public class LocalCacheManager implements CacheManager {
     NO_SPACE_LEFT,
     OK,
     OTHER,
+    REJECTED,
   }
 
   /**
@@ -254,38 +274,45 @@ public class LocalCacheManager implements CacheManager {
     if (!mOptions.isAsyncWriteEnabled()) {
       boolean ok = putInternal(pageId, page, cacheContext);
       LOG.debug("put({},{} bytes) exits: {}", pageId, page.position() - originPosition, ok);
-      if (!ok) {
-        Metrics.PUT_ERRORS.inc();
-      }
       return ok;
     }
 
-    if (!mPendingRequests.add(pageId)) { // already queued
-      return false;
+    switch (mAsyncPageWriter.get().submit(pageId, page, cacheContext)) {
+      case QUEUED:
+        LOG.debug("put({},{} bytes) exits with async write", pageId,
+            page.position() - originPosition);
+        return true;
+      case COALESCED: // already queued
+        return false;
+      case FULL:
+        // apply backpressure by writing on the caller's thread rather than dropping the page
+        boolean ok = putInternal(pageId, page, cacheContext);
+        LOG.debug("put({},{} bytes) exits with full async write queue: {}", pageId,
+            page.position() - originPosition, ok);
+        return ok;
+      default:
+        Metrics.PUT_ASYNC_REJECTION_ERRORS.inc();
+        Metrics.PUT_ERRORS.inc();
+        LOG.debug("put({},{} bytes) fails due to closed async write queue", pageId,
+            page.position() - originPosition);
+        return false;
     }
-    try {
-      mAsyncCacheExecutor.get().submit(() -> {
-        try {
-          boolean ok = putInternal(pageId, page, cacheContext);
-          if (!ok) {
-            Metrics.PUT_ERRORS.inc();
-          }
-        } finally {
-          mPendingRequests.remove(pageId);
-        }
-      });
-    } catch (RejectedExecutionException e) { // queue is full, skip
-      // RejectedExecutionException may be thrown in extreme cases when the
-      // highly concurrent caching workloads. In these cases, return false
-      mPendingRequests.remove(pageId);
-      Metrics.PUT_ASYNC_REJECTION_ERRORS.inc();
+  }
+
+  @Override
+  public boolean prefetch(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    LOG.debug("prefetch({},{} bytes) enters", pageId, page.remaining());
+    if (mState.get() != READ_WRITE) {
+      Metrics.PUT_NOT_READY_ERRORS.inc();
       Metrics.PUT_ERRORS.inc();
-      LOG.debug("put({},{} bytes) fails due to full queue", pageId,
-          page.position() - originPosition);
       return false;
     }
-    LOG.debug("put({},{} bytes) exits with async write", pageId, page.position() - originPosition);
-    return true;
+    // the page is about to be read, so the admission policy counts it as accessed, while a
+    // scan still cannot evict pages accessed more often
+    mAdmissionPolicy.recordAccess(pageId);
+    boolean ok = putInternal(pageId, page, cacheContext);
+    LOG.debug("prefetch({}) exits: {}", pageId, ok);
+    return ok;
   }
 
   private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
@@ -296,6 +323,10 @@ public class LocalCacheManager implements CacheManager {
       switch (result) {
         case OK:
           return true;
+        case REJECTED:
+          // the admission policy decided to keep the cached page, which is not an error
+          Metrics.PUT_ADMISSION_REJECTED.inc();
+          return false;
         case BENIGN_RACING:
           // failed put attempt due to a benign race, try again.
         case INSUFFICIENT_SPACE_EVICTED:
@@ -314,6 +345,7 @@ public class LocalCacheManager implements CacheManager {
         case OTHER:
           // fall through intentionally
         default:
+          Metrics.PUT_ERRORS.inc();
           return false;
       }
     }
@@ -322,6 +354,7 @@ public class LocalCacheManager implements CacheManager {
     } else if (result == PutResult.INSUFFICIENT_SPACE_EVICTED) {
       Metrics.PUT_INSUFFICIENT_SPACE_ERRORS.inc();
     }
+    Metrics.PUT_ERRORS.inc();
     return false;
   }
 
@@ -358,6 +391,11 @@ public class LocalCacheManager implements CacheManager {
             Metrics.PUT_EVICTION_ERRORS.inc();
             return PutResult.OTHER;
           }
+          if (!mAdmissionPolicy.admit(pageId, victimPageInfo.getPageId())) {
+            LOG.debug("{} is rejected by the admission policy in favor of {}", pageId,
+                victimPageInfo.getPageId());
+            return PutResult.REJECTED;
+          }
         }
       }
       if (scopeToEvict == null) {
@@ -410,6 +448,8 @@ public class LocalCacheManager implements CacheManager {
       // phase2: remove victim and add new page in pagestore
       // Regardless of enoughSpace, delete the victim as it has been removed from the metastore
       PageId victim = victimPageInfo.getPageId();
+      PageEvictionListener evictionListener = mEvictionListener;
+      byte[] victimPage = evictionListener == null ? null : readEvictedPage(victimPageInfo);
       try {
         pageStoreDir.getPageStore().delete(victim);
         // Bytes evicted from the cache
@@ -430,6 +470,9 @@ public class LocalCacheManager implements CacheManager {
         Metrics.PUT_STORE_DELETE_ERRORS.inc();
         return PutResult.OTHER;
       }
+      if (victimPage != null) {
+        evictionListener.onPageEvicted(victimPageInfo, victimPage);
+      }
       if (scopeToEvict != null) {
         return PutResult.INSUFFICIENT_SPACE_EVICTED;
       }
@@ -490,11 +533,12 @@ public class LocalCacheManager implements CacheManager {
       Metrics.GET_ERRORS.inc();
       return -1;
     }
+    mAdmissionPolicy.recordAccess(pageId);
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.readLock())) {
       PageInfo pageInfo;
-      try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
-        pageInfo = mPageMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
+      try {
+        pageInfo = lookupPage(pageId); //check if page exists and refresh LRU items
       } catch (PageNotFoundException e) {
         LOG.debug("get({},pageOffset={}) fails due to page not found", pageId, pageOffset);
         return 0;
@@ -579,12 +623,20 @@ public class LocalCacheManager implements CacheManager {
    */
   private void restoreOrInit(List<PageStoreDir> pageStoreDirs) throws IOException {
     Preconditions.checkState(mState.get() == READ_ONLY);
+    Map<PageStoreDir, List<PageInfo>> checkpointedDirs = new HashMap<>();
     for (PageStoreDir pageStoreDir : pageStoreDirs) {
-      if (!restore(pageStoreDir)) {
+      List<PageInfo> restoredPages =
+          mOptions.isCheckpointEnabled() ? restoreFromCheckpoint(pageStoreDir) : null;
+      if (restoredPages != null) {
+        checkpointedDirs.put(pageStoreDir, restoredPages);
+      } else if (!restore(pageStoreDir)) {
         try (LockResource r = new LockResource(mPageMetaStore.getLock().writeLock())) {
           mPageMetaStore.reset();
         }
         try {
+          if (mOptions.isCheckpointEnabled()) {
+            PageIndexCheckpoint.delete(pageStoreDir);
+          }
           pageStoreDir.reset();
         } catch (IOException e) {
           LOG.error("Cache is in NOT_IN_USE.");
@@ -597,6 +649,138 @@ public class LocalCacheManager implements CacheManager {
     LOG.info("Cache is in READ_WRITE.");
     mState.set(READ_WRITE);
     Metrics.STATE.inc();
+    for (Map.Entry<PageStoreDir, List<PageInfo>> entry : checkpointedDirs.entrySet()) {
+      mCheckpointExecutor.ifPresent(executor -> executor.execute(
+          () -> reconcile(entry.getKey(), entry.getValue())));
+    }
+  }
+
+  /**
+   * Restores a page store from the checkpoint of its page index. Pages in the checkpoint are
+   * not validated here, pages whose files are missing are removed by {@link #reconcile}.
+   *
+   * @param pageStoreDir the directory to restore
+   * @return the pages restored, or null if there is no valid checkpoint
+   */
+  @Nullable
+  private List<PageInfo> restoreFromCheckpoint(PageStoreDir pageStoreDir) {
+    if (!Files.exists(pageStoreDir.getRootPath())) {
+      return null;
+    }
+    List<PageInfo> pages;
+    try {
+      pages = PageIndexCheckpoint.read(pageStoreDir, mOptions.getPageSize());
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to read the page index checkpoint of {}, scanning pages instead",
+          pageStoreDir.getRootPath(), e);
+      return null;
+    }
+    if (pages.isEmpty()) {
+      return null;
+    }
+    List<PageInfo> restoredPages = new ArrayList<>(pages.size());
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().writeLock())) {
+      for (PageInfo pageInfo : pages) {
+        // pages over the capacity are added and discarded by the scan after restore
+        if (!mPageMetaStore.hasPage(pageInfo.getPageId())
+            && pageStoreDir.getCachedBytes() + pageInfo.getPageSize()
+            <= pageStoreDir.getCapacityBytes()) {
+          mPageMetaStore.addPage(pageInfo.getPageId(), pageInfo);
+          restoredPages.add(pageInfo);
+        }
+      }
+    }
+    LOG.info("PageStore ({}) restored from checkpoint with {} pages ({} bytes)",
+        pageStoreDir.getRootPath(), mPageMetaStore.numPages(), mPageMetaStore.bytes());
+    return restoredPages;
+  }
+
+  /**
+   * Scans a page store restored from a checkpoint, adds the pages cached after the
+   * checkpoint was written, and removes the restored pages whose files are missing.
+   *
+   * @param pageStoreDir the directory to scan
+   * @param restoredPages the pages restored from the checkpoint
+   */
+  @VisibleForTesting
+  void reconcile(PageStoreDir pageStoreDir, List<PageInfo> restoredPages) {
+    Set<PageId> scannedPages = new HashSet<>();
+    try {
+      pageStoreDir.scanPages(pageInfo -> {
+        if (pageInfo.isPresent() && mState.get() == READ_WRITE) {
+          scannedPages.add(pageInfo.get().getPageId());
+          addPageToDir(pageStoreDir, pageInfo.get());
+        }
+      });
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to scan PageStore ({}) restored from checkpoint",
+          pageStoreDir.getRootPath(), e);
+      return;
+    }
+    int removed = 0;
+    for (PageInfo pageInfo : restoredPages) {
+      if (mState.get() != READ_WRITE) {
+        return;
+      }
+      if (!scannedPages.contains(pageInfo.getPageId()) && removeRestoredPage(pageInfo)) {
+        removed++;
+      }
+    }
+    if (removed > 0) {
+      LOG.warn("Removed {} pages restored from the checkpoint of PageStore ({}) whose files "
+          + "are missing", removed, pageStoreDir.getRootPath());
+    }
+  }
+
+  /**
+   * Removes a page restored from a checkpoint if it has not been replaced since.
+   *
+   * @param restored the page restored from the checkpoint
+   * @return true if the page is removed
+   */
+  private boolean removeRestoredPage(PageInfo restored) {
+    PageId pageId = restored.getPageId();
+    ReadWriteLock pageLock = getPageLock(pageId);
+    try (LockResource r = new LockResource(pageLock.writeLock());
+         LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+      if (!mPageMetaStore.hasPage(pageId)) {
+        return false;
+      }
+      // a page put again after restore has a later creation time, and its file may have been
+      // written after the scan passed it
+      PageInfo current = mPageMetaStore.getPageInfo(pageId);
+      if (current.getCreatedTimestamp() != restored.getCreatedTimestamp()) {
+        return false;
+      }
+      mPageMetaStore.removePage(pageId);
+      return true;
+    } catch (PageNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Writes a checkpoint of the page index of every directory, replacing the previous ones.
+   */
+  @VisibleForTesting
+  synchronized void checkpoint() {
+    if (mState.get() != READ_WRITE) {
+      return;
+    }
+    for (PageStoreDir pageStoreDir : mPageStoreDirs) {
+      // this runs as a scheduled task, so any failure must be caught to keep later
+      // checkpoints running
+      try {
+        // neither call holds the meta store lock for the whole walk, so the checkpoint may be
+        // slightly inconsistent with the meta store, which the scan after restore reconciles
+        List<PageId> evictionOrder = pageStoreDir.getEvictor().getEvictionOrder();
+        List<PageInfo> pages = mPageMetaStore.getPages(pageStoreDir);
+        PageIndexCheckpoint.write(pageStoreDir, mOptions.getPageSize(), pages, evictionOrder);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to write the page index checkpoint of {}",
+            pageStoreDir.getRootPath(), e);
+      }
+    }
   }
 
   private boolean restore(PageStoreDir pageStoreDir) {
@@ -627,6 +811,10 @@ public class LocalCacheManager implements CacheManager {
     try (LockResource r = new LockResource(pageLock.writeLock())) {
       boolean enoughSpace;
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+        if (mPageMetaStore.hasPage(pageId)) {
+          // restored from a checkpoint or added by a put after restore
+          return;
+        }
         enoughSpace = pageStoreDir.getCachedBytes() + pageInfo.getPageSize()
             <= pageStoreDir.getCapacityBytes();
         if (enoughSpace) {
@@ -645,6 +833,99 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * Reads an evicted page for the eviction listener. The page lock must be acquired before
+   * calling this method.
+   *
+   * @param pageInfo page info
+   * @return the page data, or null if the page cannot be read
+   */
+  @Nullable
+  private byte[] readEvictedPage(PageInfo pageInfo) {
+    byte[] page = new byte[(int) pageInfo.getPageSize()];
+    try {
+      int bytesRead = pageInfo.getLocalCacheDir().getPageStore().get(pageInfo.getPageId(), 0,
+          page.length, new ByteArrayTargetBuffer(page, 0), false);
+      if (bytesRead == page.length) {
+        return page;
+      }
+    } catch (IOException | PageNotFoundException e) {
+      LOG.debug("Failed to read evicted page {}", pageInfo.getPageId(), e);
+    }
+    return null;
+  }
+
+  /**
+   * Sets a listener notified with the data of each page evicted to make room for new pages.
+   * The listener is called while the page locks of both the evicted page and the new page are
+   * held, so it must not call back into this cache manager.
+   *
+   * @param listener the listener, or null to remove the listener
+   */
+  public void setEvictionListener(@Nullable PageEvictionListener listener) {
+    mEvictionListener = listener;
+  }
+
+  /**
+   * @return the capacity of this cache in bytes
+   */
+  long getCacheSize() {
+    return mCacheSize;
+  }
+
+  /**
+   * @return the meta store of the pages in this cache
+   */
+  PageMetaStore getPageMetaStore() {
+    return mPageMetaStore;
+  }
+
+  /**
+   * Gets the info of a page and updates the evictor as if the page was read.
+   *
+   * @param pageId page identifier
+   * @return the page info, or empty if the page is not cached
+   */
+  public Optional<PageInfo> getPageInfo(PageId pageId) {
+    if (mState.get() == NOT_IN_USE) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(lookupPage(pageId));
+    } catch (PageNotFoundException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Looks up a page in the meta store, holding the meta store lock only if the meta store needs
+   * it for lookups.
+   *
+   * @param pageId page identifier
+   * @return the page info
+   */
+  private PageInfo lookupPage(PageId pageId) throws PageNotFoundException {
+    if (mPageMetaStore.isLockFreeLookup()) {
+      return mPageMetaStore.getPageInfo(pageId);
+    }
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      return mPageMetaStore.getPageInfo(pageId);
+    }
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    if (mState.get() == NOT_IN_USE) {
+      return false;
+    }
+    if (mPageMetaStore.isLockFreeLookup()) {
+      return mPageMetaStore.hasPage(pageId);
+    }
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      return mPageMetaStore.hasPage(pageId);
+    }
+  }
+
   @Override
   public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
     //ceiling round the result
@@ -676,14 +957,24 @@ public class LocalCacheManager implements CacheManager {
     });
   }
 
+  @Override
+  public Optional<ExecutorService> getPrefetchExecutor() {
+    return mPrefetchExecutor;
+  }
+
   @Override
   public void close() throws Exception {
+    mPrefetchExecutor.ifPresent(ExecutorService::shutdownNow);
+    mAsyncPageWriter.ifPresent(AsyncPageWriter::close);
+    if (mCheckpointExecutor.isPresent()) {
+      mCheckpointExecutor.get().shutdownNow();
+      checkpoint();
+    }
     for (PageStoreDir pageStoreDir: mPageStoreDirs) {
       pageStoreDir.close();
     }
     mPageMetaStore.reset();
     mInitService.ifPresent(ExecutorService::shutdownNow);
-    mAsyncCacheExecutor.ifPresent(ExecutorService::shutdownNow);
     mTtlEnforcerExecutor.ifPresent(ExecutorService::shutdownNow);
   }
 
@@ -760,6 +1051,9 @@ public class LocalCacheManager implements CacheManager {
     /** Total number of pages discarded when restoring the page store. */
     private static final Counter PAGE_DISCARDED =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_DISCARDED.getName());
+    /** Pages rejected by the admission policy. */
+    private static final Counter PUT_ADMISSION_REJECTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_ADMISSION_REJECTED.getName());
     /** Errors when adding pages. */
     private static final Counter PUT_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_ERRORS.getName());
@@ -22,6 +22,8 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A wrapper class of CacheManager without throwing unchecked exceptions.
@@ -60,6 +62,17 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean prefetch(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    try {
+      return mCacheManager.prefetch(pageId, page, cacheContext);
+    } catch (Exception e) {
+      LOG.error("Failed to prefetch page {}, cacheContext {}", pageId, cacheContext, e);
+      Metrics.PUT_ERRORS.inc();
+      return false;
+    }
+  }
+
   @Override
   public int get(PageId pageId, int bytesToRead, byte[] buffer, int offsetInBuffer) {
     try {
@@ -122,6 +135,21 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    try {
+      return mCacheManager.hasPage(pageId);
+    } catch (Exception e) {
+      LOG.error("Failed to check page {}", pageId, e);
+      return false;
+    }
+  }
+
+  @Override
+  public Optional<ExecutorService> getPrefetchExecutor() {
+    return mCacheManager.getPrefetchExecutor();
+  }
+
   @Override
   public State state() {
     return mCacheManager.state();
@@ -0,0 +1,26 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+/**
+ * Listener notified when a page is evicted from a cache to make room for a new page.
+ */
+@FunctionalInterface
+public interface PageEvictionListener {
+  /**
+   * Called after a page has been evicted.
+   *
+   * @param pageInfo info of the evicted page
+   * @param page the data of the evicted page
+   */
+  void onPageEvicted(PageInfo pageInfo, byte[] page);
+}
@@ -0,0 +1,184 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A checkpoint of the pages stored in a {@link PageStoreDir}, used to restore the cache without
+ * scanning all page files.
+ *
+ * The checkpoint records the page id, size, scope and creation time of every page, ordered from
+ * the first page to evict to the last so that restoring it rebuilds the eviction order. It is
+ * written to a temporary file and atomically renamed, and ends with a CRC32 checksum of its
+ * content, so a checkpoint interrupted by a crash is either the previous complete checkpoint or
+ * detected as corrupted.
+ */
+public final class PageIndexCheckpoint {
+  private static final long MAGIC = 0x416c7578506749L; // "AluxPgI"
+  private static final int VERSION = 1;
+  private static final String SUFFIX = ".checkpoint";
+  private static final String TEMP_SUFFIX = ".checkpoint.tmp";
+  /** The size of the magic number, version, page size and number of pages. */
+  private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+  /** The size of the checksum. */
+  private static final int TRAILER_BYTES = Long.BYTES;
+  /** The size of a page with an empty file id and scope id, each prefixed by its length. */
+  private static final int MIN_PAGE_BYTES = Short.BYTES + Long.BYTES + Long.BYTES + Short.BYTES
+      + Long.BYTES;
+
+  /**
+   * Gets the path of the checkpoint of a directory. The checkpoint is stored next to the root
+   * path of the directory rather than inside it, so it is not mistaken for a page file.
+   *
+   * @param pageStoreDir the directory
+   * @return the path of the checkpoint
+   */
+  public static Path getPath(PageStoreDir pageStoreDir) {
+    Path rootPath = pageStoreDir.getRootPath();
+    return rootPath.resolveSibling(rootPath.getFileName() + SUFFIX);
+  }
+
+  /**
+   * Writes a checkpoint of the pages of a directory, replacing the previous checkpoint.
+   *
+   * @param pageStoreDir the directory
+   * @param pageSize the page size of the cache
+   * @param pages the pages stored in the directory
+   * @param evictionOrder the pages in eviction order, pages missing from it are written first
+   */
+  public static void write(PageStoreDir pageStoreDir, long pageSize, List<PageInfo> pages,
+      List<PageId> evictionOrder) throws IOException {
+    Map<PageId, PageInfo> remaining = new LinkedHashMap<>(pages.size() * 2);
+    for (PageInfo pageInfo : pages) {
+      remaining.put(pageInfo.getPageId(), pageInfo);
+    }
+    List<PageInfo> ordered = new ArrayList<>(pages.size());
+    for (PageId pageId : evictionOrder) {
+      PageInfo pageInfo = remaining.remove(pageId);
+      if (pageInfo != null) {
+        ordered.add(pageInfo);
+      }
+    }
+    ordered.addAll(0, remaining.values());
+
+    Path path = getPath(pageStoreDir);
+    Path tempPath = path.resolveSibling(pageStoreDir.getRootPath().getFileName() + TEMP_SUFFIX);
+    CRC32 checksum = new CRC32();
+    try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+         DataOutputStream out = new DataOutputStream(
+             new CheckedOutputStream(new BufferedOutputStream(fileOut), checksum))) {
+      out.writeLong(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(pageSize);
+      out.writeInt(ordered.size());
+      for (PageInfo pageInfo : ordered) {
+        out.writeUTF(pageInfo.getPageId().getFileId());
+        out.writeLong(pageInfo.getPageId().getPageIndex());
+        out.writeLong(pageInfo.getPageSize());
+        out.writeUTF(pageInfo.getScope().getId());
+        out.writeLong(pageInfo.getCreatedTimestamp());
+      }
+      out.writeLong(checksum.getValue());
+      out.flush();
+      fileOut.getFD().sync();
+    }
+    Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Reads the checkpoint of a directory.
+   *
+   * @param pageStoreDir the directory
+   * @param pageSize the page size of the cache
+   * @return the pages in the checkpoint in eviction order, or an empty list if there is no
+   *         checkpoint
+   * @throws IOException if the checkpoint cannot be read, is corrupted or is written with a
+   *         different page size
+   */
+  public static List<PageInfo> read(PageStoreDir pageStoreDir, long pageSize)
+      throws IOException {
+    Path path = getPath(pageStoreDir);
+    if (!Files.exists(path)) {
+      return Collections.emptyList();
+    }
+    long fileSize = Files.size(path);
+    CRC32 checksum = new CRC32();
+    try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+        new BufferedInputStream(Files.newInputStream(path)), checksum))) {
+      if (in.readLong() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException("Unrecognized page index checkpoint " + path);
+      }
+      long checkpointPageSize = in.readLong();
+      if (checkpointPageSize != pageSize) {
+        throw new IOException(String.format(
+            "Page index checkpoint %s has page size %d, expected %d", path, checkpointPageSize,
+            pageSize));
+      }
+      int numPages = in.readInt();
+      // the count is not covered by the checksum until all pages are read, so check it against
+      // the size of the file before trusting it to size the list
+      if (numPages < 0 || numPages > (fileSize - HEADER_BYTES - TRAILER_BYTES) / MIN_PAGE_BYTES) {
+        throw new IOException(String.format(
+            "Page index checkpoint %s of %d bytes cannot hold %d pages", path, fileSize,
+            numPages));
+      }
+      List<PageInfo> pages = new ArrayList<>(numPages);
+      Map<String, CacheScope> scopes = new HashMap<>();
+      for (int i = 0; i < numPages; i++) {
+        PageId pageId = new PageId(in.readUTF(), in.readLong());
+        long size = in.readLong();
+        CacheScope scope = scopes.computeIfAbsent(in.readUTF(), CacheScope::create);
+        pages.add(new PageInfo(pageId, size, scope, pageStoreDir, in.readLong()));
+      }
+      long expected = checksum.getValue();
+      if (in.readLong() != expected) {
+        throw new IOException("Checksum mismatch in page index checkpoint " + path);
+      }
+      return pages;
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Corrupted page index checkpoint " + path, e);
+    }
+  }
+
+  /**
+   * Deletes the checkpoint of a directory if it exists.
+   *
+   * @param pageStoreDir the directory
+   */
+  public static void delete(PageStoreDir pageStoreDir) throws IOException {
+    Files.deleteIfExists(getPath(pageStoreDir));
+  }
+
+  private PageIndexCheckpoint() {} // prevent instantiation
+}
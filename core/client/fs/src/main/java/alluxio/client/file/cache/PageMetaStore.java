@@ -33,7 +33,15 @@ public interface PageMetaStore {
     if (options.isQuotaEnabled()) {
       return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs);
     }
-    return new DefaultPageMetaStore(dirs);
+    switch (options.getPageMetaStoreType()) {
+      case CONCURRENT:
+        return new ConcurrentPageMetaStore(dirs);
+      case COMPACT:
+        return new CompactPageMetaStore(dirs);
+      case DEFAULT:
+      default:
+        return new DefaultPageMetaStore(dirs);
+    }
   }
 
   /**
@@ -41,6 +49,17 @@ public interface PageMetaStore {
    */
   ReadWriteLock getLock();
 
+  /**
+   * Returns whether single page lookups, i.e. {@link #hasPage} and {@link #getPageInfo}, are safe
+   * without holding {@link #getLock()}. Callers only need the lock for multi-step operations
+   * on such meta stores.
+   *
+   * @return true if page lookups do not need the lock
+   */
+  default boolean isLockFreeLookup() {
+    return false;
+  }
+
   /**
    * @param pageId page identifier
    * @return if a page is stored in cache
@@ -99,6 +118,17 @@ public interface PageMetaStore {
    */
   PageInfo removePage(PageId pageId) throws PageNotFoundException;
 
+  /**
+   * Gets the pages stored in a directory. Callers do not need to hold {@link #getLock()} for
+   * the whole call: implementations either read concurrent structures or acquire the lock for
+   * small batches of pages, so the result may miss or include pages added or removed
+   * concurrently.
+   *
+   * @param pageStoreDir the storage directory
+   * @return the pages stored in the directory
+   */
+  List<PageInfo> getPages(PageStoreDir pageStoreDir);
+
   /**
    * @return the total size of pages stored in bytes
    */
@@ -109,6 +139,11 @@ public interface PageMetaStore {
    */
   long numPages();
 
+  /**
+   * @return an estimate of the heap memory used by the page metadata in bytes
+   */
+  long estimatedHeapBytes();
+
   /**
    * Resets the meta store.
    */
@@ -0,0 +1,282 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reads pages of a file into the cache ahead of a stream reading them sequentially. Each time the
+ * stream moves on to the page following the one it read last, the next pages up to the readahead
+ * window are fetched asynchronously. The window starts at one page, doubles every time the stream
+ * reads a prefetched page and halves when prefetched pages are discarded unread because the
+ * stream moved elsewhere.
+ *
+ * A stream reaching a page which is being prefetched waits for it instead of reading the page
+ * from external storage a second time. A page whose prefetch has not started yet, e.g. because
+ * the task is queued behind the ones of other streams, is read by the stream itself.
+ */
+@ThreadSafe
+public class SequentialPrefetcher implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(SequentialPrefetcher.class);
+  private static final int MIN_WINDOW = 1;
+  /** Max number of prefetch tasks waiting for a thread, across all streams. */
+  private static final int MAX_QUEUED_TASKS = 1024;
+
+  /**
+   * Function to read a page from external storage into the cache.
+   */
+  @FunctionalInterface
+  public interface PageFetcher {
+    /**
+     * @param pageIndex index of the page in the file
+     * @return true if the page was read from external storage, false if it was already cached
+     */
+    boolean fetch(long pageIndex) throws IOException;
+  }
+
+  private final PageFetcher mFetcher;
+  private final ExecutorService mExecutor;
+  private final int mMaxWindow;
+  private final long mNumPages;
+
+  @GuardedBy("this")
+  private int mWindow = MIN_WINDOW;
+  @GuardedBy("this")
+  private long mLastPageIndex = -1;
+  /** Index of the first page after the ones already prefetched. */
+  @GuardedBy("this")
+  private long mNextPageIndex = 0;
+  /** Pages prefetched or being prefetched, but not read by the stream yet. */
+  @GuardedBy("this")
+  private final Map<Long, PendingPage> mPending = new HashMap<>();
+  @GuardedBy("this")
+  private boolean mClosed = false;
+
+  /**
+   * Creates an executor to be shared by the prefetchers of all streams reading through a cache.
+   * Prefetches are skipped rather than queued without bound once the executor is busy.
+   *
+   * @param threads number of threads of the executor
+   * @return the executor
+   */
+  public static ExecutorService createExecutorService(int threads) {
+    return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(MAX_QUEUED_TASKS),
+        ThreadFactoryUtils.build("cache-prefetcher-%d", true));
+  }
+
+  /**
+   * @param fetcher function to fetch pages
+   * @param executor executor to run the prefetch tasks
+   * @param maxWindow max number of pages to fetch ahead
+   * @param numPages number of pages of the file
+   */
+  public SequentialPrefetcher(PageFetcher fetcher, ExecutorService executor, int maxWindow,
+      long numPages) {
+    Preconditions.checkArgument(maxWindow >= MIN_WINDOW, "maxWindow should be positive");
+    mFetcher = fetcher;
+    mExecutor = executor;
+    mMaxWindow = maxWindow;
+    mNumPages = numPages;
+  }
+
+  /**
+   * Notifies the prefetcher that the stream is about to read a page. If the page is being
+   * prefetched, waits for it to be fetched.
+   *
+   * @param pageIndex index of the page
+   */
+  public void onPageRead(long pageIndex) {
+    PendingPage prefetched;
+    synchronized (this) {
+      if (mClosed || pageIndex == mLastPageIndex) {
+        return;
+      }
+      boolean sequential = pageIndex == mLastPageIndex + 1;
+      mLastPageIndex = pageIndex;
+      prefetched = mPending.remove(pageIndex);
+      if (!sequential) {
+        if (discardPending() > 0) {
+          mWindow = Math.max(MIN_WINDOW, mWindow / 2);
+        }
+        mNextPageIndex = pageIndex + 1;
+      } else {
+        schedule(pageIndex);
+      }
+    }
+    if (prefetched == null || prefetched.claim()) {
+      // the prefetch of the page has not started, so the stream reads the page itself
+      return;
+    }
+    try {
+      if (prefetched.mFetched.get()) {
+        Metrics.PREFETCH_HITS.inc();
+        synchronized (this) {
+          mWindow = Math.min(mMaxWindow, mWindow * 2);
+        }
+      }
+    } catch (ExecutionException e) {
+      // the stream reads the page itself
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @GuardedBy("this")
+  private void schedule(long pageIndex) {
+    long first = Math.max(mNextPageIndex, pageIndex + 1);
+    long end = Math.min(mNumPages, pageIndex + 1 + mWindow);
+    if (first >= end) {
+      return;
+    }
+    List<Long> pages = new ArrayList<>();
+    List<PendingPage> pending = new ArrayList<>();
+    for (long i = first; i < end; i++) {
+      pages.add(i);
+      pending.add(new PendingPage());
+    }
+    try {
+      mExecutor.submit(() -> fetch(pages, pending));
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Skip prefetching pages [{}, {}) as the prefetch queue is full", first, end);
+      return;
+    }
+    for (int i = 0; i < pages.size(); i++) {
+      mPending.put(pages.get(i), pending.get(i));
+    }
+    mNextPageIndex = end;
+  }
+
+  private void fetch(List<Long> pages, List<PendingPage> pending) {
+    for (int i = 0; i < pages.size(); i++) {
+      PendingPage page = pending.get(i);
+      if (!page.claim()) {
+        // the stream reads the page itself or moved elsewhere
+        continue;
+      }
+      try {
+        boolean fetched = mFetcher.fetch(pages.get(i));
+        if (fetched) {
+          Metrics.PREFETCH_PAGES.inc();
+        }
+        page.mFetched.complete(fetched);
+      } catch (Throwable t) {
+        LOG.debug("Failed to prefetch page {}", pages.get(i), t);
+        page.mFetched.complete(false);
+      }
+    }
+  }
+
+  /**
+   * Discards pending pages, skipping the ones whose prefetch has not started yet.
+   *
+   * @return the number of pages fetched but not read
+   */
+  @GuardedBy("this")
+  private int discardPending() {
+    int wasted = 0;
+    for (PendingPage page : mPending.values()) {
+      if (!page.claim() && page.mFetched.getNow(false)) {
+        wasted++;
+      }
+    }
+    mPending.clear();
+    Metrics.PREFETCH_WASTED.inc(wasted);
+    return wasted;
+  }
+
+  /**
+   * @return the current readahead window in pages
+   */
+  @VisibleForTesting
+  synchronized int getWindow() {
+    return mWindow;
+  }
+
+  /**
+   * @param pageIndex index of the page
+   * @return the future of the pending page, or null if the page is not pending
+   */
+  @VisibleForTesting
+  @Nullable
+  synchronized CompletableFuture<Boolean> getPending(long pageIndex) {
+    PendingPage page = mPending.get(pageIndex);
+    return page == null ? null : page.mFetched;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    discardPending();
+  }
+
+  /**
+   * A page to prefetch, which is claimed either by the prefetch task to fetch it or by the stream
+   * to read it itself.
+   */
+  private static final class PendingPage {
+    private final AtomicBoolean mClaimed = new AtomicBoolean();
+    /** Completes with whether the page was read from external storage once it is fetched. */
+    private final CompletableFuture<Boolean> mFetched = new CompletableFuture<>();
+
+    /**
+     * @return true if the caller claimed the page, false if it was claimed before
+     */
+    private boolean claim() {
+      return mClaimed.compareAndSet(false, true);
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Prefetched pages read by the stream. */
+    private static final Counter PREFETCH_HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_HITS.getName());
+    /** Pages prefetched. */
+    private static final Counter PREFETCH_PAGES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_PAGES.getName());
+    /** Prefetched pages not read by the stream. */
+    private static final Counter PREFETCH_WASTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED.getName());
+  }
+}
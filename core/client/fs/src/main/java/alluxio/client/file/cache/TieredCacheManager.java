@@ -0,0 +1,329 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.FrequencySketch;
+import alluxio.client.file.cache.store.ByteArrayTargetBuffer;
+import alluxio.client.file.cache.store.PageReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+
+import com.codahale.metrics.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache manager with a memory tier in front of a disk tier. Each page is cached in at most one
+ * tier:
+ * <ul>
+ *   <li>new pages are put into the memory tier, and into the disk tier if the memory tier does
+ *   not admit them;</li>
+ *   <li>pages evicted from the memory tier are spilled to the disk tier;</li>
+ *   <li>pages read from the disk tier repeatedly are promoted to the memory tier.</li>
+ * </ul>
+ * Reads look up the memory tier first, so hot pages are served without touching the disk.
+ * Changes that move a page between the tiers hold a striped page lock, so a page never ends up
+ * in both tiers.
+ */
+@ThreadSafe
+public class TieredCacheManager implements CacheManager {
+  private static final Logger LOG = LoggerFactory.getLogger(TieredCacheManager.class);
+
+  private static final int LOCK_SIZE = 1024;
+  /** A lock pool to guard the tier of individual pages based on striping. */
+  private final Lock[] mPageLocks = new ReentrantLock[LOCK_SIZE];
+  private final LocalCacheManager mMemoryCache;
+  private final LocalCacheManager mDiskCache;
+  /** Number of recent reads from the disk tier before a page is promoted. */
+  private final int mPromotionHits;
+  /** Recent reads from the disk tier. */
+  private final FrequencySketch mDiskHits;
+
+  /**
+   * @param memoryCache the memory tier
+   * @param diskCache the disk tier
+   * @param promotionHits number of recent reads from the disk tier before a page is promoted
+   * @param maxPages the max number of pages in the disk tier
+   */
+  public TieredCacheManager(LocalCacheManager memoryCache, LocalCacheManager diskCache,
+      int promotionHits, long maxPages) {
+    mMemoryCache = memoryCache;
+    mDiskCache = diskCache;
+    mPromotionHits = promotionHits;
+    mDiskHits = new FrequencySketch(maxPages);
+    for (int i = 0; i < LOCK_SIZE; i++) {
+      mPageLocks[i] = new ReentrantLock();
+    }
+    mMemoryCache.setEvictionListener(this::spill);
+    Metrics.registerGauges(mMemoryCache, mDiskCache);
+  }
+
+  /**
+   * Gets the lock guarding the tier of a page. Note that multiple pages may share the same lock
+   * as lock striping is used to reduce resource overhead for locks.
+   *
+   * @param pageId page identifier
+   * @return the corresponding page lock
+   */
+  private Lock getPageLock(PageId pageId) {
+    return mPageLocks[
+        Math.floorMod((int) (pageId.getFileId().hashCode() + pageId.getPageIndex()), LOCK_SIZE)];
+  }
+
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      return putInternal(pageId, page, cacheContext);
+    }
+  }
+
+  private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    if (!mDiskCache.hasPage(pageId) && mMemoryCache.put(pageId, page.duplicate(), cacheContext)) {
+      return true;
+    }
+    return mDiskCache.put(pageId, page, cacheContext);
+  }
+
+  @Override
+  public boolean prefetch(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      if (!mDiskCache.hasPage(pageId)
+          && mMemoryCache.prefetch(pageId, page.duplicate(), cacheContext)) {
+        return true;
+      }
+      return mDiskCache.prefetch(pageId, page, cacheContext);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, PageReadTargetBuffer buffer,
+      CacheContext cacheContext) {
+    int bytesRead = mMemoryCache.get(pageId, pageOffset, bytesToRead, buffer, cacheContext);
+    if (bytesRead > 0) {
+      Metrics.MEMORY_TIER_PAGES_HIT.inc();
+      return bytesRead;
+    }
+    bytesRead = mDiskCache.get(pageId, pageOffset, bytesToRead, buffer, cacheContext);
+    if (bytesRead <= 0) {
+      Metrics.PAGES_MISSED.inc();
+      return bytesRead;
+    }
+    Metrics.DISK_TIER_PAGES_HIT.inc();
+    mDiskHits.increment(pageId);
+    if (mDiskHits.frequency(pageId) >= mPromotionHits) {
+      promote(pageId, cacheContext);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Moves a page from the disk tier to the memory tier.
+   *
+   * @param pageId page identifier
+   * @param cacheContext cache related context
+   */
+  private void promote(PageId pageId, CacheContext cacheContext) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      Optional<PageInfo> pageInfo = mDiskCache.getPageInfo(pageId);
+      if (!pageInfo.isPresent()) {
+        return;
+      }
+      byte[] page = new byte[(int) pageInfo.get().getPageSize()];
+      if (mDiskCache.get(pageId, 0, page.length, new ByteArrayTargetBuffer(page, 0),
+          cacheContext) != page.length) {
+        return;
+      }
+      if (mMemoryCache.put(pageId, page, cacheContext)) {
+        mDiskCache.delete(pageId);
+        Metrics.PAGES_PROMOTED.inc();
+      }
+    }
+  }
+
+  /**
+   * Moves a page evicted from the memory tier to the disk tier. This runs while the memory tier
+   * puts another page, so the page is dropped rather than waiting for its lock, which may be
+   * held by a thread waiting for the memory tier. The page is copied to the heap before it is
+   * freed from the memory tier and, unless the disk tier writes asynchronously, is written to
+   * disk by the thread whose put evicted it.
+   *
+   * @param pageInfo info of the evicted page
+   * @param page data of the evicted page
+   */
+  private void spill(PageInfo pageInfo, byte[] page) {
+    PageId pageId = pageInfo.getPageId();
+    Lock pageLock = getPageLock(pageId);
+    if (!pageLock.tryLock()) {
+      LOG.debug("Dropped page {} evicted from the memory tier as it is locked", pageId);
+      return;
+    }
+    try {
+      CacheContext cacheContext = CacheContext.defaults().setCacheScope(pageInfo.getScope());
+      if (mDiskCache.put(pageId, page, cacheContext)) {
+        Metrics.PAGES_SPILLED.inc();
+      } else {
+        LOG.debug("Failed to spill page {} to the disk tier", pageId);
+      }
+    } finally {
+      pageLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mMemoryCache.hasPage(pageId) || mDiskCache.hasPage(pageId);
+  }
+
+  @Override
+  public Optional<ExecutorService> getPrefetchExecutor() {
+    return mDiskCache.getPrefetchExecutor();
+  }
+
+  @Override
+  public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
+    Set<PageId> pageIds =
+        new LinkedHashSet<>(mMemoryCache.getCachedPageIdsByFileId(fileId, fileLength));
+    pageIds.addAll(mDiskCache.getCachedPageIdsByFileId(fileId, fileLength));
+    return pageIds.stream().sorted(Comparator.comparingLong(PageId::getPageIndex))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public boolean delete(PageId pageId) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      boolean deleted = mMemoryCache.delete(pageId);
+      return mDiskCache.delete(pageId) || deleted;
+    }
+  }
+
+  @Override
+  public State state() {
+    State memoryState = mMemoryCache.state();
+    State diskState = mDiskCache.state();
+    return memoryState.getValue() < diskState.getValue() ? memoryState : diskState;
+  }
+
+  @Override
+  public boolean append(PageId pageId, int appendAt, byte[] page, CacheContext cacheContext) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      if (appendAt == 0) {
+        return putInternal(pageId, ByteBuffer.wrap(page), cacheContext);
+      }
+      // the appended page is put like a new page, as it may no longer fit its current tier
+      LocalCacheManager tier = mMemoryCache.hasPage(pageId) ? mMemoryCache : mDiskCache;
+      byte[] newPage = new byte[appendAt + page.length];
+      if (tier.get(pageId, 0, appendAt, new ByteArrayTargetBuffer(newPage, 0), cacheContext)
+          != appendAt) {
+        return false;
+      }
+      tier.delete(pageId);
+      System.arraycopy(page, 0, newPage, appendAt, page.length);
+      return putInternal(pageId, ByteBuffer.wrap(newPage), cacheContext);
+    }
+  }
+
+  @Override
+  public void invalidate(Predicate<PageInfo> predicate) {
+    mMemoryCache.invalidate(predicate);
+    mDiskCache.invalidate(predicate);
+  }
+
+  @Override
+  public void close() throws Exception {
+    try {
+      mMemoryCache.close();
+    } finally {
+      mDiskCache.close();
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter/guage can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Page reads served by the memory tier. */
+    private static final Counter MEMORY_TIER_PAGES_HIT =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MEMORY_TIER_PAGES_HIT.getName());
+    /** Page reads served by the disk tier. */
+    private static final Counter DISK_TIER_PAGES_HIT =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_DISK_TIER_PAGES_HIT.getName());
+    /** Page reads served by neither tier. */
+    private static final Counter PAGES_MISSED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_TIERED_PAGES_MISSED.getName());
+    /** Pages moved from the disk tier to the memory tier. */
+    private static final Counter PAGES_PROMOTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_PROMOTED.getName());
+    /** Pages moved from the memory tier to the disk tier. */
+    private static final Counter PAGES_SPILLED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_SPILLED.getName());
+
+    /**
+     * Registers the gauges of this cache manager. The space and page gauges are first registered
+     * by whichever tier is created first, so they are replaced with gauges summing both tiers.
+     *
+     * @param memoryCache the memory tier
+     * @param diskCache the disk tier
+     */
+    private static void registerGauges(LocalCacheManager memoryCache,
+        LocalCacheManager diskCache) {
+      String spaceAvailable =
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_AVAILABLE.getName());
+      String spaceUsed = MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_USED.getName());
+      String pages = MetricKey.CLIENT_CACHE_PAGES.getName();
+      String heapBytes = MetricKey.CLIENT_CACHE_META_STORE_HEAP_BYTES.getName();
+      MetricsSystem.removeMetrics(spaceAvailable);
+      MetricsSystem.removeMetrics(spaceUsed);
+      MetricsSystem.removeMetrics(pages);
+      MetricsSystem.removeMetrics(heapBytes);
+      MetricsSystem.registerGaugeIfAbsent(spaceAvailable,
+          () -> memoryCache.getCacheSize() + diskCache.getCacheSize()
+              - memoryCache.getPageMetaStore().bytes() - diskCache.getPageMetaStore().bytes());
+      MetricsSystem.registerGaugeIfAbsent(spaceUsed,
+          () -> memoryCache.getPageMetaStore().bytes() + diskCache.getPageMetaStore().bytes());
+      MetricsSystem.registerGaugeIfAbsent(pages,
+          () -> memoryCache.getPageMetaStore().numPages()
+              + diskCache.getPageMetaStore().numPages());
+      MetricsSystem.registerGaugeIfAbsent(heapBytes,
+          () -> memoryCache.getPageMetaStore().estimatedHeapBytes()
+              + diskCache.getPageMetaStore().estimatedHeapBytes());
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_MEMORY_TIER_HIT_RATIO.getName()),
+          () -> hitRatio(MEMORY_TIER_PAGES_HIT));
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_DISK_TIER_HIT_RATIO.getName()),
+          () -> hitRatio(DISK_TIER_PAGES_HIT));
+    }
+
+    private static double hitRatio(Counter hits) {
+      long reads = MEMORY_TIER_PAGES_HIT.getCount() + DISK_TIER_PAGES_HIT.getCount()
+          + PAGES_MISSED.getCount();
+      return reads == 0 ? 0 : (double) hits.getCount() / reads;
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A client-side cache admission policy that admits every page.
+ */
+@ThreadSafe
+public class AlwaysAdmitPolicy implements CacheAdmissionPolicy {
+  /**
+   * Required constructor.
+   *
+   * @param options
+   */
+  public AlwaysAdmitPolicy(CacheAdmissionOptions options) {}
+
+  @Override
+  public void recordAccess(PageId pageId) {}
+
+  @Override
+  public boolean admit(PageId candidate, PageId victim) {
+    return true;
+  }
+
+  @Override
+  public void reset() {}
+}
@@ -0,0 +1,54 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+/**
+ * Options for initiating cache admission policy.
+ */
+public class CacheAdmissionOptions {
+
+  private Class<? extends CacheAdmissionPolicy> mAdmissionPolicyClass = AlwaysAdmitPolicy.class;
+  private long mMaxPages = 1024;
+
+  /**
+   * @return the admission policy class
+   */
+  public Class<? extends CacheAdmissionPolicy> getAdmissionPolicyClass() {
+    return mAdmissionPolicyClass;
+  }
+
+  /**
+   * @return the max number of pages the cache is expected to hold
+   */
+  public long getMaxPages() {
+    return mMaxPages;
+  }
+
+  /**
+   * @param admissionPolicyClass
+   * @return CacheAdmissionOptions
+   */
+  public CacheAdmissionOptions setAdmissionPolicyClass(
+      Class<? extends CacheAdmissionPolicy> admissionPolicyClass) {
+    mAdmissionPolicyClass = admissionPolicyClass;
+    return this;
+  }
+
+  /**
+   * @param maxPages
+   * @return CacheAdmissionOptions
+   */
+  public CacheAdmissionOptions setMaxPages(long maxPages) {
+    mMaxPages = maxPages;
+    return this;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.util.CommonUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Interface for client-side cache admission policy. When the cache is full, the admission
+ * policy decides whether a new page is worth evicting the victim picked by the
+ * {@link alluxio.client.file.cache.evictor.CacheEvictor}, so that pages read only once do not
+ * flush frequently read pages out of the cache. The implementation of this policy must be
+ * thread-safe.
+ */
+@ThreadSafe
+public interface CacheAdmissionPolicy {
+
+  /**
+   * @param options cache admission options
+   * @return a CacheAdmissionPolicy instance
+   */
+  static CacheAdmissionPolicy create(CacheAdmissionOptions options) {
+    return CommonUtils.createNewClassInstance(
+        options.getAdmissionPolicyClass(),
+        new Class[] {CacheAdmissionOptions.class}, new Object[] {options});
+  }
+
+  /**
+   * Records an access to a page, whether the page is cached or not.
+   *
+   * @param pageId page identifier
+   */
+  void recordAccess(PageId pageId);
+
+  /**
+   * Decides whether a page should be added to the cache at the cost of evicting another page.
+   *
+   * @param candidate the page to add
+   * @param victim the page to evict
+   * @return true if the candidate should be admitted, false otherwise
+   */
+  boolean admit(PageId candidate, PageId victim);
+
+  /**
+   * Resets the admission policy.
+   */
+  void reset();
+}
@@ -0,0 +1,156 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A count-min sketch estimating the access frequency of pages with 4-bit counters. Each page is
+ * counted in four counters chosen by different hash functions, and its frequency is estimated
+ * as the minimum of them, saturating at 15. Sixteen counters are packed in each long of the
+ * table and updated with compare-and-set, so recording accesses never blocks.
+ *
+ * To keep the history recent, all counters are halved after a number of increments proportional
+ * to the table size. Increments racing with the halving may be lost, which is harmless for an
+ * approximate frequency.
+ */
+@ThreadSafe
+public class FrequencySketch {
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_COUNT = 15;
+  private static final int MAX_TABLE_SIZE = 1 << 30;
+
+  private final AtomicLongArray mTable;
+  private final int mTableMask;
+  private final int mSampleSize;
+  private final AtomicInteger mSize = new AtomicInteger();
+
+  /**
+   * @param maxEntries the max number of entries in the cache whose frequency is estimated
+   */
+  public FrequencySketch(long maxEntries) {
+    int tableSize = (int) Math.min(MAX_TABLE_SIZE,
+        Long.highestOneBit(Math.max(16, maxEntries) - 1) << 1);
+    mTable = new AtomicLongArray(tableSize);
+    mTableMask = tableSize - 1;
+    mSampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * tableSize);
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the estimated number of accesses to the page, up to 15
+   */
+  public int frequency(PageId pageId) {
+    int hash = spread(pageId.hashCode());
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = indexOf(hash, i);
+      int offset = offsetOf(hash, i);
+      frequency = Math.min(frequency, (int) ((mTable.get(index) >>> offset) & 0xfL));
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access to a page.
+   *
+   * @param pageId page identifier
+   */
+  public void increment(PageId pageId) {
+    int hash = spread(pageId.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+    }
+    if (added && mSize.incrementAndGet() >= mSampleSize) {
+      age();
+    }
+  }
+
+  /**
+   * Clears all counters.
+   */
+  public void reset() {
+    for (int i = 0; i < mTable.length(); i++) {
+      mTable.set(i, 0);
+    }
+    mSize.set(0);
+  }
+
+  /**
+   * @return the number of increments before the counters are halved
+   */
+  @VisibleForTesting
+  int getSampleSize() {
+    return mSampleSize;
+  }
+
+  private boolean incrementAt(int index, int offset) {
+    long mask = 0xfL << offset;
+    while (true) {
+      long value = mTable.get(index);
+      if ((value & mask) == mask) {
+        return false;
+      }
+      if (mTable.compareAndSet(index, value, value + (1L << offset))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Halves all counters.
+   */
+  private synchronized void age() {
+    if (mSize.get() < mSampleSize) {
+      // aged by another thread
+      return;
+    }
+    for (int i = 0; i < mTable.length(); i++) {
+      long value;
+      do {
+        value = mTable.get(i);
+      } while (!mTable.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+    }
+    mSize.set(mSampleSize / 2);
+  }
+
+  /**
+   * @return the index of the long holding the counter of the i-th hash function
+   */
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return (int) h & mTableMask;
+  }
+
+  /**
+   * @return the bit offset of the counter of the i-th hash function, every hash function uses
+   *         its own group of four counters in a long
+   */
+  private static int offsetOf(int hash, int i) {
+    return ((i << 2) + ((hash >>> (i << 3)) & 3)) << 2;
+  }
+
+  private static int spread(int hashCode) {
+    int h = hashCode * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A client-side cache admission policy based on TinyLFU. The access frequency of recently read
+ * pages is approximated by a {@link FrequencySketch}, and a new page is only admitted if it has
+ * been read at least as often as the victim it would replace. A large scan of pages read only once
+ * therefore cannot flush pages that are read repeatedly, while ties, such as a cold cache where
+ * neither page has been read before, still let new pages in.
+ *
+ * See "TinyLFU: A Highly Efficient Cache Admission Policy" by Einziger et al.
+ */
+@ThreadSafe
+public class TinyLfuAdmissionPolicy implements CacheAdmissionPolicy {
+  private final FrequencySketch mSketch;
+
+  /**
+   * Required constructor.
+   *
+   * @param options
+   */
+  public TinyLfuAdmissionPolicy(CacheAdmissionOptions options) {
+    mSketch = new FrequencySketch(options.getMaxPages());
+  }
+
+  @Override
+  public void recordAccess(PageId pageId) {
+    mSketch.increment(pageId);
+  }
+
+  @Override
+  public boolean admit(PageId candidate, PageId victim) {
+    return mSketch.frequency(candidate) >= mSketch.frequency(victim);
+  }
+
+  @Override
+  public void reset() {
+    mSketch.reset();
+  }
+}
@@ -14,6 +14,8 @@ package alluxio.client.file.cache.evictor;
 import alluxio.client.file.cache.PageId;
 import alluxio.util.CommonUtils;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -74,6 +76,17 @@ public interface CacheEvictor {
   @Nullable
   PageId evictMatching(Predicate<PageId> criterion);
 
+  /**
+   * Gets the tracked pages in the order they would be evicted. Adding the pages to an empty
+   * evictor in this order restores the same eviction order.
+   *
+   * @return the pages from the first to the last to evict, or an empty list if the evictor
+   *         does not keep an order
+   */
+  default List<PageId> getEvictionOrder() {
+    return Collections.emptyList();
+  }
+
   /**
    * Resets the evictor.
    */
@@ -13,15 +13,17 @@ package alluxio.client.file.cache.evictor;
 
 import alluxio.client.file.cache.PageId;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Implementation of Evictor using FIFO eviction policy.
  */
-@NotThreadSafe
+@ThreadSafe
 public class FIFOCacheEvictor implements CacheEvictor {
   private final LinkedList<PageId> mQueue = new LinkedList<>();
 
@@ -38,12 +40,12 @@ public class FIFOCacheEvictor implements CacheEvictor {
   }
 
   @Override
-  public void updateOnPut(PageId pageId) {
+  public synchronized void updateOnPut(PageId pageId) {
     mQueue.add(pageId);
   }
 
   @Override
-  public void updateOnDelete(PageId pageId) {
+  public synchronized void updateOnDelete(PageId pageId) {
     int idx = mQueue.indexOf(pageId);
     if (idx >= 0) {
       mQueue.remove(idx);
@@ -51,13 +53,13 @@ public class FIFOCacheEvictor implements CacheEvictor {
   }
 
   @Override
-  public PageId evict() {
+  public synchronized PageId evict() {
     return mQueue.peek();
   }
 
   @Nullable
   @Override
-  public PageId evictMatching(Predicate<PageId> criterion) {
+  public synchronized PageId evictMatching(Predicate<PageId> criterion) {
     for (PageId candidate : mQueue) {
       if (criterion.test(candidate)) {
         return candidate;
@@ -67,7 +69,12 @@ public class FIFOCacheEvictor implements CacheEvictor {
   }
 
   @Override
-  public void reset() {
+  public synchronized List<PageId> getEvictionOrder() {
+    return new ArrayList<>(mQueue);
+  }
+
+  @Override
+  public synchronized void reset() {
     mQueue.clear();
   }
 }
@@ -13,8 +13,10 @@ package alluxio.client.file.cache.evictor;
 
 import alluxio.client.file.cache.PageId;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
@@ -78,6 +80,13 @@ public class LRUCacheEvictor implements CacheEvictor {
     }
   }
 
+  @Override
+  public List<PageId> getEvictionOrder() {
+    synchronized (mLRUCache) {
+      return new ArrayList<>(mLRUCache.keySet());
+    }
+  }
+
   @Override
   public void reset() {
     mLRUCache.clear();
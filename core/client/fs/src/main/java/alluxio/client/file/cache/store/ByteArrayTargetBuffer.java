@@ -16,6 +16,7 @@ import alluxio.annotation.SuppressFBWarnings;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -64,6 +65,13 @@ public class ByteArrayTargetBuffer implements PageReadTargetBuffer {
     mOffset += length;
   }
 
+  @Override
+  public void writeBytes(ByteBuffer srcBuffer) {
+    int length = srcBuffer.remaining();
+    srcBuffer.get(mTarget, mOffset, length);
+    mOffset += length;
+  }
+
   @Override
   public int readFromFile(RandomAccessFile file, int length) throws IOException {
     int bytesRead = file.read(mTarget, mOffset, length);
@@ -73,6 +81,16 @@ public class ByteArrayTargetBuffer implements PageReadTargetBuffer {
     return bytesRead;
   }
 
+  @Override
+  public int readFromChannel(FileChannel channel, long position, int length)
+      throws IOException {
+    int bytesRead = channel.read(ByteBuffer.wrap(mTarget, mOffset, length), position);
+    if (bytesRead != -1) {
+      mOffset += bytesRead;
+    }
+    return bytesRead;
+  }
+
   @Override
   public WritableByteChannel byteChannel() {
     throw new UnsupportedOperationException();
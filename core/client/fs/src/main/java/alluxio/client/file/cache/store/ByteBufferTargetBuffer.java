@@ -14,6 +14,7 @@ package alluxio.client.file.cache.store;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -60,6 +61,11 @@ public class ByteBufferTargetBuffer implements PageReadTargetBuffer {
     mTarget.put(srcArray, srcOffset, length);
   }
 
+  @Override
+  public void writeBytes(ByteBuffer srcBuffer) {
+    mTarget.put(srcBuffer);
+  }
+
   @Override
   public int readFromFile(RandomAccessFile file, int length) throws IOException {
     int bytesToRead = Math.min(length, mTarget.remaining());
@@ -69,4 +75,17 @@ public class ByteBufferTargetBuffer implements PageReadTargetBuffer {
     mTarget.position(mTarget.position() + bytesRead);
     return bytesRead;
   }
+
+  @Override
+  public int readFromChannel(FileChannel channel, long position, int length)
+      throws IOException {
+    int bytesToRead = Math.min(length, mTarget.remaining());
+    ByteBuffer slice = mTarget.slice();
+    slice.limit(bytesToRead);
+    int bytesRead = channel.read(slice, position);
+    if (bytesRead > 0) {
+      mTarget.position(mTarget.position() + bytesRead);
+    }
+    return bytesRead;
+  }
 }
@@ -0,0 +1,148 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link OffHeapPageStore} is an implementation of {@link PageStore} which stores all pages
+ * in direct buffers outside of the JVM heap, so that a large memory tier does not add to the
+ * garbage collection pressure of the client.
+ *
+ * Each page is stored in a direct buffer of the page size. Buffers are allocated lazily up to the
+ * configured cache size, and recycled when pages are deleted. Buffers are never freed
+ * explicitly, they are released by the garbage collector once the store is closed, so a read
+ * racing with {@link #close()} never touches freed memory.
+ */
+@ThreadSafe
+public class OffHeapPageStore implements PageStore {
+  private final int mPageSize;
+  /** Max number of buffers of this store. */
+  private final long mMaxBuffers;
+  private final ConcurrentHashMap<PageId, OffHeapPage> mPages = new ConcurrentHashMap<>();
+  /** Buffers released by deleted pages, guarded by itself. */
+  private final Deque<ByteBuffer> mFreeBuffers = new ArrayDeque<>();
+  /** Number of buffers allocated so far, guarded by {@link #mFreeBuffers}. */
+  private long mNumBuffers = 0;
+
+  /**
+   * @param options the options of this store
+   */
+  public OffHeapPageStore(PageStoreOptions options) {
+    mPageSize = (int) options.getPageSize();
+    mMaxBuffers = Math.max(1, (options.getCacheSize() + mPageSize - 1) / mPageSize);
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page, boolean isTemporary)
+      throws ResourceExhaustedException {
+    int pageLength = page.remaining();
+    Preconditions.checkArgument(pageLength <= mPageSize,
+        "page %s of %s bytes exceeds the page size %s", pageId, pageLength, mPageSize);
+    ByteBuffer buffer = acquire();
+    buffer.clear();
+    buffer.put(page);
+    OffHeapPage previous = mPages.put(pageId, new OffHeapPage(buffer, pageLength));
+    if (previous != null) {
+      release(previous.mBuffer);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, PageReadTargetBuffer target,
+      boolean isTemporary) throws PageNotFoundException {
+    Preconditions.checkArgument(target != null, "buffer is null");
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    OffHeapPage page = mPages.get(pageId);
+    if (page == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    Preconditions.checkArgument(pageOffset <= page.mLength,
+        "page offset %s exceeded page size %s", pageOffset, page.mLength);
+    int bytesLeft = (int) Math.min(page.mLength - pageOffset, target.remaining());
+    bytesLeft = Math.min(bytesLeft, bytesToRead);
+    // read through a duplicate so that concurrent readers of the same page do not share the
+    // position of the buffer
+    ByteBuffer src = page.mBuffer.duplicate();
+    src.limit(pageOffset + bytesLeft);
+    src.position(pageOffset);
+    target.writeBytes(src);
+    return bytesLeft;
+  }
+
+  @Override
+  public void delete(PageId pageId) throws PageNotFoundException {
+    OffHeapPage page = mPages.remove(pageId);
+    if (page == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    release(page.mBuffer);
+  }
+
+  private ByteBuffer acquire() throws ResourceExhaustedException {
+    synchronized (mFreeBuffers) {
+      ByteBuffer buffer = mFreeBuffers.poll();
+      if (buffer != null) {
+        return buffer;
+      }
+      if (mNumBuffers >= mMaxBuffers) {
+        throw new ResourceExhaustedException(String.format(
+            "Off-heap page store has no free buffer, configured with %d pages", mMaxBuffers));
+      }
+      mNumBuffers++;
+    }
+    return ByteBuffer.allocateDirect(mPageSize);
+  }
+
+  private void release(ByteBuffer buffer) {
+    synchronized (mFreeBuffers) {
+      mFreeBuffers.push(buffer);
+    }
+  }
+
+  /**
+   * Removes all pages and drops the buffers of this store.
+   */
+  public void reset() {
+    mPages.clear();
+    synchronized (mFreeBuffers) {
+      mFreeBuffers.clear();
+      mNumBuffers = 0;
+    }
+  }
+
+  @Override
+  public void close() {
+    reset();
+  }
+
+  private static final class OffHeapPage {
+    private final ByteBuffer mBuffer;
+    private final int mLength;
+
+    private OffHeapPage(ByteBuffer buffer, int length) {
+      mBuffer = buffer;
+      mLength = length;
+    }
+  }
+}
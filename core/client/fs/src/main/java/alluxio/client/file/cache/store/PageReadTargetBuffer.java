@@ -14,6 +14,7 @@ package alluxio.client.file.cache.store;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -54,10 +55,25 @@ public interface PageReadTargetBuffer {
    */
   void writeBytes(byte[] srcArray, int srcOffset, int length);
 
+  /**
+   * Writes all remaining bytes of the source buffer to this buffer.
+   *
+   * @param srcBuffer
+   */
+  void writeBytes(ByteBuffer srcBuffer);
+
   /**
    * @param file
    * @param length
    * @return bytes read from the file
    */
   int readFromFile(RandomAccessFile file, int length) throws IOException;
+
+  /**
+   * @param channel
+   * @param position position in the channel to start reading from
+   * @param length
+   * @return bytes read from the channel
+   */
+  int readFromChannel(FileChannel channel, long position, int length) throws IOException;
 }
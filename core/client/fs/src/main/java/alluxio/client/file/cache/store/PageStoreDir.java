@@ -78,6 +78,18 @@ public interface PageStoreDir {
             (MemoryPageStore) PageStore.create(pageStoreOptions),
             CacheEvictor.create(cacheEvictorOptions)
         );
+      case SLAB:
+        return new SlabPageStoreDir(
+            pageStoreOptions,
+            PageStore.create(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
+      case OFF_HEAP:
+        return new OffHeapPageStoreDir(
+            pageStoreOptions,
+            (OffHeapPageStore) PageStore.create(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
             pageStoreOptions.getType().name()));
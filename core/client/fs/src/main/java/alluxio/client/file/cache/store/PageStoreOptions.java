@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache.store;
 
+import alluxio.Constants;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.util.FormatUtils;
@@ -42,7 +43,9 @@ public class PageStoreOptions {
           .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION))
-          .setTimeoutThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_THREADS));
+          .setTimeoutThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_THREADS))
+          .setSlabSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SLAB_STORE_FILE_SIZE))
+          .setMmapEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_SLAB_STORE_MMAP_ENABLED));
       if (conf.isSet(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD)) {
         options.setOverheadRatio(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD));
       }
@@ -95,6 +98,8 @@ public class PageStoreOptions {
 
   private PageStoreType mStoreType = PageStoreType.LOCAL;
   private int mFileBuckets = 1000;
+  private long mSlabSize = Constants.GB;
+  private boolean mMmapEnabled = false;
   /**
    * Root directory where the data is stored.
    */
@@ -288,6 +293,38 @@ public class PageStoreOptions {
     return mFileBuckets;
   }
 
+  /**
+   * @param slabSize the size of each slab file in bytes
+   * @return the updated options
+   */
+  public PageStoreOptions setSlabSize(long slabSize) {
+    mSlabSize = slabSize;
+    return this;
+  }
+
+  /**
+   * @return the size of each slab file in bytes
+   */
+  public long getSlabSize() {
+    return mSlabSize;
+  }
+
+  /**
+   * @param mmapEnabled whether to serve page reads from memory-mapped files
+   * @return the updated options
+   */
+  public PageStoreOptions setMmapEnabled(boolean mmapEnabled) {
+    mMmapEnabled = mmapEnabled;
+    return this;
+  }
+
+  /**
+   * @return whether to serve page reads from memory-mapped files
+   */
+  public boolean isMmapEnabled() {
+    return mMmapEnabled;
+  }
+
   /**
    * @param storeType
    * @return the updated options
@@ -0,0 +1,594 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.resource.LockResource;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link SlabPageStore} is an implementation of {@link PageStore} which packs pages into
+ * fixed-size slots of a small number of large slab files on the local disk, instead of storing
+ * every page as its own file like {@link LocalPageStore}. File channels of the slabs are kept
+ * open for the lifetime of the store.
+ *
+ * The location of every page is tracked in a slot index file holding one fixed-size record per
+ * slot, so the store can be restored by reading the index file sequentially rather than walking
+ * a directory tree. Like {@link LocalPageStore}, writes are not forced to disk. Instead the index
+ * is marked as in use when the store is opened and as closed cleanly once {@link #close()} has
+ * forced all files to disk. An index which was not closed cleanly, e.g. after a crash, may point
+ * to slots with wrong data, so it is discarded along with all pages.
+ *
+ * When memory mapping is enabled, each slab is mapped as a whole and pages are read by copying
+ * a slice of the mapped region directly into the target buffer, avoiding a read system call per
+ * page hit. Writes always go through the file channels and are visible through the mappings.
+ * Reads hold a shared lock which {@link #close()} drains before unmapping the slabs.
+ */
+@ThreadSafe
+public class SlabPageStore implements PageStore {
+  private static final Logger LOG = LoggerFactory.getLogger(SlabPageStore.class);
+  private static final String ERROR_NO_SPACE_LEFT = "No space left on device";
+  public static final String INDEX_FILE = "slab.index";
+  public static final String SLAB_FILE_PREFIX = "slab_";
+
+  private static final long INDEX_MAGIC = 0x534c4142494458L;
+  private static final int INDEX_VERSION = 2;
+  /**
+   * magic(8) + version(4) + page size(8) + slots per slab(4) + number of slots(4) + state(4).
+   */
+  private static final int INDEX_HEADER_SIZE = 32;
+  /** Offset of the state in the index header. */
+  private static final int INDEX_STATE_OFFSET = 28;
+  private static final int INDEX_IN_USE = 0;
+  private static final int INDEX_CLOSED = 1;
+  private static final int RECORD_SIZE = 128;
+  /** state(1) + page length(4) + page index(8) + created time(8) + crc(4) + file id length(2). */
+  private static final int RECORD_HEADER_SIZE = 27;
+  /** Max length in bytes of a UTF-8 encoded file id that fits in a slot record. */
+  public static final int MAX_FILE_ID_BYTES = RECORD_SIZE - RECORD_HEADER_SIZE;
+  /** Number of records read at once when loading the slot index. */
+  private static final int RECORDS_PER_READ = 1024;
+
+  private static final byte SLOT_FREE = 0;
+  private static final byte SLOT_COMMITTED = 1;
+  private static final byte SLOT_TEMPORARY = 2;
+
+  private final Path mRoot;
+  private final long mPageSize;
+  private final long mCapacity;
+  private final long mSlabSize;
+  private final int mSlotsPerSlab;
+  private final int mNumSlots;
+  private final FileChannel mIndexChannel;
+  private final AtomicReferenceArray<FileChannel> mSlabChannels;
+  private final boolean mMmapEnabled;
+  /** Mapped regions of the slabs if memory mapping is enabled. */
+  private final AtomicReferenceArray<MappedByteBuffer> mSlabMaps;
+  /** Held shared by reads and exclusively by {@link #close()}, acquired before the monitor. */
+  private final ReentrantReadWriteLock mCloseLock = new ReentrantReadWriteLock();
+
+  /** Whether the store is closed, set while holding both the close lock and the monitor. */
+  private boolean mClosed;
+
+  /** Pages by id, looked up without the monitor, which is held to update them with the slots. */
+  private final Map<PageId, Slot> mPages = new ConcurrentHashMap<>();
+  private final Map<PageId, Slot> mTempPages = new ConcurrentHashMap<>();
+  /** A stack of free slot numbers, lower slots are handed out first. */
+  @GuardedBy("this")
+  private final int[] mFreeSlots;
+  @GuardedBy("this")
+  private int mNumFreeSlots;
+
+  /**
+   * Opens a slab page store, restoring pages recorded in an existing slot index if possible.
+   * If the existing files cannot be opened, the directory is cleared and a new store is created.
+   *
+   * @param options options for the slab page store
+   * @return a new instance of {@link SlabPageStore}
+   */
+  public static SlabPageStore open(PageStoreOptions options) {
+    try {
+      return new SlabPageStore(options);
+    } catch (IOException e) {
+      LOG.warn("Failed to open slab page store at {}, clearing the directory: {}",
+          options.getRootDir(), e.toString());
+      try {
+        PageStoreDir.clear(options.getRootDir());
+        return new SlabPageStore(options);
+      } catch (IOException ex) {
+        throw new RuntimeException("Couldn't open slab page store at " + options.getRootDir(),
+            ex);
+      }
+    }
+  }
+
+  /**
+   * Creates a new instance of {@link SlabPageStore}.
+   *
+   * @param options options for the slab page store
+   */
+  private SlabPageStore(PageStoreOptions options) throws IOException {
+    Preconditions.checkArgument(options.getPageSize() > 0, "page size should be positive");
+    mPageSize = options.getPageSize();
+    mRoot = Paths.get(options.getRootDir().toString(), Long.toString(mPageSize));
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    mSlotsPerSlab = (int) Math.max(1, options.getSlabSize() / mPageSize);
+    mSlabSize = mSlotsPerSlab * mPageSize;
+    mMmapEnabled = options.isMmapEnabled();
+    Preconditions.checkArgument(!mMmapEnabled || mSlabSize <= Integer.MAX_VALUE,
+        "slab size %s is too large to be memory-mapped", mSlabSize);
+    long numSlots = Math.max(1, (mCapacity + mPageSize - 1) / mPageSize);
+    Preconditions.checkArgument(numSlots <= Integer.MAX_VALUE,
+        "too many slots (%s) for cache size %s and page size %s", numSlots, mCapacity, mPageSize);
+    mNumSlots = (int) numSlots;
+    int numSlabs = (mNumSlots + mSlotsPerSlab - 1) / mSlotsPerSlab;
+    mSlabChannels = new AtomicReferenceArray<>(numSlabs);
+    mSlabMaps = new AtomicReferenceArray<>(numSlabs);
+    mFreeSlots = new int[mNumSlots];
+    Files.createDirectories(mRoot);
+    mIndexChannel = FileChannel.open(mRoot.resolve(INDEX_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      loadIndex();
+    } catch (IOException | RuntimeException e) {
+      mIndexChannel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page, boolean isTemporary)
+      throws ResourceExhaustedException, IOException {
+    int pageLength = page.remaining();
+    Preconditions.checkArgument(pageLength <= mPageSize,
+        "page %s of %s bytes exceeds the slot size %s", pageId, pageLength, mPageSize);
+    checkFileId(pageId.getFileId());
+    Slot slot;
+    synchronized (this) {
+      slot = (isTemporary ? mTempPages : mPages).remove(pageId);
+      if (slot == null) {
+        if (mNumFreeSlots == 0) {
+          throw new ResourceExhaustedException(String.format(
+              "%s has no free slot, configured with %d bytes", mRoot, mCapacity));
+        }
+        slot = new Slot(mFreeSlots[--mNumFreeSlots], pageLength, System.currentTimeMillis());
+      } else {
+        slot = new Slot(slot.mSlot, pageLength, System.currentTimeMillis());
+      }
+    }
+    try {
+      // a failed write leaves the slot free rather than pointing to partially overwritten data
+      clearRecord(slot.mSlot);
+      writeFully(getSlabChannel(slot.mSlot), page, getSlotOffset(slot.mSlot));
+      writeRecord(slot, pageId, isTemporary ? SLOT_TEMPORARY : SLOT_COMMITTED);
+    } catch (IOException e) {
+      releaseSlot(slot.mSlot);
+      if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, configured with %d bytes", mRoot, mCapacity), e);
+      }
+      throw new IOException(
+          String.format("Failed to write slot %d in %s for page %s", slot.mSlot, mRoot, pageId), e);
+    }
+    synchronized (this) {
+      (isTemporary ? mTempPages : mPages).put(pageId, slot);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, PageReadTargetBuffer target,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    try (LockResource r = new LockResource(mCloseLock.readLock())) {
+      if (mClosed) {
+        throw new IOException(String.format("Slab page store %s is closed", mRoot));
+      }
+      return getInternal(pageId, pageOffset, bytesToRead, target, isTemporary);
+    }
+  }
+
+  private int getInternal(PageId pageId, int pageOffset, int bytesToRead,
+      PageReadTargetBuffer target, boolean isTemporary) throws IOException, PageNotFoundException {
+    Slot slot = (isTemporary ? mTempPages : mPages).get(pageId);
+    if (slot == null) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    Preconditions.checkArgument(pageOffset <= slot.mLength, "page offset %s exceeded page size %s",
+        pageOffset, slot.mLength);
+    int bytesLeft = (int) Math.min(slot.mLength - pageOffset, target.remaining());
+    bytesLeft = Math.min(bytesLeft, bytesToRead);
+    long position = getSlotOffset(slot.mSlot) + pageOffset;
+    if (mMmapEnabled) {
+      target.writeBytes(
+          BufferUtils.sliceByteBuffer(getSlabMap(slot.mSlot), (int) position, bytesLeft));
+      return bytesLeft;
+    }
+    FileChannel channel = getSlabChannel(slot.mSlot);
+    int bytesRead = 0;
+    while (bytesLeft > 0) {
+      int bytes = target.readFromChannel(channel, position + bytesRead, bytesLeft);
+      if (bytes <= 0) {
+        break;
+      }
+      bytesRead += bytes;
+      bytesLeft -= bytes;
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    Slot slot;
+    synchronized (this) {
+      slot = mPages.remove(pageId);
+    }
+    if (slot == null) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    clearRecord(slot.mSlot);
+    releaseSlot(slot.mSlot);
+  }
+
+  @Override
+  public synchronized void commit(String fileId, String newFileId) throws IOException {
+    checkFileId(newFileId);
+    Iterator<Map.Entry<PageId, Slot>> iterator = mTempPages.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<PageId, Slot> entry = iterator.next();
+      if (!entry.getKey().getFileId().equals(fileId)) {
+        continue;
+      }
+      PageId newPageId = new PageId(newFileId, entry.getKey().getPageIndex());
+      writeRecord(entry.getValue(), newPageId, SLOT_COMMITTED);
+      iterator.remove();
+      mPages.put(newPageId, entry.getValue());
+    }
+  }
+
+  @Override
+  public synchronized void abort(String fileId) throws IOException {
+    Iterator<Map.Entry<PageId, Slot>> iterator = mTempPages.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<PageId, Slot> entry = iterator.next();
+      if (!entry.getKey().getFileId().equals(fileId)) {
+        continue;
+      }
+      clearRecord(entry.getValue().mSlot);
+      iterator.remove();
+      mFreeSlots[mNumFreeSlots++] = entry.getValue().mSlot;
+    }
+  }
+
+  /**
+   * @return a snapshot of the committed pages in this store
+   */
+  synchronized Map<PageId, Slot> getPages() {
+    return ImmutableMap.copyOf(mPages);
+  }
+
+  /**
+   * @return the number of free slots
+   */
+  @VisibleForTesting
+  synchronized int getNumFreeSlots() {
+    return mNumFreeSlots;
+  }
+
+  @Override
+  public void close() {
+    // wait for reads in progress, which may still be copying from the mappings
+    try (LockResource r = new LockResource(mCloseLock.writeLock())) {
+      synchronized (this) {
+        if (mClosed) {
+          return;
+        }
+        mClosed = true;
+        closeInternal();
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private void closeInternal() {
+    try {
+      // the pages must reach the disk before the index is marked as closed cleanly
+      for (int i = 0; i < mSlabChannels.length(); i++) {
+        FileChannel channel = mSlabChannels.get(i);
+        if (channel != null) {
+          channel.force(false);
+        }
+      }
+      writeIndexState(INDEX_CLOSED);
+    } catch (IOException e) {
+      LOG.warn("Failed to mark the slot index of {} as closed, its pages will not be restored: "
+          + "{}", mRoot, e.toString());
+    }
+    try {
+      mIndexChannel.close();
+      for (int i = 0; i < mSlabMaps.length(); i++) {
+        MappedByteBuffer map = mSlabMaps.getAndSet(i, null);
+        if (map != null) {
+          BufferUtils.cleanDirectBuffer(map);
+        }
+      }
+      for (int i = 0; i < mSlabChannels.length(); i++) {
+        FileChannel channel = mSlabChannels.getAndSet(i, null);
+        if (channel != null) {
+          channel.close();
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to close slab page store {}: {}", mRoot, e.toString());
+    }
+    mPages.clear();
+    mTempPages.clear();
+  }
+
+  private void checkFileId(String fileId) throws IOException {
+    if (fileId.getBytes(StandardCharsets.UTF_8).length > MAX_FILE_ID_BYTES) {
+      throw new IOException(String.format(
+          "File id %s is longer than %d bytes and cannot be stored in %s",
+          fileId, MAX_FILE_ID_BYTES, mRoot));
+    }
+  }
+
+  private synchronized void releaseSlot(int slot) {
+    mFreeSlots[mNumFreeSlots++] = slot;
+  }
+
+  private long getSlotOffset(int slot) {
+    return (slot % mSlotsPerSlab) * mPageSize;
+  }
+
+  private static long getRecordOffset(int slot) {
+    return INDEX_HEADER_SIZE + (long) slot * RECORD_SIZE;
+  }
+
+  private FileChannel getSlabChannel(int slot) throws IOException {
+    int slab = slot / mSlotsPerSlab;
+    FileChannel channel = mSlabChannels.get(slab);
+    if (channel != null) {
+      return channel;
+    }
+    synchronized (this) {
+      if (mClosed) {
+        // never reopen or remap a slab of a closed store
+        throw new IOException(String.format("Slab page store %s is closed", mRoot));
+      }
+      channel = mSlabChannels.get(slab);
+      if (channel == null) {
+        channel = FileChannel.open(mRoot.resolve(SLAB_FILE_PREFIX + slab),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < mSlabSize) {
+          // extend the slab to its full size so that writes to any slot never grow the file
+          channel.write(ByteBuffer.allocate(1), mSlabSize - 1);
+        }
+        if (mMmapEnabled) {
+          // the mapping is published before the channel, so it is always present once the
+          // channel is visible to readers
+          mSlabMaps.set(slab, channel.map(FileChannel.MapMode.READ_WRITE, 0, mSlabSize));
+        }
+        mSlabChannels.set(slab, channel);
+      }
+      return channel;
+    }
+  }
+
+  private MappedByteBuffer getSlabMap(int slot) throws IOException {
+    getSlabChannel(slot);
+    return mSlabMaps.get(slot / mSlotsPerSlab);
+  }
+
+  private void writeRecord(Slot slot, PageId pageId, byte state) throws IOException {
+    byte[] fileId = pageId.getFileId().getBytes(StandardCharsets.UTF_8);
+    ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    record.put(state)
+        .putInt(slot.mLength)
+        .putLong(pageId.getPageIndex())
+        .putLong(slot.mCreatedTime)
+        .putInt(0)
+        .putShort((short) fileId.length)
+        .put(fileId);
+    record.putInt(RECORD_HEADER_SIZE - 6, checksum(record.array(), fileId.length));
+    record.clear();
+    writeFully(mIndexChannel, record, getRecordOffset(slot.mSlot));
+  }
+
+  private void clearRecord(int slot) throws IOException {
+    writeFully(mIndexChannel, ByteBuffer.wrap(new byte[] {SLOT_FREE}), getRecordOffset(slot));
+  }
+
+  /**
+   * Writes the state of the index and forces the index to disk.
+   */
+  private void writeIndexState(int state) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).putInt(0, state);
+    writeFully(mIndexChannel, buffer, INDEX_STATE_OFFSET);
+    mIndexChannel.force(false);
+  }
+
+  /**
+   * Loads the slot index, restoring committed pages and releasing the slots of all other
+   * records, and marks the index as in use. The index is reinitialized if it was written with a
+   * different layout or was not closed cleanly.
+   */
+  private synchronized void loadIndex() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+    boolean compatible = mIndexChannel.size() >= INDEX_HEADER_SIZE
+        && readFully(mIndexChannel, header, 0) == INDEX_HEADER_SIZE
+        && header.getLong(0) == INDEX_MAGIC
+        && header.getInt(8) == INDEX_VERSION
+        && header.getLong(12) == mPageSize
+        && header.getInt(20) == mSlotsPerSlab
+        && header.getInt(24) == mNumSlots;
+    if (compatible && header.getInt(INDEX_STATE_OFFSET) != INDEX_CLOSED) {
+      LOG.warn("Slot index of {} was not closed cleanly, discarding its pages", mRoot);
+      compatible = false;
+    }
+    if (!compatible) {
+      LOG.info("Initializing slot index of {} with {} slots", mRoot, mNumSlots);
+      mIndexChannel.truncate(0);
+      header.clear();
+      header.putLong(INDEX_MAGIC).putInt(INDEX_VERSION).putLong(mPageSize).putInt(mSlotsPerSlab)
+          .putInt(mNumSlots).putInt(INDEX_IN_USE);
+      header.flip();
+      writeFully(mIndexChannel, header, 0);
+      mIndexChannel.force(false);
+      for (int slot = mNumSlots - 1; slot >= 0; slot--) {
+        mFreeSlots[mNumFreeSlots++] = slot;
+      }
+      return;
+    }
+    // a crash from now on leaves the index marked as in use
+    writeIndexState(INDEX_IN_USE);
+    boolean[] used = new boolean[mNumSlots];
+    ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * RECORDS_PER_READ);
+    for (int first = 0; first < mNumSlots; first += RECORDS_PER_READ) {
+      int count = Math.min(RECORDS_PER_READ, mNumSlots - first);
+      records.clear();
+      records.limit(count * RECORD_SIZE);
+      int bytesRead = readFully(mIndexChannel, records, getRecordOffset(first));
+      for (int i = 0; i < count && (i + 1) * RECORD_SIZE <= bytesRead; i++) {
+        int slot = first + i;
+        int offset = i * RECORD_SIZE;
+        byte state = records.get(offset);
+        if (state == SLOT_FREE) {
+          continue;
+        }
+        PageId pageId = parseRecord(records, offset);
+        if (state == SLOT_COMMITTED && pageId != null) {
+          used[slot] = true;
+          mPages.put(pageId, new Slot(slot, records.getInt(offset + 1),
+              records.getLong(offset + 13)));
+        } else {
+          // temporary pages are not restored, as with the other page stores
+          clearRecord(slot);
+        }
+      }
+    }
+    for (int slot = mNumSlots - 1; slot >= 0; slot--) {
+      if (!used[slot]) {
+        mFreeSlots[mNumFreeSlots++] = slot;
+      }
+    }
+    LOG.info("Loaded {} pages from slot index of {}", mPages.size(), mRoot);
+  }
+
+  /**
+   * @return the page id of the record at the given offset, or null if the record is corrupted
+   */
+  private PageId parseRecord(ByteBuffer records, int offset) {
+    int pageLength = records.getInt(offset + 1);
+    int fileIdLength = records.getShort(offset + RECORD_HEADER_SIZE - 2);
+    if (pageLength < 0 || pageLength > mPageSize
+        || fileIdLength < 0 || fileIdLength > MAX_FILE_ID_BYTES) {
+      return null;
+    }
+    byte[] record = new byte[RECORD_SIZE];
+    records.position(offset);
+    records.get(record);
+    int crc = ByteBuffer.wrap(record).getInt(RECORD_HEADER_SIZE - 6);
+    if (crc != checksum(record, fileIdLength)) {
+      LOG.warn("Discarding corrupted record in slot index of {}", mRoot);
+      return null;
+    }
+    return new PageId(new String(record, RECORD_HEADER_SIZE, fileIdLength,
+        StandardCharsets.UTF_8), records.getLong(offset + 5));
+  }
+
+  /**
+   * Computes the checksum of a record, skipping the checksum field itself.
+   */
+  private static int checksum(byte[] record, int fileIdLength) {
+    CRC32 crc = new CRC32();
+    crc.update(record, 0, RECORD_HEADER_SIZE - 6);
+    crc.update(record, RECORD_HEADER_SIZE - 2, 2 + fileIdLength);
+    return (int) crc.getValue();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long offset = position;
+    while (buffer.hasRemaining()) {
+      offset += channel.write(buffer, offset);
+    }
+  }
+
+  private static int readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    int total = 0;
+    while (buffer.hasRemaining()) {
+      int bytes = channel.read(buffer, position + total);
+      if (bytes < 0) {
+        break;
+      }
+      total += bytes;
+    }
+    return total;
+  }
+
+  /**
+   * Location and attributes of a page stored in a slot.
+   */
+  static final class Slot {
+    private final int mSlot;
+    private final int mLength;
+    private final long mCreatedTime;
+
+    private Slot(int slot, int length, long createdTime) {
+      mSlot = slot;
+      mLength = length;
+      mCreatedTime = createdTime;
+    }
+
+    /**
+     * @return the length of the page in bytes
+     */
+    int getLength() {
+      return mLength;
+    }
+
+    /**
+     * @return the time the page was written
+     */
+    long getCreatedTime() {
+      return mCreatedTime;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.Constants;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link AdaptiveChunkSizer}.
+ */
+public final class AdaptiveChunkSizerTest {
+  private static final long RTT_NANOS = Constants.MS_NANO;
+
+  private long mNowNanos = 0;
+
+  @Test
+  public void growsWhileNetworkBoundWithoutRtt() {
+    AdaptiveChunkSizer sizer =
+        new AdaptiveChunkSizer(64 * Constants.KB, 4 * Constants.KB, 1 * Constants.MB);
+    runWindow(sizer, true);
+    assertEquals(128 * Constants.KB, sizer.getChunkSize());
+    runWindow(sizer, true);
+    assertEquals(256 * Constants.KB, sizer.getChunkSize());
+    for (int i = 0; i < 5; i++) {
+      runWindow(sizer, true);
+    }
+    assertEquals(1 * Constants.MB, sizer.getChunkSize());
+  }
+
+  @Test
+  public void followsBandwidthDelayProduct() {
+    // 1 byte per ns and a 1ms round trip, a quarter of the product is a bit less than 256KB
+    AdaptiveChunkSizer sizer =
+        new AdaptiveChunkSizer(64 * Constants.KB, 4 * Constants.KB, 8 * Constants.MB);
+    sizer.onRoundTrip(RTT_NANOS);
+    for (int i = 0; i < 5; i++) {
+      runWindow(sizer, true);
+    }
+    assertEquals(128 * Constants.KB, sizer.getChunkSize());
+  }
+
+  @Test
+  public void shrinksWhileApplicationBound() {
+    AdaptiveChunkSizer sizer =
+        new AdaptiveChunkSizer(2 * Constants.MB, 4 * Constants.KB, 8 * Constants.MB);
+    sizer.onRoundTrip(RTT_NANOS);
+    runWindow(sizer, false);
+    assertEquals(1 * Constants.MB, sizer.getChunkSize());
+    for (int i = 0; i < 5; i++) {
+      runWindow(sizer, false);
+    }
+    assertEquals(128 * Constants.KB, sizer.getChunkSize());
+  }
+
+  @Test
+  public void keepsSizeWhileApplicationBoundWithoutRtt() {
+    AdaptiveChunkSizer sizer =
+        new AdaptiveChunkSizer(64 * Constants.KB, 4 * Constants.KB, 8 * Constants.MB);
+    for (int i = 0; i < 5; i++) {
+      runWindow(sizer, false);
+    }
+    assertEquals(64 * Constants.KB, sizer.getChunkSize());
+  }
+
+  @Test
+  public void clampsInitialSize() {
+    assertEquals(64 * Constants.KB, new AdaptiveChunkSizer(
+        Constants.KB, 64 * Constants.KB, 2 * Constants.MB).getChunkSize());
+    assertEquals(2 * Constants.MB, new AdaptiveChunkSizer(
+        8 * Constants.MB, 64 * Constants.KB, 2 * Constants.MB).getChunkSize());
+  }
+
+  /**
+   * Transfers a window of chunks of the current size at one byte per nanosecond.
+   */
+  private void runWindow(AdaptiveChunkSizer sizer, boolean networkBound) {
+    long chunkSize = sizer.getChunkSize();
+    if (mNowNanos == 0) {
+      sizer.onChunk(chunkSize, networkBound, mNowNanos);
+    }
+    for (int i = 0; i < AdaptiveChunkSizer.WINDOW_CHUNKS; i++) {
+      mNowNanos += chunkSize;
+      sizer.onChunk(chunkSize, networkBound, mNowNanos);
+    }
+  }
+}
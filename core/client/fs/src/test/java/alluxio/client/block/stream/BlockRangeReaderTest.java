@@ -0,0 +1,131 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.BlockRange;
+import alluxio.grpc.Chunk;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link BlockRangeReader}.
+ */
+public final class BlockRangeReaderTest {
+  private static final WorkerNetAddress ADDRESS =
+      new WorkerNetAddress().setHost("localhost").setDataPort(1234);
+
+  private InstancedConfiguration mConf;
+  private FileSystemContext mContext;
+  private BlockWorkerClient mClient;
+
+  @Before
+  public void before() throws Exception {
+    mConf = Configuration.copyGlobal();
+    mConf.set(PropertyKey.USER_BLOCK_RANGE_READ_ENABLED, true);
+    mConf.set(PropertyKey.USER_BLOCK_RANGE_READ_THRESHOLD, Constants.KB);
+    mConf.set(PropertyKey.USER_BLOCK_RANGE_READ_BATCH_MAX_BYTES, 4 * Constants.KB);
+    mContext = mock(FileSystemContext.class);
+    mClient = mock(BlockWorkerClient.class);
+    when(mContext.getClusterConf()).thenReturn(mConf);
+    when(mContext.acquireBlockWorkerClient(ADDRESS))
+        .thenReturn(new NoopClosableResource<>(mClient));
+    // echoes the block id and offset of each range
+    when(mClient.readBlockRanges(any(ReadBlockRangesRequest.class))).thenAnswer(invocation -> {
+      ReadBlockRangesRequest request = invocation.getArgument(0);
+      ReadBlockRangesResponse.Builder response = ReadBlockRangesResponse.newBuilder();
+      for (BlockRange range : request.getRangesList()) {
+        response.addChunks(Chunk.newBuilder().setData(ByteString.copyFromUtf8(
+            range.getBlockId() + ":" + range.getOffset())));
+      }
+      return response.build();
+    });
+  }
+
+  @Test
+  public void disabled() {
+    mConf.set(PropertyKey.USER_BLOCK_RANGE_READ_ENABLED, false);
+    assertNull(BlockRangeReader.create(mContext));
+  }
+
+  @Test
+  public void acceptsSmallReads() {
+    BlockRangeReader reader = BlockRangeReader.create(mContext);
+    assertFalse(reader.accepts(0));
+    assertTrue(reader.accepts(Constants.KB));
+    assertFalse(reader.accepts(Constants.KB + 1));
+  }
+
+  @Test
+  public void readInBatches() throws Exception {
+    List<BlockRange> ranges = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      ranges.add(BlockRange.newBuilder().setBlockId(i % 3).setOffset(i * Constants.KB)
+          .setLength(Constants.KB).build());
+    }
+    List<ByteString> data = BlockRangeReader.create(mContext).read(ADDRESS, ranges);
+    assertEquals(ranges.size(), data.size());
+    for (int i = 0; i < ranges.size(); i++) {
+      assertEquals((i % 3) + ":" + (i * Constants.KB), data.get(i).toStringUtf8());
+    }
+    ArgumentCaptor<ReadBlockRangesRequest> requests =
+        ArgumentCaptor.forClass(ReadBlockRangesRequest.class);
+    verify(mClient, times(3)).readBlockRanges(requests.capture());
+    assertEquals(4, requests.getAllValues().get(0).getRangesCount());
+    assertEquals(4, requests.getAllValues().get(1).getRangesCount());
+    assertEquals(2, requests.getAllValues().get(2).getRangesCount());
+  }
+
+  @Test
+  public void oversizedRangeInOwnBatch() throws Exception {
+    List<BlockRange> ranges = new ArrayList<>();
+    ranges.add(BlockRange.newBuilder().setBlockId(1).setLength(Constants.KB).build());
+    ranges.add(BlockRange.newBuilder().setBlockId(2).setLength(8 * Constants.KB).build());
+    assertEquals(2, BlockRangeReader.create(mContext).read(ADDRESS, ranges).size());
+    verify(mClient, times(2)).readBlockRanges(any(ReadBlockRangesRequest.class));
+  }
+
+  @Test
+  public void missingRanges() {
+    when(mClient.readBlockRanges(any(ReadBlockRangesRequest.class)))
+        .thenReturn(ReadBlockRangesResponse.getDefaultInstance());
+    List<BlockRange> ranges = new ArrayList<>();
+    ranges.add(BlockRange.newBuilder().setBlockId(1).setLength(Constants.KB).build());
+    assertThrows(UnavailableException.class,
+        () -> BlockRangeReader.create(mContext).read(ADDRESS, ranges));
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.OpenFileTransferRequest;
+import alluxio.grpc.OpenFileTransferResponse;
+import alluxio.network.protocol.FileTransferProtocol;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import io.grpc.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link FileTransferDataReader}.
+ */
+public final class FileTransferDataReaderTest {
+  private static final int CHUNK_SIZE = 1024;
+  private static final int BLOCK_SIZE = CHUNK_SIZE * 10 + CHUNK_SIZE / 3;
+  private static final long BLOCK_ID = 1L;
+  private static final long TOKEN = 42L;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(BLOCK_SIZE);
+
+  private final AtomicInteger mRequests = new AtomicInteger();
+  private ServerSocket mServer;
+  private Thread mServerThread;
+  private FileSystemContext mContext;
+  private BlockWorkerClient mClient;
+  private WorkerNetAddress mAddress;
+
+  @Before
+  public void before() throws Exception {
+    mServer = new ServerSocket(0);
+    mServerThread = new Thread(this::serve);
+    mServerThread.setDaemon(true);
+    mServerThread.start();
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES, CHUNK_SIZE);
+    mAddress = new WorkerNetAddress().setHost("localhost");
+    mClient = mock(BlockWorkerClient.class);
+    when(mClient.openFileTransfer(any(OpenFileTransferRequest.class))).thenReturn(
+        OpenFileTransferResponse.newBuilder()
+            .setToken(TOKEN).setPort(mServer.getLocalPort()).build());
+    mContext = mock(FileSystemContext.class);
+    when(mContext.getClusterConf()).thenReturn(conf);
+    when(mContext.acquireBlockWorkerClient(mAddress))
+        .thenAnswer(invocation -> new NoopClosableResource<>(mClient));
+  }
+
+  @After
+  public void after() throws Exception {
+    mServer.close();
+    mServerThread.join();
+  }
+
+  @Test
+  public void readFullBlock() throws Exception {
+    try (DataReader.Factory factory = createFactory(BLOCK_ID);
+         DataReader reader = factory.create(0, BLOCK_SIZE)) {
+      assertTrue(reader instanceof FileTransferDataReader);
+      checkChunks(reader, 0, BLOCK_SIZE);
+    }
+  }
+
+  @Test
+  public void readPartialBlock() throws Exception {
+    int offset = CHUNK_SIZE / 2;
+    try (DataReader.Factory factory = createFactory(BLOCK_ID);
+         DataReader reader = factory.create(offset, BLOCK_SIZE)) {
+      // the worker only sends the bytes up to the end of the block
+      checkChunks(reader, offset, BLOCK_SIZE - offset);
+    }
+  }
+
+  @Test
+  public void fallbackOnError() throws Exception {
+    try (DataReader.Factory factory = createFactory(BLOCK_ID + 1)) {
+      try (DataReader reader = factory.create(0, BLOCK_SIZE)) {
+        assertTrue(reader instanceof TestDataReader);
+        checkChunks(reader, 0, BLOCK_SIZE);
+      }
+      try (DataReader reader = factory.create(0, BLOCK_SIZE)) {
+        assertTrue(reader instanceof TestDataReader);
+      }
+    }
+    // the endpoint is not tried again once it failed
+    assertEquals(1, mRequests.get());
+  }
+
+  @Test
+  public void fallbackWhenNotGranted() throws Exception {
+    when(mClient.openFileTransfer(any(OpenFileTransferRequest.class)))
+        .thenThrow(Status.UNAVAILABLE.asRuntimeException());
+    try (DataReader.Factory factory = createFactory(BLOCK_ID);
+         DataReader reader = factory.create(0, BLOCK_SIZE)) {
+      assertTrue(reader instanceof TestDataReader);
+      checkChunks(reader, 0, BLOCK_SIZE);
+    }
+    assertEquals(0, mRequests.get());
+  }
+
+  @Test
+  public void fallbackWhenUnavailable() throws Exception {
+    mServer.close();
+    mServerThread.join();
+    try (DataReader.Factory factory = createFactory(BLOCK_ID);
+         DataReader reader = factory.create(0, BLOCK_SIZE)) {
+      assertTrue(reader instanceof TestDataReader);
+      checkChunks(reader, 0, BLOCK_SIZE);
+    }
+  }
+
+  private DataReader.Factory createFactory(long blockId) {
+    return new FileTransferDataReader.Factory(mContext, mAddress, blockId,
+        new DataReader.Factory() {
+          @Override
+          public DataReader create(long offset, long len) {
+            return new TestDataReader(DATA, CHUNK_SIZE, offset, len);
+          }
+
+          @Override
+          public void close() {}
+        });
+  }
+
+  private static void checkChunks(DataReader reader, int offset, int length) throws Exception {
+    int pos = offset;
+    DataBuffer chunk;
+    while ((chunk = reader.readChunk()) != null) {
+      try {
+        assertTrue(chunk.getLength() <= CHUNK_SIZE);
+        byte[] bytes = new byte[chunk.readableBytes()];
+        chunk.readBytes(bytes, 0, bytes.length);
+        assertTrue(BufferUtils.equalIncreasingByteArray(pos, bytes.length, bytes));
+        pos += bytes.length;
+      } finally {
+        chunk.release();
+      }
+    }
+    assertEquals(offset + length, pos);
+    assertEquals(pos, reader.pos());
+    assertNull(reader.readChunk());
+  }
+
+  /**
+   * Serves requests the way a worker's file transfer endpoint does.
+   */
+  private void serve() {
+    while (!mServer.isClosed()) {
+      try (Socket socket = mServer.accept()) {
+        mRequests.incrementAndGet();
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        long token = in.readLong();
+        long blockId = in.readLong();
+        long offset = in.readLong();
+        long length = in.readLong();
+        if (token != TOKEN || blockId != BLOCK_ID) {
+          byte[] message = ("Block " + blockId + " not found").getBytes(StandardCharsets.UTF_8);
+          out.writeLong(FileTransferProtocol.ERROR);
+          out.writeInt(message.length);
+          out.write(message);
+        } else {
+          long count = Math.min(length, BLOCK_SIZE - offset);
+          out.writeLong(count);
+          out.write(DATA, (int) offset, (int) count);
+        }
+        out.flush();
+      } catch (IOException e) {
+        // the server is closed
+      }
+    }
+  }
+}
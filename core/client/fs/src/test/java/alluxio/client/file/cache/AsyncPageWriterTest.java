@@ -0,0 +1,130 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.AsyncPageWriter.SubmitResult;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link AsyncPageWriter} class.
+ */
+public final class AsyncPageWriterTest {
+  private final ByteBuffer mPage = ByteBuffer.wrap(new byte[] {1, 2, 3});
+  private final List<PageId> mWritten = new CopyOnWriteArrayList<>();
+  private final CountDownLatch mBlock = new CountDownLatch(1);
+  private final CountDownLatch mStarted = new CountDownLatch(1);
+  private AsyncPageWriter mWriter;
+
+  @After
+  public void after() {
+    mBlock.countDown();
+    mWriter.close();
+  }
+
+  private boolean blockingWrite(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    try {
+      mStarted.countDown();
+      mBlock.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    mWritten.add(pageId);
+    return true;
+  }
+
+  @Test
+  public void writeAll() throws Exception {
+    mWriter = new AsyncPageWriter(this::blockingWrite, 2, 100, 8);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(SubmitResult.QUEUED,
+          mWriter.submit(new PageId("0", i), mPage, CacheContext.defaults()));
+    }
+    mBlock.countDown();
+    CommonUtils.waitFor("pages written", () -> mWriter.size() == 0,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(100, mWritten.size());
+  }
+
+  @Test
+  public void coalesce() throws Exception {
+    mWriter = new AsyncPageWriter(this::blockingWrite, 1, 10, 1);
+    PageId pageId = new PageId("0", 0);
+    assertEquals(SubmitResult.QUEUED, mWriter.submit(pageId, mPage, CacheContext.defaults()));
+    assertEquals(SubmitResult.COALESCED, mWriter.submit(pageId, mPage, CacheContext.defaults()));
+    assertEquals(1, mWriter.size());
+    mBlock.countDown();
+    CommonUtils.waitFor("page written", () -> mWriter.size() == 0,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(1, mWritten.size());
+    // a written page can be submitted again
+    assertEquals(SubmitResult.QUEUED, mWriter.submit(pageId, mPage, CacheContext.defaults()));
+  }
+
+  @Test
+  public void full() throws Exception {
+    mWriter = new AsyncPageWriter(this::blockingWrite, 1, 2, 1);
+    assertEquals(SubmitResult.QUEUED,
+        mWriter.submit(new PageId("0", 0), mPage, CacheContext.defaults()));
+    assertEquals(SubmitResult.QUEUED,
+        mWriter.submit(new PageId("0", 1), mPage, CacheContext.defaults()));
+    assertEquals(SubmitResult.FULL,
+        mWriter.submit(new PageId("0", 2), mPage, CacheContext.defaults()));
+    mBlock.countDown();
+    CommonUtils.waitFor("pages written", () -> mWriter.size() == 0,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(SubmitResult.QUEUED,
+        mWriter.submit(new PageId("0", 2), mPage, CacheContext.defaults()));
+  }
+
+  @Test
+  public void closeWaitsForPagesBeingWritten() throws Exception {
+    mWriter = new AsyncPageWriter(this::blockingWrite, 1, 2, 1);
+    PageId pageId = new PageId("0", 0);
+    assertEquals(SubmitResult.QUEUED, mWriter.submit(pageId, mPage, CacheContext.defaults()));
+    assertEquals(SubmitResult.QUEUED,
+        mWriter.submit(new PageId("0", 1), mPage, CacheContext.defaults()));
+    mStarted.await();
+    CompletableFuture<Void> close = CompletableFuture.runAsync(mWriter::close);
+    Thread.sleep(100);
+    assertFalse(close.isDone());
+    mBlock.countDown();
+    close.get(10, TimeUnit.SECONDS);
+    // the page being written is written, the queued page is discarded
+    assertEquals(Collections.singletonList(pageId), mWritten);
+    assertEquals(0, mWriter.size());
+  }
+
+  @Test
+  public void closed() {
+    mWriter = new AsyncPageWriter(this::blockingWrite, 1, 2, 1);
+    mWriter.close();
+    assertEquals(SubmitResult.CLOSED,
+        mWriter.submit(new PageId("0", 0), mPage, CacheContext.defaults()));
+  }
+}
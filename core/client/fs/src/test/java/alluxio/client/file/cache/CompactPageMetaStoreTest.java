@@ -0,0 +1,250 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertThrows;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests for the {@link CompactPageMetaStore} class.
+ */
+public class CompactPageMetaStoreTest {
+  private final PageId mPage = new PageId("1L", 2L);
+  private PageStoreDir mPageStoreDir;
+  private PageInfo mPageInfo;
+  private CompactPageMetaStore mMetaStore;
+  private Gauge mCachedPageGauge;
+
+  @Rule
+  public TemporaryFolder mTempFolder = new TemporaryFolder();
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(FIFOCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    mMetaStore = new CompactPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void addNew() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(1, mCachedPageGauge.getValue());
+    Assert.assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void addExist() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(1, mCachedPageGauge.getValue());
+    Assert.assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeExist() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.removePage(mPage));
+    Assert.assertFalse(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(0, mCachedPageGauge.getValue());
+    Assert.assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeNotExist() throws Exception {
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.removePage(mPage));
+    Assert.assertEquals(0, mCachedPageGauge.getValue());
+  }
+
+  @Test
+  public void getPageInfo() throws Exception {
+    CacheScope scope = CacheScope.create("schema.table");
+    long createdTime = 12345L;
+    PageInfo pageInfo = new PageInfo(mPage, 100, scope, mPageStoreDir, createdTime);
+    mMetaStore.addPage(mPage, pageInfo);
+    PageInfo result = mMetaStore.getPageInfo(mPage);
+    Assert.assertEquals(pageInfo, result);
+    Assert.assertEquals(scope, result.getScope());
+    Assert.assertEquals(createdTime, result.getCreatedTimestamp());
+    Assert.assertSame(mPageStoreDir, result.getLocalCacheDir());
+    assertThrows(PageNotFoundException.class,
+        () -> mMetaStore.getPageInfo(new PageId("1L", 3L)));
+    assertThrows(PageNotFoundException.class,
+        () -> mMetaStore.getPageInfo(new PageId("2L", 2L)));
+  }
+
+  @Test
+  public void evict() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.evict(mPageStoreDir));
+    mMetaStore.removePage(mPageInfo.getPageId());
+    Assert.assertNull(mMetaStore.evict(mPageStoreDir));
+  }
+
+  @Test
+  public void commitFile() throws Exception {
+    PageId tempPage = new PageId("temp", 0);
+    mMetaStore.addTempPage(tempPage, new PageInfo(tempPage, 10, mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    Assert.assertFalse(mMetaStore.hasPage(tempPage));
+    Assert.assertEquals(10, mMetaStore.getPageInfo(new PageId("committed", 0)).getPageSize());
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.commitFile("temp", "other"));
+  }
+
+  @Test
+  public void commitFileToExistingFile() throws Exception {
+    PageId existingPage = new PageId("committed", 0);
+    mMetaStore.addPage(existingPage, new PageInfo(existingPage, 5, mPageStoreDir));
+    PageId tempPage0 = new PageId("temp", 0);
+    PageId tempPage1 = new PageId("temp", 1);
+    mMetaStore.addTempPage(tempPage0, new PageInfo(tempPage0, 10, mPageStoreDir));
+    mMetaStore.addTempPage(tempPage1, new PageInfo(tempPage1, 20, mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    Assert.assertFalse(mMetaStore.hasPage(tempPage0));
+    Assert.assertFalse(mMetaStore.hasPage(tempPage1));
+    Assert.assertEquals(10, mMetaStore.getPageInfo(existingPage).getPageSize());
+    Assert.assertEquals(20, mMetaStore.getPageInfo(new PageId("committed", 1)).getPageSize());
+    Assert.assertEquals(2, mMetaStore.numPages());
+    Assert.assertEquals(30, mMetaStore.bytes());
+  }
+
+  @Test
+  public void largePageIndex() throws Exception {
+    PageId largePage = new PageId("1L", Long.MAX_VALUE);
+    PageId tempPage = new PageId("temp", 1L << 40);
+    mMetaStore.addPage(largePage, new PageInfo(largePage, 10, mPageStoreDir));
+    mMetaStore.addTempPage(tempPage, new PageInfo(tempPage, 20, mPageStoreDir));
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(largePage));
+    Assert.assertEquals(3, mMetaStore.numPages());
+    Assert.assertEquals(10, mMetaStore.getPageInfo(largePage).getPageSize());
+    mMetaStore.commitFile("temp", "committed");
+    Assert.assertEquals(20,
+        mMetaStore.getPageInfo(new PageId("committed", 1L << 40)).getPageSize());
+    mMetaStore.removePage(largePage);
+    Assert.assertFalse(mMetaStore.hasPage(largePage));
+    Assert.assertEquals(2, mMetaStore.numPages());
+    Assert.assertEquals(1044, mMetaStore.bytes());
+  }
+
+  @Test
+  public void getPages() throws Exception {
+    PageId largePage = new PageId("1L", Long.MAX_VALUE);
+    mMetaStore.addPage(largePage, new PageInfo(largePage, 10, mPageStoreDir));
+    mMetaStore.addPage(mPage, mPageInfo);
+    Map<PageId, Long> pages = new HashMap<>();
+    for (PageInfo pageInfo : mMetaStore.getPages(mPageStoreDir)) {
+      Assert.assertEquals(mPageStoreDir, pageInfo.getLocalCacheDir());
+      pages.put(pageInfo.getPageId(), pageInfo.getPageSize());
+    }
+    Assert.assertEquals(ImmutableMap.of(largePage, 10L, mPage, 1024L), pages);
+  }
+
+  @Test
+  public void randomUpdates() throws Exception {
+    Random random = new Random(0);
+    Map<PageId, Long> expected = new HashMap<>();
+    List<PageId> pages = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      if (pages.isEmpty() || random.nextInt(3) > 0) {
+        PageId pageId = new PageId(Integer.toString(random.nextInt(200)), random.nextInt(500));
+        long size = 1 + random.nextInt(1024);
+        if (expected.put(pageId, size) == null) {
+          pages.add(pageId);
+        }
+        mMetaStore.addPage(pageId, new PageInfo(pageId, size, mPageStoreDir));
+      } else {
+        PageId pageId = pages.remove(random.nextInt(pages.size()));
+        expected.remove(pageId);
+        mMetaStore.removePage(pageId);
+      }
+    }
+    Assert.assertEquals(expected.size(), mMetaStore.numPages());
+    Assert.assertEquals(expected.values().stream().mapToLong(Long::longValue).sum(),
+        mMetaStore.bytes());
+    for (Map.Entry<PageId, Long> entry : expected.entrySet()) {
+      Assert.assertEquals((long) entry.getValue(),
+          mMetaStore.getPageInfo(entry.getKey()).getPageSize());
+    }
+  }
+
+  @Test
+  public void reset() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.reset();
+    Assert.assertFalse(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(0, mMetaStore.numPages());
+    Assert.assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void heapUsage() {
+    DefaultPageMetaStore defaultMetaStore =
+        new DefaultPageMetaStore(ImmutableList.of(mPageStoreDir));
+    for (int i = 0; i < 100000; i++) {
+      PageId pageId = new PageId(Integer.toString(i / 1000), i % 1000);
+      PageInfo pageInfo = new PageInfo(pageId, 1, mPageStoreDir);
+      mMetaStore.addPage(pageId, pageInfo);
+      defaultMetaStore.addPage(pageId, pageInfo);
+    }
+    Assert.assertTrue(mMetaStore.estimatedHeapBytes() < defaultMetaStore.estimatedHeapBytes());
+    Assert.assertEquals(mMetaStore.estimatedHeapBytes(), MetricsSystem.METRIC_REGISTRY.getGauges()
+        .get(MetricKey.CLIENT_CACHE_META_STORE_HEAP_BYTES.getName()).getValue());
+  }
+
+  @Test
+  public void heapUsageCountsEvictorPages() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    long heapBytes = mMetaStore.estimatedHeapBytes();
+    // the evictor of the directory keeps a PageId for every page, even in the same file
+    PageId page = new PageId(mPage.getFileId(), mPage.getPageIndex() + 1);
+    mMetaStore.addPage(page, new PageInfo(page, 1024, mPageStoreDir));
+    Assert.assertTrue(mMetaStore.estimatedHeapBytes() > heapBytes);
+    mMetaStore.removePage(page);
+    Assert.assertEquals(heapBytes, mMetaStore.estimatedHeapBytes());
+  }
+}
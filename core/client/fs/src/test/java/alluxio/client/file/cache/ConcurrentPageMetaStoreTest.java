@@ -0,0 +1,225 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertThrows;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link ConcurrentPageMetaStore} class.
+ */
+public class ConcurrentPageMetaStoreTest {
+  private final PageId mPage = new PageId("1L", 2L);
+  private PageStoreDir mPageStoreDir;
+  private PageInfo mPageInfo;
+  private ConcurrentPageMetaStore mMetaStore;
+  private Gauge mCachedPageGauge;
+
+  @Rule
+  public TemporaryFolder mTempFolder = new TemporaryFolder();
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(LRUCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    mMetaStore = new ConcurrentPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void addNew() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(1L, mCachedPageGauge.getValue());
+    Assert.assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void addExist() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(1L, mCachedPageGauge.getValue());
+    Assert.assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeExist() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.removePage(mPage));
+    Assert.assertFalse(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(0L, mCachedPageGauge.getValue());
+    Assert.assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeNotExist() throws Exception {
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.removePage(mPage));
+    Assert.assertEquals(0L, mCachedPageGauge.getValue());
+  }
+
+  @Test
+  public void getPageInfo() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.getPageInfo(mPage));
+    assertThrows(PageNotFoundException.class,
+        () -> mMetaStore.getPageInfo(new PageId("1L", 3L)));
+  }
+
+  @Test
+  public void evict() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.evict(mPageStoreDir));
+    mMetaStore.removePage(mPageInfo.getPageId());
+    Assert.assertNull(mMetaStore.evict(mPageStoreDir));
+  }
+
+  @Test
+  public void commitFile() throws Exception {
+    PageId tempPage0 = new PageId("temp", 0);
+    PageId tempPage1 = new PageId("temp", 1);
+    mMetaStore.addTempPage(tempPage0, new PageInfo(tempPage0, 10, mPageStoreDir));
+    mMetaStore.addTempPage(tempPage1, new PageInfo(tempPage1, 20, mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    Assert.assertFalse(mMetaStore.hasPage(tempPage0));
+    Assert.assertFalse(mMetaStore.hasPage(tempPage1));
+    Assert.assertEquals(20,
+        mMetaStore.getPageInfo(new PageId("committed", 1)).getPageSize());
+    Assert.assertEquals(2, mMetaStore.numPages());
+    Assert.assertEquals(30, mMetaStore.bytes());
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.commitFile("temp", "other"));
+  }
+
+  @Test
+  public void reset() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.reset();
+    Assert.assertFalse(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(0, mMetaStore.numPages());
+    Assert.assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void lookupDoesNotNeedLock() throws Exception {
+    Assert.assertTrue(mMetaStore.isLockFreeLookup());
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.getLock().writeLock().lock();
+    try {
+      CompletableFuture<PageInfo> lookup = CompletableFuture.supplyAsync(() -> {
+        try {
+          return mMetaStore.getPageInfo(mPage);
+        } catch (PageNotFoundException e) {
+          throw new RuntimeException(e);
+        }
+      });
+      Assert.assertEquals(mPageInfo, lookup.get(10, TimeUnit.SECONDS));
+    } finally {
+      mMetaStore.getLock().writeLock().unlock();
+    }
+  }
+
+  @Test
+  public void lookupDoesNotReAddRemovedPageToEvictor() throws Exception {
+    int numPages = 1000;
+    for (int i = 0; i < numPages; i++) {
+      PageId pageId = new PageId("file", i);
+      mMetaStore.addPage(pageId, new PageInfo(pageId, 1, mPageStoreDir));
+    }
+    Thread reader = new Thread(() -> {
+      for (int i = 0; i < numPages; i++) {
+        try {
+          mMetaStore.getPageInfo(new PageId("file", i));
+        } catch (PageNotFoundException e) {
+          // removed already
+        }
+      }
+    });
+    reader.start();
+    for (int i = 0; i < numPages; i++) {
+      mMetaStore.removePage(new PageId("file", i));
+    }
+    reader.join();
+    Assert.assertNull(mPageStoreDir.getEvictor().evict());
+  }
+
+  @Test
+  public void readLockExcludesWriter() throws Exception {
+    mMetaStore.getLock().readLock().lock();
+    try {
+      CompletableFuture<Boolean> writer = CompletableFuture.supplyAsync(
+          () -> mMetaStore.getLock().writeLock().tryLock());
+      Assert.assertFalse(writer.get(10, TimeUnit.SECONDS));
+    } finally {
+      mMetaStore.getLock().readLock().unlock();
+    }
+  }
+
+  @Test
+  public void concurrentUpdates() throws Exception {
+    int numThreads = 8;
+    int pagesPerThread = 1000;
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < numThreads; t++) {
+      String fileId = Integer.toString(t);
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < pagesPerThread; i++) {
+          PageId pageId = new PageId(fileId, i);
+          mMetaStore.addPage(pageId, new PageInfo(pageId, 1, mPageStoreDir));
+          if (i % 2 == 1) {
+            try {
+              mMetaStore.removePage(pageId);
+            } catch (PageNotFoundException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(numThreads * pagesPerThread / 2, mMetaStore.numPages());
+    Assert.assertEquals(numThreads * pagesPerThread / 2, mMetaStore.bytes());
+    Assert.assertEquals(numThreads * pagesPerThread / 2, mPageStoreDir.getCachedBytes());
+  }
+}
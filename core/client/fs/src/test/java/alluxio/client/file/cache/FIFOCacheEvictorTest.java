@@ -17,6 +17,8 @@ import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Tests for the {@link FIFOCacheEvictor} class.
  */
@@ -77,4 +79,25 @@ public final class FIFOCacheEvictorTest {
     mEvictor.updateOnDelete(mFourth);
     Assert.assertNull(mEvictor.evict());
   }
+
+  @Test
+  public void getEvictionOrderWhileUpdating() throws Exception {
+    AtomicBoolean done = new AtomicBoolean(false);
+    Thread updater = new Thread(() -> {
+      for (int i = 0; !done.get(); i++) {
+        PageId pageId = new PageId("file", i);
+        mEvictor.updateOnPut(pageId);
+        mEvictor.updateOnDelete(pageId);
+      }
+    });
+    updater.start();
+    try {
+      for (int i = 0; i < 10000; i++) {
+        Assert.assertTrue(mEvictor.getEvictionOrder().size() <= 1);
+      }
+    } finally {
+      done.set(true);
+      updater.join();
+    }
+  }
 }
@@ -16,10 +16,12 @@ import alluxio.Constants;
 import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileOutStream;
+import alluxio.client.file.FileRange;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.ListStatusPartialResult;
 import alluxio.client.file.MockFileInStream;
 import alluxio.client.file.URIStatus;
+import alluxio.client.file.cache.admission.TinyLfuAdmissionPolicy;
 import alluxio.client.file.cache.store.PageReadTargetBuffer;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
@@ -60,6 +62,8 @@ import alluxio.job.JobRequest;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.security.authorization.AclEntry;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
 import alluxio.util.io.PathUtils;
 import alluxio.wire.BlockLocationInfo;
@@ -74,7 +78,9 @@ import com.google.common.collect.Maps;
 import com.google.common.io.ByteStreams;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
@@ -91,7 +97,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -118,11 +129,16 @@ public class LocalCacheFileInStreamTest {
   @Parameter(1)
   public int mBufferSize;
 
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
   @Before
   public void before() {
     MetricsSystem.clearAllMetrics();
     sConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, mPageSize);
     sConf.set(PropertyKey.USER_CLIENT_CACHE_IN_STREAM_BUFFER_SIZE, mBufferSize);
+    sConf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, false);
+    sConf.unset(PropertyKey.USER_CLIENT_CACHE_PREFETCH_MAX_PAGES);
   }
 
   @Test
@@ -426,6 +442,156 @@ public class LocalCacheFileInStreamTest {
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName()).getCount());
   }
 
+  @Test
+  public void readSequentialWithPrefetch() throws Exception {
+    sConf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    int pages = 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(mPageSize * pages);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager);
+
+    byte[] buffer = new byte[mPageSize];
+    for (int i = 0; i < pages; i++) {
+      Assert.assertEquals(mPageSize, stream.read(buffer));
+      Assert.assertArrayEquals(
+          Arrays.copyOfRange(testData, i * mPageSize, (i + 1) * mPageSize), buffer);
+    }
+    // every page is read from external storage once, ahead of the stream or by the stream itself
+    // when it reaches a page whose prefetch has not started yet
+    Assert.assertEquals(pages, manager.mPagesCached);
+    stream.close();
+    manager.close();
+  }
+
+  @Test
+  public void prefetchDoesNotBlockExternalReads() throws Exception {
+    sConf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    int pages = 4;
+    byte[] testData = BufferUtils.getIncreasingByteArray(mPageSize * pages);
+    AlluxioURI uri = new AlluxioURI("/test");
+    BlockingPrefetchFileSystem fs = new BlockingPrefetchFileSystem(ImmutableMap.of(uri, testData));
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = new LocalCacheFileInStream(fs.getStatus(uri),
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, sConf);
+
+    byte[] buffer = new byte[mPageSize];
+    // reading the first page prefetches the second one, which blocks on its own stream
+    Assert.assertEquals(mPageSize, stream.read(buffer));
+    Assert.assertTrue(fs.mPrefetchBlocked.await(10, TimeUnit.SECONDS));
+    CompletableFuture<Integer> read = CompletableFuture.supplyAsync(() -> {
+      try {
+        return stream.positionedRead(3L * mPageSize, new byte[mPageSize], 0, mPageSize);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    try {
+      Assert.assertEquals(mPageSize, (int) read.get(10, TimeUnit.SECONDS));
+    } finally {
+      fs.mReleasePrefetch.countDown();
+      stream.close();
+      manager.close();
+    }
+  }
+
+  @Test
+  public void positionedReadWithoutPrefetch() throws Exception {
+    sConf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    int pages = 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(mPageSize * pages);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager);
+
+    byte[] buffer = new byte[mPageSize];
+    for (int i = 0; i < pages; i++) {
+      Assert.assertEquals(mPageSize, stream.positionedRead(i * mPageSize, buffer, 0, mPageSize));
+    }
+    // positioned reads may come from any thread, so they never trigger prefetching
+    Assert.assertEquals(0, manager.mPagesServed);
+    Assert.assertEquals(pages, manager.mPagesCached);
+    stream.close();
+    manager.close();
+  }
+
+  @Test
+  public void readSequentialWithPrefetchOnFullCache() throws Exception {
+    sConf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_CLIENT_CACHE_DIRS, mTemp.getRoot().getAbsolutePath());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(mPageSize * 4));
+    conf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS,
+        TinyLfuAdmissionPolicy.class.getName());
+    CacheManagerOptions options = CacheManagerOptions.create(conf);
+    LocalCacheManager manager =
+        LocalCacheManager.create(options, PageMetaStore.create(options));
+    CommonUtils.waitFor("restore completed",
+        () -> manager.state() == CacheManager.State.READ_WRITE,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    int hotPages = 2;
+    int scanPages = 8;
+    Map<AlluxioURI, byte[]> files = new HashMap<>();
+    AlluxioURI hot = new AlluxioURI("/hot");
+    AlluxioURI scan = new AlluxioURI("/scan");
+    files.put(hot, BufferUtils.getIncreasingByteArray(mPageSize * hotPages));
+    files.put(scan, BufferUtils.getIncreasingByteArray(1, mPageSize * scanPages));
+    ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
+    for (AlluxioURI uri : Arrays.asList(hot, hot, hot, scan)) {
+      readFully(fs, uri, manager, files.get(uri));
+    }
+    // prefetching the scanned file must not evict the pages which were read more often
+    String fileId = Long.toString(fs.getStatus(hot).getFileId());
+    for (int i = 0; i < hotPages; i++) {
+      Assert.assertTrue(manager.hasPage(new PageId(fileId, i)));
+    }
+    manager.close();
+  }
+
+  private void readFully(ByteArrayFileSystem fs, AlluxioURI uri, CacheManager manager,
+      byte[] data) throws Exception {
+    byte[] buffer = new byte[mPageSize];
+    try (LocalCacheFileInStream stream = new LocalCacheFileInStream(fs.getStatus(uri),
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager,
+        sConf)) {
+      for (int i = 0; i < data.length / mPageSize; i++) {
+        Assert.assertEquals(mPageSize, stream.read(buffer));
+        Assert.assertArrayEquals(Arrays.copyOfRange(data, i * mPageSize, (i + 1) * mPageSize),
+            buffer);
+      }
+    }
+  }
+
+  @Test
+  public void readVectored() throws Exception {
+    int fileSize = mPageSize * 4;
+    byte[] testData = BufferUtils.getIncreasingByteArray(fileSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager);
+    // cache the second page
+    byte[] buffer = new byte[1];
+    stream.positionedRead(mPageSize, buffer, 0, 1);
+    Assert.assertEquals(1, manager.mPagesCached);
+
+    List<FileRange> ranges = Arrays.asList(
+        new FileRange(mPageSize * 3 + 10, 100),
+        new FileRange(100, 200),
+        new FileRange(mPageSize - 50, 100),
+        new FileRange(mPageSize * 2, mPageSize * 2),
+        new FileRange(fileSize - 10, 20));
+    stream.readVectored(ranges, ByteBuffer::allocate);
+    for (FileRange range : ranges.subList(0, 4)) {
+      ByteBuffer data = range.getData().get();
+      Assert.assertEquals(range.getLength(), data.remaining());
+      byte[] bytes = new byte[data.remaining()];
+      data.get(bytes);
+      Assert.assertArrayEquals(Arrays.copyOfRange(testData, (int) range.getOffset(),
+          (int) range.getOffset() + range.getLength()), bytes);
+    }
+    Assert.assertTrue(ranges.get(4).getData().isCompletedExceptionally());
+    // the first page and the last two pages are read from external storage
+    Assert.assertEquals(4, manager.mPagesCached);
+    Assert.assertEquals(0, stream.getPos());
+  }
+
   @Test
   public void externalStoreMultiRead() throws Exception {
     int fileSize = mPageSize;
@@ -651,13 +817,19 @@ public class LocalCacheFileInStreamTest {
    */
   private class ByteArrayCacheManager implements CacheManager {
     private final Map<PageId, byte[]> mPages;
+    private final ExecutorService mPrefetchExecutor = SequentialPrefetcher.createExecutorService(2);
 
     /** Metrics for test validation. */
     long mPagesServed = 0;
     long mPagesCached = 0;
 
     ByteArrayCacheManager() {
-      mPages = new HashMap<>();
+      mPages = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public boolean hasPage(PageId pageId) {
+      return mPages.containsKey(pageId);
     }
 
     @Override
@@ -693,9 +865,14 @@ public class LocalCacheFileInStreamTest {
       return false;
     }
 
+    @Override
+    public Optional<ExecutorService> getPrefetchExecutor() {
+      return Optional.of(mPrefetchExecutor);
+    }
+
     @Override
     public void close() throws Exception {
-      // no-op
+      mPrefetchExecutor.shutdownNow();
     }
   }
 
@@ -1105,6 +1282,40 @@ public class LocalCacheFileInStreamTest {
     }
   }
 
+  /**
+   * File system whose streams block reads made by prefetch threads until released.
+   */
+  private class BlockingPrefetchFileSystem extends ByteArrayFileSystem {
+    private final CountDownLatch mPrefetchBlocked = new CountDownLatch(1);
+    private final CountDownLatch mReleasePrefetch = new CountDownLatch(1);
+
+    BlockingPrefetchFileSystem(Map<AlluxioURI, byte[]> files) {
+      super(files);
+    }
+
+    @Override
+    public FileInStream openFile(URIStatus status, OpenFilePOptions options)
+        throws FileDoesNotExistException, OpenDirectoryException, FileIncompleteException,
+        IOException, AlluxioException {
+      return new MultiReadFileInStream(super.openFile(status, options)) {
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+          if (!Thread.currentThread().getName().startsWith("cache-prefetcher")) {
+            return super.read(b, off, len);
+          }
+          mPrefetchBlocked.countDown();
+          try {
+            mReleasePrefetch.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+          }
+          return super.read(b, off, len);
+        }
+      };
+    }
+  }
+
   /**
    * Mock implementation of {@link FileInStream} which delegates to a {@link ByteArrayInputStream}.
    * This implementation may not serve the full read in a single call.
@@ -21,6 +21,7 @@ import static org.junit.Assert.fail;
 
 import alluxio.Constants;
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.TinyLfuAdmissionPolicy;
 import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
 import alluxio.client.file.cache.evictor.LRUCacheEvictor;
@@ -38,6 +39,7 @@ import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.resource.LockResource;
 import alluxio.util.CommonUtils;
 import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
@@ -55,13 +57,18 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -238,6 +245,48 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE2, mBuf);
   }
 
+  @Test
+  public void putRejectedByAdmissionPolicy() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(PAGE_SIZE_BYTES));
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS,
+        TinyLfuAdmissionPolicy.class.getName());
+    mCacheManager = createLocalCacheManager();
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    // a page read only once does not evict a page read twice
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertFalse(mCacheManager.put(PAGE_ID2, PAGE2));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    // once read more often than the cached page, the new page is admitted
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+  }
+
+  @Test
+  public void prefetchIsSubjectToAdmissionPolicy() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(PAGE_SIZE_BYTES));
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS,
+        TinyLfuAdmissionPolicy.class.getName());
+    mCacheManager = createLocalCacheManager();
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    // the prefetched page counts as accessed, so it replaces a page which was never read
+    assertTrue(mCacheManager.prefetch(PAGE_ID2, ByteBuffer.wrap(PAGE2), CacheContext.defaults()));
+    assertFalse(mCacheManager.hasPage(PAGE_ID1));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    // but not a page which was read more often
+    assertFalse(mCacheManager.prefetch(PAGE_ID1, ByteBuffer.wrap(PAGE1), CacheContext.defaults()));
+    assertTrue(mCacheManager.hasPage(PAGE_ID2));
+  }
+
   @Test
   public void putSmallPages() throws Exception {
     // Cache size is only one full page, but should be able to store multiple small pages
@@ -617,6 +666,129 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE2, mBuf);
   }
 
+  @Test
+  public void restoreFromCheckpoint() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    List<PageStoreDir> dirs =
+        PageStoreDir.createPageStoreDirs(CacheManagerOptions.create(mConf));
+    mCacheManager = createLocalCacheManager(mConf, new DefaultPageMetaStore(dirs));
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    mCacheManager.close();
+    assertTrue(Files.exists(PageIndexCheckpoint.getPath(dirs.get(0))));
+    dirs = PageStoreDir.createPageStoreDirs(mCacheManagerOptions);
+    // cached after the checkpoint
+    dirs.get(0).getPageStore().put(PAGE_ID2, PAGE2);
+    mCacheManager = createLocalCacheManager(mConf, new DefaultPageMetaStore(dirs));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    CommonUtils.waitFor("page cached after checkpoint restored",
+        () -> mCacheManager.hasPage(PAGE_ID2), WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+  }
+
+  @Test
+  public void restoreFromCheckpointWithCorruptedPageCount() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    List<PageStoreDir> dirs =
+        PageStoreDir.createPageStoreDirs(CacheManagerOptions.create(mConf));
+    mCacheManager = createLocalCacheManager(mConf, new DefaultPageMetaStore(dirs));
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    mCacheManager.close();
+    try (RandomAccessFile file =
+        new RandomAccessFile(PageIndexCheckpoint.getPath(dirs.get(0)).toFile(), "rw")) {
+      // the page count follows the magic number, version and page size
+      file.seek(Long.BYTES + Integer.BYTES + Long.BYTES);
+      file.writeInt(Integer.MAX_VALUE);
+    }
+    dirs = PageStoreDir.createPageStoreDirs(mCacheManagerOptions);
+    mCacheManager = createLocalCacheManager(mConf, new DefaultPageMetaStore(dirs));
+    // the corrupted checkpoint is ignored and the pages are restored by scanning them
+    assertEquals(CacheManager.State.READ_WRITE, mCacheManager.state());
+    CommonUtils.waitFor("page restored by scan", () -> mCacheManager.hasPage(PAGE_ID1),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void checkpointSurvivesFailedSnapshot() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    List<PageStoreDir> dirs =
+        PageStoreDir.createPageStoreDirs(CacheManagerOptions.create(mConf));
+    AtomicBoolean failSnapshot = new AtomicBoolean(true);
+    mCacheManager = createLocalCacheManager(mConf, new DefaultPageMetaStore(dirs) {
+      @Override
+      public List<PageInfo> getPages(PageStoreDir pageStoreDir) {
+        if (failSnapshot.getAndSet(false)) {
+          throw new IllegalStateException("snapshot failed");
+        }
+        return super.getPages(pageStoreDir);
+      }
+    });
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    mCacheManager.checkpoint();
+    assertFalse(Files.exists(PageIndexCheckpoint.getPath(dirs.get(0))));
+    mCacheManager.checkpoint();
+    assertTrue(Files.exists(PageIndexCheckpoint.getPath(dirs.get(0))));
+  }
+
+  @Test
+  public void checkpointDoesNotHoldMetaStoreLock() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_ENABLED, true);
+    mCacheManager.close();
+    List<PageStoreDir> dirs =
+        PageStoreDir.createPageStoreDirs(CacheManagerOptions.create(mConf));
+    PageMetaStore pageMetaStore = new DefaultPageMetaStore(dirs);
+    mCacheManager = createLocalCacheManager(mConf, pageMetaStore);
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    try (LockResource r = new LockResource(pageMetaStore.getLock().writeLock())) {
+      CompletableFuture.runAsync(mCacheManager::checkpoint).get(10, TimeUnit.SECONDS);
+    }
+    assertTrue(Files.exists(PageIndexCheckpoint.getPath(dirs.get(0))));
+  }
+
+  @Test
+  public void restoreFromCheckpointWithMissingPage() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_CHECKPOINT_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    List<PageStoreDir> dirs =
+        PageStoreDir.createPageStoreDirs(CacheManagerOptions.create(mConf));
+    mCacheManager = createLocalCacheManager(mConf, new DefaultPageMetaStore(dirs));
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    mCacheManager.close();
+    dirs = PageStoreDir.createPageStoreDirs(mCacheManagerOptions);
+    dirs.get(0).getPageStore().delete(PAGE_ID1);
+    PageMetaStore pageMetaStore = new DefaultPageMetaStore(dirs);
+    mCacheManager = createLocalCacheManager(mConf, pageMetaStore);
+    // the page is restored from the checkpoint and removed by the scan after restore
+    CommonUtils.waitFor("missing page removed", () -> !mCacheManager.hasPage(PAGE_ID1),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertTrue(mCacheManager.hasPage(PAGE_ID2));
+    assertEquals(PAGE2.length, pageMetaStore.bytes());
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+  }
+
+  @Test
+  public void reconcileKeepsPagePutAfterRestore() throws Exception {
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    // the page file is not found by the scan, but the page was put again after restore
+    mPageStore.delete(PAGE_ID1);
+    PageInfo restored = new PageInfo(PAGE_ID1, PAGE1.length, CacheScope.GLOBAL, mPageStoreDir,
+        0L);
+    mCacheManager.reconcile(mPageStoreDir, Collections.singletonList(restored));
+    assertTrue(mCacheManager.hasPage(PAGE_ID1));
+  }
+
   @Test
   public void asyncRestore() throws Exception {
     mCacheManager.close();
@@ -812,6 +984,7 @@ public final class LocalCacheManagerTest {
     final int threads = 16;
     mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, true);
     mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_THREADS, threads);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_QUEUE_SIZE, threads);
     mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.LOCAL);
     mCacheManagerOptions = CacheManagerOptions.create(mConf);
     PageStoreOptions pageStoreOptions = PageStoreOptions.create(mConf).get(0);
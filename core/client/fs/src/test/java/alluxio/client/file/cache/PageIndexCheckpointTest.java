@@ -0,0 +1,135 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.store.LocalPageStore;
+import alluxio.client.file.cache.store.LocalPageStoreDir;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.quota.CacheScope;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for the {@link PageIndexCheckpoint} class.
+ */
+public final class PageIndexCheckpointTest {
+  private static final long PAGE_SIZE = Constants.KB;
+
+  private PageStoreDir mDir;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    PageStoreOptions options = new PageStoreOptions()
+        .setRootDir(mTemp.newFolder("LOCAL").toPath())
+        .setPageSize(PAGE_SIZE)
+        .setCacheSize(16 * PAGE_SIZE);
+    mDir = new LocalPageStoreDir(options, new LocalPageStore(options),
+        new LRUCacheEvictor(new CacheEvictorOptions()));
+  }
+
+  private PageInfo pageInfo(String fileId, long pageIndex, CacheScope scope) {
+    return new PageInfo(new PageId(fileId, pageIndex), PAGE_SIZE - pageIndex, scope, mDir,
+        1000 + pageIndex);
+  }
+
+  @Test
+  public void writeAndRead() throws Exception {
+    PageInfo page1 = pageInfo("file1", 0, CacheScope.GLOBAL);
+    PageInfo page2 = pageInfo("file1", 1, CacheScope.create("schema.table"));
+    PageInfo page3 = pageInfo("file2", 2, CacheScope.create("schema.table.partition"));
+    // page3 is not tracked by the evictor and comes first
+    PageIndexCheckpoint.write(mDir, PAGE_SIZE, ImmutableList.of(page1, page2, page3),
+        ImmutableList.of(page2.getPageId(), page1.getPageId()));
+    List<PageInfo> expected = ImmutableList.of(page3, page2, page1);
+    List<PageInfo> pages = PageIndexCheckpoint.read(mDir, PAGE_SIZE);
+    assertEquals(expected.size(), pages.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getPageId(), pages.get(i).getPageId());
+      assertEquals(expected.get(i).getPageSize(), pages.get(i).getPageSize());
+      assertEquals(expected.get(i).getScope(), pages.get(i).getScope());
+      assertEquals(expected.get(i).getCreatedTimestamp(), pages.get(i).getCreatedTimestamp());
+      assertEquals(mDir, pages.get(i).getLocalCacheDir());
+    }
+  }
+
+  @Test
+  public void readMissing() throws Exception {
+    assertTrue(PageIndexCheckpoint.read(mDir, PAGE_SIZE).isEmpty());
+  }
+
+  @Test
+  public void readWithDifferentPageSize() throws Exception {
+    PageIndexCheckpoint.write(mDir, PAGE_SIZE,
+        ImmutableList.of(pageInfo("file", 0, CacheScope.GLOBAL)), Collections.emptyList());
+    assertThrows(IOException.class, () -> PageIndexCheckpoint.read(mDir, 2 * PAGE_SIZE));
+  }
+
+  @Test
+  public void readCorrupted() throws Exception {
+    PageIndexCheckpoint.write(mDir, PAGE_SIZE,
+        ImmutableList.of(pageInfo("file", 0, CacheScope.GLOBAL)), Collections.emptyList());
+    Path path = PageIndexCheckpoint.getPath(mDir);
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.seek(Files.size(path) - 12);
+      file.write(0xff);
+    }
+    assertThrows(IOException.class, () -> PageIndexCheckpoint.read(mDir, PAGE_SIZE));
+  }
+
+  @Test
+  public void readTruncated() throws Exception {
+    PageIndexCheckpoint.write(mDir, PAGE_SIZE,
+        ImmutableList.of(pageInfo("file", 0, CacheScope.GLOBAL)), Collections.emptyList());
+    Path path = PageIndexCheckpoint.getPath(mDir);
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.setLength(Files.size(path) - 4);
+    }
+    assertThrows(IOException.class, () -> PageIndexCheckpoint.read(mDir, PAGE_SIZE));
+  }
+
+  @Test
+  public void readCorruptedPageCount() throws Exception {
+    PageIndexCheckpoint.write(mDir, PAGE_SIZE,
+        ImmutableList.of(pageInfo("file", 0, CacheScope.GLOBAL)), Collections.emptyList());
+    Path path = PageIndexCheckpoint.getPath(mDir);
+    for (int numPages : new int[] {Integer.MAX_VALUE, 2, -1}) {
+      try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+        // the page count follows the magic number, version and page size
+        file.seek(Long.BYTES + Integer.BYTES + Long.BYTES);
+        file.writeInt(numPages);
+      }
+      assertThrows(IOException.class, () -> PageIndexCheckpoint.read(mDir, PAGE_SIZE));
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link SequentialPrefetcher} class.
+ */
+public final class SequentialPrefetcherTest {
+  private final List<Long> mFetched = new ArrayList<>();
+
+  private SequentialPrefetcher createPrefetcher(boolean fetched) {
+    return new SequentialPrefetcher(pageIndex -> {
+      mFetched.add(pageIndex);
+      return fetched;
+    }, MoreExecutors.newDirectExecutorService(), 8, 100);
+  }
+
+  @Test
+  public void growWindowOnHits() {
+    SequentialPrefetcher prefetcher = createPrefetcher(true);
+    for (long i = 0; i < 4; i++) {
+      prefetcher.onPageRead(i);
+    }
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), mFetched);
+    assertEquals(8, prefetcher.getWindow());
+  }
+
+  @Test
+  public void shrinkWindowOnRandomRead() {
+    SequentialPrefetcher prefetcher = createPrefetcher(true);
+    for (long i = 0; i < 4; i++) {
+      prefetcher.onPageRead(i);
+    }
+    // pages 4 to 7 are fetched but never read
+    prefetcher.onPageRead(50);
+    assertNull(prefetcher.getPending(5));
+    assertEquals(4, prefetcher.getWindow());
+    // a random read does not fetch anything
+    assertEquals(7, mFetched.size());
+  }
+
+  @Test
+  public void repeatedReadOfSamePage() {
+    SequentialPrefetcher prefetcher = createPrefetcher(true);
+    prefetcher.onPageRead(0);
+    prefetcher.onPageRead(0);
+    prefetcher.onPageRead(0);
+    assertEquals(Arrays.asList(1L), mFetched);
+  }
+
+  @Test
+  public void noGrowthForCachedPages() {
+    SequentialPrefetcher prefetcher = createPrefetcher(false);
+    for (long i = 0; i < 4; i++) {
+      prefetcher.onPageRead(i);
+    }
+    assertEquals(1, prefetcher.getWindow());
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L), mFetched);
+  }
+
+  @Test
+  public void stopAtEndOfFile() {
+    SequentialPrefetcher prefetcher = new SequentialPrefetcher(pageIndex -> {
+      mFetched.add(pageIndex);
+      return true;
+    }, MoreExecutors.newDirectExecutorService(), 8, 3);
+    for (long i = 0; i < 3; i++) {
+      prefetcher.onPageRead(i);
+    }
+    assertEquals(Arrays.asList(1L, 2L), mFetched);
+  }
+
+  @Test(timeout = 10000)
+  public void readQueuedPageDirectly() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch blocked = new CountDownLatch(1);
+    // the prefetch task is queued behind this one
+    executor.submit(() -> {
+      blocked.await();
+      return null;
+    });
+    SequentialPrefetcher prefetcher = new SequentialPrefetcher(pageIndex -> {
+      mFetched.add(pageIndex);
+      return true;
+    }, executor, 8, 100);
+    prefetcher.onPageRead(0);
+    // returns without waiting for the queued prefetch, which then skips the page
+    prefetcher.onPageRead(1);
+    assertNull(prefetcher.getPending(1));
+    blocked.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(2L), mFetched);
+    assertEquals(1, prefetcher.getWindow());
+  }
+
+  @Test
+  public void close() {
+    SequentialPrefetcher prefetcher = createPrefetcher(true);
+    prefetcher.onPageRead(0);
+    prefetcher.close();
+    assertNull(prefetcher.getPending(1));
+    prefetcher.onPageRead(1);
+    assertEquals(Arrays.asList(1L), mFetched);
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.store.OffHeapPageStore;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.io.BufferUtils;
+
+import com.codahale.metrics.Gauge;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tests for the {@link TieredCacheManager} class.
+ */
+public final class TieredCacheManagerTest {
+  private static final int PAGE_SIZE_BYTES = Constants.KB;
+  private static final int MEMORY_TIER_PAGES = 2;
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private LocalCacheManager mMemoryCache;
+  private LocalCacheManager mDiskCache;
+  private TieredCacheManager mCacheManager;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    MetricsSystem.clearAllMetrics();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(16 * PAGE_SIZE_BYTES));
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIRS, mTemp.getRoot().getAbsolutePath());
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD, 0);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.LOCAL);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_SIZE,
+        String.valueOf(MEMORY_TIER_PAGES * PAGE_SIZE_BYTES));
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_PROMOTION_HITS, 2);
+    CacheManagerOptions diskOptions = CacheManagerOptions.create(mConf);
+    CacheManagerOptions memoryOptions = CacheManagerOptions.createForMemoryTier(mConf);
+    mDiskCache = LocalCacheManager.create(diskOptions, PageMetaStore.create(diskOptions));
+    mMemoryCache = LocalCacheManager.create(memoryOptions, PageMetaStore.create(memoryOptions));
+    mCacheManager = new TieredCacheManager(mMemoryCache, mDiskCache,
+        mConf.getInt(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_PROMOTION_HITS),
+        diskOptions.getCacheAdmissionOptions().getMaxPages());
+  }
+
+  @After
+  public void after() throws Exception {
+    mCacheManager.close();
+  }
+
+  private static PageId pageId(int i) {
+    return new PageId("file", i);
+  }
+
+  private static byte[] page(int i) {
+    return BufferUtils.getIncreasingByteArray(i, PAGE_SIZE_BYTES);
+  }
+
+  private byte[] get(int i) {
+    byte[] buf = new byte[PAGE_SIZE_BYTES];
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i), PAGE_SIZE_BYTES, buf, 0));
+    return buf;
+  }
+
+  @Test
+  public void putIntoMemoryTier() {
+    assertTrue(mCacheManager.put(pageId(0), page(0)));
+    assertTrue(mMemoryCache.hasPage(pageId(0)));
+    assertFalse(mDiskCache.hasPage(pageId(0)));
+    assertArrayEquals(page(0), get(0));
+  }
+
+  @Test
+  public void spillEvictedPagesToDiskTier() {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    assertFalse(mMemoryCache.hasPage(pageId(0)));
+    assertTrue(mDiskCache.hasPage(pageId(0)));
+    assertTrue(mMemoryCache.hasPage(pageId(MEMORY_TIER_PAGES)));
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertArrayEquals(page(i), get(i));
+    }
+  }
+
+  @Test
+  public void promoteHotPagesToMemoryTier() {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    assertTrue(mDiskCache.hasPage(pageId(0)));
+    assertArrayEquals(page(0), get(0));
+    assertTrue(mDiskCache.hasPage(pageId(0)));
+    assertArrayEquals(page(0), get(0));
+    assertTrue(mMemoryCache.hasPage(pageId(0)));
+    assertFalse(mDiskCache.hasPage(pageId(0)));
+    assertArrayEquals(page(0), get(0));
+  }
+
+  @Test
+  public void deleteFromBothTiers() {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    assertTrue(mCacheManager.delete(pageId(0)));
+    assertTrue(mCacheManager.delete(pageId(MEMORY_TIER_PAGES)));
+    assertFalse(mCacheManager.hasPage(pageId(0)));
+    assertFalse(mCacheManager.hasPage(pageId(MEMORY_TIER_PAGES)));
+    assertFalse(mCacheManager.delete(pageId(0)));
+  }
+
+  @Test
+  public void appendToPageInMemoryTier() {
+    byte[] page = page(0);
+    int appendAt = PAGE_SIZE_BYTES / 2;
+    assertTrue(mCacheManager.put(pageId(0), Arrays.copyOf(page, appendAt)));
+    assertTrue(mMemoryCache.hasPage(pageId(0)));
+    assertTrue(mCacheManager.append(pageId(0), appendAt,
+        Arrays.copyOfRange(page, appendAt, PAGE_SIZE_BYTES), CacheContext.defaults()));
+    assertTrue(mMemoryCache.hasPage(pageId(0)) ^ mDiskCache.hasPage(pageId(0)));
+    assertArrayEquals(page, get(0));
+  }
+
+  @Test
+  public void appendToPageInDiskTier() {
+    byte[] page = page(0);
+    int appendAt = PAGE_SIZE_BYTES / 2;
+    assertTrue(mCacheManager.put(pageId(0), Arrays.copyOf(page, appendAt)));
+    for (int i = 1; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    assertTrue(mDiskCache.hasPage(pageId(0)));
+    assertTrue(mCacheManager.append(pageId(0), appendAt,
+        Arrays.copyOfRange(page, appendAt, PAGE_SIZE_BYTES), CacheContext.defaults()));
+    assertTrue(mMemoryCache.hasPage(pageId(0)) ^ mDiskCache.hasPage(pageId(0)));
+    assertArrayEquals(page, get(0));
+  }
+
+  @Test
+  public void appendToMissingPage() {
+    assertFalse(mCacheManager.append(pageId(0), PAGE_SIZE_BYTES / 2,
+        new byte[PAGE_SIZE_BYTES / 2], CacheContext.defaults()));
+    assertFalse(mCacheManager.hasPage(pageId(0)));
+  }
+
+  @Test
+  public void concurrentPutsKeepOneCopy() throws Exception {
+    int pages = MEMORY_TIER_PAGES * 4;
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (int n = 0; n < 200; n++) {
+            int i = ThreadLocalRandom.current().nextInt(pages);
+            mCacheManager.put(pageId(i), page(i));
+            if (n % 10 == 0) {
+              mCacheManager.delete(pageId(i));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    for (int i = 0; i < pages; i++) {
+      assertFalse(mMemoryCache.hasPage(pageId(i)) && mDiskCache.hasPage(pageId(i)));
+    }
+  }
+
+  @Test
+  public void memoryTierIsOffHeap() {
+    assertTrue(mMemoryCache.getPageMetaStore().getStoreDirs().get(0).getPageStore()
+        instanceof OffHeapPageStore);
+  }
+
+  @Test
+  public void memoryTierHasOwnRoot() {
+    assertNotEquals(mDiskCache.getPageMetaStore().getStoreDirs().get(0).getRootPath(),
+        mMemoryCache.getPageMetaStore().getStoreDirs().get(0).getRootPath());
+  }
+
+  @Test
+  public void gaugesCoverBothTiers() {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    long cacheSize = mMemoryCache.getCacheSize() + mDiskCache.getCacheSize();
+    long pages = MEMORY_TIER_PAGES + 1;
+    assertEquals(pages, gauge(MetricKey.CLIENT_CACHE_PAGES.getName()));
+    assertEquals(pages * PAGE_SIZE_BYTES,
+        gauge(MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_USED.getName())));
+    assertEquals(cacheSize - pages * PAGE_SIZE_BYTES,
+        gauge(MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_AVAILABLE.getName())));
+  }
+
+  private static long gauge(String name) {
+    Map<String, Gauge> gauges = MetricsSystem.METRIC_REGISTRY.getGauges();
+    return ((Number) gauges.get(name).getValue()).longValue();
+  }
+}
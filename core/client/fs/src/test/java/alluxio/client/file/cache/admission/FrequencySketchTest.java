@@ -0,0 +1,65 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link FrequencySketch} class.
+ */
+public final class FrequencySketchTest {
+  private final FrequencySketch mSketch = new FrequencySketch(1024);
+  private final PageId mFirst = new PageId("1L", 2L);
+  private final PageId mSecond = new PageId("3L", 4L);
+
+  @Test
+  public void increment() {
+    Assert.assertEquals(0, mSketch.frequency(mFirst));
+    mSketch.increment(mFirst);
+    mSketch.increment(mFirst);
+    mSketch.increment(mSecond);
+    Assert.assertEquals(2, mSketch.frequency(mFirst));
+    Assert.assertEquals(1, mSketch.frequency(mSecond));
+  }
+
+  @Test
+  public void saturate() {
+    for (int i = 0; i < 100; i++) {
+      mSketch.increment(mFirst);
+    }
+    Assert.assertEquals(15, mSketch.frequency(mFirst));
+  }
+
+  @Test
+  public void age() {
+    for (int i = 0; i < 8; i++) {
+      mSketch.increment(mFirst);
+    }
+    Assert.assertEquals(8, mSketch.frequency(mFirst));
+    for (int i = 0; i < mSketch.getSampleSize(); i++) {
+      mSketch.increment(new PageId("scan", i));
+    }
+    // counters are halved, although other pages may collide with some of them
+    int frequency = mSketch.frequency(mFirst);
+    Assert.assertTrue("frequency " + frequency, frequency >= 4 && frequency < 8);
+  }
+
+  @Test
+  public void reset() {
+    mSketch.increment(mFirst);
+    mSketch.reset();
+    Assert.assertEquals(0, mSketch.frequency(mFirst));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.cache.PageId;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TinyLfuAdmissionPolicy} class.
+ */
+public final class TinyLfuAdmissionPolicyTest {
+  private final TinyLfuAdmissionPolicy mPolicy =
+      new TinyLfuAdmissionPolicy(new CacheAdmissionOptions().setMaxPages(16));
+  private final PageId mHot = new PageId("1L", 2L);
+  private final PageId mCold = new PageId("3L", 4L);
+
+  @Test
+  public void admitMoreFrequent() {
+    mPolicy.recordAccess(mHot);
+    mPolicy.recordAccess(mHot);
+    mPolicy.recordAccess(mCold);
+    Assert.assertFalse(mPolicy.admit(mCold, mHot));
+    Assert.assertTrue(mPolicy.admit(mHot, mCold));
+  }
+
+  @Test
+  public void admitEquallyFrequent() {
+    mPolicy.recordAccess(mHot);
+    mPolicy.recordAccess(mCold);
+    Assert.assertTrue(mPolicy.admit(mCold, mHot));
+    Assert.assertTrue(mPolicy.admit(mHot, mCold));
+  }
+
+  @Test
+  public void admitOnColdStart() {
+    Assert.assertTrue(mPolicy.admit(mCold, mHot));
+  }
+
+  @Test
+  public void reset() {
+    mPolicy.recordAccess(mHot);
+    mPolicy.reset();
+    mPolicy.recordAccess(mCold);
+    Assert.assertTrue(mPolicy.admit(mCold, mHot));
+  }
+}
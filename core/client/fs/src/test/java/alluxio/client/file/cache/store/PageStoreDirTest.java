@@ -46,7 +46,9 @@ public class PageStoreDirTest {
     return Arrays.asList(new Object[][] {
         {PageStoreType.ROCKS},
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.MEM},
+        {PageStoreType.SLAB},
+        {PageStoreType.OFF_HEAP}
     });
   }
 
@@ -94,7 +96,8 @@ public class PageStoreDirTest {
     }
     Set<PageInfo> restored = new HashSet<>();
     mPageStoreDir.scanPages((pageInfo -> restored.add(pageInfo.get())));
-    if (mOptions.getType().equals(PageStoreType.MEM)) {
+    if (mOptions.getType().equals(PageStoreType.MEM)
+        || mOptions.getType().equals(PageStoreType.OFF_HEAP)) {
       assertTrue(restored.isEmpty());
     } else {
       assertEquals(pages, restored);
@@ -114,7 +117,8 @@ public class PageStoreDirTest {
     }
     Set<PageInfo> restored = new HashSet<>();
     mPageStoreDir.scanPages((pageInfo -> restored.add(pageInfo.get())));
-    if (mOptions.getType().equals(PageStoreType.MEM)) {
+    if (mOptions.getType().equals(PageStoreType.MEM)
+        || mOptions.getType().equals(PageStoreType.OFF_HEAP)) {
       assertTrue(restored.isEmpty());
     } else {
       assertEquals(pages, restored);
@@ -42,7 +42,9 @@ public class PageStoreTest {
     return Arrays.asList(new Object[][] {
         {PageStoreType.ROCKS},
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.MEM},
+        {PageStoreType.SLAB},
+        {PageStoreType.OFF_HEAP}
     });
   }
 
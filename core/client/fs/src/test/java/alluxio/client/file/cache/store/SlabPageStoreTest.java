@@ -0,0 +1,254 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Strings;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(Parameterized.class)
+public class SlabPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+
+  @Parameterized.Parameters(name = "mmap: {0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {{false}, {true}});
+  }
+
+  @Parameterized.Parameter
+  public boolean mMmapEnabled;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private PageStoreOptions mOptions;
+
+  @Before
+  public void before() {
+    mOptions = new PageStoreOptions()
+        .setStoreType(PageStoreType.SLAB)
+        .setPageSize(PAGE_SIZE)
+        .setCacheSize(PAGE_SIZE * 16)
+        .setSlabSize(PAGE_SIZE * 4)
+        .setMmapEnabled(mMmapEnabled)
+        .setRootDir(Paths.get(mTemp.getRoot().getAbsolutePath()));
+  }
+
+  @Test
+  public void slabFiles() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    for (int i = 0; i < 5; i++) {
+      pageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    }
+    Path root = Paths.get(mOptions.getRootDir().toString(), Integer.toString(PAGE_SIZE));
+    // one index file plus two slab files for five pages
+    assertEquals(3, Files.list(root).count());
+    assertTrue(Files.exists(root.resolve(SlabPageStore.INDEX_FILE)));
+    assertEquals(PAGE_SIZE * 4, Files.size(root.resolve(SlabPageStore.SLAB_FILE_PREFIX + 0)));
+    assertEquals(PAGE_SIZE * 4, Files.size(root.resolve(SlabPageStore.SLAB_FILE_PREFIX + 1)));
+    pageStore.close();
+  }
+
+  @Test
+  public void restore() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    for (int i = 0; i < 8; i++) {
+      pageStore.put(new PageId(Integer.toString(i), i), BufferUtils.getIncreasingByteArray(i, 10));
+    }
+    pageStore.delete(new PageId("3", 3));
+    pageStore.putTemporary(new PageId("tmp", 0), "temp".getBytes());
+    pageStore.close();
+
+    SlabPageStore restored = SlabPageStore.open(mOptions);
+    assertEquals(7, restored.getPages().size());
+    assertEquals(16 - 7, restored.getNumFreeSlots());
+    for (int i = 0; i < 8; i++) {
+      PageId id = new PageId(Integer.toString(i), i);
+      if (i == 3) {
+        assertThrows(PageNotFoundException.class,
+            () -> restored.get(id, new ByteArrayTargetBuffer(new byte[10], 0)));
+        continue;
+      }
+      byte[] buf = new byte[10];
+      assertEquals(10, restored.get(id, new ByteArrayTargetBuffer(buf, 0)));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(i, 10), buf);
+    }
+    assertThrows(PageNotFoundException.class, () -> restored.get(new PageId("tmp", 0), 0, 4,
+        new ByteArrayTargetBuffer(new byte[4], 0), true));
+    restored.close();
+  }
+
+  @Test
+  public void restoreWithDifferentLayout() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    pageStore.put(new PageId("0", 0), "test".getBytes());
+    pageStore.close();
+    mOptions.setCacheSize(PAGE_SIZE * 32);
+    SlabPageStore resized = SlabPageStore.open(mOptions);
+    assertTrue(resized.getPages().isEmpty());
+    assertEquals(32, resized.getNumFreeSlots());
+    resized.close();
+  }
+
+  @Test
+  public void discardIndexNotClosedCleanly() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    pageStore.put(new PageId("0", 0), "test".getBytes());
+    // the store is still open, as if its process had crashed
+    SlabPageStore restored = SlabPageStore.open(mOptions);
+    assertTrue(restored.getPages().isEmpty());
+    assertEquals(16, restored.getNumFreeSlots());
+    restored.close();
+    pageStore.close();
+  }
+
+  @Test
+  public void noFreeSlot() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    for (int i = 0; i < 16; i++) {
+      pageStore.put(new PageId("0", i), "small".getBytes());
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> pageStore.put(new PageId("0", 16), "small".getBytes()));
+    pageStore.delete(new PageId("0", 0));
+    pageStore.put(new PageId("0", 16), "small".getBytes());
+    pageStore.close();
+  }
+
+  @Test
+  public void overwrite() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, "first page".getBytes());
+    pageStore.put(id, "second".getBytes());
+    assertEquals(15, pageStore.getNumFreeSlots());
+    byte[] buf = new byte[PAGE_SIZE];
+    assertEquals(6, pageStore.get(id, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("second".getBytes(), Arrays.copyOf(buf, 6));
+    pageStore.close();
+  }
+
+  @Test
+  public void commitTempFile() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    pageStore.putTemporary(new PageId("tmp_file", 0), "test0".getBytes());
+    pageStore.putTemporary(new PageId("tmp_file", 6), "test6".getBytes());
+    pageStore.putTemporary(new PageId("other_file", 0), "other".getBytes());
+    pageStore.commit("tmp_file", "new_file");
+    pageStore.abort("other_file");
+    assertEquals(14, pageStore.getNumFreeSlots());
+    pageStore.close();
+
+    pageStore = SlabPageStore.open(mOptions);
+    assertEquals(2, pageStore.getPages().size());
+    byte[] buf = new byte[5];
+    assertEquals(5, pageStore.get(new PageId("new_file", 6), new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("test6".getBytes(), buf);
+    pageStore.close();
+  }
+
+  @Test
+  public void readIntoByteBuffer() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(64));
+    ByteBuffer buf = ByteBuffer.allocateDirect(32);
+    assertEquals(32, pageStore.get(id, 16, 32, new ByteBufferTargetBuffer(buf)));
+    buf.flip();
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(16, 32, buf));
+    pageStore.close();
+  }
+
+  @Test
+  public void readAfterClose() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    pageStore.close();
+    assertThrows(IOException.class,
+        () -> pageStore.get(id, new ByteArrayTargetBuffer(new byte[PAGE_SIZE], 0)));
+    assertThrows(IOException.class,
+        () -> pageStore.put(new PageId("0", 1), BufferUtils.getIncreasingByteArray(PAGE_SIZE)));
+  }
+
+  @Test
+  public void concurrentReadAndClose() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    for (int i = 0; i < 16; i++) {
+      pageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch started = new CountDownLatch(4);
+    List<Future<Void>> readers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      readers.add(executor.submit(() -> {
+        started.countDown();
+        byte[] buf = new byte[PAGE_SIZE];
+        for (int i = 0; ; i = (i + 1) % 16) {
+          try {
+            pageStore.get(new PageId("0", i), new ByteArrayTargetBuffer(buf, 0));
+          } catch (IOException e) {
+            // reads fail once the store is closed
+            return null;
+          }
+          assertArrayEquals(BufferUtils.getIncreasingByteArray(i, PAGE_SIZE), buf);
+        }
+      }));
+    }
+    started.await();
+    pageStore.close();
+    for (Future<Void> reader : readers) {
+      reader.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+  }
+
+  @Test
+  public void fileIdTooLong() throws Exception {
+    SlabPageStore pageStore = SlabPageStore.open(mOptions);
+    String fileId = Strings.repeat("a", SlabPageStore.MAX_FILE_ID_BYTES + 1);
+    assertThrows(IOException.class, () -> pageStore.put(new PageId(fileId, 0), "a".getBytes()));
+    assertEquals(16, pageStore.getNumFreeSlots());
+    assertFalse(pageStore.getPages().containsKey(new PageId(fileId, 0)));
+    pageStore.close();
+  }
+}
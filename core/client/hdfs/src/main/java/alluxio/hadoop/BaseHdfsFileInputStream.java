@@ -13,6 +13,7 @@ package alluxio.hadoop;
 
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileRange;
 import alluxio.client.file.FileSystem;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
@@ -30,6 +31,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -157,6 +160,26 @@ public class BaseHdfsFileInputStream extends InputStream implements Seekable, Po
     return bytesRead;
   }
 
+  /**
+   * Reads a list of ranges of the file, see {@link FileInStream#readVectored}. This does not
+   * change the position of the stream.
+   *
+   * @param ranges the ranges to read
+   * @param allocate function to allocate a buffer of the given length
+   */
+  public void readVectored(List<FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+    mInputStream.readVectored(ranges, allocate);
+    if (mStatistics != null) {
+      for (FileRange range : ranges) {
+        range.getData().thenAccept(data -> mStatistics.incrementBytesRead(data.remaining()));
+      }
+    }
+  }
+
   @Override
   public void readFully(long position, byte[] buffer) throws IOException {
     readFully(position, buffer, 0, buffer.length);
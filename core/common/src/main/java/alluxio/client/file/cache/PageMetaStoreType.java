@@ -0,0 +1,32 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+/**
+ * This represents the different page meta store implementations that can be instantiated.
+ */
+public enum PageMetaStoreType {
+  /**
+   * A meta store keeping all pages in a single indexed set guarded by one read-write lock.
+   */
+  DEFAULT,
+  /**
+   * A meta store partitioning pages into segments by file id, with a concurrent page index that
+   * can be read without taking the meta store lock.
+   */
+  CONCURRENT,
+  /**
+   * A meta store keeping pages in primitive arrays keyed by interned file ids and page indexes,
+   * which uses much less heap memory per page than the other meta stores.
+   */
+  COMPACT,
+}
@@ -26,7 +26,16 @@ public enum PageStoreType {
   /**
    * A simple store with pages on the memory (HeapByteBuffer).
    */
-  MEM(PageStoreType.MEMORY_OVERHEAD_RATIO);
+  MEM(PageStoreType.MEMORY_OVERHEAD_RATIO),
+  /**
+   * A store that packs pages into fixed-size slots of large pre-allocated slab files on the
+   * local filesystem.
+   */
+  SLAB(PageStoreType.SLAB_OVERHEAD_RATIO),
+  /**
+   * A simple store with pages on the memory outside of the JVM heap (DirectByteBuffer).
+   */
+  OFF_HEAP(PageStoreType.OFF_HEAP_OVERHEAD_RATIO);
 
   // We assume there will be some overhead using ByteBuffer as a page store,
   // i.e., with 1GB space allocated, we
@@ -39,6 +48,12 @@ public enum PageStoreType {
   // i.e., with 1GB space allocated, we
   // expect no more than 1024MB / (1 + LOCAL_OVERHEAD_RATIO) logical data stored
   private static final double LOCAL_OVERHEAD_RATIO = 0.05;
+  // Slab files are pre-allocated and pages are stored in fixed-size slots, so the overhead
+  // mainly comes from the slot index and partially filled slots
+  private static final double SLAB_OVERHEAD_RATIO = 0.02;
+  // Pages are stored in direct buffers of the page size, so the overhead mainly comes from
+  // partially filled buffers
+  private static final double OFF_HEAP_OVERHEAD_RATIO = 0.05;
   private final double mOverheadRatio;
 
   /**
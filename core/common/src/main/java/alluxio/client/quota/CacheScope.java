@@ -105,6 +105,13 @@ public class CacheScope {
     mLevel = level;
   }
 
+  /**
+   * @return the id of this scope, which creates an equal scope with {@link #create(String)}
+   */
+  public String getId() {
+    return mId.substring(0, mLength);
+  }
+
   /**
    * @return parent of this scope
    */
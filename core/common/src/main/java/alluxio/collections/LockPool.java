@@ -24,7 +24,6 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -52,7 +51,7 @@ import java.util.function.Function;
  *
  * @param <K> key for the locks
  */
-public class LockPool<K> implements Closeable {
+public class LockPool<K> implements RWLockPool<K> {
   private static final Logger LOG = LoggerFactory.getLogger(LockPool.class);
   private static final float DEFAULT_LOAD_FACTOR = 0.75f;
   private static final String EVICTOR_THREAD_NAME = "LockPool Evictor";
@@ -205,6 +204,7 @@ public class LockPool<K> implements Closeable {
    *                   been acquired.
    * @return a lock resource which must be closed to unlock the key
    */
+  @Override
   public RWLockResource get(K key, LockMode mode, boolean useTryLock) {
     Resource resource = getResource(key);
     return new RefCountLockResource(resource.mLock, mode, true, resource.mRefCount, useTryLock);
@@ -217,6 +217,7 @@ public class LockPool<K> implements Closeable {
    * @param mode lockMode to acquire
    * @return either empty or a lock resource which must be closed to unlock the key
    */
+  @Override
   public Optional<RWLockResource> tryGet(K key, LockMode mode) {
     Resource resource = getResource(key);
     ReentrantReadWriteLock lock = resource.mLock;
@@ -244,6 +245,7 @@ public class LockPool<K> implements Closeable {
    * @return the lock associated with the key
    */
   @VisibleForTesting
+  @Override
   public ReentrantReadWriteLock getRawReadWriteLock(K key) {
     return mPool.getOrDefault(key, new Resource(new ReentrantReadWriteLock())).mLock;
   }
@@ -294,6 +296,7 @@ public class LockPool<K> implements Closeable {
   /**
    * @return the size of the pool
    */
+  @Override
   public int size() {
     return mPool.size();
   }
@@ -302,6 +305,7 @@ public class LockPool<K> implements Closeable {
    * @return all entries in the pool, for debugging purposes
    */
   @VisibleForTesting
+  @Override
   public Map<K, ReentrantReadWriteLock> getEntryMap() {
     Map<K, ReentrantReadWriteLock> entries = new HashMap<>();
     mPool.forEach((key, value) -> entries.put(key, value.mLock));
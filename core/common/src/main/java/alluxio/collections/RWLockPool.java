@@ -0,0 +1,69 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import alluxio.concurrent.LockMode;
+import alluxio.resource.RWLockResource;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A pool of read write locks keyed by arbitrary keys. Locks are supplied on demand, and distinct
+ * keys never share a lock.
+ *
+ * @param <K> key for the locks
+ */
+public interface RWLockPool<K> extends Closeable {
+  /**
+   * Locks the specified key in the specified mode.
+   *
+   * @param key the key to lock
+   * @param mode the mode to lock in
+   * @param useTryLock Determines whether or not to use {@link Lock#tryLock()} or
+   *                   {@link Lock#lock()} to acquire the lock. Differs from
+   *                   {@link #tryGet(Object, LockMode)} in that it will block until the lock has
+   *                   been acquired.
+   * @return a lock resource which must be closed to unlock the key
+   */
+  RWLockResource get(K key, LockMode mode, boolean useTryLock);
+
+  /**
+   * Attempts to take a lock on the given key.
+   *
+   * @param key the key to lock
+   * @param mode lockMode to acquire
+   * @return either empty or a lock resource which must be closed to unlock the key
+   */
+  Optional<RWLockResource> tryGet(K key, LockMode mode);
+
+  /**
+   * Get the raw readwrite lock from the pool.
+   *
+   * @param key key to look up the value
+   * @return the lock associated with the key
+   */
+  ReentrantReadWriteLock getRawReadWriteLock(K key);
+
+  /**
+   * @return all entries in the pool, for debugging purposes
+   */
+  Map<K, ReentrantReadWriteLock> getEntryMap();
+
+  /**
+   * @return the number of locks in the pool
+   */
+  int size();
+}
@@ -0,0 +1,225 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import alluxio.concurrent.LockMode;
+import alluxio.resource.RWLockResource;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A lock pool backed by a fixed table of stripes selected by the hash of the keys. Unlike
+ * {@link LockPool}, a stripe only keeps the locks of its keys while they are held or waited on,
+ * and removes them as soon as they are released. Released locks are reused for other keys, so
+ * the pool neither grows with the number of keys locked over time nor needs a thread to evict
+ * unused locks.
+ *
+ * Keys hashed to the same stripe still get distinct locks. Sharing a lock between keys would
+ * deadlock callers which lock several keys in order, such as inode path locking.
+ *
+ * @param <K> key for the locks
+ */
+@ThreadSafe
+public class StripedLockPool<K> implements RWLockPool<K> {
+  /** Maximum number of released locks kept for reuse by each stripe. */
+  private static final int MAX_FREE_LOCKS_PER_STRIPE = 8;
+
+  private final Stripe<K>[] mStripes;
+  private final int mStripeMask;
+
+  /**
+   * @param numStripes the number of stripes, rounded up to a power of two
+   */
+  @SuppressWarnings("unchecked")
+  public StripedLockPool(int numStripes) {
+    Preconditions.checkArgument(numStripes > 0, "numStripes must be positive, but is %s",
+        numStripes);
+    int size = Integer.highestOneBit(numStripes);
+    if (size < numStripes) {
+      size <<= 1;
+    }
+    mStripes = new Stripe[size];
+    for (int i = 0; i < size; i++) {
+      mStripes[i] = new Stripe<>();
+    }
+    mStripeMask = size - 1;
+  }
+
+  @Override
+  public RWLockResource get(K key, LockMode mode, boolean useTryLock) {
+    Stripe<K> stripe = stripe(key);
+    Entry entry = stripe.acquire(key);
+    try {
+      return new StripedLockResource<>(stripe, key, entry, mode, true, useTryLock);
+    } catch (Throwable t) {
+      stripe.release(key, entry);
+      throw t;
+    }
+  }
+
+  @Override
+  public Optional<RWLockResource> tryGet(K key, LockMode mode) {
+    Stripe<K> stripe = stripe(key);
+    Entry entry = stripe.acquire(key);
+    Lock innerLock;
+    switch (mode) {
+      case READ:
+        innerLock = entry.mLock.readLock();
+        break;
+      case WRITE:
+        innerLock = entry.mLock.writeLock();
+        break;
+      default:
+        stripe.release(key, entry);
+        throw new IllegalStateException("Unknown lock mode: " + mode);
+    }
+    if (!innerLock.tryLock()) {
+      stripe.release(key, entry);
+      return Optional.empty();
+    }
+    return Optional.of(new StripedLockResource<>(stripe, key, entry, mode, false, false));
+  }
+
+  @Override
+  public ReentrantReadWriteLock getRawReadWriteLock(K key) {
+    ReentrantReadWriteLock lock = stripe(key).getLock(key);
+    return lock == null ? new ReentrantReadWriteLock() : lock;
+  }
+
+  @Override
+  public Map<K, ReentrantReadWriteLock> getEntryMap() {
+    Map<K, ReentrantReadWriteLock> entries = new HashMap<>();
+    for (Stripe<K> stripe : mStripes) {
+      stripe.copyTo(entries);
+    }
+    return entries;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Stripe<K> stripe : mStripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("stripes", mStripes.length)
+        .add("size", size())
+        .toString();
+  }
+
+  private Stripe<K> stripe(K key) {
+    Preconditions.checkNotNull(key, "key can not be null");
+    int h = key.hashCode() * 0x9e3779b9;
+    return mStripes[(h ^ (h >>> 16)) & mStripeMask];
+  }
+
+  /**
+   * A lock in use and the number of holders and waiters of it.
+   */
+  private static final class Entry {
+    private final ReentrantReadWriteLock mLock;
+    private int mRefCount = 1;
+
+    private Entry(ReentrantReadWriteLock lock) {
+      mLock = lock;
+    }
+  }
+
+  /**
+   * The locks in use for the keys of a stripe. The monitor of a stripe is only held to look up
+   * and reference count its locks, never while locking them.
+   */
+  private static final class Stripe<K> {
+    @GuardedBy("this")
+    private final Map<K, Entry> mEntries = new HashMap<>();
+    @GuardedBy("this")
+    private final ArrayDeque<ReentrantReadWriteLock> mFreeLocks = new ArrayDeque<>();
+
+    synchronized Entry acquire(K key) {
+      Entry entry = mEntries.get(key);
+      if (entry != null) {
+        entry.mRefCount++;
+        return entry;
+      }
+      ReentrantReadWriteLock lock = mFreeLocks.poll();
+      entry = new Entry(lock == null ? new ReentrantReadWriteLock() : lock);
+      mEntries.put(key, entry);
+      return entry;
+    }
+
+    synchronized void release(K key, Entry entry) {
+      if (--entry.mRefCount == 0) {
+        mEntries.remove(key);
+        // nothing holds or waits on the lock any more, it can be handed to another key
+        if (mFreeLocks.size() < MAX_FREE_LOCKS_PER_STRIPE) {
+          mFreeLocks.push(entry.mLock);
+        }
+      }
+    }
+
+    synchronized ReentrantReadWriteLock getLock(K key) {
+      Entry entry = mEntries.get(key);
+      return entry == null ? null : entry.mLock;
+    }
+
+    synchronized void copyTo(Map<K, ReentrantReadWriteLock> entries) {
+      mEntries.forEach((key, entry) -> entries.put(key, entry.mLock));
+    }
+
+    synchronized int size() {
+      return mEntries.size();
+    }
+  }
+
+  /**
+   * A lock resource which releases its reference to the lock once closed.
+   */
+  private static final class StripedLockResource<K> extends RWLockResource {
+    private final Stripe<K> mStripe;
+    private final K mKey;
+    private final Entry mEntry;
+
+    private StripedLockResource(Stripe<K> stripe, K key, Entry entry, LockMode mode,
+        boolean acquireLock, boolean useTryLock) {
+      super(entry.mLock, mode, acquireLock, useTryLock);
+      mStripe = stripe;
+      mKey = key;
+      mEntry = entry;
+    }
+
+    @Override
+    public void close() {
+      super.close();
+      mStripe.release(mKey, mEntry);
+    }
+  }
+}
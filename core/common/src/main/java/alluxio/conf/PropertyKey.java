@@ -32,6 +32,7 @@ import alluxio.RuntimeConstants;
 import alluxio.annotation.PublicApi;
 import alluxio.client.ReadType;
 import alluxio.client.WriteType;
+import alluxio.client.file.cache.PageMetaStoreType;
 import alluxio.client.file.cache.ShadowCacheType;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.exception.ExceptionMessage;
@@ -54,6 +55,8 @@ import alluxio.util.FormatUtils;
 import alluxio.util.OSUtils;
 import alluxio.util.compression.DirectoryMarshaller;
 import alluxio.util.io.PathUtils;
+import alluxio.worker.block.BlockIoEngineType;
+import alluxio.worker.block.BlockLockManagerType;
 import alluxio.worker.block.BlockStoreType;
 import alluxio.worker.block.management.BackoffStrategy;
 
@@ -1206,6 +1209,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The temporary directory used for async persistence in the ufs")
           .setDefaultValue(".alluxio_ufs_persistence")
           .build();
+  public static final PropertyKey UNDERFS_READAHEAD_ENABLED =
+      booleanBuilder(Name.UNDERFS_READAHEAD_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether workers read ahead of clients reading blocks of this UFS "
+              + "sequentially. Once a block is read sequentially, ranged reads of the data "
+              + "following the client position are issued in the background. This can be "
+              + "set for a single mount as a mount option.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_WEB_HEADER_LAST_MODIFIED =
       stringBuilder(Name.UNDERFS_WEB_HEADER_LAST_MODIFIED)
           .setDefaultValue("EEE, dd MMM yyyy HH:mm:ss zzz")
@@ -2384,6 +2397,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_WRITE_PIPELINE_DEPTH =
+      intBuilder(Name.MASTER_EMBEDDED_JOURNAL_WRITE_PIPELINE_DEPTH)
+          .setDefaultValue(1)
+          .setDescription("The maximum number of journal appends the primary master keeps in "
+              + "flight on the embedded journal. With the default of 1, each append waits for "
+              + "the previous one to be committed. With a larger value, entries written while "
+              + "earlier appends are in flight are grouped into the next append, which improves "
+              + "the throughput of metadata writes when the journal commit latency is high.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_EMBEDDED_JOURNAL_WRITE_REMOTE_ENABLED =
       booleanBuilder(Name.MASTER_EMBEDDED_JOURNAL_WRITE_REMOTE_ENABLED)
           .setDefaultValue(false)
@@ -2691,6 +2715,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE =
+      dataSizeBuilder(Name.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE)
+          .setDefaultValue("0")
+          .setDescription("The size of the off-heap inode cache, which keeps serialized inodes "
+              + "evicted from the on-heap inode cache in direct memory, in front of the backing "
+              + "store. The memory is allocated when the master starts, and is limited by the "
+              + "-XX:MaxDirectMemorySize JVM option. This only applies to the ROCKS metastore "
+              + "with the on-heap inode cache enabled. Set this to 0 to disable the off-heap "
+              + "inode cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_OFFHEAP_SLOT_SIZE =
+      dataSizeBuilder(Name.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SLOT_SIZE)
+          .setDefaultValue("512B")
+          .setDescription("The size of each slot in the off-heap inode cache. A slot holds one "
+              + "inode, and inodes which do not fit in a slot are not cached off-heap. The "
+              + "number of inodes the cache can hold is "
+              + Name.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE + " divided by this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   // In Java8 in container environment Runtime.availableProcessors() always returns 1,
   // which is not the actual number of cpus, so we set a safe default value 4.
   public static final PropertyKey MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
@@ -3005,6 +3051,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("Maximum concurrency level for the lock pool")
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_LOCK_POOL_STRIPED_ENABLED =
+      booleanBuilder(Name.MASTER_LOCK_POOL_STRIPED_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to lock master inodes and edges with a fixed table of lock "
+              + "stripes instead of the lock pool. A stripe only holds the locks in use for the "
+              + "inodes and edges hashed to it and reuses released locks, so no locks are evicted "
+              + "and the watermarks of the lock pool do not apply.")
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_LOCK_POOL_STRIPES =
+      intBuilder(Name.MASTER_LOCK_POOL_STRIPES)
+          .setDefaultValue(4096)
+          .setDescription("Number of stripes of the inode and edge lock tables when "
+              + Name.MASTER_LOCK_POOL_STRIPED_ENABLED + " is true. It is rounded up to a power "
+              + "of two.")
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_JOURNAL_CATCHUP_PROTECT_ENABLED =
       booleanBuilder(Name.MASTER_JOURNAL_CATCHUP_PROTECT_ENABLED)
           .setDefaultValue(true)
@@ -3089,6 +3152,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setIsHidden(true)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_JOURNAL_REPLAY_PARALLELISM =
+      intBuilder(Name.MASTER_JOURNAL_REPLAY_PARALLELISM)
+          .setDefaultValue(1)
+          .setDescription("The number of threads applying journal entries on standby masters "
+              + "with the embedded journal. Entries replicated together which modify "
+              + "different inodes or blocks are applied in parallel, while the entries "
+              + "modifying the same inode or block, and the entries modifying other state, "
+              + "are applied in journal order. Set to 1 to apply all entries serially.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_JOURNAL_SPACE_MONITOR_PERCENT_FREE_THRESHOLD =
       intBuilder(Name.MASTER_JOURNAL_SPACE_MONITOR_PERCENT_FREE_THRESHOLD)
           .setDefaultValue(10)
@@ -4122,6 +4196,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "Due to the performance consideration, this will not apply to the metadata sync, "
               + "where journals are still flushed asynchronously.")
           .build();
+  public static final PropertyKey MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED =
+      booleanBuilder(Name.MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If enabled, getStatus first resolves the path without taking inode "
+              + "locks, and validates the inodes it read against per-inode versions afterwards. "
+              + "If an inode was modified concurrently, or the path needs metadata loading or "
+              + "an access time update, the request falls back to the locked path. Enabling "
+              + "this makes every inode update also update the versions.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
 
   //
   // Worker related properties
@@ -4162,6 +4247,69 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_BLOCK_IO_ENGINE_TYPE =
+      enumBuilder(Name.WORKER_BLOCK_IO_ENGINE_TYPE, BlockIoEngineType.class)
+          .setDefaultValue(BlockIoEngineType.FILE_CHANNEL)
+          .setDescription(format("The I/O engine issuing the chunk reads which are kept in "
+              + "flight by the worker when streaming a local block, see %s. FILE_CHANNEL runs "
+              + "positional reads of the block file on the reader pipeline threads. "
+              + "ASYNC_FILE_CHANNEL submits the reads to an AsynchronousFileChannel of the block "
+              + "file, which completes them on the same threads.",
+              Name.WORKER_NETWORK_READER_PIPELINE_DEPTH_MAX))
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_IO_SCHEDULER_ENABLED =
+      booleanBuilder(Name.WORKER_BLOCK_IO_SCHEDULER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to schedule the I/O on each storage directory of the worker. "
+              + "Requests are classified as foreground reads, foreground writes, cache fills and "
+              + "tier moves, queued per class and admitted in weighted fair order, so that no "
+              + "more than the target queue depth of requests run on a directory at a time.")
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_IO_SCHEDULER_QUEUE_DEPTH =
+      intBuilder(Name.WORKER_BLOCK_IO_SCHEDULER_QUEUE_DEPTH)
+          .setDefaultValue(16)
+          .setDescription(format("The max number of I/O requests running at a time on a storage "
+              + "directory of the worker when %s is enabled.",
+              Name.WORKER_BLOCK_IO_SCHEDULER_ENABLED))
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_READ =
+      intBuilder(Name.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_READ)
+          .setDefaultValue(8)
+          .setDescription("The share of the queue depth of a storage directory given to client "
+              + "reads when the directory is contended.")
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_WRITE =
+      intBuilder(Name.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_WRITE)
+          .setDefaultValue(4)
+          .setDescription("The share of the queue depth of a storage directory given to client "
+              + "writes when the directory is contended.")
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_IO_SCHEDULER_WEIGHT_CACHE_FILL =
+      intBuilder(Name.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_CACHE_FILL)
+          .setDefaultValue(2)
+          .setDescription("The share of the queue depth of a storage directory given to async "
+              + "caching when the directory is contended.")
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_IO_SCHEDULER_WEIGHT_TIER_MOVE =
+      intBuilder(Name.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_TIER_MOVE)
+          .setDefaultValue(1)
+          .setDescription("The share of the queue depth of a storage directory given to block "
+              + "moves of tier management when the directory is contended.")
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_RANGE_READ_MAX_BYTES =
+      dataSizeBuilder(Name.WORKER_BLOCK_RANGE_READ_MAX_BYTES)
+          .setDefaultValue("16MB")
+          .setDescription("The max number of bytes a client can read from the worker in a single "
+              + "call reading ranges of blocks. Larger calls are rejected.")
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_BLOCK_STORE_TYPE =
       enumBuilder(Name.WORKER_BLOCK_STORE_TYPE, BlockStoreType.class)
           .setDefaultValue(BlockStoreType.FILE)
@@ -4484,6 +4632,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_FILE_TRANSFER_ENABLED =
+      booleanBuilder(Name.WORKER_NETWORK_FILE_TRANSFER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker serves committed blocks of its local storage over "
+              + "a separate netty endpoint which transfers block files to the socket without "
+              + "copying them through user space. The endpoint is only available with the FILE "
+              + "block store. Each read must be granted to the client over the authenticated "
+              + "gRPC data server first.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_FILE_TRANSFER_PORT =
+      intBuilder(Name.WORKER_NETWORK_FILE_TRANSFER_PORT)
+          .setDefaultValue(29998)
+          .setDescription("The port the worker's file transfer endpoint binds to, see "
+              + Name.WORKER_NETWORK_FILE_TRANSFER_ENABLED + ". Clients learn the port from "
+              + "the worker when they are granted a read.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_FLOWCONTROL_WINDOW =
       dataSizeBuilder(Name.WORKER_NETWORK_FLOWCONTROL_WINDOW)
           .setDefaultValue("2MB")
@@ -4596,6 +4764,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_PIPELINE_DEPTH_MAX =
+      intBuilder(Name.WORKER_NETWORK_READER_PIPELINE_DEPTH_MAX)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of chunk reads kept in flight for a remote read "
+              + "of a block in the worker's local storage. The depth of each stream grows "
+              + "while it waits on reads and shrinks while reads complete ahead of the stream. "
+              + "Set to 1 to read one chunk at a time.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_PIPELINE_THREADS =
+      intBuilder(Name.WORKER_NETWORK_READER_PIPELINE_THREADS)
+          .setDefaultSupplier(() -> Math.max(8, 4 * Runtime.getRuntime().availableProcessors()),
+              "4 * {CPU core count}")
+          .setDescription("The number of threads performing the chunk reads of all remote read "
+              + "pipelines, see " + Name.WORKER_NETWORK_READER_PIPELINE_DEPTH_MAX + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES)
           .setDefaultValue("2MB")
@@ -4954,6 +5141,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_BLOCK_LOCK_MANAGER_TYPE =
+      enumBuilder(Name.WORKER_TIERED_STORE_BLOCK_LOCK_MANAGER_TYPE, BlockLockManagerType.class)
+          .setDefaultValue(BlockLockManagerType.POOLED)
+          .setDescription(format("The implementation of block locks on Alluxio block workers. "
+              + "POOLED takes locks from a pool of at most %s locks. REF_COUNT creates the "
+              + "lock of a block on demand, keeps up to %s released locks for reuse, and records "
+              + "the time spent waiting for locks.", Name.WORKER_TIERED_STORE_BLOCK_LOCKS,
+              Name.WORKER_TIERED_STORE_BLOCK_LOCKS))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_FREE_AHEAD_BYTES =
       dataSizeBuilder(Name.WORKER_TIERED_STORE_FREE_AHEAD_BYTES)
           .setDefaultValue(0)
@@ -5188,6 +5386,41 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_READ_COALESCING_ENABLED =
+      booleanBuilder(Name.WORKER_UFS_READ_COALESCING_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether to coalesce concurrent reads of the same range of a UFS file "
+              + "by the worker. Only the first read goes to the UFS, and the reads arriving "
+              + "while it is in flight receive a copy of its data.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_READAHEAD_BUFFER_SIZE =
+      dataSizeBuilder(Name.WORKER_UFS_READAHEAD_BUFFER_SIZE)
+          .setDefaultValue("4MB")
+          .setDescription("The size of each ranged UFS read issued by the worker when reading "
+              + "ahead of a sequential block reader.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_READAHEAD_DEPTH =
+      intBuilder(Name.WORKER_UFS_READAHEAD_DEPTH)
+          .setDefaultValue(4)
+          .setDescription("The max number of buffers read ahead of a sequential block reader "
+              + "which are not consumed yet.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_READAHEAD_MEMORY_MAX =
+      dataSizeBuilder(Name.WORKER_UFS_READAHEAD_MEMORY_MAX)
+          .setDefaultValue("256MB")
+          .setDescription("The max memory used by the worker for data read ahead of all block "
+              + "readers. Readers read from the UFS directly when it is used up. Set to 0 to "
+              + "disable readahead on the worker regardless of "
+              + Name.UNDERFS_READAHEAD_ENABLED + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_WHITELIST =
       listBuilder(Name.WORKER_WHITELIST)
           .setDefaultValue("/")
@@ -5696,6 +5929,34 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_BLOCK_RANGE_READ_BATCH_MAX_BYTES =
+      dataSizeBuilder(Name.USER_BLOCK_RANGE_READ_BATCH_MAX_BYTES)
+          .setDefaultValue("4MB")
+          .setDescription(format("The max number of bytes read from a worker in a single call "
+              + "when %s is enabled. It must not exceed %s of the workers.",
+              Name.USER_BLOCK_RANGE_READ_ENABLED, Name.WORKER_BLOCK_RANGE_READ_MAX_BYTES))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_RANGE_READ_ENABLED =
+      booleanBuilder(Name.USER_BLOCK_RANGE_READ_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether small positioned reads from remote workers are served "
+              + "by a single call instead of a read stream. Positioned reads of at most %s bytes "
+              + "within a block are read this way, and the small ranges of a vectored read are "
+              + "read in batches of one call per worker.",
+              Name.USER_BLOCK_RANGE_READ_THRESHOLD))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_RANGE_READ_THRESHOLD =
+      dataSizeBuilder(Name.USER_BLOCK_RANGE_READ_THRESHOLD)
+          .setDefaultValue("256KB")
+          .setDescription(format("The max length of a read served by a single call when %s is "
+              + "enabled.", Name.USER_BLOCK_RANGE_READ_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
       dataSizeBuilder(Name.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES)
           .setDefaultValue("8MB")
@@ -5990,6 +6251,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_ASYNC_WRITE_BATCH_SIZE =
+      intBuilder(Name.USER_CLIENT_CACHE_ASYNC_WRITE_BATCH_SIZE)
+          .setDefaultValue(16)
+          .setDescription("Max number of pages an async cache writer thread takes from the "
+              + "write queue at a time.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_ASYNC_WRITE_QUEUE_SIZE =
+      intBuilder(Name.USER_CLIENT_CACHE_ASYNC_WRITE_QUEUE_SIZE)
+          .setDefaultValue(64)
+          .setDescription("Max number of pages waiting to be cached asynchronously, including "
+              + "the pages being written. When the queue is full, the reading thread writes the "
+              + "page to the cache itself.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_ENABLED)
           .setDefaultValue(false)
@@ -6011,6 +6289,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS =
+      classBuilder(Name.USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS)
+          .setDefaultValue("alluxio.client.file.cache.admission.AlwaysAdmitPolicy")
+          .setDescription("The policy that client uses to decide whether a new page is worth "
+              + "evicting a cached page when running out of space. Currently valid options "
+              + "include `alluxio.client.file.cache.admission.AlwaysAdmitPolicy`, which admits "
+              + "every page, and `alluxio.client.file.cache.admission.TinyLfuAdmissionPolicy`, "
+              + "which only admits a page if it has been read more frequently than the page "
+              + "to evict, so that large scans do not flush frequently read pages.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_CLASS =
       classBuilder(Name.USER_CLIENT_CACHE_EVICTOR_CLASS)
           .setDefaultValue("alluxio.client.file.cache.evictor.LRUCacheEvictor")
@@ -6121,6 +6411,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_CHECKPOINT_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_CHECKPOINT_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, the client-side cache periodically writes a "
+              + "checkpoint of its page index next to each cache directory, and restores the "
+              + "cache from the checkpoint instead of scanning all cached pages. Pages cached "
+              + "after the last checkpoint are added by a scan in the background once the "
+              + "cache is restored.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_CHECKPOINT_INTERVAL =
+      durationBuilder(Name.USER_CLIENT_CACHE_CHECKPOINT_INTERVAL)
+          .setDefaultValue("5min")
+          .setDescription("The interval between checkpoints of the page index of the "
+              + "client-side cache. A checkpoint is also written when the cache is closed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_DIRS =
       listBuilder(Name.USER_CLIENT_CACHE_DIRS)
           .setDefaultValue("/tmp/alluxio_cache")
@@ -6165,9 +6474,11 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey USER_CLIENT_CACHE_STORE_TYPE =
       enumBuilder(Name.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+          .setDescription("The type of page store to use for client-side cache. Can be "
+              + "`LOCAL`, `ROCKS`, `SLAB` or `OFF_HEAP`. The `LOCAL` page store stores all pages "
+              + "in a directory, the `ROCKS` page store utilizes rocksDB to persist the data, "
+              + "the `SLAB` page store packs pages into pre-allocated slab files, the `OFF_HEAP` "
+              + "page store keeps pages in direct memory outside of the JVM heap.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -6180,6 +6491,39 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_SLAB_STORE_FILE_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_SLAB_STORE_FILE_SIZE)
+          .setDefaultValue("1GB")
+          .setDescription("The size of each pre-allocated slab file used by the `SLAB` page "
+              + "store of the client-side cache. Each slab file is divided into slots of "
+              + Name.USER_CLIENT_CACHE_PAGE_SIZE + " bytes.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_SLAB_STORE_MMAP_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_SLAB_STORE_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, the `SLAB` page store of the client-side cache "
+              + "memory-maps its slab files and serves cached pages from the mapped regions, "
+              + "saving a read system call per page hit. Requires "
+              + Name.USER_CLIENT_CACHE_SLAB_STORE_FILE_SIZE + " to be less than 2GB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_METASTORE_TYPE =
+      enumBuilder(Name.USER_CLIENT_CACHE_METASTORE_TYPE, PageMetaStoreType.class)
+          .setDefaultValue(PageMetaStoreType.DEFAULT)
+          .setDescription("The type of page meta store to use for client-side cache. Can be "
+              + "`DEFAULT`, `CONCURRENT` or `COMPACT`. The `DEFAULT` meta store guards all page "
+              + "metadata with a single read-write lock, the `CONCURRENT` meta store partitions "
+              + "pages by file id and serves page lookups without the meta store lock, which "
+              + "scales better with many concurrent readers, the `COMPACT` meta store keeps "
+              + "pages in primitive arrays to reduce the heap usage of a large number of pages. "
+              + "This is ignored if "
+              + Name.USER_CLIENT_CACHE_QUOTA_ENABLED + " is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -6229,6 +6573,49 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_PREFETCH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, a stream reading pages of a file sequentially "
+              + "fetches the following pages into the client cache asynchronously.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_MAX_PAGES =
+      intBuilder(Name.USER_CLIENT_CACHE_PREFETCH_MAX_PAGES)
+          .setDefaultValue(16)
+          .setDescription("Max number of pages a stream fetches ahead of its position. The "
+              + "number of pages starts small, grows while prefetched pages are read and shrinks "
+              + "when they are not.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_THREADS =
+      intBuilder(Name.USER_CLIENT_CACHE_PREFETCH_THREADS)
+          .setDefaultValue(8)
+          .setDescription("Number of threads shared by all streams to prefetch pages.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_MEMORY_TIER_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_MEMORY_TIER_SIZE)
+          .setDefaultValue("0B")
+          .setDescription("Size of the memory tier in front of the client-side cache "
+              + "directories. New pages are cached in memory first, pages evicted from memory "
+              + "are moved to the cache directories and pages read repeatedly from the cache "
+              + "directories are moved back to memory. The memory tier is disabled if this is "
+              + "0.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_MEMORY_TIER_PROMOTION_HITS =
+      intBuilder(Name.USER_CLIENT_CACHE_MEMORY_TIER_PROMOTION_HITS)
+          .setDefaultValue(2)
+          .setDescription("Number of recent reads from the cache directories after which a "
+              + "page is moved to the memory tier of the client-side cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
 
   public static final PropertyKey USER_CLIENT_REPORT_VERSION_ENABLED =
       booleanBuilder(Name.USER_CLIENT_REPORT_VERSION_ENABLED)
@@ -6437,6 +6824,37 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED =
+      booleanBuilder(Name.USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether to adapt the chunk size of streams reading from and "
+              + "writing to remote workers. Starting from %s and %s, the chunk size follows the "
+              + "bandwidth-delay product observed by the stream while the stream waits on the "
+              + "network, between %s and %s. The worker caps the chunk size of reads at %s.",
+              Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES,
+              Name.USER_STREAMING_WRITER_CHUNK_SIZE_BYTES, Name.USER_STREAMING_CHUNK_SIZE_MIN,
+              Name.USER_STREAMING_CHUNK_SIZE_MAX, Name.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_STREAMING_CHUNK_SIZE_MAX =
+      dataSizeBuilder(Name.USER_STREAMING_CHUNK_SIZE_MAX)
+          .setDefaultValue("2MB")
+          .setDescription(format("The max chunk size of streams to remote workers when %s is "
+              + "enabled. The chunks written must fit in %s of the worker.",
+              Name.USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED,
+              Name.WORKER_NETWORK_MAX_INBOUND_MESSAGE_SIZE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_STREAMING_CHUNK_SIZE_MIN =
+      dataSizeBuilder(Name.USER_STREAMING_CHUNK_SIZE_MIN)
+          .setDefaultValue("64KB")
+          .setDescription(format("The min chunk size of streams to remote workers when %s is "
+              + "enabled.", Name.USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_STREAMING_READER_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES)
           .setAlias(Name.USER_NETWORK_READER_CHUNK_SIZE_BYTES)
@@ -6509,6 +6927,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_NETWORK_FILE_TRANSFER_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_FILE_TRANSFER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to read blocks cached on remote workers from their file "
+              + "transfer endpoint instead of the gRPC data stream when possible, see "
+              + Name.WORKER_NETWORK_FILE_TRANSFER_ENABLED + ". Reads fall back to gRPC if the "
+              + "endpoint is unavailable or the block is not in the worker's local storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   /**
    * @deprecated use {@link #USER_STREAMING_READER_BUFFER_SIZE_MESSAGES} instead
    */
@@ -7832,6 +8260,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.local.skip.broken.symlinks";
     public static final String UNDERFS_PERSISTENCE_ASYNC_TEMP_DIR =
         "alluxio.underfs.persistence.async.temp.dir";
+    public static final String UNDERFS_READAHEAD_ENABLED =
+        "alluxio.underfs.readahead.enabled";
     public static final String UNDERFS_WEB_HEADER_LAST_MODIFIED =
         "alluxio.underfs.web.header.last.modified";
     public static final String UNDERFS_WEB_CONNECTION_TIMEOUT =
@@ -8082,6 +8512,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.lock.pool.high.watermark";
     public static final String MASTER_LOCK_POOL_CONCURRENCY_LEVEL =
         "alluxio.master.lock.pool.concurrency.level";
+    public static final String MASTER_LOCK_POOL_STRIPED_ENABLED =
+        "alluxio.master.lock.pool.striped.enabled";
+    public static final String MASTER_LOCK_POOL_STRIPES =
+        "alluxio.master.lock.pool.stripes";
     public static final String MASTER_LOST_PROXY_DELETION_TIMEOUT_MS =
         "alluxio.master.lost.proxy.deletion.timeout";
     public static final String MASTER_JOURNAL_CATCHUP_PROTECT_ENABLED =
@@ -8099,6 +8533,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.journal.init.from.backup";
     public static final String MASTER_JOURNAL_SYNC_ROOT_AFTER_INIT_FROM_BACKUP =
         "alluxio.master.journal.sync.root.after.init.from.backup";
+    public static final String MASTER_JOURNAL_REPLAY_PARALLELISM =
+        "alluxio.master.journal.replay.parallelism";
     public static final String MASTER_JOURNAL_SPACE_MONITOR_INTERVAL =
         "alluxio.master.journal.space.monitor.interval";
     public static final String MASTER_JOURNAL_SPACE_MONITOR_PERCENT_FREE_THRESHOLD
@@ -8142,6 +8578,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.embedded.journal.unsafe.flush.enabled";
     public static final String MASTER_EMBEDDED_JOURNAL_WRITE_LOCAL_FIRST_ENABLED =
         "alluxio.master.embedded.journal.write.local.first.enabled";
+    public static final String MASTER_EMBEDDED_JOURNAL_WRITE_PIPELINE_DEPTH =
+        "alluxio.master.embedded.journal.write.pipeline.depth";
     public static final String MASTER_EMBEDDED_JOURNAL_WRITE_REMOTE_ENABLED =
         "alluxio.master.embedded.journal.write.remote.enabled";
     public static final String MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT =
@@ -8227,6 +8665,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.inode.cache.low.water.mark.ratio";
     public static final String MASTER_METASTORE_INODE_CACHE_MAX_SIZE =
         "alluxio.master.metastore.inode.cache.max.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE =
+        "alluxio.master.metastore.inode.cache.offheap.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_OFFHEAP_SLOT_SIZE =
+        "alluxio.master.metastore.inode.cache.offheap.slot.size";
     public static final String MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
         "alluxio.master.metastore.inode.iteration.crawler.count";
     public static final String MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT =
@@ -8433,6 +8875,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.filesystem.operation.retry.cache.size";
     public static final String MASTER_FILE_SYSTEM_MERGE_INODE_JOURNALS =
         "alluxio.master.filesystem.merge.inode.journals";
+    public static final String MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED =
+        "alluxio.master.filesystem.optimistic.read.enabled";
 
     //
     // Throttle
@@ -8496,6 +8940,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.block.heartbeat.interval";
     public static final String WORKER_BLOCK_HEARTBEAT_TIMEOUT_MS =
         "alluxio.worker.block.heartbeat.timeout";
+    public static final String WORKER_BLOCK_IO_ENGINE_TYPE =
+        "alluxio.worker.block.io.engine.type";
+    public static final String WORKER_BLOCK_IO_SCHEDULER_ENABLED =
+        "alluxio.worker.block.io.scheduler.enabled";
+    public static final String WORKER_BLOCK_IO_SCHEDULER_QUEUE_DEPTH =
+        "alluxio.worker.block.io.scheduler.queue.depth";
+    public static final String WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_READ =
+        "alluxio.worker.block.io.scheduler.weight.foreground.read";
+    public static final String WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_WRITE =
+        "alluxio.worker.block.io.scheduler.weight.foreground.write";
+    public static final String WORKER_BLOCK_IO_SCHEDULER_WEIGHT_CACHE_FILL =
+        "alluxio.worker.block.io.scheduler.weight.cache.fill";
+    public static final String WORKER_BLOCK_IO_SCHEDULER_WEIGHT_TIER_MOVE =
+        "alluxio.worker.block.io.scheduler.weight.tier.move";
+    public static final String WORKER_BLOCK_RANGE_READ_MAX_BYTES =
+        "alluxio.worker.block.range.read.max.bytes";
     public static final String WORKER_BLOCK_STORE_TYPE = "alluxio.worker.block.store.type";
     public static final String WORKER_CONTAINER_HOSTNAME =
         "alluxio.worker.container.hostname";
@@ -8563,6 +9023,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.block.writer.threads.max";
     public static final String WORKER_NETWORK_WRITER_BUFFER_SIZE_MESSAGES =
         "alluxio.worker.network.writer.buffer.size.messages";
+    public static final String WORKER_NETWORK_FILE_TRANSFER_ENABLED =
+        "alluxio.worker.network.file.transfer.enabled";
+    public static final String WORKER_NETWORK_FILE_TRANSFER_PORT =
+        "alluxio.worker.network.file.transfer.port";
     public static final String WORKER_NETWORK_FLOWCONTROL_WINDOW =
         "alluxio.worker.network.flowcontrol.window";
     public static final String WORKER_NETWORK_KEEPALIVE_TIME_MS =
@@ -8589,6 +9053,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.reader.buffer.size";
     public static final String WORKER_NETWORK_READER_BUFFER_POOLED =
         "alluxio.worker.network.reader.buffer.pooled";
+    public static final String WORKER_NETWORK_READER_PIPELINE_DEPTH_MAX =
+        "alluxio.worker.network.reader.pipeline.depth.max";
+    public static final String WORKER_NETWORK_READER_PIPELINE_THREADS =
+        "alluxio.worker.network.reader.pipeline.threads";
     public static final String WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
         "alluxio.worker.network.reader.max.chunk.size.bytes";
     public static final String WORKER_NETWORK_SHUTDOWN_TIMEOUT =
@@ -8686,6 +9154,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.tieredstore.block.lock.readers";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCKS =
         "alluxio.worker.tieredstore.block.locks";
+    public static final String WORKER_TIERED_STORE_BLOCK_LOCK_MANAGER_TYPE =
+        "alluxio.worker.tieredstore.block.lock.manager.type";
     public static final String WORKER_TIERED_STORE_FREE_AHEAD_BYTES =
         "alluxio.worker.tieredstore.free.ahead.bytes";
     public static final String WORKER_TIERED_STORE_LEVELS = "alluxio.worker.tieredstore.levels";
@@ -8698,6 +9168,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.ufs.instream.cache.enabled";
     public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SIZE =
         "alluxio.worker.ufs.instream.cache.max.size";
+    public static final String WORKER_UFS_READ_COALESCING_ENABLED =
+        "alluxio.worker.ufs.read.coalescing.enabled";
+    public static final String WORKER_UFS_READAHEAD_BUFFER_SIZE =
+        "alluxio.worker.ufs.readahead.buffer.size";
+    public static final String WORKER_UFS_READAHEAD_DEPTH =
+        "alluxio.worker.ufs.readahead.depth";
+    public static final String WORKER_UFS_READAHEAD_MEMORY_MAX =
+        "alluxio.worker.ufs.readahead.memory.max";
     public static final String WORKER_WHITELIST = "alluxio.worker.whitelist";
 
     //
@@ -8793,6 +9271,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.block.master.client.pool.gc.threshold";
     public static final String USER_BLOCK_READ_METRICS_ENABLED =
         "alluxio.user.block.read.metrics.enabled";
+    public static final String USER_BLOCK_RANGE_READ_BATCH_MAX_BYTES =
+        "alluxio.user.block.range.read.batch.max.bytes";
+    public static final String USER_BLOCK_RANGE_READ_ENABLED =
+        "alluxio.user.block.range.read.enabled";
+    public static final String USER_BLOCK_RANGE_READ_THRESHOLD =
+        "alluxio.user.block.range.read.threshold";
     public static final String USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
         "alluxio.user.block.remote.read.buffer.size.bytes";
     public static final String USER_BLOCK_SIZE_BYTES_DEFAULT =
@@ -8817,6 +9301,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.async.write.enabled";
     public static final String USER_CLIENT_CACHE_ASYNC_WRITE_THREADS =
         "alluxio.user.client.cache.async.write.threads";
+    public static final String USER_CLIENT_CACHE_ASYNC_WRITE_BATCH_SIZE =
+        "alluxio.user.client.cache.async.write.batch.size";
+    public static final String USER_CLIENT_CACHE_ASYNC_WRITE_QUEUE_SIZE =
+        "alluxio.user.client.cache.async.write.queue.size";
     public static final String USER_CLIENT_CACHE_ENABLED =
         "alluxio.user.client.cache.enabled";
     public static final String USER_CLIENT_CACHE_FILTER_CLASS =
@@ -8825,6 +9313,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.filter.config-file";
     public static final String USER_CLIENT_CACHE_EVICTION_RETRIES =
         "alluxio.user.client.cache.eviction.retries";
+    public static final String USER_CLIENT_CACHE_ADMISSION_POLICY_CLASS =
+        "alluxio.user.client.cache.admission.policy.class";
     public static final String USER_CLIENT_CACHE_EVICTOR_CLASS =
         "alluxio.user.client.cache.evictor.class";
     public static final String USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE =
@@ -8853,14 +9343,34 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.shadow.cuckoo.size.prefix.bits";
     public static final String USER_CLIENT_CACHE_SHADOW_CUCKOO_SIZE_SUFFIX_BITS =
         "alluxio.user.client.cache.shadow.cuckoo.size.suffix.bits";
+    public static final String USER_CLIENT_CACHE_CHECKPOINT_ENABLED =
+        "alluxio.user.client.cache.checkpoint.enabled";
+    public static final String USER_CLIENT_CACHE_CHECKPOINT_INTERVAL =
+        "alluxio.user.client.cache.checkpoint.interval";
     public static final String USER_CLIENT_CACHE_DIRS =
         "alluxio.user.client.cache.dirs";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
     public static final String USER_CLIENT_CACHE_IN_STREAM_BUFFER_SIZE =
         "alluxio.user.client.cache.instream_buffer_size";
+    public static final String USER_CLIENT_CACHE_PREFETCH_ENABLED =
+        "alluxio.user.client.cache.prefetch.enabled";
+    public static final String USER_CLIENT_CACHE_PREFETCH_MAX_PAGES =
+        "alluxio.user.client.cache.prefetch.max.pages";
+    public static final String USER_CLIENT_CACHE_PREFETCH_THREADS =
+        "alluxio.user.client.cache.prefetch.threads";
+    public static final String USER_CLIENT_CACHE_MEMORY_TIER_SIZE =
+        "alluxio.user.client.cache.memory.tier.size";
+    public static final String USER_CLIENT_CACHE_MEMORY_TIER_PROMOTION_HITS =
+        "alluxio.user.client.cache.memory.tier.promotion.hits";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
+    public static final String USER_CLIENT_CACHE_SLAB_STORE_FILE_SIZE =
+        "alluxio.user.client.cache.slab.store.file.size";
+    public static final String USER_CLIENT_CACHE_SLAB_STORE_MMAP_ENABLED =
+        "alluxio.user.client.cache.slab.store.mmap.enabled";
+    public static final String USER_CLIENT_CACHE_METASTORE_TYPE =
+        "alluxio.user.client.cache.metastore.type";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
         "alluxio.user.client.cache.quota.enabled";
     public static final String USER_CLIENT_CACHE_TTL_ENABLED =
@@ -8958,6 +9468,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_APP_ID = "alluxio.user.app.id";
     public static final String USER_NETWORK_DATA_TIMEOUT =
         "alluxio.user.network.data.timeout";
+    public static final String USER_NETWORK_FILE_TRANSFER_ENABLED =
+        "alluxio.user.network.file.transfer.enabled";
     public static final String USER_NETWORK_READER_BUFFER_SIZE_MESSAGES =
         "alluxio.user.network.reader.buffer.size.messages";
     public static final String USER_NETWORK_READER_CHUNK_SIZE_BYTES =
@@ -8982,6 +9494,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.streaming.data.write.timeout";
     public static final String USER_STREAMING_READER_BUFFER_SIZE_MESSAGES =
         "alluxio.user.streaming.reader.buffer.size.messages";
+    public static final String USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED =
+        "alluxio.user.streaming.chunk.size.adaptive.enabled";
+    public static final String USER_STREAMING_CHUNK_SIZE_MAX =
+        "alluxio.user.streaming.chunk.size.max";
+    public static final String USER_STREAMING_CHUNK_SIZE_MIN =
+        "alluxio.user.streaming.chunk.size.min";
     public static final String USER_STREAMING_READER_CHUNK_SIZE_BYTES =
         "alluxio.user.streaming.reader.chunk.size.bytes";
     public static final String USER_STREAMING_READER_CLOSE_TIMEOUT =
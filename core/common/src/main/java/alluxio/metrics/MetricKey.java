@@ -368,6 +368,29 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of inodes (inode metadata) cached.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_INODE_OFFHEAP_CACHE_HITS =
+      new Builder("Master.InodeOffHeapCacheHits")
+          .setDescription("Total number of inodes loaded into the on-heap inode cache from the "
+              + "off-heap inode cache.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_INODE_OFFHEAP_CACHE_MISSES =
+      new Builder("Master.InodeOffHeapCacheMisses")
+          .setDescription("Total number of inodes not found in the off-heap inode cache, which "
+              + "were looked up in the backing store.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_INODE_OFFHEAP_CACHE_EVICTIONS =
+      new Builder("Master.InodeOffHeapCacheEvictions")
+          .setDescription("Total number of inodes evicted from the off-heap inode cache to make "
+              + "room for other inodes.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_INODE_OFFHEAP_CACHE_SIZE =
+      new Builder("Master.InodeOffHeapCacheSize")
+          .setDescription("Total number of inodes cached in the off-heap inode cache.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
   public static final MetricKey MASTER_JOURNAL_SPACE_FREE_BYTES =
       new Builder("Master.JournalFreeBytes")
           .setDescription("Bytes left on the journal disk(s) for an Alluxio master. "
@@ -602,6 +625,21 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of the GetFileInfo operations")
           .setMetricType(MetricType.COUNTER)
           .build();
+  public static final MetricKey MASTER_OPTIMISTIC_GET_FILE_INFO_OPS =
+      new Builder("Master.OptimisticGetFileInfoOps")
+          .setDescription("Total number of the GetFileInfo operations which were first tried "
+              + "without taking inode locks. Only updated when "
+              + "alluxio.master.filesystem.optimistic.read.enabled is true.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_OPTIMISTIC_GET_FILE_INFO_FALLBACKS =
+      new Builder("Master.OptimisticGetFileInfoFallbacks")
+          .setDescription("Total number of the GetFileInfo operations tried without inode locks "
+              + "which fell back to the locked path, because an inode was modified concurrently "
+              + "or the path could not be served without locks. The fallback rate is this "
+              + "divided by Master.OptimisticGetFileInfoOps.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
   public static final MetricKey MASTER_GET_NEW_BLOCK_OPS =
       new Builder("Master.GetNewBlockOps")
           .setDescription("Total number of the GetNewBlock operations")
@@ -1168,6 +1206,19 @@ public final class MetricKey implements Comparable<MetricKey> {
               PropertyKey.MASTER_WEB_JOURNAL_CHECKPOINT_WARNING_THRESHOLD_TIME.getName()))
          .setMetricType(MetricType.GAUGE)
          .build();
+  public static final MetricKey MASTER_JOURNAL_REPLAY_ENTRIES =
+      new Builder("Master.JournalReplayEntries")
+          .setDescription("Journal entries applied by this master while not primary, the rate "
+              + "of which is the journal replay throughput")
+          .setMetricType(MetricType.METER)
+          .build();
+  public static final MetricKey MASTER_JOURNAL_REPLAY_PARALLEL_ENTRIES =
+      new Builder("Master.JournalReplayParallelEntries")
+          .setDescription("Journal entries applied by this master while not primary in "
+              + "parallel with other entries, see "
+              + PropertyKey.Name.MASTER_JOURNAL_REPLAY_PARALLELISM)
+          .setMetricType(MetricType.COUNTER)
+          .build();
   public static final MetricKey MASTER_JOURNAL_GAIN_PRIMACY_TIMER =
       new Builder("Master.JournalGainPrimacyTimer")
           .setDescription("The timer statistics of journal gain primacy")
@@ -1942,6 +1993,57 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_BLOCK_READ_CHUNK_SIZE =
+      new Builder("Worker.BlockReadChunkSize")
+          .setDescription("The chunk size each block read stream of this worker ended with, "
+              + "after adopting the chunk sizes requested by the client.")
+          .setMetricType(MetricType.HISTOGRAM)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_WRITE_CHUNK_SIZE =
+      new Builder("Worker.BlockWriteChunkSize")
+          .setDescription("The largest chunk size received by each block write stream of this "
+              + "worker.")
+          .setMetricType(MetricType.HISTOGRAM)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_RANGES_READ =
+      new Builder("Worker.BlockRangesRead")
+          .setDescription("Total number of block ranges read from this worker by calls reading "
+              + "several ranges at once instead of a read stream per range.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_READ_LOCK_WAIT_TIME =
+      new Builder("Worker.BlockReadLockWaitTime")
+          .setDescription("Time spent waiting for block read locks. Only recorded when "
+              + "alluxio.worker.tieredstore.block.lock.manager.type is REF_COUNT.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_WRITE_LOCK_WAIT_TIME =
+      new Builder("Worker.BlockWriteLockWaitTime")
+          .setDescription("Time spent waiting for block write locks. Only recorded when "
+              + "alluxio.worker.tieredstore.block.lock.manager.type is REF_COUNT.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_IO_QUEUE_TIME =
+      new Builder("Worker.BlockIoQueueTime")
+          .setDescription("Time I/O requests of a class spent queued on a storage directory of "
+              + "this worker. Only recorded when alluxio.worker.block.io.scheduler.enabled is "
+              + "true.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_IO_TIME =
+      new Builder("Worker.BlockIoTime")
+          .setDescription("Time taken by I/O requests of a class on a storage directory of this "
+              + "worker, including the time queued. Only recorded when "
+              + "alluxio.worker.block.io.scheduler.enabled is true.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BYTES_READ_DIRECT =
       new Builder("Worker.BytesReadDirect")
           .setDescription("Total number of bytes read from the this worker "
@@ -2003,6 +2105,34 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_UFS_READ_DEDUPLICATED =
+      new Builder("Worker.UfsReadDeduplicated")
+          .setDescription("Total number of UFS reads of this worker served by a concurrent "
+              + "read of the same range instead of reading from the UFS")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_READ_DEDUPLICATED_BYTES =
+      new Builder("Worker.UfsReadDeduplicatedBytes")
+          .setDescription("Total number of bytes of UFS reads of this worker served by a "
+              + "concurrent read of the same range instead of reading from the UFS")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_READAHEAD_BYTES =
+      new Builder("Worker.UfsReadaheadBytes")
+          .setDescription("Total number of bytes read from UFSes by this worker ahead of "
+              + "sequential block readers")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_READAHEAD_BYTES_UNUSED =
+      new Builder("Worker.UfsReadaheadBytesUnused")
+          .setDescription("Total number of bytes read from UFSes by this worker ahead of "
+              + "sequential block readers which were discarded without being read")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BYTES_WRITTEN_DIRECT =
       new Builder("Worker.BytesWrittenDirect")
           .setDescription("Total number of bytes written to this worker "
@@ -2301,6 +2431,22 @@ public final class MetricKey implements Comparable<MetricKey> {
           .build();
 
   // Client metrics
+  public static final MetricKey CLIENT_BLOCK_READ_CHUNK_SIZE =
+      new Builder("Client.BlockReadChunkSize")
+          .setDescription(String.format("The chunk size chosen by each stream reading block data "
+              + "from remote Alluxio workers. Only recorded when %s is true.",
+              PropertyKey.USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED.getName()))
+          .setMetricType(MetricType.HISTOGRAM)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_BLOCK_WRITE_CHUNK_SIZE =
+      new Builder("Client.BlockWriteChunkSize")
+          .setDescription(String.format("The chunk size chosen by each stream writing block data "
+              + "to remote Alluxio workers. Only recorded when %s is true.",
+              PropertyKey.USER_STREAMING_CHUNK_SIZE_ADAPTIVE_ENABLED.getName()))
+          .setMetricType(MetricType.HISTOGRAM)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_BLOCK_READ_CHUNK_REMOTE =
       new Builder("Client.BlockReadChunkRemote")
           .setDescription(String.format("The timer statistics of reading block data in chunks "
@@ -2403,6 +2549,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_ASYNC_WRITE_QUEUE_PAGES =
+      new Builder("Client.CacheAsyncWriteQueuePages")
+          .setDescription("Number of pages waiting in or being written by the asynchronous "
+              + "write queue of the client cache.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_META_STORE_HEAP_BYTES =
+      new Builder("Client.CacheMetaStoreHeapBytes")
+          .setDescription("Estimated amount of heap memory in bytes used by the metadata of the "
+              + "pages in the client cache.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PAGES =
       new Builder("Client.CachePages")
           .setDescription("Total number of pages in the client cache.")
@@ -2552,6 +2712,97 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_HITS =
+      new Builder("Client.CachePrefetchHits")
+          .setDescription("Number of prefetched pages later read by the stream which "
+              + "prefetched them.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_PAGES =
+      new Builder("Client.CachePrefetchPages")
+          .setDescription("Number of pages read from external storage into the client cache "
+              + "ahead of the stream position.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_WASTED =
+      new Builder("Client.CachePrefetchWasted")
+          .setDescription("Number of prefetched pages not read by the stream which prefetched "
+              + "them, because the stream moved elsewhere or was closed.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_PAGES_HIT =
+      new Builder("Client.CacheMemoryTierPagesHit")
+          .setDescription("Number of page reads served by the memory tier of the client "
+              + "cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_HIT_RATIO =
+      new Builder("Client.CacheMemoryTierHitRatio")
+          .setDescription("Fraction of page reads of the tiered client cache served by the "
+              + "memory tier.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_DISK_TIER_PAGES_HIT =
+      new Builder("Client.CacheDiskTierPagesHit")
+          .setDescription("Number of page reads served by the cache directories of the tiered "
+              + "client cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_DISK_TIER_HIT_RATIO =
+      new Builder("Client.CacheDiskTierHitRatio")
+          .setDescription("Fraction of page reads of the tiered client cache served by the "
+              + "cache directories.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_TIERED_PAGES_MISSED =
+      new Builder("Client.CacheTieredPagesMissed")
+          .setDescription("Number of page reads of the tiered client cache not served by "
+              + "either tier.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_PROMOTED =
+      new Builder("Client.CachePagesPromoted")
+          .setDescription("Number of pages moved from the cache directories to the memory "
+              + "tier of the client cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_SPILLED =
+      new Builder("Client.CachePagesSpilled")
+          .setDescription("Number of pages evicted from the memory tier of the client cache "
+              + "and moved to the cache directories.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PUT_ADMISSION_REJECTED =
+      new Builder("Client.CachePutAdmissionRejected")
+          .setDescription("Number of pages not added to the client cache because the admission "
+              + "policy rejected them in favor of the pages they would evict.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PUT_ASYNC_COALESCED =
+      new Builder("Client.CachePutAsyncCoalesced")
+          .setDescription("Number of puts to the client cache dropped because the same page was "
+              + "already waiting in the async write queue.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PUT_ASYNC_QUEUE_FULL =
+      new Builder("Client.CachePutAsyncQueueFull")
+          .setDescription("Number of pages written to the client cache by the reading thread "
+              + "because the async write queue was full.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PUT_ERRORS =
       new Builder("Client.CachePutErrors")
           .setDescription("Number of failures when putting cached data in the client cache.")
@@ -0,0 +1,33 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+/**
+ * Wire format of the worker's file transfer endpoint, which serves committed blocks of the
+ * worker's local storage by transferring the block file to the socket.
+ *
+ * A read must first be granted to the client by the OpenFileTransfer call of the worker's
+ * gRPC data server, which authenticates the client and returns a single use token for the block
+ * together with the port of the endpoint. The client then sends a single request per
+ * connection, made of the token, the block id, the offset and the length to read, each as a
+ * big-endian long. The worker replies with a long holding the number of bytes which follow, or
+ * with {@link #ERROR} followed by an int length and the UTF-8 encoded error message, and closes
+ * the connection once the reply is sent.
+ */
+public final class FileTransferProtocol {
+  /** The length of a request in bytes. */
+  public static final int REQUEST_LENGTH = 4 * Long.BYTES;
+  /** The reply header of a request which failed. */
+  public static final long ERROR = -1;
+
+  private FileTransferProtocol() {} // prevent instantiation
+}
@@ -0,0 +1,26 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+/**
+ * The different implementations of block lock managers on block workers.
+ */
+public enum BlockLockManagerType {
+  /**
+   * Block locks are taken from a bounded pool of locks.
+   */
+  POOLED,
+  /**
+   * Block locks are reference counted and created on demand.
+   */
+  REF_COUNT
+}
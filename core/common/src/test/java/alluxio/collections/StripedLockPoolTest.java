@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.concurrent.LockMode;
+import alluxio.resource.RWLockResource;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tests the {@link StripedLockPool} class.
+ */
+public class StripedLockPoolTest {
+  @Test(timeout = 10000)
+  public void locksAreRemovedOnRelease() {
+    StripedLockPool<Integer> pool = new StripedLockPool<>(4);
+    try (RWLockResource r1 = pool.get(1, LockMode.READ, false)) {
+      try (RWLockResource r2 = pool.get(1, LockMode.READ, false)) {
+        assertEquals(1, pool.size());
+        assertTrue(pool.getEntryMap().containsKey(1));
+      }
+      assertEquals(1, pool.size());
+    }
+    assertEquals(0, pool.size());
+  }
+
+  @Test(timeout = 10000)
+  public void keysInSameStripeHaveDistinctLocks() {
+    // every key is in the same stripe
+    StripedLockPool<Integer> pool = new StripedLockPool<>(1);
+    try (RWLockResource parent = pool.get(1, LockMode.READ, false);
+         RWLockResource child = pool.get(2, LockMode.WRITE, false)) {
+      assertNotSame(pool.getRawReadWriteLock(1), pool.getRawReadWriteLock(2));
+      assertEquals(2, pool.size());
+    }
+    assertEquals(0, pool.size());
+  }
+
+  @Test(timeout = 10000)
+  public void releasedLocksAreReused() {
+    StripedLockPool<Integer> pool = new StripedLockPool<>(1);
+    ReentrantReadWriteLock lock;
+    try (RWLockResource r = pool.get(1, LockMode.WRITE, false)) {
+      lock = pool.getRawReadWriteLock(1);
+    }
+    try (RWLockResource r = pool.get(2, LockMode.READ, false)) {
+      assertSame(lock, pool.getRawReadWriteLock(2));
+      assertFalse(lock.isWriteLocked());
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void tryGet() throws Exception {
+    StripedLockPool<Integer> pool = new StripedLockPool<>(4);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (RWLockResource r = pool.get(1, LockMode.WRITE, false)) {
+      Optional<RWLockResource> other =
+          executor.submit(() -> pool.tryGet(1, LockMode.READ)).get();
+      assertFalse(other.isPresent());
+      assertEquals(1, pool.size());
+    } finally {
+      executor.shutdownNow();
+    }
+    Optional<RWLockResource> resource = pool.tryGet(1, LockMode.READ);
+    assertTrue(resource.isPresent());
+    resource.get().close();
+    assertEquals(0, pool.size());
+  }
+
+  @Test(timeout = 10000)
+  public void waitersKeepTheLock() throws Exception {
+    StripedLockPool<Integer> pool = new StripedLockPool<>(4);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CountDownLatch started = new CountDownLatch(4);
+      List<Future<?>> waiters = new ArrayList<>();
+      try (RWLockResource r = pool.get(1, LockMode.WRITE, false)) {
+        for (int i = 0; i < 4; i++) {
+          waiters.add(executor.submit(() -> {
+            started.countDown();
+            try (RWLockResource w = pool.get(1, LockMode.WRITE, false)) {
+              // every waiter gets the same lock as the holder
+              assertTrue(pool.getRawReadWriteLock(1).isWriteLockedByCurrentThread());
+            }
+          }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+      }
+      for (Future<?> waiter : waiters) {
+        waiter.get();
+      }
+      assertEquals(0, pool.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -36,12 +36,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import javax.annotation.concurrent.ThreadSafe;
@@ -128,6 +132,20 @@ public final class AsyncJournalWriter {
   private long mWriteCounter;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTimeNs;
+  /** Maximum number of asynchronous flushes in flight, 1 if flushes are synchronous. */
+  private final int mFlushPipelineDepth;
+  /** Maximum number of milliseconds to wait for an asynchronous flush. */
+  private final long mFlushTimeoutMs;
+  /**
+   * Asynchronous flushes in flight, oldest first. Only accessed by the dedicated journal thread.
+   */
+  private final Deque<PendingFlush> mPendingFlushes = new ArrayDeque<>();
+  /**
+   * Represents the count of entries submitted to the journal writer by asynchronous flushes.
+   * This counter is only accessed by the dedicated journal thread.
+   * Invariant: {@code mWriteCounter >= mSubmitCounter >= mFlushCounter}
+   */
+  private long mSubmitCounter;
 
   /**
    * Set of flush tickets submitted by ::flush() method.
@@ -168,14 +186,34 @@ public final class AsyncJournalWriter {
    * @param journalSinks a supplier for journal sinks
    */
   public AsyncJournalWriter(JournalWriter journalWriter, Supplier<Set<JournalSink>> journalSinks) {
+    this(journalWriter, journalSinks, 1);
+  }
+
+  /**
+   * Creates a {@link AsyncJournalWriter} which keeps several flushes in flight, used by the
+   * embedded journal. Entries written while the flushes are in flight are grouped into the next
+   * flush, so the more time a flush takes, the more entries the next one carries.
+   *
+   * @param journalWriter a journal writer to write to
+   * @param journalSinks a supplier for journal sinks
+   * @param flushPipelineDepth the maximum number of flushes in flight, flushes are synchronous
+   *        if this is 1
+   */
+  public AsyncJournalWriter(JournalWriter journalWriter, Supplier<Set<JournalSink>> journalSinks,
+      int flushPipelineDepth) {
+    Preconditions.checkArgument(flushPipelineDepth > 0,
+        "flushPipelineDepth must be positive, but is %s", flushPipelineDepth);
     mJournalWriter = Preconditions.checkNotNull(journalWriter, "journalWriter");
     mQueue = new ConcurrentLinkedQueue<>();
     mCounter = new AtomicLong(0);
     mFlushCounter = new AtomicLong(0);
     mWriteCounter = 0L;
+    mSubmitCounter = 0L;
     mFlushBatchTimeNs = TimeUnit.NANOSECONDS.convert(
         Configuration.getMs(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS),
         TimeUnit.MILLISECONDS);
+    mFlushPipelineDepth = flushPipelineDepth;
+    mFlushTimeoutMs = Configuration.getMs(PropertyKey.MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT);
     mJournalSinks = journalSinks;
     mFlushThread.start();
   }
@@ -274,11 +312,14 @@ public final class AsyncJournalWriter {
       /*
         Stand still unless;
         - queue has items
+        - an asynchronous flush has completed
         - permit is given by:
           - clients
+          - completed asynchronous flushes
           -::stop()
        */
-      while (mQueue.isEmpty() && !mStopFlushing) {
+      while (mQueue.isEmpty() && !mStopFlushing
+          && (mPendingFlushes.isEmpty() || !mPendingFlushes.peek().mFuture.isDone())) {
         try {
           // Wait for permit up to batch timeout.
           // PS: We don't wait for permit indefinitely in order to process
@@ -292,6 +333,10 @@ public final class AsyncJournalWriter {
       }
 
       try {
+        if (mFlushPipelineDepth > 1) {
+          // Wait for a slot in the pipeline. Entries appended meanwhile go into the next flush.
+          completeFlushes(mPendingFlushes.size() >= mFlushPipelineDepth);
+        }
         long startTime = System.nanoTime();
 
         // Write pending entries to journal.
@@ -315,8 +360,13 @@ public final class AsyncJournalWriter {
           }
         }
 
-        // Either written new entries or previous flush had been failed.
-        if (mFlushCounter.get() < mWriteCounter) {
+        if (mFlushPipelineDepth > 1) {
+          if (mSubmitCounter < mWriteCounter) {
+            submitFlush();
+          }
+          completeFlushes(false);
+        } else if (mFlushCounter.get() < mWriteCounter) {
+          // Either written new entries or previous flush had been failed.
           try (Timer.Context ctx = MetricsSystem
               .timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName()).time()) {
             mJournalWriter.flush();
@@ -339,6 +389,9 @@ public final class AsyncJournalWriter {
         // by the future meaningless ratis.protocol.AlreadyClosedException
         SAMPLING_LOG.warn("Failed to flush journal entry: " + exc.getMessage(), exc);
         Metrics.JOURNAL_FLUSH_FAILURE.inc();
+        // The journal writer retries the entries of failed flushes on the next flush.
+        mPendingFlushes.clear();
+        mSubmitCounter = mFlushCounter.get();
         // Release only tickets that have been flushed. Fail the rest.
         Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
         while (ticketIterator.hasNext()) {
@@ -354,6 +407,49 @@ public final class AsyncJournalWriter {
     }
   }
 
+  /**
+   * Flushes the written entries asynchronously. The flush thread is woken up when the flush
+   * completes, to release the tickets waiting for it.
+   */
+  private void submitFlush() throws IOException, JournalClosedException {
+    CompletableFuture<Void> future = mJournalWriter.flushAsync();
+    mPendingFlushes.add(new PendingFlush(mWriteCounter, future));
+    mSubmitCounter = mWriteCounter;
+    future.whenComplete((r, t) -> mFlushSemaphore.release());
+  }
+
+  /**
+   * Advances the flush counter past the asynchronous flushes which have completed.
+   *
+   * @param waitForOldest whether to wait for the oldest flush in flight to complete
+   */
+  private void completeFlushes(boolean waitForOldest) throws IOException {
+    while (!mPendingFlushes.isEmpty()) {
+      PendingFlush flush = mPendingFlushes.peek();
+      if (!flush.mFuture.isDone() && !waitForOldest) {
+        return;
+      }
+      waitForOldest = false;
+      try {
+        flush.mFuture.get(mFlushTimeoutMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      } catch (ExecutionException e) {
+        throw new IOException(e.getCause());
+      } catch (TimeoutException e) {
+        throw new IOException(String.format(
+            "Timed out after waiting %s milliseconds for journal flush", mFlushTimeoutMs), e);
+      }
+      MetricsSystem.timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName())
+          .update(System.nanoTime() - flush.mStartTimeNs, TimeUnit.NANOSECONDS);
+      // like synchronous flushes, sinks are flushed once the entries are committed
+      JournalUtils.sinkFlush(mJournalSinks);
+      mFlushCounter.set(flush.mCounter);
+      mPendingFlushes.poll();
+    }
+  }
+
   /**
    * Submits a ticket to flush thread and waits until ticket is served.
    *
@@ -399,6 +495,21 @@ public final class AsyncJournalWriter {
     }
   }
 
+  /**
+   * An asynchronous flush in flight.
+   */
+  private static final class PendingFlush {
+    /** The count of entries written when the flush was submitted. */
+    private final long mCounter;
+    private final CompletableFuture<Void> mFuture;
+    private final long mStartTimeNs = System.nanoTime();
+
+    PendingFlush(long counter, CompletableFuture<Void> future) {
+      mCounter = counter;
+      mFuture = future;
+    }
+  }
+
   /**
    * Class that contains metrics about AsyncJournalWriter.
    */
@@ -16,6 +16,7 @@ import alluxio.proto.journal.Journal.JournalEntry;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for a class that can write and flush journal entries.
@@ -33,4 +34,17 @@ public interface JournalWriter extends Closeable {
    * Flushes all the entries written to the underlying storage.
    */
   void flush() throws IOException, JournalClosedException;
+
+  /**
+   * Flushes all the entries written without waiting for them to be persisted, so that more
+   * entries can be written and flushed in the meantime. The returned future only completes
+   * successfully once the entries of this and all previous flushes are persisted. Writers which
+   * cannot flush asynchronously persist the entries before returning.
+   *
+   * @return a future which completes once the flushed entries are persisted
+   */
+  default CompletableFuture<Void> flushAsync() throws IOException, JournalClosedException {
+    flush();
+    return CompletableFuture.completedFuture(null);
+  }
 }
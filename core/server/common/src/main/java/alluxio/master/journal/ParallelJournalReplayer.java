@@ -0,0 +1,262 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.executor.ExecutorServiceFactories;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Applies batches of journal entries, in parallel where they are independent of each other.
+ *
+ * The entries creating or updating inodes and blocks are keyed by the ids of the inodes and
+ * blocks they modify. Entries sharing an id, directly or through other entries, are applied by
+ * the same thread in journal order, while unrelated entries are applied by different threads.
+ * Any other entry, such as a delete or a rename which modifies inodes not recorded in the entry,
+ * is a barrier: it is applied after all preceding entries and before any following entry.
+ */
+@NotThreadSafe
+public final class ParallelJournalReplayer implements Closeable {
+  /** The min number of keyed entries in a row to apply them in parallel. */
+  private static final int MIN_PARALLEL_ENTRIES = 32;
+
+  private final int mParallelism;
+  /** Applies the entries besides the calling thread, null if the parallelism is 1. */
+  @Nullable
+  private final ExecutorService mExecutor;
+
+  /**
+   * @param parallelism the number of threads to apply entries with, including the caller
+   */
+  public ParallelJournalReplayer(int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    mParallelism = parallelism;
+    mExecutor = parallelism > 1
+        ? ExecutorServiceFactories.fixedThreadPool("journal-replay", parallelism - 1).create()
+        : null;
+  }
+
+  /**
+   * Applies journal entries and returns once all of them are applied.
+   *
+   * @param entries the entries in journal order
+   * @param applier applies a single entry, it must be safe to call concurrently for entries
+   *        modifying different inodes and blocks
+   * @throws RuntimeException the first failure of the applier
+   */
+  public void apply(List<JournalEntry> entries, Consumer<JournalEntry> applier) {
+    MetricsSystem.meter(MetricKey.MASTER_JOURNAL_REPLAY_ENTRIES.getName()).mark(entries.size());
+    if (mExecutor == null || entries.size() < MIN_PARALLEL_ENTRIES) {
+      entries.forEach(applier);
+      return;
+    }
+    List<JournalEntry> run = new ArrayList<>();
+    List<long[]> runIds = new ArrayList<>();
+    for (JournalEntry entry : entries) {
+      long[] ids = getModifiedIds(entry);
+      if (ids == null) {
+        applyRun(run, runIds, applier);
+        run.clear();
+        runIds.clear();
+        applier.accept(entry);
+      } else {
+        run.add(entry);
+        runIds.add(ids);
+      }
+    }
+    applyRun(run, runIds, applier);
+  }
+
+  @Override
+  public void close() {
+    if (mExecutor != null) {
+      mExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Applies a run of keyed entries, the entries modifying the same ids in order.
+   *
+   * @param run the entries
+   * @param ids the ids modified by each entry
+   * @param applier applies a single entry
+   */
+  private void applyRun(List<JournalEntry> run, List<long[]> ids, Consumer<JournalEntry> applier) {
+    if (run.size() < MIN_PARALLEL_ENTRIES) {
+      run.forEach(applier);
+      return;
+    }
+    List<List<JournalEntry>> lanes = partition(run, ids, mParallelism);
+    List<Future<?>> futures = new ArrayList<>(lanes.size() - 1);
+    List<JournalEntry> callerLane = lanes.get(0);
+    for (List<JournalEntry> lane : lanes.subList(1, lanes.size())) {
+      if (lane.isEmpty()) {
+        continue;
+      }
+      try {
+        futures.add(mExecutor.submit(() -> lane.forEach(applier)));
+      } catch (RejectedExecutionException e) {
+        // closing, lanes are independent so they can be applied after each other
+        callerLane.addAll(lane);
+      }
+    }
+    RuntimeException failure = null;
+    try {
+      callerLane.forEach(applier);
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    // the following entries may depend on any of these, wait for all of them
+    for (Future<?> future : futures) {
+      try {
+        Uninterruptibles.getUninterruptibly(future);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        }
+      }
+    }
+    if (!futures.isEmpty()) {
+      Metrics.REPLAY_PARALLEL_ENTRIES.inc(run.size());
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Partitions entries into lanes, such that all the entries modifying the same id, directly or
+   * through other entries, are in the same lane in their original order.
+   *
+   * @param entries the entries
+   * @param ids the ids modified by each entry
+   * @param lanes the number of lanes
+   * @return the lanes
+   */
+  @VisibleForTesting
+  static List<List<JournalEntry>> partition(List<JournalEntry> entries, List<long[]> ids,
+      int lanes) {
+    // union-find over the entries, joining the entries modifying the same id
+    int[] parents = new int[entries.size()];
+    Map<Long, Integer> lastEntries = new HashMap<>();
+    for (int i = 0; i < entries.size(); i++) {
+      parents[i] = i;
+      for (long id : ids.get(i)) {
+        Integer last = lastEntries.put(id, i);
+        if (last != null) {
+          parents[find(parents, last)] = find(parents, i);
+        }
+      }
+    }
+    List<List<JournalEntry>> result = new ArrayList<>(lanes);
+    for (int i = 0; i < lanes; i++) {
+      result.add(new ArrayList<>());
+    }
+    // assign the groups to lanes round-robin in the order of their first entries
+    int[] groupLanes = new int[entries.size()];
+    Arrays.fill(groupLanes, -1);
+    int nextLane = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      int group = find(parents, i);
+      if (groupLanes[group] < 0) {
+        groupLanes[group] = nextLane;
+        nextLane = (nextLane + 1) % lanes;
+      }
+      result.get(groupLanes[group]).add(entries.get(i));
+    }
+    return result;
+  }
+
+  private static int find(int[] parents, int i) {
+    while (parents[i] != i) {
+      parents[i] = parents[parents[i]];
+      i = parents[i];
+    }
+    return i;
+  }
+
+  /**
+   * @param entry a journal entry
+   * @return the ids of the inodes or blocks modified by the entry, or null if the entry may
+   *         modify any other state
+   */
+  @VisibleForTesting
+  @Nullable
+  static long[] getModifiedIds(JournalEntry entry) {
+    if (entry.hasInodeFile()) {
+      return new long[] {entry.getInodeFile().getId(), entry.getInodeFile().getParentId()};
+    }
+    if (entry.hasInodeDirectory()) {
+      if (entry.getInodeDirectory().getParentId() < 0) {
+        // the root directory, which resets the inode tree
+        return null;
+      }
+      return new long[] {entry.getInodeDirectory().getId(),
+          entry.getInodeDirectory().getParentId()};
+    }
+    if (entry.hasUpdateInode()) {
+      return entry.getUpdateInode().hasParentId()
+          ? new long[] {entry.getUpdateInode().getId(), entry.getUpdateInode().getParentId()}
+          : new long[] {entry.getUpdateInode().getId()};
+    }
+    if (entry.hasUpdateInodeFile()) {
+      return new long[] {entry.getUpdateInodeFile().getId()};
+    }
+    if (entry.hasUpdateInodeDirectory()) {
+      return new long[] {entry.getUpdateInodeDirectory().getId()};
+    }
+    if (entry.hasNewBlock()) {
+      return new long[] {entry.getNewBlock().getId()};
+    }
+    if (entry.hasSetAcl()) {
+      return new long[] {entry.getSetAcl().getId()};
+    }
+    if (entry.hasBlockInfo()) {
+      return new long[] {entry.getBlockInfo().getBlockId()};
+    }
+    if (entry.hasDeleteBlock()) {
+      return new long[] {entry.getDeleteBlock().getBlockId()};
+    }
+    return null;
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    private static final Counter REPLAY_PARALLEL_ENTRIES =
+        MetricsSystem.counter(MetricKey.MASTER_JOURNAL_REPLAY_PARALLEL_ENTRIES.getName());
+
+    private Metrics() {} // prevent instantiation
+  }
+}
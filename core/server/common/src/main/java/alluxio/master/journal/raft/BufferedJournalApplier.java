@@ -17,6 +17,7 @@ import alluxio.master.journal.CatchupFuture;
 import alluxio.master.journal.JournalEntryAssociation;
 import alluxio.master.journal.JournalUtils;
 import alluxio.master.journal.Journaled;
+import alluxio.master.journal.ParallelJournalReplayer;
 import alluxio.master.journal.sink.JournalSink;
 import alluxio.proto.journal.Journal;
 import alluxio.resource.LockResource;
@@ -26,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -59,6 +62,8 @@ public class BufferedJournalApplier {
   private final Map<String, RaftJournal> mJournals;
   /** A supplier of journal sinks for this applier. */
   private final Supplier<Set<JournalSink>> mJournalSinks;
+  /** Applies batches of entries to the masters. */
+  private final ParallelJournalReplayer mReplayer;
 
   /** The last sequence applied. */
   private long mLastAppliedSequence = -1;
@@ -85,11 +90,13 @@ public class BufferedJournalApplier {
    *
    * @param journals journals
    * @param journalSinks journal sinks
+   * @param replayer the replayer to apply batches of entries with
    */
   public BufferedJournalApplier(Map<String, RaftJournal> journals,
-      Supplier<Set<JournalSink>> journalSinks) {
+      Supplier<Set<JournalSink>> journalSinks, ParallelJournalReplayer replayer) {
     mJournals = journals;
     mJournalSinks = journalSinks;
+    mReplayer = replayer;
   }
 
   /**
@@ -99,15 +106,26 @@ public class BufferedJournalApplier {
    * @param journalEntry the journal entry
    */
   public void processJournalEntry(Journal.JournalEntry journalEntry) {
+    processJournalEntries(Collections.singletonList(journalEntry));
+  }
+
+  /**
+   * Processes given journal entries for applying, in order. Entries could be applied or buffered
+   * based on buffer's state. Applied entries which are independent of each other may be applied
+   * in parallel.
+   *
+   * @param journalEntries the journal entries
+   */
+  public void processJournalEntries(List<Journal.JournalEntry> journalEntries) {
     try (LockResource stateLock = new LockResource(mStateLock)) {
       if (mSuspended) {
         // New entry submissions are monitored by catch-up threads.
         synchronized (mSuspendBuffer) {
-          mSuspendBuffer.offer(journalEntry);
+          mSuspendBuffer.addAll(journalEntries);
           mSuspendBuffer.notifyAll();
         }
       } else {
-        applyToMaster(journalEntry);
+        applyToMasters(journalEntries);
       }
     }
   }
@@ -230,6 +248,36 @@ public class BufferedJournalApplier {
    * Calls to it should be serialized.
    */
   private void applyToMaster(Journal.JournalEntry entry) {
+    applyToMasters(Collections.singletonList(entry));
+  }
+
+  /**
+   * Applies the entries to masters and updates last applied sequence. Entries are appended to
+   * the journal sinks in order once all of them are applied.
+   * Calls to it should be serialized.
+   */
+  private void applyToMasters(List<Journal.JournalEntry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    mReplayer.apply(entries, this::applyToJournaled);
+    for (Journal.JournalEntry entry : entries) {
+      try {
+        JournalUtils.sinkAppend(mJournalSinks, entry);
+      } catch (Exception t) {
+        JournalUtils.handleJournalReplayFailure(LOG, t,
+            "Failed to append journal entry to journal sinks. Entry: %s", entry);
+      }
+    }
+    // Store last applied sequence.
+    mLastAppliedSequence = entries.get(entries.size() - 1).getSequenceNumber();
+  }
+
+  /**
+   * Applies the entry to its master. It may be called concurrently for entries modifying
+   * different inodes or blocks.
+   */
+  private void applyToJournaled(Journal.JournalEntry entry) {
     String masterName;
     try {
       masterName = JournalEntryAssociation.getMasterForEntry(entry);
@@ -241,13 +289,10 @@ public class BufferedJournalApplier {
       Journaled master = mJournals.get(masterName).getStateMachine();
       LOG.trace("Applying entry to master {}: {} ", masterName, entry);
       master.processJournalEntry(entry);
-      JournalUtils.sinkAppend(mJournalSinks, entry);
     } catch (Exception t) {
       JournalUtils.handleJournalReplayFailure(LOG, t,
           "Failed to apply journal entry to master %s. Entry: %s", masterName, entry);
     }
-    // Store last applied sequence.
-    mLastAppliedSequence = entry.getSequenceNumber();
   }
 
   /**
@@ -24,6 +24,7 @@ import alluxio.master.StateLockOptions;
 import alluxio.master.journal.CatchupFuture;
 import alluxio.master.journal.JournalUtils;
 import alluxio.master.journal.Journaled;
+import alluxio.master.journal.ParallelJournalReplayer;
 import alluxio.master.journal.SingleEntryJournaled;
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.metrics.MetricKey;
@@ -60,6 +61,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -113,6 +115,9 @@ public class JournalStateMachine extends BaseStateMachine {
   private volatile boolean mIsLeader = false;
 
   private final ExecutorService mJournalPool = Executors.newCachedThreadPool();
+  /** Applies the entries replicated together, in parallel where they are independent. */
+  private final ParallelJournalReplayer mJournalReplayer = new ParallelJournalReplayer(
+      Configuration.getInt(PropertyKey.MASTER_JOURNAL_REPLAY_PARALLELISM));
 
   /**
    * This callback is used for interrupting someone who suspends the journal applier to work on
@@ -155,7 +160,7 @@ public class JournalStateMachine extends BaseStateMachine {
                              SnapshotDirStateMachineStorage storage) {
     mJournals = journals;
     mJournalApplier = new BufferedJournalApplier(journals,
-        () -> journalSystem.getJournalSinks(null));
+        () -> journalSystem.getJournalSinks(null), mJournalReplayer);
     resetState();
     LOG.info("Initialized new journal state machine");
     mJournalSystem = journalSystem;
@@ -320,6 +325,7 @@ public class JournalStateMachine extends BaseStateMachine {
     MetricsSystem.removeMetrics(MetricKey.MASTER_JOURNAL_LAST_APPLIED_COMMIT_INDEX.getName());
     MetricsSystem.removeMetrics(MetricKey.MASTER_JOURNAL_CHECKPOINT_WARN.getName());
     mSnapshotManager.close();
+    mJournalReplayer.close();
   }
 
   @Override
@@ -418,7 +424,11 @@ public class JournalStateMachine extends BaseStateMachine {
       throw new IllegalStateException(e); // We should never reach here.
     }
     try {
-      applyEntry(entry);
+      List<JournalEntry> entries = new ArrayList<>();
+      applyEntry(entry, entries);
+      if (!entries.isEmpty()) {
+        mJournalApplier.processJournalEntries(entries);
+      }
     } finally {
       Preconditions.checkState(commit.getLogEntry().getIndex() > mLastAppliedCommitIndex);
       mLastAppliedCommitIndex = commit.getLogEntry().getIndex();
@@ -429,8 +439,9 @@ public class JournalStateMachine extends BaseStateMachine {
    * Applies the journal entry, ignoring empty entries and expanding multi-entries.
    *
    * @param entry the entry to apply
+   * @param entries the entries to apply to the masters, which the entries to apply are added to
    */
-  private void applyEntry(JournalEntry entry) {
+  private void applyEntry(JournalEntry entry, List<JournalEntry> entries) {
     if (LOG.isDebugEnabled()) {
       // This check is put behind the debug flag as the call to getAllFields creates
       // a map and is very expensive
@@ -444,7 +455,7 @@ public class JournalStateMachine extends BaseStateMachine {
     if (entry.getJournalEntriesCount() > 0) {
       // This entry aggregates multiple entries.
       for (JournalEntry e : entry.getJournalEntriesList()) {
-        applyEntry(e);
+        applyEntry(e, entries);
       }
     } else if (entry.getSequenceNumber() < 0) {
       // Negative sequence numbers indicate special entries used to indicate that a new primary is
@@ -454,13 +465,13 @@ public class JournalStateMachine extends BaseStateMachine {
         .equals(JournalEntry.getDefaultInstance())) {
       // Ignore empty entries, they are created during snapshotting.
     } else {
-      applySingleEntry(entry);
+      applySingleEntry(entry, entries);
     }
   }
 
   @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
       justification = "All calls to applyJournalEntryCommand() are synchronized by ratis")
-  private void applySingleEntry(JournalEntry entry) {
+  private void applySingleEntry(JournalEntry entry, List<JournalEntry> entries) {
     if (mClosed) {
       return;
     }
@@ -482,7 +493,7 @@ public class JournalStateMachine extends BaseStateMachine {
 
     mNextSequenceNumberToRead++;
     if (!mIgnoreApplys) {
-      mJournalApplier.processJournalEntry(entry);
+      entries.add(entry);
     }
   }
 
@@ -660,7 +671,7 @@ public class JournalStateMachine extends BaseStateMachine {
     }
     mJournalApplier.close();
     mJournalApplier = new BufferedJournalApplier(mJournals,
-        () -> mJournalSystem.getJournalSinks(null));
+        () -> mJournalSystem.getJournalSinks(null), mJournalReplayer);
     for (RaftJournal journal : mJournals.values()) {
       journal.getStateMachine().resetState();
     }
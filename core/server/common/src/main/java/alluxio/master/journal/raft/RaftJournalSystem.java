@@ -549,7 +549,8 @@ public class RaftJournalSystem extends AbstractJournalSystem {
     Preconditions.checkState(mRaftJournalWriter == null);
     mRaftJournalWriter = new RaftJournalWriter(nextSN, client);
     mAsyncJournalWriter
-        .set(new AsyncJournalWriter(mRaftJournalWriter, () -> getJournalSinks(null)));
+        .set(new AsyncJournalWriter(mRaftJournalWriter, () -> getJournalSinks(null),
+            Configuration.getInt(PropertyKey.MASTER_EMBEDDED_JOURNAL_WRITE_PIPELINE_DEPTH)));
     mTransferLeaderAllowed.set(true);
     super.registerMetrics();
     LOG.info("Gained primacy.");
@@ -26,7 +26,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -35,7 +39,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Class for writing entries to the Raft journal. Written entries are aggregated until flush is
- * called, then they are submitted as a single unit.
+ * called, then they are submitted as a single unit. With {@link #flushAsync()}, several units
+ * can be in flight at once.
  */
 @NotThreadSafe
 public class RaftJournalWriter implements JournalWriter {
@@ -55,6 +60,11 @@ public class RaftJournalWriter implements JournalWriter {
 
   private final RaftJournalAppender mClient;
 
+  /** Appends submitted by {@link #flushAsync()} which are not known to be committed. */
+  private final Deque<PendingAppend> mPendingAppends = new ArrayDeque<>();
+  /** Completes once all the appends submitted so far are committed. */
+  private CompletableFuture<Void> mLastAppend = CompletableFuture.completedFuture(null);
+
   private volatile boolean mClosed = false;
   private JournalEntry.Builder mJournalEntryBuilder; // gets build across successive writes
   private final AtomicLong mCurrentJournalEntrySize = new AtomicLong(0);
@@ -102,34 +112,124 @@ public class RaftJournalWriter implements JournalWriter {
     if (mClosed) {
       throw new JournalClosedException("Cannot flush. Journal writer has been closed");
     }
-    if (mJournalEntryBuilder != null) {
-      long flushSN = mNextSequenceNumberToWrite.get() - 1;
-      try {
-        // It is ok to submit the same entries multiple times because we de-duplicate by sequence
-        // number when applying them. This could happen if submit fails and we re-submit the same
-        // entry on retry.
-        JournalEntry entry = mJournalEntryBuilder.build();
-        Message message = Message.valueOf(UnsafeByteOperations.unsafeWrap(entry.toByteArray()));
-        mLastSubmittedSequenceNumber.set(flushSN);
-        LOG.trace("Flushing entry {} ({})", entry, message);
-        RaftClientReply reply = mClient.sendAsync(message)
-            .get(MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT, TimeUnit.MILLISECONDS);
-        if (reply.getException() != null) {
-          throw reply.getException();
+    // Entries of earlier asynchronous flushes must be committed before the entries written since
+    while (!mPendingAppends.isEmpty()) {
+      PendingAppend append = mPendingAppends.peek();
+      if (!append.isCommitted()) {
+        try {
+          awaitReply(append.mReply);
+        } catch (IOException e) {
+          if (Thread.currentThread().isInterrupted()) {
+            throw e;
+          }
+          if (mPendingAppends.size() > 1) {
+            // Raft does not order the appends of the local client, so the later appends may be
+            // committed before a retry of this one, leaving a gap in the sequence numbers
+            failPipeline(append, e);
+          }
+          LOG.debug("Retrying journal append up to SN#{}: {}", append.mSequenceNumber,
+              e.toString());
+          submitAndWait(append.mEntry, append.mSequenceNumber);
         }
-        mLastCommittedSequenceNumber.set(flushSN);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new IOException(e);
-      } catch (ExecutionException e) {
-        throw new IOException(e.getCause());
-      } catch (TimeoutException e) {
-        throw new IOException(String.format(
-            "Timed out after waiting %s milliseconds for journal entries to be processed",
-            MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT), e);
+        mLastCommittedSequenceNumber.accumulateAndGet(append.mSequenceNumber, Math::max);
       }
+      mPendingAppends.poll();
+    }
+    mLastAppend = CompletableFuture.completedFuture(null);
+    if (mJournalEntryBuilder != null) {
+      // It is ok to submit the same entries multiple times because we de-duplicate by sequence
+      // number when applying them. This could happen if submit fails and we re-submit the same
+      // entry on retry.
+      submitAndWait(mJournalEntryBuilder.build(), mNextSequenceNumberToWrite.get() - 1);
+      mJournalEntryBuilder = null;
+    }
+  }
+
+  /**
+   * Submits the written entries as one append without waiting for it to be committed, so the
+   * entries of several flushes can be in flight at once. If an earlier append has failed or timed
+   * out, the writer waits for the appends in flight through {@link #flush()} instead. A failed
+   * append is only retried if no later append was submitted, otherwise the writer is closed,
+   * since Raft may commit the later appends before the retry.
+   *
+   * @return a future which completes once all the entries flushed so far are committed
+   */
+  @Override
+  public CompletableFuture<Void> flushAsync() throws IOException, JournalClosedException {
+    if (mClosed) {
+      throw new JournalClosedException("Cannot flush. Journal writer has been closed");
+    }
+    while (!mPendingAppends.isEmpty() && mPendingAppends.peek().isCommitted()) {
+      mPendingAppends.poll();
+    }
+    long now = System.currentTimeMillis();
+    if (mPendingAppends.stream().anyMatch(append -> append.isFailed()
+        || now - append.mSubmitTimeMs > MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT)) {
+      flush();
+      return mLastAppend;
+    }
+    if (mJournalEntryBuilder != null) {
+      long flushSN = mNextSequenceNumberToWrite.get() - 1;
+      JournalEntry entry = mJournalEntryBuilder.build();
+      PendingAppend append = new PendingAppend(entry, flushSN, submit(entry, flushSN));
+      append.mCommitted.thenRun(
+          () -> mLastCommittedSequenceNumber.accumulateAndGet(flushSN, Math::max));
+      mPendingAppends.add(append);
+      mLastAppend = mLastAppend.thenCombine(append.mCommitted, (previous, current) -> null);
       mJournalEntryBuilder = null;
     }
+    return mLastAppend;
+  }
+
+  /**
+   * Closes the writer after an append failed while later appends were in flight. The failed
+   * append cannot be retried without the risk of committing it after the later ones.
+   *
+   * @param append the failed append
+   * @param cause the failure of the append
+   */
+  private void failPipeline(PendingAppend append, IOException cause) throws IOException {
+    LOG.error("Journal append up to SN#{} failed while {} later appends were in flight, closing "
+        + "the journal writer to not commit entries out of order", append.mSequenceNumber,
+        mPendingAppends.size() - 1, cause);
+    mPendingAppends.clear();
+    mLastAppend = CompletableFuture.completedFuture(null);
+    close();
+    throw new IOException(String.format(
+        "Journal append up to SN#%d failed while later appends were in flight",
+        append.mSequenceNumber), cause);
+  }
+
+  private CompletableFuture<RaftClientReply> submit(JournalEntry entry, long flushSN)
+      throws IOException {
+    Message message = Message.valueOf(UnsafeByteOperations.unsafeWrap(entry.toByteArray()));
+    mLastSubmittedSequenceNumber.set(flushSN);
+    LOG.trace("Flushing entry {} ({})", entry, message);
+    return mClient.sendAsync(message);
+  }
+
+  private void submitAndWait(JournalEntry entry, long flushSN) throws IOException {
+    awaitReply(submit(entry, flushSN));
+    mLastCommittedSequenceNumber.set(flushSN);
+  }
+
+  private static void awaitReply(CompletableFuture<RaftClientReply> future) throws IOException {
+    try {
+      RaftClientReply reply = future.get(MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT,
+          TimeUnit.MILLISECONDS);
+      if (reply.getException() != null) {
+        throw reply.getException();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new IOException(String.format(
+          "Timed out after waiting %s milliseconds for journal entries to be processed",
+          MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT), e);
+    }
   }
 
   @Override
@@ -158,4 +258,36 @@ public class RaftJournalWriter implements JournalWriter {
       LOG.warn("Failed to close raft client: {}", e.toString());
     }
   }
+
+  /**
+   * An append submitted by {@link #flushAsync()} which may not be committed yet.
+   */
+  private static final class PendingAppend {
+    private final JournalEntry mEntry;
+    /** The sequence number of the last entry in the append. */
+    private final long mSequenceNumber;
+    private final long mSubmitTimeMs = System.currentTimeMillis();
+    private final CompletableFuture<RaftClientReply> mReply;
+    private final CompletableFuture<Void> mCommitted;
+
+    PendingAppend(JournalEntry entry, long sequenceNumber,
+        CompletableFuture<RaftClientReply> reply) {
+      mEntry = entry;
+      mSequenceNumber = sequenceNumber;
+      mReply = reply;
+      mCommitted = reply.thenAccept(r -> {
+        if (r.getException() != null) {
+          throw new CompletionException(r.getException());
+        }
+      });
+    }
+
+    boolean isCommitted() {
+      return mCommitted.isDone() && !mCommitted.isCompletedExceptionally();
+    }
+
+    boolean isFailed() {
+      return mCommitted.isCompletedExceptionally();
+    }
+  }
 }
@@ -12,23 +12,35 @@
 package alluxio.master.journal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.master.journal.sink.JournalSink;
 import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 
 import org.junit.After;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Unit tests for {@link AsyncJournalWriter}.
@@ -200,4 +212,82 @@ public class AsyncJournalWriterTest {
   public void failedFlushWithBatching() throws Exception {
     failedFlushInternal(true);
   }
+
+  @Test(timeout = 10000)
+  public void pipelinedFlushes() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, "0ms");
+    mMockJournalWriter = mock(JournalWriter.class);
+    CompletableFuture<Void> firstFlush = new CompletableFuture<>();
+    when(mMockJournalWriter.flushAsync())
+        .thenReturn(firstFlush, CompletableFuture.completedFuture(null));
+    JournalSink sink = mock(JournalSink.class);
+    mAsyncJournalWriter =
+        new AsyncJournalWriter(mMockJournalWriter, () -> Collections.singleton(sink), 2);
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      long first = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+      Future<?> firstTicket = executor.submit(() -> {
+        mAsyncJournalWriter.flush(first);
+        return null;
+      });
+      verify(mMockJournalWriter, timeout(5000)).flushAsync();
+
+      // The second entry is flushed while the first flush is in flight, but is only flushed
+      // once the first flush completes.
+      long second = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+      Future<?> secondTicket = executor.submit(() -> {
+        mAsyncJournalWriter.flush(second);
+        return null;
+      });
+      verify(mMockJournalWriter, timeout(5000).times(2)).flushAsync();
+      assertFalse(firstTicket.isDone());
+      assertFalse(secondTicket.isDone());
+      // sinks are only flushed once the entries are committed
+      verify(sink, never()).flush();
+
+      firstFlush.complete(null);
+      firstTicket.get();
+      secondTicket.get();
+      verify(mMockJournalWriter, never()).flush();
+      verify(sink, times(2)).flush();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void failedPipelinedFlush() throws Exception {
+    Configuration.set(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, "0ms");
+    mMockJournalWriter = mock(JournalWriter.class);
+    CompletableFuture<Void> failedFlush = new CompletableFuture<>();
+    when(mMockJournalWriter.flushAsync())
+        .thenReturn(failedFlush, CompletableFuture.completedFuture(null));
+    mAsyncJournalWriter = new AsyncJournalWriter(mMockJournalWriter, Collections::emptySet, 2);
+
+    long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    verify(mMockJournalWriter, timeout(5000)).flushAsync();
+    // Fails the flush once the ticket below is waiting for it.
+    Thread flushThread = Thread.currentThread();
+    Thread failer = new Thread(() -> {
+      try {
+        CommonUtils.waitFor("flush ticket", () -> flushThread.getState() == Thread.State.WAITING,
+            WaitForOptions.defaults().setTimeoutMs(5000));
+      } catch (Exception e) {
+        // fails the flush anyway
+      }
+      failedFlush.completeExceptionally(new IOException("flush failed"));
+    });
+    failer.start();
+    try {
+      mAsyncJournalWriter.flush(counter);
+      fail("journal flush should not succeed if the asynchronous flush fails.");
+    } catch (IOException e) {
+      // This is expected.
+    }
+    failer.join();
+
+    // The entry is flushed again on the next flush.
+    mAsyncJournalWriter.flush(counter);
+    verify(mMockJournalWriter, times(2)).flushAsync();
+  }
 }
@@ -0,0 +1,162 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.proto.journal.File.DeleteFileEntry;
+import alluxio.proto.journal.File.InodeDirectoryEntry;
+import alluxio.proto.journal.File.InodeFileEntry;
+import alluxio.proto.journal.File.RenameEntry;
+import alluxio.proto.journal.File.UpdateInodeEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link ParallelJournalReplayer}.
+ */
+public final class ParallelJournalReplayerTest {
+  private final ParallelJournalReplayer mReplayer = new ParallelJournalReplayer(4);
+
+  @After
+  public void after() {
+    mReplayer.close();
+  }
+
+  @Test
+  public void partition() {
+    List<JournalEntry> entries = new ArrayList<>();
+    // files 10 and 11 are created in directory 1, file 20 in directory 2
+    entries.add(createFile(0, 10, 1));
+    entries.add(createFile(1, 20, 2));
+    entries.add(updateInode(2, 11));
+    entries.add(createFile(3, 11, 1));
+    entries.add(updateInode(4, 30));
+    List<long[]> ids = new ArrayList<>();
+    for (JournalEntry entry : entries) {
+      ids.add(ParallelJournalReplayer.getModifiedIds(entry));
+    }
+    List<List<JournalEntry>> lanes = ParallelJournalReplayer.partition(entries, ids, 4);
+    assertEquals(4, lanes.size());
+    assertEquals(entries.subList(0, 1), lanes.get(0).subList(0, 1));
+    assertEquals(3, lanes.get(0).size());
+    assertEquals(entries.get(2), lanes.get(0).get(1));
+    assertEquals(entries.get(3), lanes.get(0).get(2));
+    assertEquals(entries.subList(1, 2), lanes.get(1));
+    assertEquals(entries.subList(4, 5), lanes.get(2));
+    assertTrue(lanes.get(3).isEmpty());
+  }
+
+  @Test
+  public void modifiedIds() {
+    assertArrayEquals(new long[] {10, 1},
+        ParallelJournalReplayer.getModifiedIds(createFile(0, 10, 1)));
+    assertArrayEquals(new long[] {10}, ParallelJournalReplayer.getModifiedIds(updateInode(0, 10)));
+    // entries which modify inodes not recorded in them are barriers
+    assertNull(ParallelJournalReplayer.getModifiedIds(JournalEntry.newBuilder()
+        .setDeleteFile(DeleteFileEntry.newBuilder().setId(10)).build()));
+    assertNull(ParallelJournalReplayer.getModifiedIds(JournalEntry.newBuilder()
+        .setRename(RenameEntry.newBuilder().setId(10).setNewParentId(2)).build()));
+    // the root directory resets the inode tree
+    assertNull(ParallelJournalReplayer.getModifiedIds(JournalEntry.newBuilder()
+        .setInodeDirectory(InodeDirectoryEntry.newBuilder().setId(0).setParentId(-1)).build()));
+  }
+
+  @Test
+  public void applyInOrderPerInode() {
+    List<JournalEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      entries.add(updateInode(i, i % 10));
+    }
+    Map<Long, List<Long>> applied = new ConcurrentHashMap<>();
+    mReplayer.apply(entries, entry -> applied
+        .computeIfAbsent(entry.getUpdateInode().getId(), id -> new CopyOnWriteArrayList<>())
+        .add(entry.getSequenceNumber()));
+    assertEquals(10, applied.size());
+    for (Map.Entry<Long, List<Long>> inode : applied.entrySet()) {
+      List<Long> sequences = inode.getValue();
+      assertEquals(100, sequences.size());
+      for (int i = 0; i < sequences.size(); i++) {
+        assertEquals(inode.getKey() + 10L * i, (long) sequences.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void applyBarrierInOrder() {
+    List<JournalEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      entries.add(updateInode(i, i));
+    }
+    entries.add(JournalEntry.newBuilder().setSequenceNumber(100)
+        .setDeleteFile(DeleteFileEntry.newBuilder().setId(1)).build());
+    for (int i = 101; i < 200; i++) {
+      entries.add(updateInode(i, i));
+    }
+    AtomicInteger count = new AtomicInteger();
+    AtomicInteger barrierIndex = new AtomicInteger(-1);
+    mReplayer.apply(entries, entry -> {
+      int index = count.getAndIncrement();
+      if (entry.hasDeleteFile()) {
+        barrierIndex.set(index);
+      } else if (entry.getSequenceNumber() > 100) {
+        assertTrue(barrierIndex.get() >= 0);
+      }
+    });
+    assertEquals(200, count.get());
+    assertEquals(100, barrierIndex.get());
+  }
+
+  @Test
+  public void applyFailure() {
+    List<JournalEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      entries.add(updateInode(i, i));
+    }
+    AtomicInteger count = new AtomicInteger();
+    try {
+      mReplayer.apply(entries, entry -> {
+        count.incrementAndGet();
+        if (entry.getSequenceNumber() == 50) {
+          throw new IllegalStateException("failed to apply");
+        }
+      });
+      fail("Expected the failure to be thrown");
+    } catch (IllegalStateException e) {
+      assertEquals("failed to apply", e.getMessage());
+    }
+    assertTrue(count.get() >= 1);
+  }
+
+  private static JournalEntry createFile(long sequence, long id, long parentId) {
+    return JournalEntry.newBuilder().setSequenceNumber(sequence)
+        .setInodeFile(InodeFileEntry.newBuilder().setId(id).setParentId(parentId)).build();
+  }
+
+  private static JournalEntry updateInode(long sequence, long id) {
+    return JournalEntry.newBuilder().setSequenceNumber(sequence)
+        .setUpdateInode(UpdateInodeEntry.newBuilder().setId(id)).build();
+  }
+}
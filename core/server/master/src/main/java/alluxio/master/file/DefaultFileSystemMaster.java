@@ -115,6 +115,7 @@ import alluxio.master.file.meta.LockedInodePath;
 import alluxio.master.file.meta.LockedInodePathList;
 import alluxio.master.file.meta.LockingScheme;
 import alluxio.master.file.meta.MountTable;
+import alluxio.master.file.meta.OptimisticInodePath;
 import alluxio.master.file.meta.PersistenceState;
 import alluxio.master.file.meta.UfsAbsentPathCache;
 import alluxio.master.file.meta.UfsBlockLocationCache;
@@ -460,6 +461,12 @@ public class DefaultFileSystemMaster extends CoreMaster
 
   private final DefaultSyncProcess mDefaultSyncProcess;
 
+  /** Get file info requests served without inode locks, and those which fell back to locks. */
+  private final Counter mOptimisticGetFileInfoOps =
+      MetricsSystem.counter(MetricKey.MASTER_OPTIMISTIC_GET_FILE_INFO_OPS.getName());
+  private final Counter mOptimisticGetFileInfoFallbacks =
+      MetricsSystem.counter(MetricKey.MASTER_OPTIMISTIC_GET_FILE_INFO_FALLBACKS.getName());
+
   /**
    * Creates a new instance of {@link DefaultFileSystemMaster}.
    *
@@ -960,6 +967,17 @@ public class DefaultFileSystemMaster extends CoreMaster
               FileSystemMasterCommonPOptions.newBuilder()
                   .setTtl(context.getOptions().getCommonOptions().getTtl())
                   .setTtlAction(context.getOptions().getCommonOptions().getTtlAction())));
+      Mode.Bits accessMode = Mode.Bits.fromProto(context.getOptions().getAccessMode());
+      boolean updateAccessTime = context.getOptions().getUpdateTimestamps()
+          && context.getOptions().hasAccessMode()
+          && (accessMode.imply(Mode.Bits.READ) || accessMode.imply(Mode.Bits.WRITE));
+      if (!ufsAccessed && !updateAccessTime
+          && mInodeTree.getInodeLockManager().optimisticReadsEnabled()) {
+        FileInfo fileInfo = getFileInfoOptimistically(path, lmCtx, auditContext);
+        if (fileInfo != null) {
+          return fileInfo;
+        }
+      }
       /*
       See the comments in #getFileIdInternal for an explanation on why the loop here is required.
        */
@@ -1004,9 +1022,7 @@ public class DefaultFileSystemMaster extends CoreMaster
             Metrics.getUfsOpsSavedCounter(resolution.getUfsMountPointUri(),
                 Metrics.UFSOps.GET_FILE_INFO).dec();
           }
-          Mode.Bits accessMode = Mode.Bits.fromProto(context.getOptions().getAccessMode());
-          if (context.getOptions().getUpdateTimestamps() && context.getOptions().hasAccessMode()
-              && (accessMode.imply(Mode.Bits.READ) || accessMode.imply(Mode.Bits.WRITE))) {
+          if (updateAccessTime) {
             updateAccessTime(rpcContext, inodePath.getInode(), opTimeMs);
           }
           auditContext.setSrcInode(inodePath.getInode()).setSucceeded(true);
@@ -1017,6 +1033,65 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  /**
+   * Gets the file info for a path without taking inode locks. The inodes read are validated
+   * against their versions afterwards.
+   *
+   * @param path the path to get the file info for
+   * @param lmCtx the load metadata context of the request
+   * @param auditContext the audit context of the request
+   * @return the file info, or null if the request must fall back to the locked path
+   */
+  @Nullable
+  private FileInfo getFileInfoOptimistically(AlluxioURI path, LoadMetadataContext lmCtx,
+      FileSystemMasterAuditContext auditContext) throws AccessControlException {
+    mOptimisticGetFileInfoOps.inc();
+    FileInfo fileInfo = null;
+    try (OptimisticInodePath inodePath = mInodeTree.resolveOptimistically(path)) {
+      fileInfo = getValidatedFileInfo(inodePath, lmCtx, auditContext);
+    } catch (InvalidPathException | FileDoesNotExistException | UnavailableException
+        | RuntimeException e) {
+      // The path may have been read while it was changing, let the locked path decide.
+      LOG.debug("Failed to get file info for {} without locks", path, e);
+    }
+    if (fileInfo == null) {
+      mOptimisticGetFileInfoFallbacks.inc();
+    }
+    return fileInfo;
+  }
+
+  /**
+   * @param inodePath the optimistically resolved path
+   * @param lmCtx the load metadata context of the request
+   * @param auditContext the audit context of the request
+   * @return the file info, or null if the path changed while it was read, or it cannot be served
+   *         without locks
+   */
+  @Nullable
+  private FileInfo getValidatedFileInfo(OptimisticInodePath inodePath,
+      LoadMetadataContext lmCtx, FileSystemMasterAuditContext auditContext)
+      throws AccessControlException, FileDoesNotExistException, InvalidPathException,
+      UnavailableException {
+    if (shouldLoadMetadataIfNotExists(inodePath, lmCtx)) {
+      return null;
+    }
+    try {
+      mPermissionChecker.checkParentPermission(Mode.Bits.EXECUTE, inodePath);
+    } catch (AccessControlException e) {
+      if (!inodePath.validate()) {
+        return null;
+      }
+      auditContext.setSrcInode(inodePath.getInodeOrNull()).setAllowed(false);
+      throw e;
+    }
+    FileInfo fileInfo = getFileInfoInternal(inodePath, null, false, true);
+    if (fileInfo == null || !inodePath.validate()) {
+      return null;
+    }
+    auditContext.setSrcInode(inodePath.getInode()).setSucceeded(true);
+    return fileInfo;
+  }
+
   @Override
   public long getMountIdFromUfsPath(AlluxioURI ufsPath) {
     return getMountTable().reverseResolve(ufsPath).getMountInfo().getMountId();
@@ -1034,6 +1109,19 @@ public class DefaultFileSystemMaster extends CoreMaster
   private FileInfo getFileInfoInternal(LockedInodePath inodePath, Counter counter,
       boolean excludeMountInfo)
       throws FileDoesNotExistException, UnavailableException {
+    return getFileInfoInternal(inodePath, counter, excludeMountInfo, false);
+  }
+
+  /**
+   * @param inodePath the {@link LockedInodePath} to get the {@link FileInfo} for
+   * @param readOnly whether the path is not locked, so no metadata may be changed
+   * @return the {@link FileInfo} for the given inode, or null if the path is read only and the
+   *         block infos of the file need to be rehydrated
+   */
+  @Nullable
+  private FileInfo getFileInfoInternal(LockedInodePath inodePath, Counter counter,
+      boolean excludeMountInfo, boolean readOnly)
+      throws FileDoesNotExistException, UnavailableException {
     int inMemoryPercentage;
     int inAlluxioPercentage;
     Inode inode = inodePath.getInode();
@@ -1060,6 +1148,9 @@ public class DefaultFileSystemMaster extends CoreMaster
     if (fileInfo.isCompleted()
           && fileInfo.getBlockIds().size() > fileInfo.getFileBlockInfos().size()
           && inode.isPersisted()) {
+      if (readOnly) {
+        return null;
+      }
       List<Long> missingBlockIds = fileInfo.getBlockIds().stream()
           .filter((bId) -> fileInfo.getFileBlockInfo(bId) != null).collect(Collectors.toList());
 
@@ -12,6 +12,8 @@
 package alluxio.master.file.meta;
 
 import alluxio.collections.LockPool;
+import alluxio.collections.RWLockPool;
+import alluxio.collections.StripedLockPool;
 import alluxio.concurrent.LockMode;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
@@ -22,6 +24,7 @@ import alluxio.resource.RWLockResource;
 import alluxio.util.interfaces.Scoped;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -29,11 +32,14 @@ import com.google.common.util.concurrent.Striped;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import javax.annotation.Nullable;
 
 /**
  * Class for managing inode locking. We manage locks centrally instead of embedded in the inode
@@ -41,28 +47,21 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * use. As a result, we save memory when the inode tree contains many millions of files.
  */
 public class InodeLockManager implements Closeable {
+  private static final int NUM_VERSION_STRIPES = 4096;
+  private static final Scoped NOOP_SCOPE = () -> { };
+
   /**
    * Pool for supplying inode locks. To lock an inode, its inode id must be searched in this
    * pool to get the appropriate read lock.
    *
-   * We use weak values so that when nothing holds a reference to
-   * a lock, the garbage collector can remove the lock's entry from the pool.
+   * Locks which are no longer in use are removed from the pool, either by the evictor of a
+   * {@link LockPool} or on release by a {@link StripedLockPool}.
    */
-  private final LockPool<Long> mInodeLocks =
-      new LockPool<>((key) -> new ReentrantReadWriteLock(),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_INITSIZE),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_LOW_WATERMARK),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_HIGH_WATERMARK),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_CONCURRENCY_LEVEL));
+  private final RWLockPool<Long> mInodeLocks = createLockPool();
   /**
    * Cache for supplying edge locks, similar to mInodeLocks.
    */
-  private final LockPool<Edge> mEdgeLocks =
-      new LockPool<>((key) -> new ReentrantReadWriteLock(),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_INITSIZE),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_LOW_WATERMARK),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_HIGH_WATERMARK),
-          Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_CONCURRENCY_LEVEL));
+  private final RWLockPool<Edge> mEdgeLocks = createLockPool();
 
   /**
    * Locks for guarding changes to last modified time and size on read-locked parent inodes.
@@ -93,10 +92,30 @@ public class InodeLockManager implements Closeable {
             }
           });
 
+  /**
+   * Versions for validating inode reads which take no inode locks, or null if optimistic reads
+   * are disabled. Inode ids are striped over a fixed number of {@link StampedLock}s. A change to
+   * an inode, or to the edges to its children, holds the write lock of the inode's stripe, which
+   * invalidates every optimistic read stamp handed out for that stripe before the change.
+   *
+   * To avoid deadlock, the stripes must be the last locks acquired by a thread, and a thread must
+   * acquire all the stripes it needs at once with {@link #lockVersions(long...)}.
+   */
+  @Nullable
+  private final StampedLock[] mVersions;
+
   /**
    * Creates a new instance of {@link InodeLockManager}.
    */
   public InodeLockManager() {
+    if (Configuration.getBoolean(PropertyKey.MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED)) {
+      mVersions = new StampedLock[NUM_VERSION_STRIPES];
+      for (int i = 0; i < mVersions.length; i++) {
+        mVersions[i] = new StampedLock();
+      }
+    } else {
+      mVersions = null;
+    }
     MetricsSystem.registerGaugeIfAbsent(
         MetricKey.MASTER_INODE_LOCK_POOL_SIZE.getName(),
         () -> mInodeLocks.size());
@@ -105,6 +124,17 @@ public class InodeLockManager implements Closeable {
         () -> mEdgeLocks.size());
   }
 
+  private static <T> RWLockPool<T> createLockPool() {
+    if (Configuration.getBoolean(PropertyKey.MASTER_LOCK_POOL_STRIPED_ENABLED)) {
+      return new StripedLockPool<>(Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_STRIPES));
+    }
+    return new LockPool<>((key) -> new ReentrantReadWriteLock(),
+        Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_INITSIZE),
+        Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_LOW_WATERMARK),
+        Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_HIGH_WATERMARK),
+        Configuration.getInt(PropertyKey.MASTER_LOCK_POOL_CONCURRENCY_LEVEL));
+  }
+
   @VisibleForTesting
   boolean inodeReadLockedByCurrentThread(long inodeId) {
     return mInodeLocks.getRawReadWriteLock(inodeId).getReadHoldCount() > 0;
@@ -134,7 +164,7 @@ public class InodeLockManager implements Closeable {
     assertAllLocksReleased(mInodeLocks);
   }
 
-  private <T> void assertAllLocksReleased(LockPool<T> pool) {
+  private <T> void assertAllLocksReleased(RWLockPool<T> pool) {
     for (Entry<T, ReentrantReadWriteLock> entry : pool.getEntryMap().entrySet()) {
       ReentrantReadWriteLock lock = entry.getValue();
       if (lock.isWriteLocked()) {
@@ -237,6 +267,78 @@ public class InodeLockManager implements Closeable {
     return new LockResource(mParentUpdateLocks.get(inodeId));
   }
 
+  /**
+   * @return whether inode versions are maintained for optimistic reads
+   */
+  public boolean optimisticReadsEnabled() {
+    return mVersions != null;
+  }
+
+  /**
+   * Marks the start of a change to the given inodes, invalidating concurrent optimistic reads of
+   * them. A change to the children of a directory must include the directory id. This is a no-op
+   * when optimistic reads are disabled.
+   *
+   * No other lock may be acquired while holding the returned resource.
+   *
+   * @param inodeIds the ids of the inodes to change
+   * @return a resource which must be closed once the change is done
+   */
+  public Scoped lockVersions(long... inodeIds) {
+    if (mVersions == null) {
+      return NOOP_SCOPE;
+    }
+    int[] stripes = new int[inodeIds.length];
+    for (int i = 0; i < inodeIds.length; i++) {
+      stripes[i] = versionStripe(inodeIds[i]);
+    }
+    // Lock distinct stripes in a fixed order to avoid deadlock between changes.
+    Arrays.sort(stripes);
+    int numStripes = 0;
+    for (int i = 0; i < stripes.length; i++) {
+      if (i == 0 || stripes[i] != stripes[i - 1]) {
+        stripes[numStripes++] = stripes[i];
+      }
+    }
+    long[] stamps = new long[numStripes];
+    for (int i = 0; i < numStripes; i++) {
+      stamps[i] = mVersions[stripes[i]].writeLock();
+    }
+    int lockedStripes = numStripes;
+    return () -> {
+      for (int i = lockedStripes - 1; i >= 0; i--) {
+        mVersions[stripes[i]].unlockWrite(stamps[i]);
+      }
+    };
+  }
+
+  /**
+   * Gets the version of an inode before reading it without locks. The version must be validated
+   * with {@link #validateVersion(long, long)} after the read.
+   *
+   * @param inodeId the inode id
+   * @return the version, or zero if the inode is being changed
+   */
+  public long getVersion(long inodeId) {
+    Preconditions.checkState(mVersions != null, "Optimistic reads are disabled");
+    return mVersions[versionStripe(inodeId)].tryOptimisticRead();
+  }
+
+  /**
+   * @param inodeId the inode id
+   * @param version a version returned by {@link #getVersion(long)} for the inode
+   * @return whether the inode is unchanged since the version was taken
+   */
+  public boolean validateVersion(long inodeId, long version) {
+    Preconditions.checkState(mVersions != null, "Optimistic reads are disabled");
+    return version != 0 && mVersions[versionStripe(inodeId)].validate(version);
+  }
+
+  private static int versionStripe(long inodeId) {
+    int h = Long.hashCode(inodeId) * 0x9e3779b9;
+    return (h ^ (h >>> 16)) & (NUM_VERSION_STRIPES - 1);
+  }
+
   @Override
   public void close() throws IOException {
     mInodeLocks.close();
@@ -464,6 +464,29 @@ public class InodeTree implements DelegatingJournaled {
     return inodePath;
   }
 
+  /**
+   * Resolves the inodes on the specified path without taking inode locks. The target inode is not
+   * required to exist. Nothing read through the returned path can be trusted until
+   * {@link OptimisticInodePath#validate()} returns true.
+   *
+   * Must only be called when {@link InodeLockManager#optimisticReadsEnabled()}.
+   *
+   * @param uri the uri to resolve
+   * @return the {@link OptimisticInodePath} representing the resolved path of inodes
+   * @throws InvalidPathException if the path is invalid, or was seen in an inconsistent state
+   */
+  public OptimisticInodePath resolveOptimistically(AlluxioURI uri) throws InvalidPathException {
+    OptimisticInodePath inodePath =
+        new OptimisticInodePath(uri, mInodeStore, mInodeLockManager, getRoot());
+    try {
+      inodePath.traverse();
+    } catch (Throwable t) {
+      inodePath.close();
+      throw t;
+    }
+    return inodePath;
+  }
+
   /**
    * @param uri the {@link AlluxioURI} to check for existence
    * @return whether the inode exists
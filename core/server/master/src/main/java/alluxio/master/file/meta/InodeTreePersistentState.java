@@ -47,6 +47,7 @@ import alluxio.security.authorization.DefaultAccessControlList;
 import alluxio.util.BucketCounter;
 import alluxio.util.FormatUtils;
 import alluxio.util.StreamUtils;
+import alluxio.util.interfaces.Scoped;
 import alluxio.util.proto.ProtoUtils;
 import alluxio.wire.OperationId;
 
@@ -413,29 +414,31 @@ public class InodeTreePersistentState implements Journaled {
     long id = entry.getId();
     Inode inode = mInodeStore.get(id).get();
 
-    // The recursive option is only used by old versions.
-    if (inode.isDirectory() && entry.getRecursive()) {
-      Queue<InodeDirectory> dirsToDelete = new ArrayDeque<>();
-      dirsToDelete.add(inode.asDirectory());
-      while (!dirsToDelete.isEmpty()) {
-        InodeDirectory dir = dirsToDelete.poll();
-        mInodeStore.removeInodeAndParentEdge(inode);
-        mInodeCounter.decrement();
-        try (CloseableIterator<? extends Inode> it = mInodeStore.getChildren(dir)) {
-          while (it.hasNext()) {
-            Inode child = it.next();
-            if (child.isDirectory()) {
-              dirsToDelete.add(child.asDirectory());
-            } else {
-              mInodeStore.removeInodeAndParentEdge(inode);
-              mInodeCounter.decrement();
+    try (Scoped versions = mInodeLockManager.lockVersions(id, inode.getParentId())) {
+      // The recursive option is only used by old versions.
+      if (inode.isDirectory() && entry.getRecursive()) {
+        Queue<InodeDirectory> dirsToDelete = new ArrayDeque<>();
+        dirsToDelete.add(inode.asDirectory());
+        while (!dirsToDelete.isEmpty()) {
+          InodeDirectory dir = dirsToDelete.poll();
+          mInodeStore.removeInodeAndParentEdge(inode);
+          mInodeCounter.decrement();
+          try (CloseableIterator<? extends Inode> it = mInodeStore.getChildren(dir)) {
+            while (it.hasNext()) {
+              Inode child = it.next();
+              if (child.isDirectory()) {
+                dirsToDelete.add(child.asDirectory());
+              } else {
+                mInodeStore.removeInodeAndParentEdge(inode);
+                mInodeCounter.decrement();
+              }
             }
           }
         }
+      } else {
+        mInodeStore.removeInodeAndParentEdge(inode);
+        mInodeCounter.decrement();
       }
-    } else {
-      mInodeStore.removeInodeAndParentEdge(inode);
-      mInodeCounter.decrement();
     }
     if (inode.isFile()) {
       mBucketCounter.remove(inode.asFile().getLength());
@@ -456,13 +459,21 @@ public class InodeTreePersistentState implements Journaled {
   }
 
   private long applyNewBlock(NewBlockEntry entry) {
-    MutableInodeFile inode = mInodeStore.getMutable(entry.getId()).get().asFile();
-    long newBlockId = inode.getNewBlockId();
-    mInodeStore.writeInode(inode);
-    return newBlockId;
+    try (Scoped versions = mInodeLockManager.lockVersions(entry.getId())) {
+      MutableInodeFile inode = mInodeStore.getMutable(entry.getId()).get().asFile();
+      long newBlockId = inode.getNewBlockId();
+      mInodeStore.writeInode(inode);
+      return newBlockId;
+    }
   }
 
   private void applySetAcl(SetAclEntry entry) {
+    try (Scoped versions = mInodeLockManager.lockVersions(entry.getId())) {
+      applySetAclInternal(entry);
+    }
+  }
+
+  private void applySetAclInternal(SetAclEntry entry) {
     MutableInode<?> inode = mInodeStore.getMutable(entry.getId()).get();
     List<AclEntry> entries = StreamUtils.map(ProtoUtils::fromProto, entry.getEntriesList());
     switch (entry.getAction()) {
@@ -503,14 +514,16 @@ public class InodeTreePersistentState implements Journaled {
       // TTL as when it was inserted.
       mTtlBuckets.remove(inode);
     }
-    inode.updateFromEntry(entry);
+    try (Scoped versions = mInodeLockManager.lockVersions(inode.getId())) {
+      inode.updateFromEntry(entry);
+      if (inode.isFile() && entry.hasPinned()) {
+        setReplicationForPin(inode, entry.getPinned());
+      }
+      mInodeStore.writeInode(inode);
+    }
     if (entry.hasTtl()) {
       mTtlBuckets.insert(Inode.wrap(inode));
     }
-    if (inode.isFile() && entry.hasPinned()) {
-      setReplicationForPin(inode, entry.getPinned());
-    }
-    mInodeStore.writeInode(inode);
     updateToBePersistedIds(inode);
   }
 
@@ -560,8 +573,10 @@ public class InodeTreePersistentState implements Journaled {
     Preconditions.checkState(inode.isDirectory(),
         "Encountered non-directory id in update directory entry %s", entry);
 
-    inode.asDirectory().updateFromEntry(entry);
-    mInodeStore.writeInode(inode);
+    try (Scoped versions = mInodeLockManager.lockVersions(inode.getId())) {
+      inode.asDirectory().updateFromEntry(entry);
+      mInodeStore.writeInode(inode);
+    }
   }
 
   private void applyUpdateInodeFile(UpdateInodeFileEntry entry) {
@@ -578,8 +593,10 @@ public class InodeTreePersistentState implements Journaled {
     if (inode.asFile().isCompleted()) {
       mBucketCounter.remove(inode.asFile().getLength());
     }
-    inode.asFile().updateFromEntry(entry);
-    mInodeStore.writeInode(inode);
+    try (Scoped versions = mInodeLockManager.lockVersions(inode.getId())) {
+      inode.asFile().updateFromEntry(entry);
+      mInodeStore.writeInode(inode);
+    }
     mBucketCounter.insert(inode.asFile().getLength());
   }
 
@@ -654,8 +671,10 @@ public class InodeTreePersistentState implements Journaled {
   private void applyCreateInode(MutableInode<?> inode) {
     if (inode.isDirectory() && inode.getName().equals(InodeTree.ROOT_INODE_NAME)) {
       // This is the root inode. Clear all the state, and set the root.
-      mInodeStore.clear();
-      mInodeStore.writeNewInode(inode);
+      try (Scoped versions = mInodeLockManager.lockVersions(inode.getId())) {
+        mInodeStore.clear();
+        mInodeStore.writeNewInode(inode);
+      }
       mInodeCounter.reset();
       mInodeCounter.increment();
       mPinnedInodeFileIds.clear();
@@ -667,9 +686,11 @@ public class InodeTreePersistentState implements Journaled {
     }
     // inode should be added to the inode store before getting added to its parent list, because it
     // becomes visible at this point.
-    mInodeStore.writeNewInode(inode);
+    try (Scoped versions = mInodeLockManager.lockVersions(inode.getId(), inode.getParentId())) {
+      mInodeStore.writeNewInode(inode);
+      mInodeStore.addChild(inode.getParentId(), inode);
+    }
     mInodeCounter.increment();
-    mInodeStore.addChild(inode.getParentId(), inode);
     // Only update size, last modified time is updated separately.
     updateTimestampsAndChildCount(inode.getParentId(), Long.MIN_VALUE, 1);
     if (inode.isFile()) {
@@ -693,11 +714,14 @@ public class InodeTreePersistentState implements Journaled {
     long oldParent = inode.getParentId();
     long newParent = entry.getNewParentId();
 
-    mInodeStore.removeChild(oldParent, inode.getName());
-    inode.setName(entry.getNewName());
-    mInodeStore.addChild(newParent, inode);
-    inode.setParentId(newParent);
-    mInodeStore.writeInode(inode);
+    try (Scoped versions =
+        mInodeLockManager.lockVersions(inode.getId(), oldParent, newParent)) {
+      mInodeStore.removeChild(oldParent, inode.getName());
+      inode.setName(entry.getNewName());
+      mInodeStore.addChild(newParent, inode);
+      inode.setParentId(newParent);
+      mInodeStore.writeInode(inode);
+    }
 
     if (oldParent == newParent) {
       updateTimestampsAndChildCount(oldParent, entry.getOpTimeMs(), 0);
@@ -719,7 +743,8 @@ public class InodeTreePersistentState implements Journaled {
    * @param deltaChildCount the change in inode directory child count
    */
   private void updateTimestampsAndChildCount(long id, long opTimeMs, long deltaChildCount) {
-    try (LockResource lr = mInodeLockManager.lockUpdate(id)) {
+    try (LockResource lr = mInodeLockManager.lockUpdate(id);
+        Scoped versions = mInodeLockManager.lockVersions(id)) {
       MutableInodeDirectory inode = mInodeStore.getMutable(id).get().asDirectory();
       boolean madeUpdate = false;
       if (inode.getLastModificationTimeMs() < opTimeMs) {
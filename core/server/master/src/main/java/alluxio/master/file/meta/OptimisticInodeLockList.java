@@ -0,0 +1,209 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.concurrent.LockMode;
+import alluxio.master.metastore.ReadOnlyInodeStore;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An inode lock list which takes no locks. Instead, it records the version of every inode added
+ * to it, so that the reads made through the list can be validated afterwards with
+ * {@link #validate()}. Edges are not versioned separately, since every change to the children of
+ * a directory also changes the version of the directory.
+ *
+ * Each inode is read again from the inode store after its version is taken, so the inodes in the
+ * list are never older than their versions. Write locks are not supported.
+ */
+@NotThreadSafe
+public class OptimisticInodeLockList implements InodeLockList {
+  private final InodeLockManager mInodeLockManager;
+  private final ReadOnlyInodeStore mInodeStore;
+
+  private final List<Inode> mInodes = new ArrayList<>();
+  /** The versions of the inodes in mInodes, by index. */
+  private final List<Long> mVersions = new ArrayList<>();
+  /** The number of inodes and edges in the list. */
+  private int mSize = 0;
+  private boolean mEndsInEdge = false;
+  /** Whether an inode was seen changing or disappearing during the traversal. */
+  private boolean mConflict = false;
+
+  /**
+   * Creates a new empty lock list.
+   *
+   * @param inodeLockManager manager for the inode versions
+   * @param inodeStore the inode store to read inodes from
+   */
+  public OptimisticInodeLockList(InodeLockManager inodeLockManager,
+      ReadOnlyInodeStore inodeStore) {
+    Preconditions.checkState(inodeLockManager.optimisticReadsEnabled(),
+        "Optimistic reads are disabled");
+    mInodeLockManager = inodeLockManager;
+    mInodeStore = inodeStore;
+  }
+
+  /**
+   * @return whether no inode in the list has changed since it was added
+   */
+  public boolean validate() {
+    if (mConflict) {
+      return false;
+    }
+    for (int i = 0; i < mInodes.size(); i++) {
+      if (!mInodeLockManager.validateVersion(mInodes.get(i).getId(), mVersions.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void lockRootEdge(LockMode mode) {
+    Preconditions.checkState(isEmpty(),
+        "Cannot lock root edge when lock list %s is nonempty", this);
+    checkReadMode(mode);
+    mEndsInEdge = true;
+    mSize++;
+  }
+
+  @Override
+  public void lockInode(Inode inode, LockMode mode) {
+    Preconditions.checkState(isEmpty() || mEndsInEdge,
+        "Cannot lock inode %s for lock list %s because the lock list already ends in an inode",
+        inode.getId(), this);
+    checkReadMode(mode);
+    long version = mInodeLockManager.getVersion(inode.getId());
+    Inode current = inode;
+    if (version == 0) {
+      mConflict = true;
+    } else {
+      Optional<Inode> inodeOpt = mInodeStore.get(inode.getId());
+      if (inodeOpt.isPresent()) {
+        current = inodeOpt.get();
+      } else {
+        mConflict = true;
+      }
+    }
+    mInodes.add(current);
+    mVersions.add(version);
+    mEndsInEdge = false;
+    mSize++;
+  }
+
+  @Override
+  public void lockEdge(Inode lastInode, String childName, LockMode mode) {
+    Preconditions.checkState(!isEmpty() && !mEndsInEdge,
+        "Cannot lock edge %s->%s when lock list %s does not end in an inode",
+        lastInode.getId(), childName, this);
+    checkReadMode(mode);
+    mEndsInEdge = true;
+    mSize++;
+  }
+
+  @Override
+  public void pushWriteLockedEdge(Inode inode, String childName) {
+    throw new UnsupportedOperationException("Optimistic lock lists cannot take write locks");
+  }
+
+  @Override
+  public void unlockLastInode() {
+    Preconditions.checkState(!isEmpty() && !mEndsInEdge,
+        "Cannot unlock last inode when the lock list %s does not end in an inode", this);
+    mInodes.remove(mInodes.size() - 1);
+    mVersions.remove(mVersions.size() - 1);
+    mEndsInEdge = true;
+    mSize--;
+  }
+
+  @Override
+  public void unlockLastEdge() {
+    Preconditions.checkState(mEndsInEdge,
+        "Cannot unlock last edge when the lock list %s does not end in an edge", this);
+    mEndsInEdge = false;
+    mSize--;
+  }
+
+  @Override
+  public void downgradeToReadLocks() {
+    // All entries are read entries.
+  }
+
+  @Override
+  public void downgradeLastEdge() {
+    throw new UnsupportedOperationException("Optimistic lock lists cannot take write locks");
+  }
+
+  @Override
+  public LockMode getLockMode() {
+    return LockMode.READ;
+  }
+
+  @Override
+  public List<Inode> getLockedInodes() {
+    return new ArrayList<>(mInodes);
+  }
+
+  @Override
+  public Inode get(int index) {
+    return mInodes.get(index);
+  }
+
+  @Override
+  public int numInodes() {
+    return mInodes.size();
+  }
+
+  @Override
+  public boolean endsInInode() {
+    return !mEndsInEdge;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  @Override
+  public InodeLockManager getInodeLockManager() {
+    return mInodeLockManager;
+  }
+
+  @Override
+  public void close() {
+    mInodes.clear();
+    mVersions.clear();
+    mSize = 0;
+    mEndsInEdge = false;
+  }
+
+  @Override
+  public String toString() {
+    String path = mInodes.stream()
+        .map(Inode::getName)
+        .collect(Collectors.joining("/"));
+    return "Path: " + path + (mEndsInEdge ? ", ends in edge" : "");
+  }
+
+  private void checkReadMode(LockMode mode) {
+    if (mode != LockMode.READ) {
+      throw new UnsupportedOperationException("Optimistic lock lists cannot take write locks");
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.AlluxioURI;
+import alluxio.exception.InvalidPathException;
+import alluxio.master.file.meta.InodeTree.LockPattern;
+import alluxio.master.journal.NoopJournalContext;
+import alluxio.master.metastore.ReadOnlyInodeStore;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An inode path resolved without taking inode locks. Anything read through the path may be
+ * inconsistent until {@link #validate()} returns true, after which the reads are known to have
+ * seen the same state as a read-locked path would have.
+ *
+ * The path only supports reads of the inodes it resolved. Creating child or descendant paths
+ * from it is not supported.
+ */
+@NotThreadSafe
+public class OptimisticInodePath extends LockedInodePath {
+  private final OptimisticInodeLockList mOptimisticLockList;
+
+  /**
+   * Creates a new optimistic inode path. The path must be traversed before it is used.
+   *
+   * @param uri the uri for the path
+   * @param inodeStore the inode store for looking up inodes
+   * @param inodeLockManager the inode lock manager holding the inode versions
+   * @param root the root inode
+   */
+  public OptimisticInodePath(AlluxioURI uri, ReadOnlyInodeStore inodeStore,
+      InodeLockManager inodeLockManager, InodeDirectory root) throws InvalidPathException {
+    this(uri, inodeStore, new OptimisticInodeLockList(inodeLockManager, inodeStore), root);
+  }
+
+  private OptimisticInodePath(AlluxioURI uri, ReadOnlyInodeStore inodeStore,
+      OptimisticInodeLockList lockList, InodeDirectory root) throws InvalidPathException {
+    super(uri, inodeStore, lockList, root, LockPattern.READ, false, NoopJournalContext.INSTANCE);
+    mOptimisticLockList = lockList;
+  }
+
+  /**
+   * @return whether none of the inodes on the path have changed since they were resolved
+   */
+  public boolean validate() {
+    return mOptimisticLockList.validate();
+  }
+}
@@ -430,6 +430,7 @@ public abstract class Cache<K, V> implements Closeable {
         if (entry.mDirty) {
           return entry; // entry must have been written since we evicted.
         }
+        onEvict(entry.mKey, entry.mValue);
         onCacheRemove(entry.mKey);
         return null;
       });
@@ -464,6 +465,15 @@ public abstract class Cache<K, V> implements Closeable {
    */
   protected void onCacheRemove(K key) {}
 
+  /**
+   * Callback triggered when a clean entry is evicted from the cache. The value is the same as the
+   * value in the backing store.
+   *
+   * @param key the evicted key
+   * @param value the evicted value, or null if the key has been removed from the backing store
+   */
+  protected void onEvict(K key, @Nullable V value) {}
+
   /**
    * Callback triggered whenever a new key/value pair is added by put(key, value).
    *
@@ -120,6 +120,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   @VisibleForTesting
   final ListingCache mListingCache;
 
+  // Caches serialized inodes evicted from mInodeCache off-heap, or null if disabled.
+  @Nullable
+  private final OffHeapInodeCache mOffHeapInodeCache;
+
   // Starts true, but becomes permanently false if we ever need to spill metadata to the backing
   // store. When true, we can optimize lookups for non-existent inodes because we don't need to
   // check the backing store. We can also optimize getChildren by skipping the range query on the
@@ -154,6 +158,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
         .setHighWaterMark(highWaterMark).setLowWaterMark(lowWaterMark)
         .setEvictBatchSize(conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE))
         .build();
+    long offHeapSize = conf.getBytes(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE);
+    mOffHeapInodeCache = offHeapSize > 0 ? new OffHeapInodeCache(offHeapSize,
+        (int) conf.getBytes(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SLOT_SIZE)) : null;
     mInodeCache = new InodeCache(cacheConf);
     mEdgeCache = new EdgeCache(cacheConf);
     mListingCache = new ListingCache(cacheConf);
@@ -257,6 +264,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     Closer closer = Closer.create();
     // Close the backing store last so that cache eviction threads don't hit errors.
     closer.register(mBackingStore);
+    if (mOffHeapInodeCache != null) {
+      closer.register(mOffHeapInodeCache);
+    }
     closer.register(mInodeCache);
     closer.register(mEdgeCache);
     try {
@@ -326,6 +336,11 @@ public final class CachingInodeStore implements InodeStore, Closeable {
    * synchronization for operations on the same inode id. All inodes modifications must hold at
    * least an mLockManager read lock on the modified inode. This allows the cache to flush inodes
    * asynchronously by acquiring a write lock before serializing the inode.
+   * <p>
+   * If the off-heap inode cache is enabled, clean inodes evicted from this cache are serialized
+   * into it, and cache misses are looked up there before the backing store. The off-heap cache
+   * only ever holds the same version of an inode as the backing store, so it is invalidated
+   * whenever the backing store is written to directly.
    */
   @VisibleForTesting
   class InodeCache extends Cache<Long, MutableInode<?>> {
@@ -358,22 +373,63 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       if (mBackingStoreEmpty) {
         return Optional.empty();
       }
+      if (mOffHeapInodeCache != null) {
+        Optional<MutableInode<?>> inode = mOffHeapInodeCache.get(id);
+        if (inode.isPresent()) {
+          return inode;
+        }
+      }
       return mBackingStore.getMutable(id, ReadOption.defaults());
     }
 
     @Override
     protected void writeToBackingStore(Long key, MutableInode<?> value) {
       mBackingStoreEmpty = false;
+      if (mOffHeapInodeCache != null) {
+        mOffHeapInodeCache.remove(key);
+      }
       mBackingStore.writeInode(value);
     }
 
     @Override
     protected void removeFromBackingStore(Long key) {
+      if (mOffHeapInodeCache != null) {
+        mOffHeapInodeCache.remove(key);
+      }
       if (!mBackingStoreEmpty) {
         mBackingStore.remove(key);
       }
     }
 
+    @Override
+    protected void onEvict(Long id, @Nullable MutableInode<?> inode) {
+      if (mOffHeapInodeCache == null) {
+        return;
+      }
+      if (inode == null) {
+        mOffHeapInodeCache.remove(id);
+        return;
+      }
+      // Like flushing, serializing the inode requires that nobody is modifying it.
+      Optional<RWLockResource> lockOpt = mLockManager.tryLockInode(id, LockMode.WRITE);
+      if (!lockOpt.isPresent()) {
+        // The off-heap version may be older than the backing store version.
+        mOffHeapInodeCache.remove(id);
+        return;
+      }
+      try (LockResource lr = lockOpt.get()) {
+        mOffHeapInodeCache.put(inode);
+      }
+    }
+
+    @Override
+    public void clear() {
+      super.clear();
+      if (mOffHeapInodeCache != null) {
+        mOffHeapInodeCache.clear();
+      }
+    }
+
     @Override
     protected void flushEntries(List<Entry> entries) {
       mBackingStoreEmpty = false;
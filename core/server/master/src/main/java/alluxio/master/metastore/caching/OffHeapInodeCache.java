@@ -0,0 +1,308 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import alluxio.master.file.meta.MutableInode;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.meta.InodeMeta;
+import alluxio.util.io.BufferUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An off-heap cache of serialized inodes. {@link CachingInodeStore} uses it as a second cache tier
+ * between its on-heap inode cache and the backing store, so that many more inodes can be cached
+ * than fit on the heap without adding to garbage collection.
+ * <p>
+ * All memory is allocated up front as direct buffers (slabs), divided into fixed-size slots. A slot
+ * holds one serialized inode, and inodes which do not fit in a slot are not cached. Slots are
+ * grouped into sets of {@link #WAYS} slots, and an inode can only be cached in the set selected by
+ * the hash of its id. This way lookups need no on-heap index. Each set evicts with the CLOCK
+ * algorithm, using a referenced bit in each slot and a clock hand per set. The clock hands are the
+ * only heap memory growing with the cache size, one byte per set, or about 12MB for a cache sized
+ * for 100 million inodes.
+ * <p>
+ * Each slot is laid out as: inode id (8 bytes), serialized length (4 bytes, 0 if the slot is
+ * empty), referenced bit (1 byte), padding (3 bytes), serialized inode.
+ * <p>
+ * Operations on a set are serialized by a lock striped over the sets. Inodes are deserialized
+ * outside of the lock. After the cache is closed, it caches nothing and all lookups miss.
+ */
+@ThreadSafe
+public final class OffHeapInodeCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(OffHeapInodeCache.class);
+
+  /** Number of slots in each set. */
+  static final int WAYS = 8;
+  private static final int ID_OFFSET = 0;
+  private static final int LENGTH_OFFSET = 8;
+  private static final int REFERENCED_OFFSET = 12;
+  private static final int HEADER_SIZE = 16;
+  private static final int MAX_SLAB_SIZE = 1 << 30;
+  private static final int NUM_LOCKS = 1024;
+
+  private final int mSlotSize;
+  private final int mSlotsPerSlab;
+  private final int mNumSets;
+  private final ByteBuffer[] mSlabs;
+  /** The clock hand of each set, as the index of a slot within the set. */
+  private final byte[] mClockHands;
+  private final Object[] mLocks;
+  private final AtomicLong mSize = new AtomicLong();
+  private volatile boolean mClosed = false;
+
+  private final Counter mHits;
+  private final Counter mMisses;
+  private final Counter mEvictions;
+
+  /**
+   * @param capacityBytes the total size of the cache in bytes
+   * @param slotSize the size of a slot in bytes, including a header of 16 bytes
+   */
+  public OffHeapInodeCache(long capacityBytes, int slotSize) {
+    Preconditions.checkArgument(slotSize > HEADER_SIZE,
+        "Off-heap inode cache slot size %s must be larger than %s bytes", slotSize, HEADER_SIZE);
+    Preconditions.checkArgument(capacityBytes >= (long) slotSize * WAYS,
+        "Off-heap inode cache size %s must hold at least %s slots of %s bytes",
+        capacityBytes, WAYS, slotSize);
+    mSlotSize = slotSize;
+    // A set never spans two slabs.
+    mSlotsPerSlab = Math.max(WAYS, MAX_SLAB_SIZE / slotSize / WAYS * WAYS);
+    long numSets = capacityBytes / slotSize / WAYS;
+    Preconditions.checkArgument(numSets <= Integer.MAX_VALUE,
+        "Off-heap inode cache size %s is too large for slot size %s", capacityBytes, slotSize);
+    mNumSets = (int) numSets;
+    long numSlots = numSets * WAYS;
+    int numSlabs = (int) ((numSlots + mSlotsPerSlab - 1) / mSlotsPerSlab);
+    mSlabs = new ByteBuffer[numSlabs];
+    for (int i = 0; i < numSlabs; i++) {
+      long slots = Math.min(mSlotsPerSlab, numSlots - (long) i * mSlotsPerSlab);
+      // Direct buffers are zeroed, so all slots start empty.
+      mSlabs[i] = ByteBuffer.allocateDirect((int) (slots * slotSize));
+    }
+    mClockHands = new byte[mNumSets];
+    mLocks = new Object[Math.min(NUM_LOCKS, mNumSets)];
+    for (int i = 0; i < mLocks.length; i++) {
+      mLocks[i] = new Object();
+    }
+    mHits = MetricsSystem.counter(MetricKey.MASTER_INODE_OFFHEAP_CACHE_HITS.getName());
+    mMisses = MetricsSystem.counter(MetricKey.MASTER_INODE_OFFHEAP_CACHE_MISSES.getName());
+    mEvictions = MetricsSystem.counter(MetricKey.MASTER_INODE_OFFHEAP_CACHE_EVICTIONS.getName());
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_OFFHEAP_CACHE_SIZE.getName(),
+        mSize::get);
+    LOG.info("Allocated {} bytes for {} off-heap inode cache slots of {} bytes",
+        numSlots * slotSize, numSlots, slotSize);
+  }
+
+  /**
+   * @param id an inode id
+   * @return the cached inode, or empty if the inode is not cached
+   */
+  public Optional<MutableInode<?>> get(long id) {
+    int set = setOf(id);
+    byte[] bytes = null;
+    synchronized (lockOf(set)) {
+      long slot = find(set, id);
+      if (slot >= 0) {
+        ByteBuffer buf = slab(slot);
+        int offset = offset(slot);
+        bytes = new byte[buf.getInt(offset + LENGTH_OFFSET)];
+        buf.put(offset + REFERENCED_OFFSET, (byte) 1);
+        ByteBuffer dup = buf.duplicate();
+        dup.position(offset + HEADER_SIZE);
+        dup.get(bytes);
+      }
+    }
+    if (bytes == null) {
+      mMisses.inc();
+      return Optional.empty();
+    }
+    mHits.inc();
+    try {
+      return Optional.of(MutableInode.fromProto(InodeMeta.Inode.parseFrom(bytes)));
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException(
+          String.format("Failed to parse off-heap cached inode %s", id), e);
+    }
+  }
+
+  /**
+   * Caches an inode, replacing any cached version of it. If the inode does not fit in a slot, any
+   * cached version of it is removed instead.
+   *
+   * @param inode the inode to cache
+   */
+  public void put(MutableInode<?> inode) {
+    byte[] bytes = inode.toProto().toByteArray();
+    long id = inode.getId();
+    if (bytes.length > mSlotSize - HEADER_SIZE) {
+      remove(id);
+      return;
+    }
+    int set = setOf(id);
+    synchronized (lockOf(set)) {
+      if (mClosed) {
+        return;
+      }
+      long slot = find(set, id);
+      if (slot < 0) {
+        slot = findVictim(set);
+      }
+      ByteBuffer buf = slab(slot);
+      int offset = offset(slot);
+      if (buf.getInt(offset + LENGTH_OFFSET) == 0) {
+        mSize.incrementAndGet();
+      } else if (buf.getLong(offset + ID_OFFSET) != id) {
+        mEvictions.inc();
+      }
+      buf.putLong(offset + ID_OFFSET, id);
+      buf.putInt(offset + LENGTH_OFFSET, bytes.length);
+      buf.put(offset + REFERENCED_OFFSET, (byte) 0);
+      ByteBuffer dup = buf.duplicate();
+      dup.position(offset + HEADER_SIZE);
+      dup.put(bytes);
+    }
+  }
+
+  /**
+   * Removes an inode from the cache if it is cached.
+   *
+   * @param id the inode id
+   */
+  public void remove(long id) {
+    int set = setOf(id);
+    synchronized (lockOf(set)) {
+      long slot = find(set, id);
+      if (slot >= 0) {
+        slab(slot).putInt(offset(slot) + LENGTH_OFFSET, 0);
+        mSize.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Removes all inodes from the cache.
+   */
+  public void clear() {
+    for (int set = 0; set < mNumSets; set++) {
+      synchronized (lockOf(set)) {
+        if (mClosed) {
+          return;
+        }
+        for (int i = 0; i < WAYS; i++) {
+          long slot = (long) set * WAYS + i;
+          ByteBuffer buf = slab(slot);
+          int offset = offset(slot);
+          if (buf.getInt(offset + LENGTH_OFFSET) != 0) {
+            buf.putInt(offset + LENGTH_OFFSET, 0);
+            mSize.decrementAndGet();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the number of cached inodes
+   */
+  public long size() {
+    return mSize.get();
+  }
+
+  @Override
+  public void close() {
+    mClosed = true;
+    // Wait for operations in progress, later operations see that the cache is closed.
+    for (Object lock : mLocks) {
+      synchronized (lock) {
+        // Only waits for the lock holder.
+      }
+    }
+    for (int i = 0; i < mSlabs.length; i++) {
+      if (mSlabs[i] != null) {
+        BufferUtils.cleanDirectBuffer(mSlabs[i]);
+        mSlabs[i] = null;
+      }
+    }
+  }
+
+  /**
+   * @return the slot holding the inode in the set, or -1 if the inode is not cached
+   */
+  private long find(int set, long id) {
+    if (mClosed) {
+      return -1;
+    }
+    for (int i = 0; i < WAYS; i++) {
+      long slot = (long) set * WAYS + i;
+      ByteBuffer buf = slab(slot);
+      int offset = offset(slot);
+      if (buf.getInt(offset + LENGTH_OFFSET) != 0 && buf.getLong(offset + ID_OFFSET) == id) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return an empty slot in the set, or the slot chosen by the clock of the set
+   */
+  private long findVictim(int set) {
+    for (int i = 0; i < WAYS; i++) {
+      long slot = (long) set * WAYS + i;
+      if (slab(slot).getInt(offset(slot) + LENGTH_OFFSET) == 0) {
+        return slot;
+      }
+    }
+    // The hand clears referenced bits as it passes them, so it stops within two rounds.
+    int hand = mClockHands[set];
+    while (true) {
+      long slot = (long) set * WAYS + hand;
+      hand = (hand + 1) % WAYS;
+      ByteBuffer buf = slab(slot);
+      int offset = offset(slot);
+      if (buf.get(offset + REFERENCED_OFFSET) == 0) {
+        mClockHands[set] = (byte) hand;
+        return slot;
+      }
+      buf.put(offset + REFERENCED_OFFSET, (byte) 0);
+    }
+  }
+
+  private int setOf(long id) {
+    long h = id * 0x9e3779b97f4a7c15L;
+    return (int) Long.remainderUnsigned(h ^ (h >>> 32), mNumSets);
+  }
+
+  private Object lockOf(int set) {
+    return mLocks[set % mLocks.length];
+  }
+
+  private ByteBuffer slab(long slot) {
+    return mSlabs[(int) (slot / mSlotsPerSlab)];
+  }
+
+  private int offset(long slot) {
+    return (int) (slot % mSlotsPerSlab) * mSlotSize;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.LoadMetadataPType;
+import alluxio.master.file.contexts.GetStatusContext;
+import alluxio.master.file.contexts.RenameContext;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.wire.FileInfo;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for getting file info from {@link FileSystemMaster} without inode locks.
+ */
+public final class FileSystemMasterOptimisticReadTest extends FileSystemMasterTestBase {
+  @Override
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED, true);
+    super.before();
+  }
+
+  @Test
+  public void getFileInfoWithoutLocks() throws Exception {
+    createFileWithSingleBlock(NESTED_FILE_URI);
+    long ops = optimisticOps();
+    long fallbacks = optimisticFallbacks();
+
+    FileInfo info = mFileSystemMaster.getFileInfo(NESTED_FILE_URI, GetStatusContext.defaults());
+    assertEquals(NESTED_FILE_URI.getPath(), info.getPath());
+    assertEquals(Constants.KB, info.getLength());
+    assertTrue(info.isCompleted());
+    assertEquals(1, info.getFileBlockInfos().size());
+
+    info = mFileSystemMaster.getFileInfo(NESTED_URI, GetStatusContext.defaults());
+    assertTrue(info.isFolder());
+    assertEquals(1, info.getLength());
+
+    assertEquals(ops + 2, optimisticOps());
+    assertEquals(fallbacks, optimisticFallbacks());
+  }
+
+  @Test
+  public void missingPathFallsBack() throws Exception {
+    long fallbacks = optimisticFallbacks();
+    mThrown.expect(FileDoesNotExistException.class);
+    try {
+      mFileSystemMaster.getFileInfo(NESTED_FILE_URI, GetStatusContext.defaults());
+    } finally {
+      assertEquals(fallbacks + 1, optimisticFallbacks());
+    }
+  }
+
+  @Test
+  public void getFileInfoDuringRenames() throws Exception {
+    AlluxioURI src = NESTED_URI.join("src");
+    AlluxioURI dst = NESTED_URI.join("dst");
+    createFileWithSingleBlock(src);
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread renamer = new Thread(() -> {
+      try {
+        AuthenticatedClientUser.set(TEST_USER);
+        for (int i = 0; i < 200; i++) {
+          mFileSystemMaster.rename(src, dst, RenameContext.defaults());
+          mFileSystemMaster.rename(dst, src, RenameContext.defaults());
+        }
+      } catch (Throwable t) {
+        error.set(t);
+      } finally {
+        done.set(true);
+      }
+    });
+    renamer.start();
+    // Do not load metadata for the file while it is renamed.
+    GetStatusContext context = GetStatusContext.mergeFrom(
+        GetStatusPOptions.newBuilder().setLoadMetadataType(LoadMetadataPType.NEVER));
+    while (!done.get()) {
+      try {
+        FileInfo info = mFileSystemMaster.getFileInfo(src, context);
+        assertEquals(src.getName(), info.getName());
+        assertEquals(src.getPath(), info.getPath());
+        assertEquals(Constants.KB, info.getLength());
+      } catch (FileDoesNotExistException e) {
+        // The file is renamed to dst.
+      }
+    }
+    renamer.join();
+    assertNull(error.get());
+    FileInfo info = mFileSystemMaster.getFileInfo(src, GetStatusContext.defaults());
+    assertEquals(src.getName(), info.getName());
+  }
+
+  private static long optimisticOps() {
+    return MetricsSystem.counter(MetricKey.MASTER_OPTIMISTIC_GET_FILE_INFO_OPS.getName())
+        .getCount();
+  }
+
+  private static long optimisticFallbacks() {
+    return MetricsSystem.counter(MetricKey.MASTER_OPTIMISTIC_GET_FILE_INFO_FALLBACKS.getName())
+        .getCount();
+  }
+}
@@ -14,10 +14,13 @@ package alluxio.master.file.meta;
 import static org.junit.Assert.assertFalse;
 
 import alluxio.concurrent.LockMode;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.master.file.contexts.CreateFileContext;
 import alluxio.resource.LockResource;
 import alluxio.util.CommonUtils;
 
+import org.junit.After;
 import org.junit.Test;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -26,6 +29,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Unit tests for {@link InodeLockManager}.
  */
 public class InodeLockManagerTest {
+  @After
+  public void after() {
+    Configuration.reloadProperties();
+  }
+
   @Test(timeout = 10000)
   public void lockInode() throws Exception {
     inodeLockTest(LockMode.WRITE, LockMode.READ, true);
@@ -42,6 +50,14 @@ public class InodeLockManagerTest {
     edgeLockTest(LockMode.READ, LockMode.READ, false);
   }
 
+  @Test(timeout = 10000)
+  public void lockWithStripes() throws Exception {
+    Configuration.set(PropertyKey.MASTER_LOCK_POOL_STRIPED_ENABLED, true);
+    Configuration.set(PropertyKey.MASTER_LOCK_POOL_STRIPES, 1);
+    lockInode();
+    lockEdge();
+  }
+
   private void inodeLockTest(LockMode take, LockMode tryToTake, boolean expectBlocking)
       throws Exception {
     InodeLockManager lockManager = new InodeLockManager();
@@ -0,0 +1,106 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.concurrent.LockMode;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.interfaces.Scoped;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link OptimisticInodeLockList}.
+ */
+public class OptimisticInodeLockListTest extends BaseInodeLockingTest {
+  private OptimisticInodeLockList mLockList;
+
+  @Before
+  public void before() {
+    Configuration.set(PropertyKey.MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED, true);
+    mInodeLockManager = new InodeLockManager();
+    mLockList = new OptimisticInodeLockList(mInodeLockManager, mInodeStore);
+  }
+
+  @After
+  public void after() {
+    mLockList.close();
+    super.after();
+    Configuration.reloadProperties();
+  }
+
+  @Test
+  public void resolveWithoutLocks() {
+    mLockList.lockRootEdge(LockMode.READ);
+    mLockList.lockInode(mRootDir, LockMode.READ);
+    mLockList.lockEdge(mRootDir, mDirA.getName(), LockMode.READ);
+    mLockList.lockInode(mDirA, LockMode.READ);
+    assertEquals(LockMode.READ, mLockList.getLockMode());
+    assertTrue(mLockList.endsInInode());
+    assertEquals(Arrays.asList(mRootDir.getId(), mDirA.getId()),
+        mLockList.getLockedInodes().stream().map(Inode::getId).collect(Collectors.toList()));
+    assertTrue(mLockList.validate());
+
+    checkOnlyNodesReadLocked();
+    checkOnlyIncomingEdgesReadLocked();
+  }
+
+  @Test
+  public void changeInvalidates() {
+    mLockList.lockRootEdge(LockMode.READ);
+    mLockList.lockInode(mRootDir, LockMode.READ);
+    mLockList.lockEdge(mRootDir, mDirA.getName(), LockMode.READ);
+    mLockList.lockInode(mDirA, LockMode.READ);
+    try (Scoped versions = mInodeLockManager.lockVersions(mDirA.getId())) {
+      assertFalse(mLockList.validate());
+    }
+    assertFalse(mLockList.validate());
+  }
+
+  @Test
+  public void resolveDuringChange() {
+    mLockList.lockRootEdge(LockMode.READ);
+    mLockList.lockInode(mRootDir, LockMode.READ);
+    mLockList.lockEdge(mRootDir, mDirA.getName(), LockMode.READ);
+    try (Scoped versions = mInodeLockManager.lockVersions(mDirA.getId(), mDirB.getId())) {
+      mLockList.lockInode(mDirA, LockMode.READ);
+    }
+    assertFalse(mLockList.validate());
+  }
+
+  @Test
+  public void unlockLastEdge() {
+    mLockList.lockRootEdge(LockMode.READ);
+    mLockList.lockInode(mRootDir, LockMode.READ);
+    mLockList.lockEdge(mRootDir, "missing", LockMode.READ);
+    assertFalse(mLockList.endsInInode());
+    mLockList.unlockLastEdge();
+    assertTrue(mLockList.endsInInode());
+    assertEquals(1, mLockList.numInodes());
+    assertTrue(mLockList.validate());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void writeLockUnsupported() {
+    mLockList.lockRootEdge(LockMode.READ);
+    mLockList.lockInode(mRootDir, LockMode.WRITE);
+  }
+}
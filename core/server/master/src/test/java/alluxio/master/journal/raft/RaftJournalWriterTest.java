@@ -11,6 +11,10 @@
 
 package alluxio.master.journal.raft;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
@@ -19,6 +23,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import alluxio.exception.JournalClosedException;
 import alluxio.proto.journal.File;
 import alluxio.proto.journal.Journal;
 
@@ -29,11 +34,13 @@ import org.apache.ratis.protocol.RaftGroupId;
 import org.apache.ratis.protocol.RaftGroupMemberId;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -44,11 +51,12 @@ import java.util.concurrent.TimeUnit;
 public class RaftJournalWriterTest {
   private RaftJournalAppender mClient;
   private RaftJournalWriter mRaftJournalWriter;
+  private RaftClientReply mReply;
 
   @Before
   public void setupRaftJournalWriter() throws IOException  {
     mClient = mock(RaftJournalAppender.class);
-    RaftClientReply reply = RaftClientReply.newBuilder()
+    mReply = RaftClientReply.newBuilder()
             .setClientId(ClientId.randomId())
             .setServerId(
               RaftGroupMemberId.valueOf(RaftJournalUtils.getPeerId(new InetSocketAddress(1)),
@@ -60,6 +68,7 @@ public class RaftJournalWriterTest {
             .setLogIndex(1L)
             .setCommitInfos(null)
             .build();
+    RaftClientReply reply = mReply;
 
     CompletableFuture<RaftClientReply> future = new CompletableFuture<RaftClientReply>() {
       @Override
@@ -114,6 +123,80 @@ public class RaftJournalWriterTest {
     verify(mClient, times(2)).sendAsync(any());
   }
 
+  @Test
+  public void flushAsyncPipelinesAppends() throws Exception {
+    CompletableFuture<RaftClientReply> first = new CompletableFuture<>();
+    CompletableFuture<RaftClientReply> second = new CompletableFuture<>();
+    when(mClient.sendAsync(any())).thenReturn(first, second);
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> firstFlush = mRaftJournalWriter.flushAsync();
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> secondFlush = mRaftJournalWriter.flushAsync();
+    // both appends are in flight
+    verify(mClient, times(2)).sendAsync(any());
+
+    second.complete(mReply);
+    assertFalse(secondFlush.isDone());
+    first.complete(mReply);
+    assertTrue(firstFlush.isDone());
+    assertTrue(secondFlush.isDone());
+    assertFalse(secondFlush.isCompletedExceptionally());
+
+    mRaftJournalWriter.flush();
+    verify(mClient, times(2)).sendAsync(any());
+  }
+
+  @Test
+  public void flushAsyncRetriesFailedLastAppend() throws Exception {
+    CompletableFuture<RaftClientReply> first = new CompletableFuture<>();
+    ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+    when(mClient.sendAsync(messages.capture())).thenReturn(first,
+        CompletableFuture.completedFuture(mReply));
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> firstFlush = mRaftJournalWriter.flushAsync();
+    first.completeExceptionally(new IOException("append failed"));
+    assertTrue(firstFlush.isCompletedExceptionally());
+
+    // no later append is in flight, so the failed append is retried before any later entries
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> secondFlush = mRaftJournalWriter.flushAsync();
+    assertTrue(secondFlush.isDone());
+    assertFalse(secondFlush.isCompletedExceptionally());
+    List<Message> sent = messages.getAllValues();
+    assertEquals(3, sent.size());
+    assertEquals(sent.get(0).getContent(), sent.get(1).getContent());
+    assertEquals(2, Journal.JournalEntry.parseFrom(sent.get(2).getContent().toByteArray())
+        .getJournalEntries(0).getSequenceNumber());
+  }
+
+  @Test
+  public void flushAsyncClosesWriterWhenAppendFailsBeforeLaterCommit() throws Exception {
+    CompletableFuture<RaftClientReply> first = new CompletableFuture<>();
+    CompletableFuture<RaftClientReply> second = new CompletableFuture<>();
+    when(mClient.sendAsync(any())).thenReturn(first, second,
+        CompletableFuture.completedFuture(mReply));
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    mRaftJournalWriter.flushAsync();
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> secondFlush = mRaftJournalWriter.flushAsync();
+    // append N fails while append N+1 commits
+    first.completeExceptionally(new IOException("append failed"));
+    second.complete(mReply);
+    assertTrue(secondFlush.isCompletedExceptionally());
+
+    // retrying append N would commit it after append N+1, so the writer fails instead
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    assertThrows(IOException.class, () -> mRaftJournalWriter.flushAsync());
+    verify(mClient, times(2)).sendAsync(any());
+    verify(mClient).close();
+    assertThrows(JournalClosedException.class,
+        () -> mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance()));
+    assertThrows(JournalClosedException.class, () -> mRaftJournalWriter.flush());
+  }
+
   @Test
   public void writeTriggerFlush() throws Exception {
     int flushBatchSize = 128;
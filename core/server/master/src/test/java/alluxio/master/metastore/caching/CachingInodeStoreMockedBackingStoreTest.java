@@ -36,6 +36,7 @@ import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOption;
 import alluxio.master.metastore.heap.HeapInodeStore;
 import alluxio.resource.CloseableIterator;
+import alluxio.util.CommonUtils;
 
 import com.google.common.collect.ImmutableMap;
 import io.netty.util.ResourceLeakDetector;
@@ -236,7 +237,7 @@ public class CachingInodeStoreMockedBackingStoreTest {
       }
       return null;
     }));
-    alluxio.util.CommonUtils.waitFor("eviction thread to finish",
+    CommonUtils.waitFor("eviction thread to finish",
         () -> mStore.mEdgeCache.mEvictionThread.mIsSleeping);
     mStore.mEdgeCache.verifyIndices();
   }
@@ -301,6 +302,38 @@ public class CachingInodeStoreMockedBackingStoreTest {
     assertEquals(CACHE_SIZE / 2, CloseableIterator.size(mBackingStore.getChildren(0L)));
   }
 
+  @Test
+  public void offHeapCache() throws Exception {
+    mStore.close();
+    mConf.set(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE, "1MB");
+    mStore = new CachingInodeStore(mBackingStore, new InodeLockManager());
+    for (long inodeId = 10; inodeId < 10 + CACHE_SIZE * 2; inodeId++) {
+      createInodeDirAndWaitForEviction(inodeId);
+    }
+    Mockito.clearInvocations(mBackingStore);
+    for (long inodeId = 10; inodeId < 10 + CACHE_SIZE * 2; inodeId++) {
+      assertEquals(Long.toString(inodeId), mStore.get(inodeId).get().getName());
+    }
+    // Evicted inodes are read from the off-heap cache.
+    verify(mBackingStore, times(0)).getMutable(anyLong(), any(ReadOption.class));
+
+    // Removals of evicted inodes must not be shadowed by the off-heap cache.
+    mStore.remove(mStore.getMutable(10).get());
+    for (long inodeId = 100; inodeId < 100 + CACHE_SIZE * 2; inodeId++) {
+      createInodeDirAndWaitForEviction(inodeId);
+    }
+    assertFalse(mStore.mInodeCache.getCacheMap().containsKey(10L));
+    assertFalse(mStore.get(10).isPresent());
+  }
+
+  private void createInodeDirAndWaitForEviction(long id) throws Exception {
+    createInodeDir(id, 0);
+    // Never let the cache fill up, so that all inodes leave it through eviction.
+    CommonUtils.waitFor("eviction thread to finish",
+        () -> mStore.mInodeCache.mEvictionThread.mIsSleeping
+            && mStore.mInodeCache.getCacheMap().size() <= CACHE_SIZE * 0.8);
+  }
+
   private MutableInodeDirectory createInodeDir(long id, long parentId) {
     MutableInodeDirectory dir = MutableInodeDirectory.create(id, parentId, Long.toString(id),
         CreateDirectoryContext.defaults());
@@ -0,0 +1,128 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.master.file.meta.MutableInode;
+import alluxio.master.file.meta.MutableInodeDirectory;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Unit tests for {@link OffHeapInodeCache}.
+ */
+public class OffHeapInodeCacheTest {
+  private static final int SLOT_SIZE = 512;
+
+  private OffHeapInodeCache mCache;
+
+  @After
+  public void after() {
+    if (mCache != null) {
+      mCache.close();
+    }
+  }
+
+  @Test
+  public void putGetRemove() {
+    mCache = new OffHeapInodeCache(1024 * 1024, SLOT_SIZE);
+    for (long id = 1; id <= 100; id++) {
+      mCache.put(createInodeDir(id, "dir" + id));
+    }
+    assertEquals(100, mCache.size());
+    for (long id = 1; id <= 100; id++) {
+      Optional<MutableInode<?>> inode = mCache.get(id);
+      assertTrue(inode.isPresent());
+      assertEquals(createInodeDir(id, "dir" + id), inode.get());
+    }
+    assertFalse(mCache.get(101).isPresent());
+    mCache.remove(50);
+    assertFalse(mCache.get(50).isPresent());
+    assertEquals(99, mCache.size());
+  }
+
+  @Test
+  public void overwrite() {
+    mCache = new OffHeapInodeCache(1024 * 1024, SLOT_SIZE);
+    mCache.put(createInodeDir(1, "old"));
+    mCache.put(createInodeDir(1, "new"));
+    assertEquals(1, mCache.size());
+    assertEquals("new", mCache.get(1).get().getName());
+  }
+
+  @Test
+  public void evictWithinSet() {
+    // A single set, so all inodes compete for the same slots.
+    mCache = new OffHeapInodeCache(SLOT_SIZE * OffHeapInodeCache.WAYS, SLOT_SIZE);
+    for (long id = 1; id <= OffHeapInodeCache.WAYS; id++) {
+      mCache.put(createInodeDir(id, "dir" + id));
+    }
+    // Reference all inodes except the first, which should then be the victim.
+    for (long id = 2; id <= OffHeapInodeCache.WAYS; id++) {
+      assertTrue(mCache.get(id).isPresent());
+    }
+    mCache.put(createInodeDir(100, "dir100"));
+    assertEquals(OffHeapInodeCache.WAYS, mCache.size());
+    assertFalse(mCache.get(1).isPresent());
+    assertTrue(mCache.get(100).isPresent());
+    for (long id = 2; id <= OffHeapInodeCache.WAYS; id++) {
+      assertTrue(mCache.get(id).isPresent());
+    }
+  }
+
+  @Test
+  public void oversizedInode() {
+    mCache = new OffHeapInodeCache(1024 * 1024, SLOT_SIZE);
+    mCache.put(createInodeDir(1, "small"));
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < SLOT_SIZE; i++) {
+      name.append('a');
+    }
+    // Too large for a slot, the stale version must not be served.
+    mCache.put(createInodeDir(1, name.toString()));
+    assertFalse(mCache.get(1).isPresent());
+    assertEquals(0, mCache.size());
+  }
+
+  @Test
+  public void clear() {
+    mCache = new OffHeapInodeCache(1024 * 1024, SLOT_SIZE);
+    for (long id = 1; id <= 10; id++) {
+      mCache.put(createInodeDir(id, "dir" + id));
+    }
+    mCache.clear();
+    assertEquals(0, mCache.size());
+    for (long id = 1; id <= 10; id++) {
+      assertFalse(mCache.get(id).isPresent());
+    }
+  }
+
+  @Test
+  public void getAfterClose() {
+    mCache = new OffHeapInodeCache(1024 * 1024, SLOT_SIZE);
+    mCache.put(createInodeDir(1, "dir"));
+    mCache.close();
+    assertFalse(mCache.get(1).isPresent());
+    mCache = null;
+  }
+
+  private static MutableInodeDirectory createInodeDir(long id, String name) {
+    return MutableInodeDirectory.create(id, 0, name, CreateDirectoryContext.defaults());
+  }
+}
@@ -30,8 +30,10 @@ import alluxio.web.WebServer;
 import alluxio.web.WorkerWebServer;
 import alluxio.wire.TieredIdentity;
 import alluxio.wire.WorkerNetAddress;
+import alluxio.worker.block.BlockStoreType;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.grpc.GrpcDataServer;
+import alluxio.worker.netty.FileTransferDataServer;
 
 import io.netty.channel.unix.DomainSocketAddress;
 import org.slf4j.Logger;
@@ -62,6 +64,9 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
   /** If started (i.e. not null), this server is used to serve local data transfer. */
   private DataServer mDomainSocketDataServer;
 
+  /** If started (i.e. not null), this server is used to transfer block files to clients. */
+  private FileTransferDataServer mFileTransferDataServer;
+
   /** The worker registry. */
   private final WorkerRegistry mRegistry;
 
@@ -133,8 +138,17 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
         // Close it.
         mBindSocket.close();
       }
+      // Setup file transfer data server, whose reads are granted by the data servers
+      if (isFileTransferEnabled()) {
+        mFileTransferDataServer = new FileTransferDataServer(
+            new InetSocketAddress(configuredBindAddress.getHostName(),
+                Configuration.getInt(PropertyKey.WORKER_NETWORK_FILE_TRANSFER_PORT)),
+            mRegistry.get(BlockWorker.class).getBlockStore());
+      }
+
       // Setup Data server
-      mDataServer = new GrpcDataServer(mRpcConnectAddress.getHostName(), mRpcBindAddress, this);
+      mDataServer = new GrpcDataServer(mRpcConnectAddress.getHostName(), mRpcBindAddress, this,
+          mFileTransferDataServer);
 
       // Setup domain socket data server
       if (isDomainSocketEnabled()) {
@@ -146,7 +160,7 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
         }
         LOG.info("Domain socket data server is enabled at {}.", domainSocketPath);
         mDomainSocketDataServer = new GrpcDataServer(mRpcConnectAddress.getHostName(),
-            new DomainSocketAddress(domainSocketPath), this);
+            new DomainSocketAddress(domainSocketPath), this, mFileTransferDataServer);
         // Share domain socket so that clients can access it.
         FileUtils.changeLocalFileToFullPermission(domainSocketPath);
       }
@@ -284,6 +298,10 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
       mDomainSocketDataServer.close();
       mDomainSocketDataServer = null;
     }
+    if (mFileTransferDataServer != null) {
+      mFileTransferDataServer.close();
+      mFileTransferDataServer = null;
+    }
     mUfsManager.close();
     try {
       mWebServer.stop();
@@ -293,6 +311,23 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
     MetricsSystem.stopSinks();
   }
 
+  /**
+   * @return true if the file transfer data server is enabled
+   */
+  private boolean isFileTransferEnabled() {
+    if (!Configuration.getBoolean(PropertyKey.WORKER_NETWORK_FILE_TRANSFER_ENABLED)) {
+      return false;
+    }
+    if (Configuration.getEnum(PropertyKey.WORKER_BLOCK_STORE_TYPE, BlockStoreType.class)
+        != BlockStoreType.FILE) {
+      LOG.warn("{} is only supported by the {} block store, not starting the file transfer "
+          + "data server.", PropertyKey.Name.WORKER_NETWORK_FILE_TRANSFER_ENABLED,
+          BlockStoreType.FILE);
+      return false;
+    }
+    return true;
+  }
+
   /**
    * @return true if domain socket is enabled
    */
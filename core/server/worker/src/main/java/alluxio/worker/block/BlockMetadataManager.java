@@ -45,7 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.IntStream;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Manages the metadata of all blocks in managed space. This information is used by the
@@ -53,8 +53,16 @@ import javax.annotation.concurrent.NotThreadSafe;
  * <p>
  * All operations on block metadata such as {@link StorageTier}, {@link StorageDir} should go
  * through this class.
+ * <p>
+ * This class is called concurrently by {@link TieredBlockStore}, which is responsible for the
+ * locking: the metadata of a block is only read or updated under the block's striped metadata
+ * lock in {@link TieredBlockStore}, space is only allocated, reserved or given up, including by
+ * committing or moving a block, under the store's allocation lock, and every operation holds the
+ * read lock of the store's metadata lock, whose write lock is only taken to remove storage
+ * directories. Updates to a {@link StorageDir} are synchronized by the dir itself, so lookups of
+ * different blocks do not need to lock each other out.
  */
-@NotThreadSafe
+@ThreadSafe
 // TODO(bin): consider how to better expose information to Evictor and Allocator.
 public final class BlockMetadataManager {
   private static final Logger LOG = LoggerFactory.getLogger(BlockMetadataManager.class);
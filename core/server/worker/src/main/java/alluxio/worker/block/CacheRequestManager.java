@@ -27,14 +27,17 @@ import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
 import alluxio.util.logging.SamplingLogger;
 import alluxio.util.network.NetworkAddressUtils;
+import alluxio.worker.block.io.BlockIoScheduler;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
+import alluxio.worker.block.io.IoClass;
 
 import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Objects;
@@ -243,16 +246,19 @@ public class CacheRequestManager {
       return CacheResult.ALREADY_CACHED;
     }
     Protocol.OpenUfsBlockOptions openUfsBlockOptions = request.getOpenUfsBlockOptions();
-    // Depends on the request, cache the target block from different sources
-    if (isSourceLocal) {
-      CACHE_UFS_BLOCKS.inc();
-      result = cacheBlockFromUfs(blockId, blockLength, openUfsBlockOptions);
-    } else {
-      CACHE_REMOTE_BLOCKS.inc();
-      InetSocketAddress sourceAddress =
-          new InetSocketAddress(request.getSourceHost(), request.getSourcePort());
-      result =
-          cacheBlockFromRemoteWorker(blockId, blockLength, sourceAddress, openUfsBlockOptions);
+    // Writes to the local block store are scheduled as cache fills
+    try (Closeable ioClass = BlockIoScheduler.withIoClass(IoClass.CACHE_FILL)) {
+      // Depends on the request, cache the target block from different sources
+      if (isSourceLocal) {
+        CACHE_UFS_BLOCKS.inc();
+        result = cacheBlockFromUfs(blockId, blockLength, openUfsBlockOptions);
+      } else {
+        CACHE_REMOTE_BLOCKS.inc();
+        InetSocketAddress sourceAddress =
+            new InetSocketAddress(request.getSourceHost(), request.getSourcePort());
+        result =
+            cacheBlockFromRemoteWorker(blockId, blockLength, sourceAddress, openUfsBlockOptions);
+      }
     }
     LOG.debug("Result of caching block {}: {}", blockId, result);
     return result;
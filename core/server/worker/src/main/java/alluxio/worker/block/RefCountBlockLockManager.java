@@ -0,0 +1,345 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.concurrent.ClientRWLock;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Handle all block locks with reference counted locks created on demand. Unlike
+ * {@link DefaultBlockLockManager}, the number of blocks locked at the same time is not bounded by
+ * a pool of locks, so that lock acquisition never waits for a lock to be returned to the pool.
+ *
+ * The lock of a block lives in a concurrent map while it is referenced by any holder or waiter,
+ * and is put into a free list for reuse once the last reference is dropped. Lock records are
+ * indexed by lock id and by session in concurrent maps, so that neither locking nor unlocking
+ * takes a global lock. The time spent waiting for block locks is recorded in
+ * {@link MetricKey#WORKER_BLOCK_READ_LOCK_WAIT_TIME} and
+ * {@link MetricKey#WORKER_BLOCK_WRITE_LOCK_WAIT_TIME}.
+ */
+@ThreadSafe
+public final class RefCountBlockLockManager implements BlockLockManager {
+  private static final Logger LOG = LoggerFactory.getLogger(RefCountBlockLockManager.class);
+
+  /** The unique id of each lock. */
+  private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
+  private static final int MAX_READERS = Configuration.getInt(
+      PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCK_READERS);
+
+  /** The max number of released locks kept for reuse. */
+  private final int mMaxFreeLocks =
+      Configuration.getInt(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS);
+
+  /** Released locks kept for reuse. */
+  private final ConcurrentLinkedQueue<ClientRWLock> mFreeLocks = new ConcurrentLinkedQueue<>();
+
+  /** The number of locks in {@link #mFreeLocks}. */
+  private final AtomicInteger mNumFreeLocks = new AtomicInteger();
+
+  /** A map from block id to the read write lock used to guard that block. */
+  private final ConcurrentHashMap<Long, ClientRWLock> mLocks = new ConcurrentHashMap<>();
+
+  /** A map from lock id to the record of the lock currently held by a client. */
+  private final ConcurrentHashMap<Long, LockRecord> mLockRecords = new ConcurrentHashMap<>();
+
+  /**
+   * A map from session id to the records of locks held by the session. The set of a session is
+   * only updated within the atomic compute methods of the map.
+   */
+  private final ConcurrentHashMap<Long, Set<LockRecord>> mSessionLockRecords =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new {@link RefCountBlockLockManager}.
+   */
+  public RefCountBlockLockManager() {}
+
+  @Override
+  public BlockLock acquireBlockLock(long sessionId, long blockId, BlockLockType blockLockType) {
+    OptionalLong lockId = lockBlockInternal(sessionId, blockId, blockLockType, true, null, null);
+    Preconditions.checkState(lockId.isPresent(), "lockBlock should always return a lockId");
+    return new BlockLock(lockId.getAsLong(), this::unlockBlock);
+  }
+
+  @Override
+  public Optional<BlockLock> tryAcquireBlockLock(long sessionId, long blockId,
+      BlockLockType blockLockType, long time, TimeUnit unit) {
+    OptionalLong lockId = lockBlockInternal(sessionId, blockId, blockLockType, false, time, unit);
+    return lockId.isPresent() ? Optional.of(new BlockLock(lockId.getAsLong(), this::unlockBlock)) :
+        Optional.empty();
+  }
+
+  private OptionalLong lockBlockInternal(long sessionId, long blockId, BlockLockType blockLockType,
+      boolean blocking, @Nullable Long time, @Nullable TimeUnit unit) {
+    // Make sure the session isn't already holding the block lock. This is a best-effort check
+    // like the one in DefaultBlockLockManager.
+    if (blockLockType == BlockLockType.WRITE && sessionHoldsLock(sessionId, blockId)) {
+      throw new IllegalStateException(String
+          .format("Session %s attempted to take a write lock on block %s, but the session already"
+              + " holds a lock on the block", sessionId, blockId));
+    }
+    ClientRWLock blockLock = mLocks.compute(blockId, (id, lock) -> {
+      if (lock == null) {
+        lock = newLock();
+      }
+      lock.addReference();
+      return lock;
+    });
+    Lock lock = blockLockType == BlockLockType.READ ? blockLock.readLock() : blockLock.writeLock();
+    long startNs = System.nanoTime();
+    if (blocking) {
+      lock.lock();
+    } else {
+      Preconditions.checkNotNull(time, "time");
+      Preconditions.checkNotNull(unit, "unit");
+      boolean locked = false;
+      try {
+        locked = lock.tryLock(time, unit);
+        if (!locked) {
+          LOG.warn("Failed to acquire lock for block {} after {} {}.  "
+                  + "session: {}, blockLockType: {}, lock reference count = {}",
+              blockId, time, unit, sessionId, blockLockType,
+              blockLock.getReferenceCount());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (!locked) {
+        releaseBlockLockIfUnused(blockId);
+        return OptionalLong.empty();
+      }
+    }
+    MetricsSystem.timer(blockLockType == BlockLockType.READ
+        ? MetricKey.WORKER_BLOCK_READ_LOCK_WAIT_TIME.getName()
+        : MetricKey.WORKER_BLOCK_WRITE_LOCK_WAIT_TIME.getName())
+        .update(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+    long lockId = LOCK_ID_GEN.getAndIncrement();
+    LockRecord record = new LockRecord(sessionId, blockId, lockId, lock);
+    mLockRecords.put(lockId, record);
+    mSessionLockRecords.compute(sessionId, (id, records) -> {
+      if (records == null) {
+        records = ConcurrentHashMap.newKeySet();
+      }
+      records.add(record);
+      return records;
+    });
+    return OptionalLong.of(lockId);
+  }
+
+  /**
+   * @param sessionId the session id to check
+   * @param blockId the block id to check
+   * @return whether the specified session holds a lock on the specified block
+   */
+  private boolean sessionHoldsLock(long sessionId, long blockId) {
+    Set<LockRecord> records = mSessionLockRecords.get(sessionId);
+    if (records == null) {
+      return false;
+    }
+    for (LockRecord record : records) {
+      if (record.getBlockId() == blockId) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return a released lock for reuse, or a new lock if none is available
+   */
+  private ClientRWLock newLock() {
+    ClientRWLock lock = mFreeLocks.poll();
+    if (lock == null) {
+      return new ClientRWLock(MAX_READERS);
+    }
+    mNumFreeLocks.decrementAndGet();
+    return lock;
+  }
+
+  /**
+   * Releases the lock with the specified lock id.
+   *
+   * @param lockId the id of the lock to release
+   */
+  private void unlockBlock(long lockId) {
+    // the record may have been removed by a session clean-up, only the one removing the record
+    // from the map unlocks it
+    LockRecord record = mLockRecords.remove(lockId);
+    if (record == null) {
+      return;
+    }
+    mSessionLockRecords.computeIfPresent(record.getSessionId(), (id, records) -> {
+      records.remove(record);
+      return records.isEmpty() ? null : records;
+    });
+    unlock(record.getLock(), record.getBlockId());
+  }
+
+  @Override
+  public boolean checkLock(long sessionId, long blockId, long lockId) {
+    LockRecord record = mLockRecords.get(lockId);
+    return record != null && record.getSessionId() == sessionId && record.getBlockId() == blockId;
+  }
+
+  @Override
+  public void cleanupSession(long sessionId) {
+    // locks acquired by the session concurrently with the clean-up go to a new set of records
+    Set<LockRecord> records = mSessionLockRecords.remove(sessionId);
+    if (records == null) {
+      return;
+    }
+    for (LockRecord record : records) {
+      if (mLockRecords.remove(record.getLockId()) != null) {
+        unlock(record.getLock(), record.getBlockId());
+      }
+    }
+  }
+
+  @Override
+  public Set<Long> getLockedBlocks() {
+    Set<Long> set = new HashSet<>();
+    for (LockRecord record : mLockRecords.values()) {
+      set.add(record.getBlockId());
+    }
+    return set;
+  }
+
+  /**
+   * Unlocks the given lock and drops the reference to the block lock for the given block id.
+   *
+   * @param lock the lock to unlock
+   * @param blockId the block id for which to potentially release the block lock
+   */
+  private void unlock(Lock lock, long blockId) {
+    lock.unlock();
+    releaseBlockLockIfUnused(blockId);
+  }
+
+  /**
+   * Drops a reference to the block lock for the given block id, and keeps the lock for reuse if
+   * it is no longer referenced.
+   *
+   * @param blockId the block id for which to potentially release the block lock
+   */
+  private void releaseBlockLockIfUnused(long blockId) {
+    mLocks.computeIfPresent(blockId, (id, lock) -> {
+      if (lock.dropReference() > 0) {
+        return lock;
+      }
+      if (mNumFreeLocks.incrementAndGet() <= mMaxFreeLocks) {
+        mFreeLocks.offer(lock);
+      } else {
+        mNumFreeLocks.decrementAndGet();
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public void validate() {
+    Map<Long, Integer> recordCounts = new HashMap<>();
+    for (LockRecord record : mLockRecords.values()) {
+      recordCounts.merge(record.getBlockId(), 1, Integer::sum);
+    }
+    for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
+      long blockId = entry.getKey();
+      int recordCount = recordCounts.getOrDefault(blockId, 0);
+      int referenceCount = entry.getValue().getReferenceCount();
+      if (recordCount != referenceCount) {
+        throw new IllegalStateException("There are " + recordCount + " lock records for block"
+            + " id " + blockId + ", but the reference count is " + referenceCount);
+      }
+    }
+    for (long blockId : recordCounts.keySet()) {
+      if (!mLocks.containsKey(blockId)) {
+        throw new IllegalStateException("There are lock records for block id " + blockId
+            + ", but the block lock does not exist");
+      }
+    }
+  }
+
+  /**
+   * Inner class to keep record of a lock.
+   */
+  @ThreadSafe
+  private static final class LockRecord {
+    private final long mSessionId;
+    private final long mBlockId;
+    private final long mLockId;
+    private final Lock mLock;
+
+    /** Creates a new instance of {@link LockRecord}.
+     *
+     * @param sessionId the session id
+     * @param blockId the block id
+     * @param lockId the lock id
+     * @param lock the lock
+     */
+    LockRecord(long sessionId, long blockId, long lockId, Lock lock) {
+      mSessionId = sessionId;
+      mBlockId = blockId;
+      mLockId = lockId;
+      mLock = lock;
+    }
+
+    /**
+     * @return the session id
+     */
+    long getSessionId() {
+      return mSessionId;
+    }
+
+    /**
+     * @return the block id
+     */
+    long getBlockId() {
+      return mBlockId;
+    }
+
+    /**
+     * @return the lock id
+     */
+    long getLockId() {
+      return mLockId;
+    }
+
+    /**
+     * @return the lock
+     */
+    Lock getLock() {
+      return mLock;
+    }
+  }
+}
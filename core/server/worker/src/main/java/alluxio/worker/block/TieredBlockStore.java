@@ -27,9 +27,12 @@ import alluxio.util.io.FileUtils;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.annotator.BlockIterator;
 import alluxio.worker.block.annotator.BlockOrder;
+import alluxio.worker.block.io.BlockIoScheduler;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.DelegatingBlockReader;
+import alluxio.worker.block.io.IoClass;
+import alluxio.worker.block.io.IoPermit;
 import alluxio.worker.block.io.StoreBlockReader;
 import alluxio.worker.block.io.StoreBlockWriter;
 import alluxio.worker.block.management.DefaultStoreLoadTracker;
@@ -42,6 +45,7 @@ import alluxio.worker.block.meta.TempBlockMeta;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +62,8 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -75,9 +81,16 @@ import javax.annotation.concurrent.ThreadSafe;
  * read/write lock, guarding both the metadata operations and the following I/O on this block. It
  * coordinates different threads (clients) when accessing the same block concurrently.</li>
  * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}
- * and guarded by {@link TieredBlockStore#mMetadataLock}. This is also a read/write lock and
- * coordinates different threads (clients) when accessing the shared data structure for metadata.
- * </li>
+ * and guarded by the read lock of {@link TieredBlockStore#mMetadataLock}, whose write lock is only
+ * taken when storage directories are removed. The metadata of a block is further guarded by one
+ * of the striped read/write locks in {@link TieredBlockStore#mBlockMetaLocks}, so that metadata
+ * reads of a block only wait on updates to blocks sharing the same stripe, rather than on tier
+ * moves or eviction of any block in the store.</li>
+ * <li>Space allocation, including the eviction it may trigger and the reservation of the
+ * allocated space by a temp block, is serialized by {@link TieredBlockStore#mAllocationLock}.
+ * Committing and moving a block also hold it while they update the metadata, since they give up
+ * and reserve the space of the block again. This lock must be acquired before any block metadata
+ * lock.</li>
  * <li>Method {@link #createBlock} does not acquire the block lock, because it only creates a
  * temp block which is only visible to its writer before committed (thus no concurrent access).</li>
  * <li>Method {@link #abortBlock(long, long)} does not acquire the block lock, because only
@@ -93,6 +106,7 @@ public class TieredBlockStore implements LocalBlockStore {
   private static final Long REMOVE_BLOCK_TIMEOUT_MS = 60_000L;
   private static final long FREE_AHEAD_BYTETS =
       Configuration.getBytes(PropertyKey.WORKER_TIERED_STORE_FREE_AHEAD_BYTES);
+  private static final int BLOCK_META_LOCK_STRIPES = 1024;
   private final BlockMetadataManager mMetaManager;
   private final BlockLockManager mLockManager;
   private final Allocator mAllocator;
@@ -103,15 +117,22 @@ public class TieredBlockStore implements LocalBlockStore {
   /** A set of pinned inodes fetched from the master. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
 
-  /** Lock to guard metadata operations. */
+  /** Lock to guard the structure of the store, i.e. the set of storage directories. */
   private final ReentrantReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
 
-  /** ReadLock provided by {@link #mMetadataLock} to guard metadata read operations. */
+  /** ReadLock provided by {@link #mMetadataLock} to guard metadata operations. */
   private final Lock mMetadataReadLock = mMetadataLock.readLock();
 
-  /** WriteLock provided by {@link #mMetadataLock} to guard metadata write operations. */
+  /** WriteLock provided by {@link #mMetadataLock} to guard removal of storage directories. */
   private final Lock mMetadataWriteLock = mMetadataLock.writeLock();
 
+  /** Striped locks to guard the metadata of individual blocks, keyed by block id. */
+  private final Striped<ReadWriteLock> mBlockMetaLocks =
+      Striped.readWriteLock(BLOCK_META_LOCK_STRIPES);
+
+  /** Lock to serialize space allocations, so that they do not steal space from each other. */
+  private final Lock mAllocationLock = new ReentrantLock();
+
   /** Management task coordinator. */
   private final ManagementTaskCoordinator mTaskCoordinator;
 
@@ -119,7 +140,7 @@ public class TieredBlockStore implements LocalBlockStore {
    * Creates a new instance of {@link TieredBlockStore}.
    */
   public TieredBlockStore() {
-    this(BlockMetadataManager.createBlockMetadataManager(), new BlockLockManager());
+    this(BlockMetadataManager.createBlockMetadataManager(), BlockLockManager.Factory.create());
   }
 
   /**
@@ -157,7 +178,14 @@ public class TieredBlockStore implements LocalBlockStore {
   public Optional<BlockLock> pinBlock(long sessionId, long blockId) {
     LOG.debug("pinBlock: sessionId={}, blockId={}", sessionId, blockId);
     BlockLock lock = mLockManager.acquireBlockLock(sessionId, blockId, BlockLockType.READ);
-    if (hasBlockMeta(blockId)) {
+    boolean hasBlock;
+    try {
+      hasBlock = hasBlockMeta(blockId);
+    } catch (RuntimeException e) {
+      lock.close();
+      throw e;
+    }
+    if (hasBlock) {
       return Optional.of(lock);
     }
     lock.close();
@@ -181,8 +209,11 @@ public class TieredBlockStore implements LocalBlockStore {
         sessionId, blockId, offset);
     Closeable blockLock = mLockManager.acquireBlockLock(sessionId, blockId, BlockLockType.READ);
     Optional<BlockMeta> blockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      blockMeta = mMetaManager.getBlockMeta(blockId);
+    try {
+      blockMeta = getVolatileBlockMeta(blockId);
+    } catch (RuntimeException e) {
+      blockLock.close();
+      throw e;
     }
     if (!blockMeta.isPresent()) {
       blockLock.close();
@@ -212,7 +243,7 @@ public class TieredBlockStore implements LocalBlockStore {
   @Override
   public Optional<BlockMeta> getVolatileBlockMeta(long blockId) {
     LOG.debug("getVolatileBlockMeta: blockId={}", blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockBlockMeta(blockId, false)) {
       return mMetaManager.getBlockMeta(blockId);
     }
   }
@@ -220,7 +251,7 @@ public class TieredBlockStore implements LocalBlockStore {
   @Override
   public Optional<TempBlockMeta> getTempBlockMeta(long blockId) {
     LOG.debug("getTempBlockMeta: blockId={}", blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockBlockMeta(blockId, false)) {
       return mMetaManager.getTempBlockMeta(blockId);
     }
   }
@@ -244,18 +275,17 @@ public class TieredBlockStore implements LocalBlockStore {
     LOG.debug("commitBlock: sessionId={}, blockId={}, pinOnCreate={}",
         sessionId, blockId, pinOnCreate);
     BlockLock lock = mLockManager.acquireBlockLock(sessionId, blockId, BlockLockType.WRITE);
-    BlockStoreLocation loc;
     try {
-      loc = commitBlockInternal(sessionId, blockId, pinOnCreate);
+      BlockStoreLocation loc = commitBlockInternal(sessionId, blockId, pinOnCreate);
+      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+        synchronized (listener) {
+          listener.onCommitBlockToLocal(blockId, loc);
+        }
+      }
     } catch (RuntimeException e) {
       lock.close();
       throw e;
     }
-    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-      synchronized (listener) {
-        listener.onCommitBlockToLocal(blockId, loc);
-      }
-    }
     return lock;
   }
 
@@ -279,7 +309,8 @@ public class TieredBlockStore implements LocalBlockStore {
     }
     // NOTE: a temp block is only visible to its own writer, unnecessary to acquire
     // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock);
+        LockResource allocationLock = new LockResource(mAllocationLock)) {
       TempBlockMeta tempBlockMeta = checkAndGetTempBlockMeta(sessionId, blockId);
       BlockStoreLocation location = tempBlockMeta.getBlockLocation();
       StorageDirView allocationDir = allocateSpace(sessionId,
@@ -288,8 +319,10 @@ public class TieredBlockStore implements LocalBlockStore {
           format("Allocation error: location enforcement failed for location: %s",
               allocationDir.toBlockStoreLocation()));
       // Increase the size of this temp block
-      mMetaManager.resizeTempBlockMeta(tempBlockMeta,
-          tempBlockMeta.getBlockSize() + additionalBytes);
+      try (LockResource blockMetaLock = lockBlockMeta(blockId, true)) {
+        mMetaManager.resizeTempBlockMeta(tempBlockMeta,
+            tempBlockMeta.getBlockSize() + additionalBytes);
+      }
     }
   }
 
@@ -346,7 +379,7 @@ public class TieredBlockStore implements LocalBlockStore {
     }
 
     try (BlockLock lock = optionalLock.get();
-        LockResource r = new LockResource(mMetadataWriteLock)) {
+        LockResource r = lockBlockMeta(blockId, true)) {
       if (mMetaManager.hasTempBlockMeta(blockId)) {
         throw new IllegalStateException(
             ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK.getMessage(blockId));
@@ -362,10 +395,7 @@ public class TieredBlockStore implements LocalBlockStore {
   @Override
   public void accessBlock(long sessionId, long blockId) {
     LOG.debug("accessBlock: sessionId={}, blockId={}", sessionId, blockId);
-    Optional<BlockMeta> blockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      blockMeta = mMetaManager.getBlockMeta(blockId);
-    }
+    Optional<BlockMeta> blockMeta = getVolatileBlockMeta(blockId);
     if (blockMeta.isPresent()) {
       for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
         synchronized (listener) {
@@ -401,7 +431,7 @@ public class TieredBlockStore implements LocalBlockStore {
   @Override
   public boolean hasBlockMeta(long blockId) {
     LOG.debug("hasBlockMeta: blockId={}", blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockBlockMeta(blockId, false)) {
       return mMetaManager.hasBlockMeta(blockId);
     }
   }
@@ -409,7 +439,7 @@ public class TieredBlockStore implements LocalBlockStore {
   @Override
   public boolean hasTempBlockMeta(long blockId) {
     LOG.debug("hasBlockMeta: blockId={}", blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try (LockResource r = lockBlockMeta(blockId, false)) {
       return mMetaManager.hasTempBlockMeta(blockId);
     }
   }
@@ -443,17 +473,14 @@ public class TieredBlockStore implements LocalBlockStore {
   }
 
   /**
-   * Checks if block id is a temporary block and owned by session id. This method must be enclosed
-   * by {@link #mMetadataLock}.
+   * Checks if block id is a temporary block and owned by session id. This method must not be
+   * called while holding the metadata lock of the block.
    *
    * @param sessionId the id of session
    * @param blockId the id of block
    */
   private TempBlockMeta checkAndGetTempBlockMeta(long sessionId, long blockId) {
-    Optional<TempBlockMeta> tempBlockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-    }
+    Optional<TempBlockMeta> tempBlockMeta = getTempBlockMeta(blockId);
     checkState(tempBlockMeta.isPresent(),
         ExceptionMessage.TEMP_BLOCK_META_NOT_FOUND.getMessage(blockId));
     checkState(tempBlockMeta.get().getSessionId() == sessionId,
@@ -485,7 +512,7 @@ public class TieredBlockStore implements LocalBlockStore {
     // The metadata lock is released during heavy IO. The temp block is private to one session, so
     // we do not lock it.
     FileUtils.delete(tempBlockMeta.getPath());
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = lockBlockMeta(blockId, true)) {
       mMetaManager.abortTempBlockMeta(tempBlockMeta);
     }
   }
@@ -501,10 +528,11 @@ public class TieredBlockStore implements LocalBlockStore {
   @VisibleForTesting
   BlockStoreLocation commitBlockInternal(long sessionId, long blockId,
       boolean pinOnCreate) {
-    if (mMetaManager.hasBlockMeta(blockId)) {
+    Optional<BlockMeta> blockMeta = getVolatileBlockMeta(blockId);
+    if (blockMeta.isPresent()) {
       LOG.debug("Block {} has been in block store, this could be a retry due to master-side RPC "
           + "failure", blockId);
-      return mMetaManager.getBlockMeta(blockId).get().getBlockLocation();
+      return blockMeta.get().getBlockLocation();
     }
     // When committing TempBlockMeta, the final BlockMeta calculates the block size according to
     // the actual file size of this TempBlockMeta. Therefore, commitTempBlockMeta must happen
@@ -522,7 +550,7 @@ public class TieredBlockStore implements LocalBlockStore {
       throw AlluxioRuntimeException.from(e);
     }
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = lockBlockMetaForReservation(blockId)) {
       mMetaManager.commitTempBlockMeta(tempBlockMeta);
     }
 
@@ -627,7 +655,8 @@ public class TieredBlockStore implements LocalBlockStore {
       checkBlockDoesNotExist(blockId);
       checkTempBlockDoesNotExist(blockId);
     }
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock);
+        LockResource allocationLock = new LockResource(mAllocationLock)) {
       // NOTE: a temp block is supposed to be visible for its own writer,
       // unnecessary to acquire block lock here since no sharing.
       // Allocate space.
@@ -638,7 +667,9 @@ public class TieredBlockStore implements LocalBlockStore {
       TempBlockMeta tempBlock = dirView.createTempBlockMeta(sessionId, blockId, options.getSize());
       // Add allocated temp block to metadata manager. This should never fail if allocator
       // correctly assigns a StorageDir.
-      mMetaManager.addTempBlockMeta(tempBlock);
+      try (LockResource blockMetaLock = lockBlockMeta(blockId, true)) {
+        mMetaManager.addTempBlockMeta(tempBlock);
+      }
       return tempBlock;
     }
   }
@@ -711,13 +742,25 @@ public class TieredBlockStore implements LocalBlockStore {
       long blockToDelete = evictionCandidates.next();
       blocksIterated++;
       if (evictorView.isBlockEvictable(blockToDelete)) {
-        Optional<BlockMeta> optionalBlockMeta = mMetaManager.getBlockMeta(blockToDelete);
-        if (!optionalBlockMeta.isPresent()) {
-          LOG.warn("Failed to evict blockId {}, it could be already deleted", blockToDelete);
+        // the view is a snapshot, the block may be locked by a reader since then, so only evict
+        // it if no one else holds its lock
+        Optional<BlockLock> optionalLock = mLockManager.tryAcquireBlockLock(sessionId,
+            blockToDelete, BlockLockType.WRITE, 0, TimeUnit.MILLISECONDS);
+        if (!optionalLock.isPresent()) {
+          LOG.debug("Skip evicting blockId {}, it is locked", blockToDelete);
           continue;
         }
-        BlockMeta blockMeta = optionalBlockMeta.get();
-        removeBlockFileAndMeta(blockMeta);
+        BlockMeta blockMeta;
+        try (BlockLock lock = optionalLock.get();
+            LockResource r = lockBlockMeta(blockToDelete, true)) {
+          Optional<BlockMeta> optionalBlockMeta = mMetaManager.getBlockMeta(blockToDelete);
+          if (!optionalBlockMeta.isPresent()) {
+            LOG.warn("Failed to evict blockId {}, it could be already deleted", blockToDelete);
+            continue;
+          }
+          blockMeta = optionalBlockMeta.get();
+          removeBlockFileAndMeta(blockMeta);
+        }
         blocksRemoved++;
         for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
           synchronized (listener) {
@@ -767,11 +810,8 @@ public class TieredBlockStore implements LocalBlockStore {
       AllocateOptions moveOptions) throws IOException {
     try (BlockLock lock =  mLockManager.acquireBlockLock(sessionId, blockId, BlockLockType.WRITE)) {
       checkTempBlockDoesNotExist(blockId);
-      BlockMeta srcBlockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        srcBlockMeta = mMetaManager.getBlockMeta(blockId).orElseThrow(() ->
+      BlockMeta srcBlockMeta = getVolatileBlockMeta(blockId).orElseThrow(() ->
           new IllegalStateException(ExceptionMessage.BLOCK_META_NOT_FOUND.getMessage(blockId)));
-      }
 
       BlockStoreLocation srcLocation = srcBlockMeta.getBlockLocation();
       String srcFilePath = srcBlockMeta.getPath();
@@ -797,15 +837,21 @@ public class TieredBlockStore implements LocalBlockStore {
       // When the dstLocation belongs to srcLocation, simply abort the tempBlockMeta just created
       // internally from the newLocation and return success with specific block location.
       if (dstLocation.belongsTo(srcLocation)) {
-        mMetaManager.abortTempBlockMeta(dstTempBlock);
+        try (LockResource r = lockBlockMeta(blockId, true)) {
+          mMetaManager.abortTempBlockMeta(dstTempBlock);
+        }
         return new MoveBlockResult(true, blockSize, srcLocation, dstLocation);
       }
       String dstFilePath = dstTempBlock.getCommitPath();
 
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
-      FileUtils.move(srcFilePath, dstFilePath);
+      // The I/O permit of the destination is taken on the directory picked by the allocator.
+      try (IoPermit permit = BlockIoScheduler.acquire(IoClass.TIER_MOVE, srcLocation,
+          dstLocation)) {
+        FileUtils.move(srcFilePath, dstFilePath);
+      }
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try (LockResource r = lockBlockMetaForReservation(blockId)) {
         // If this metadata update fails, we panic for now.
         // TODO(bin): Implement rollback scheme to recover from IO failures.
         mMetaManager.moveBlockMeta(srcBlockMeta, dstTempBlock);
@@ -814,6 +860,52 @@ public class TieredBlockStore implements LocalBlockStore {
     }
   }
 
+  /**
+   * Acquires the metadata lock of a block. The read lock of {@link #mMetadataLock} is held
+   * together with the returned lock, so that storage directories are not removed while the
+   * metadata of the block is accessed.
+   *
+   * @param blockId the block id
+   * @param exclusive whether to acquire the write lock for updating the metadata of the block
+   * @return the lock resource which releases both locks on close
+   */
+  private LockResource lockBlockMeta(long blockId, boolean exclusive) {
+    ReadWriteLock lock = mBlockMetaLocks.get(blockId);
+    mMetadataReadLock.lock();
+    try {
+      return new LockResource(exclusive ? lock.writeLock() : lock.readLock(), true, false,
+          mMetadataReadLock::unlock);
+    } catch (Throwable t) {
+      mMetadataReadLock.unlock();
+      throw t;
+    }
+  }
+
+  /**
+   * Acquires the metadata write lock of a block together with {@link #mAllocationLock}. Committing
+   * or moving a block releases the space reserved by its temp block and reserves it again as two
+   * separate steps, so allocations must be kept out until both steps are done, or they could take
+   * the space in between and leave the block without metadata.
+   *
+   * @param blockId the block id
+   * @return the lock resource which releases all locks on close
+   */
+  private LockResource lockBlockMetaForReservation(long blockId) {
+    ReadWriteLock lock = mBlockMetaLocks.get(blockId);
+    mMetadataReadLock.lock();
+    mAllocationLock.lock();
+    try {
+      return new LockResource(lock.writeLock(), true, false, () -> {
+        mAllocationLock.unlock();
+        mMetadataReadLock.unlock();
+      });
+    } catch (Throwable t) {
+      mAllocationLock.unlock();
+      mMetadataReadLock.unlock();
+      throw t;
+    }
+  }
+
   /**
    * Removes a block physically and from metadata.
    *
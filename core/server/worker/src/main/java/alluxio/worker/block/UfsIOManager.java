@@ -53,6 +53,7 @@ public class UfsIOManager implements Closeable {
   private final UfsManager.UfsClient mUfsClient;
   private final ConcurrentMap<String, Long> mThroughputQuota = new ConcurrentHashMap<>();
   private final UfsInputStreamCache mUfsInstreamCache = new UfsInputStreamCache();
+  private final UfsReadCoalescer mReadCoalescer = new UfsReadCoalescer();
   private final LinkedBlockingQueue<ReadTask> mReadQueue = new LinkedBlockingQueue<>(READ_CAPACITY);
   private final ConcurrentMap<AlluxioURI, Meter> mUfsBytesReadThroughputMetrics =
       new ConcurrentHashMap<>();
@@ -129,7 +130,8 @@ public class UfsIOManager implements Closeable {
   }
 
   /**
-   * Read from ufs.
+   * Read from ufs. Concurrent reads of the same range are coalesced into a single UFS read,
+   * see {@link UfsReadCoalescer}.
    *
    * @param buf bytebuffer
    * @param offset  offset in ufs file
@@ -153,10 +155,8 @@ public class UfsIOManager implements Closeable {
     if (mReadQueue.size() >= READ_CAPACITY) {
       throw new ResourceExhaustedRuntimeException("UFS read at capacity", true);
     }
-    CompletableFuture<Integer> future = new CompletableFuture<>();
     if (len == 0) {
-      future.complete(0);
-      return future;
+      return CompletableFuture.completedFuture(0);
     }
     Meter meter = mUfsBytesReadThroughputMetrics.computeIfAbsent(mUfsClient.getUfsMountPointUri(),
         uri -> MetricsSystem.meterWithTags(MetricKey.WORKER_BYTES_READ_UFS_THROUGHPUT.getName(),
@@ -164,9 +164,13 @@ public class UfsIOManager implements Closeable {
             MetricsSystem.escape(mUfsClient.getUfsMountPointUri()), MetricInfo.TAG_USER,
             options.getTag()));
 
-    mReadQueue.add(new ReadTask(buf, ufsPath, IdUtils.fileIdFromBlockId(blockId), offset,
-        len, options, future, meter));
-    return future;
+    return mReadCoalescer.read(ufsPath, offset, len, options.hasUser() ? options.getUser() : null,
+        buf, dst -> {
+          CompletableFuture<Integer> future = new CompletableFuture<>();
+          mReadQueue.add(new ReadTask(dst, ufsPath, IdUtils.fileIdFromBlockId(blockId), offset,
+              len, options, future, meter));
+          return future;
+        });
   }
 
   private class ReadTask implements Runnable {
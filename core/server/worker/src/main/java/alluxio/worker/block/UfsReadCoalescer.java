@@ -0,0 +1,280 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Coalesces concurrent reads of the same range of a UFS file, so that a range missed by many
+ * clients at once is read from the UFS only once.
+ *
+ * The first read of a range leads: it reads into its own buffer while the reads of the same
+ * range arriving in the meantime wait. Once the leading read completes, its data is copied into
+ * the buffers of the waiting reads, or its error is propagated to them, before the leading read
+ * itself completes, so the caller of the leading read may reuse its buffer right away. The
+ * waiting reads learn whether the caller of the leading read caches the data, so that they only
+ * skip caching it when another caller does.
+ */
+@ThreadSafe
+public final class UfsReadCoalescer {
+  private static final Counter DEDUPLICATED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_READ_DEDUPLICATED.getName());
+  private static final Counter DEDUPLICATED_BYTES =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_READ_DEDUPLICATED_BYTES.getName());
+
+  private final boolean mEnabled;
+  private final ConcurrentHashMap<ReadKey, SharedRead> mReads = new ConcurrentHashMap<>();
+
+  /**
+   * Reads a range of a UFS file synchronously.
+   */
+  @FunctionalInterface
+  public interface Reader {
+    /**
+     * @param dst the buffer to read into, from its position
+     * @return the number of bytes read, or -1 at the end of the file
+     */
+    int read(ByteBuffer dst) throws IOException;
+  }
+
+  /**
+   * Creates a coalescer which is enabled by
+   * {@link PropertyKey#WORKER_UFS_READ_COALESCING_ENABLED}.
+   */
+  public UfsReadCoalescer() {
+    this(Configuration.getBoolean(PropertyKey.WORKER_UFS_READ_COALESCING_ENABLED));
+  }
+
+  /**
+   * @param enabled whether to coalesce reads, reads are passed through otherwise
+   */
+  public UfsReadCoalescer(boolean enabled) {
+    mEnabled = enabled;
+  }
+
+  /**
+   * Reads a range of a UFS file, unless the same range is being read already.
+   *
+   * @param ufsPath the path of the UFS file
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   * @param user the user reading the file, reads of different users are not coalesced
+   * @param dst the buffer to read into, with at least length bytes remaining
+   * @param reader reads the range into a buffer asynchronously, only called for a leading read
+   * @return the number of bytes read, or -1 at the end of the file
+   */
+  public CompletableFuture<Integer> read(String ufsPath, long offset, long length,
+      @Nullable String user, ByteBuffer dst,
+      Function<ByteBuffer, CompletableFuture<Integer>> reader) {
+    if (!mEnabled) {
+      return reader.apply(dst);
+    }
+    return readShared(new ReadKey(ufsPath, offset, length, user), false, dst, reader)
+        .thenApply(Result::getBytesRead);
+  }
+
+  /**
+   * Reads a range of a UFS file synchronously, unless the same range is being read already.
+   *
+   * @param ufsPath the path of the UFS file
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   * @param user the user reading the file, reads of different users are not coalesced
+   * @param cache whether the caller caches the data read
+   * @param dst the buffer to read into, with at least length bytes remaining
+   * @param reader reads the range into a buffer, only called for a leading read
+   * @return the result of the read
+   */
+  public Result read(String ufsPath, long offset, long length, @Nullable String user,
+      boolean cache, ByteBuffer dst, Reader reader) throws IOException {
+    Function<ByteBuffer, CompletableFuture<Integer>> asyncReader = buf -> {
+      CompletableFuture<Integer> future = new CompletableFuture<>();
+      try {
+        future.complete(reader.read(buf));
+      } catch (IOException | RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+      return future;
+    };
+    CompletableFuture<Result> read = mEnabled
+        ? readShared(new ReadKey(ufsPath, offset, length, user), cache, dst, asyncReader)
+        : asyncReader.apply(dst).thenApply(bytesRead -> new Result(bytesRead, false));
+    try {
+      return read.join();
+    } catch (CompletionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private CompletableFuture<Result> readShared(ReadKey key, boolean cache, ByteBuffer dst,
+      Function<ByteBuffer, CompletableFuture<Integer>> reader) {
+    CompletableFuture<Result> result = new CompletableFuture<>();
+    SharedRead leader = new SharedRead(cache);
+    SharedRead read = mReads.compute(key, (k, inFlight) -> {
+      if (inFlight == null) {
+        return leader;
+      }
+      inFlight.mFollowers.add(new Follower(dst, result));
+      return inFlight;
+    });
+    if (read != leader) {
+      return result;
+    }
+    int start = dst.position();
+    CompletableFuture<Integer> leading;
+    try {
+      leading = reader.apply(dst);
+    } catch (RuntimeException e) {
+      leading = new CompletableFuture<>();
+      leading.completeExceptionally(e);
+    }
+    leading.whenComplete((bytesRead, t) -> {
+      // no follower joins once the read is removed
+      mReads.remove(key, leader);
+      for (Follower follower : leader.mFollowers) {
+        if (t != null) {
+          follower.mFuture.completeExceptionally(t);
+          continue;
+        }
+        try {
+          if (bytesRead > 0) {
+            ByteBuffer src = dst.duplicate();
+            src.limit(start + bytesRead);
+            src.position(start);
+            follower.mDst.put(src);
+            DEDUPLICATED_BYTES.inc(bytesRead);
+          }
+          DEDUPLICATED.inc();
+          follower.mFuture.complete(new Result(bytesRead, leader.mCache));
+        } catch (RuntimeException e) {
+          follower.mFuture.completeExceptionally(e);
+        }
+      }
+      if (t != null) {
+        result.completeExceptionally(t);
+      } else {
+        result.complete(new Result(bytesRead, false));
+      }
+    });
+    return result;
+  }
+
+  /**
+   * @return the number of ranges being read
+   */
+  @VisibleForTesting
+  int getReadsInFlight() {
+    return mReads.size();
+  }
+
+  /**
+   * The result of a synchronous read.
+   */
+  public static final class Result {
+    private final int mBytesRead;
+    private final boolean mCachedByLeader;
+
+    private Result(int bytesRead, boolean cachedByLeader) {
+      mBytesRead = bytesRead;
+      mCachedByLeader = cachedByLeader;
+    }
+
+    /**
+     * @return the number of bytes read, or -1 at the end of the file
+     */
+    public int getBytesRead() {
+      return mBytesRead;
+    }
+
+    /**
+     * @return whether the data was copied from a concurrent read whose caller caches it, so the
+     *         caller of this read does not need to cache it
+     */
+    public boolean isCachedByLeader() {
+      return mCachedByLeader;
+    }
+  }
+
+  private static final class SharedRead {
+    /** Whether the caller of the leading read caches the data read. */
+    private final boolean mCache;
+    /** Guarded by the map entry of the read, not changed after the read is removed. */
+    private final List<Follower> mFollowers = new ArrayList<>();
+
+    private SharedRead(boolean cache) {
+      mCache = cache;
+    }
+  }
+
+  private static final class Follower {
+    private final ByteBuffer mDst;
+    private final CompletableFuture<Result> mFuture;
+
+    private Follower(ByteBuffer dst, CompletableFuture<Result> future) {
+      mDst = dst;
+      mFuture = future;
+    }
+  }
+
+  private static final class ReadKey {
+    private final String mUfsPath;
+    private final long mOffset;
+    private final long mLength;
+    @Nullable
+    private final String mUser;
+
+    private ReadKey(String ufsPath, long offset, long length, @Nullable String user) {
+      mUfsPath = ufsPath;
+      mOffset = offset;
+      mLength = length;
+      mUser = user;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ReadKey)) {
+        return false;
+      }
+      ReadKey that = (ReadKey) o;
+      return mOffset == that.mOffset && mLength == that.mLength
+          && mUfsPath.equals(that.mUfsPath) && Objects.equals(mUser, that.mUser);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mUfsPath, mOffset, mLength, mUser);
+    }
+  }
+}
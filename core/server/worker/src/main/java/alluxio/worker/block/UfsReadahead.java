@@ -0,0 +1,327 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.executor.ExecutorServiceFactories;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reads UFS blocks ahead of the readers reading them sequentially, so that the next data is
+ * already fetched while the client consumes the previous one.
+ *
+ * Each {@link Stream} issues ranged UFS reads of the data following its position in the
+ * background, up to a number of buffers per stream. The buffers come from a pool shared by all
+ * streams whose size is bounded by a memory budget. When the budget is used up, a stream does
+ * not read further ahead until one of its buffers is consumed, and a stream with nothing read
+ * ahead returns no data so that its reader falls back to reading from the UFS directly.
+ */
+@ThreadSafe
+public final class UfsReadahead implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsReadahead.class);
+
+  private static final Counter READAHEAD_BYTES =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_READAHEAD_BYTES.getName());
+  private static final Counter READAHEAD_BYTES_UNUSED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_READAHEAD_BYTES_UNUSED.getName());
+
+  private final int mBufferSize;
+  private final int mDepth;
+  private final int mMaxBuffers;
+  /** Permits for the buffers in use, one permit per buffer of the memory budget. */
+  private final Semaphore mBufferPermits;
+  /** Buffers which are allocated but not in use. */
+  private final ConcurrentLinkedQueue<byte[]> mFreeBuffers = new ConcurrentLinkedQueue<>();
+  private final ExecutorService mExecutor;
+
+  /**
+   * Creates a readahead configured by {@link PropertyKey#WORKER_UFS_READAHEAD_BUFFER_SIZE},
+   * {@link PropertyKey#WORKER_UFS_READAHEAD_DEPTH} and
+   * {@link PropertyKey#WORKER_UFS_READAHEAD_MEMORY_MAX}.
+   */
+  public UfsReadahead() {
+    this((int) Configuration.getBytes(PropertyKey.WORKER_UFS_READAHEAD_BUFFER_SIZE),
+        Configuration.getInt(PropertyKey.WORKER_UFS_READAHEAD_DEPTH),
+        Configuration.getBytes(PropertyKey.WORKER_UFS_READAHEAD_MEMORY_MAX),
+        ExecutorServiceFactories.cachedThreadPool("ufs-readahead").create());
+  }
+
+  /**
+   * @param bufferSize the size of each buffer, which is the length of each ranged read
+   * @param depth the max number of buffers read ahead of a stream
+   * @param memoryMax the max memory of all buffers
+   * @param executor the executor to read from the UFS with
+   */
+  @VisibleForTesting
+  public UfsReadahead(int bufferSize, int depth, long memoryMax, ExecutorService executor) {
+    Preconditions.checkArgument(bufferSize > 0, "bufferSize must be positive");
+    Preconditions.checkArgument(depth > 0, "depth must be positive");
+    mBufferSize = bufferSize;
+    mDepth = depth;
+    mMaxBuffers = (int) Math.min(Integer.MAX_VALUE, Math.max(0, memoryMax) / bufferSize);
+    mBufferPermits = new Semaphore(mMaxBuffers);
+    mExecutor = executor;
+  }
+
+  /**
+   * @param ufs the UFS of a block
+   * @return whether to read ahead of the sequential readers of blocks of the UFS
+   */
+  public boolean isEnabled(UnderFileSystem ufs) throws IOException {
+    return mMaxBuffers > 0
+        && ufs.getConfiguration().getBoolean(PropertyKey.UNDERFS_READAHEAD_ENABLED);
+  }
+
+  /**
+   * Starts reading ahead of a block reader. The data is read as the client user of the calling
+   * thread.
+   *
+   * @param ufs the UFS of the block
+   * @param ufsPath the path of the UFS file containing the block
+   * @param blockStart the offset of the block in the UFS file
+   * @param blockSize the size of the block
+   * @param offset the offset within the block to read ahead from
+   * @return the stream of the data read ahead
+   */
+  public Stream open(UnderFileSystem ufs, String ufsPath, long blockStart, long blockSize,
+      long offset) {
+    Stream stream = new Stream(ufs, ufsPath, blockStart, blockSize, offset);
+    stream.fill();
+    return stream;
+  }
+
+  /**
+   * @return the number of buffers in use
+   */
+  @VisibleForTesting
+  int getBuffersInUse() {
+    return mMaxBuffers - mBufferPermits.availablePermits();
+  }
+
+  @Override
+  public void close() {
+    // the reads which have not started are dropped, fail them so that the readers waiting for
+    // them fall back to the UFS and their buffers are released
+    for (Runnable task : mExecutor.shutdownNow()) {
+      if (task instanceof Stream.Window) {
+        ((Stream.Window) task).mRead.completeExceptionally(
+            new IOException("UFS readahead is closed"));
+      }
+    }
+  }
+
+  /**
+   * @return a buffer, or null if the memory budget is used up
+   */
+  @Nullable
+  private byte[] acquireBuffer() {
+    if (!mBufferPermits.tryAcquire()) {
+      return null;
+    }
+    byte[] buffer = mFreeBuffers.poll();
+    return buffer == null ? new byte[mBufferSize] : buffer;
+  }
+
+  private void releaseBuffer(byte[] buffer) {
+    mFreeBuffers.offer(buffer);
+    mBufferPermits.release();
+  }
+
+  /**
+   * The data read ahead of a block reader, returned in order from the position it is opened at.
+   */
+  @NotThreadSafe
+  public final class Stream implements Closeable {
+    private final UnderFileSystem mUfs;
+    private final String mUfsPath;
+    private final long mBlockStart;
+    private final long mBlockSize;
+    /** The client user to read the UFS as, captured on the thread which opens the stream. */
+    @Nullable
+    private final User mUser;
+    /** The buffers read ahead or being read, in the order of their offsets. */
+    private final Deque<Window> mWindows = new ArrayDeque<>();
+    /** The offset within the block of the next buffer to read ahead. */
+    private long mNextOffset;
+    private volatile boolean mClosed;
+
+    private Stream(UnderFileSystem ufs, String ufsPath, long blockStart, long blockSize,
+        long offset) {
+      mUfs = ufs;
+      mUfsPath = ufsPath;
+      mBlockStart = blockStart;
+      mBlockSize = blockSize;
+      mNextOffset = offset;
+      mUser = AuthenticatedClientUser.getOrNull();
+    }
+
+    /**
+     * Returns the next data read ahead, waiting for it if it is still being read. The returned
+     * buffer is only valid until the next call or until the stream is closed.
+     *
+     * @param maxLength the max number of bytes to return
+     * @return the next data, or null if no data is read ahead, which happens when the memory
+     *         budget is used up or the ranged read failed
+     */
+    @Nullable
+    public ByteBuffer next(int maxLength) throws IOException {
+      Preconditions.checkState(!mClosed);
+      Window head = mWindows.peek();
+      if (head != null && head.mConsumed == head.mLength) {
+        mWindows.poll();
+        releaseBuffer(head.mBuffer);
+      }
+      fill();
+      head = mWindows.peek();
+      if (head == null) {
+        return null;
+      }
+      try {
+        head.mRead.get();
+      } catch (ExecutionException e) {
+        LOG.debug("Failed to read ahead {} bytes at offset {} of UFS file {}: {}",
+            head.mLength, mBlockStart + head.mOffset, mUfsPath, e.getCause().toString());
+        return null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for the data read ahead", e);
+      }
+      int length = Math.min(maxLength, head.mLength - head.mConsumed);
+      ByteBuffer data = ByteBuffer.wrap(head.mBuffer, head.mConsumed, length);
+      head.mConsumed += length;
+      return data;
+    }
+
+    /**
+     * Stops reading ahead. Buffers being read are returned to the pool once their reads finish.
+     */
+    @Override
+    public void close() {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
+      for (Window window : mWindows) {
+        int unused = window.mLength - window.mConsumed;
+        window.mRead.whenComplete((read, t) -> {
+          if (t == null && read) {
+            READAHEAD_BYTES_UNUSED.inc(unused);
+          }
+          releaseBuffer(window.mBuffer);
+        });
+      }
+      mWindows.clear();
+    }
+
+    /**
+     * Starts reading ahead as many buffers as the depth and the memory budget allow.
+     */
+    private void fill() {
+      while (mWindows.size() < mDepth && mNextOffset < mBlockSize) {
+        byte[] buffer = acquireBuffer();
+        if (buffer == null) {
+          return;
+        }
+        Window window = new Window(mNextOffset,
+            (int) Math.min(mBufferSize, mBlockSize - mNextOffset), buffer);
+        try {
+          mExecutor.execute(window);
+        } catch (RejectedExecutionException e) {
+          releaseBuffer(buffer);
+          return;
+        }
+        mWindows.add(window);
+        mNextOffset += window.mLength;
+      }
+    }
+
+    /**
+     * A range of the block read ahead into a buffer.
+     */
+    private final class Window implements Runnable {
+      private final long mOffset;
+      private final int mLength;
+      private final byte[] mBuffer;
+      /** Completes with whether the range was read, or fails if the read fails. */
+      private final CompletableFuture<Boolean> mRead = new CompletableFuture<>();
+      private int mConsumed;
+
+      private Window(long offset, int length, byte[] buffer) {
+        mOffset = offset;
+        mLength = length;
+        mBuffer = buffer;
+      }
+
+      @Override
+      public void run() {
+        if (mClosed) {
+          mRead.complete(false);
+          return;
+        }
+        // the readahead threads are shared by all the clients, impersonate the client so that
+        // the UFS is accessed with its credentials
+        if (mUser != null) {
+          AuthenticatedClientUser.set(mUser);
+        }
+        try {
+          try (InputStream in = mUfs.open(mUfsPath, OpenOptions.defaults()
+              .setOffset(mBlockStart + mOffset).setLength(mLength))) {
+            int bytesRead = 0;
+            while (bytesRead < mLength) {
+              int read = in.read(mBuffer, bytesRead, mLength - bytesRead);
+              if (read == -1) {
+                throw new IOException(String.format(
+                    "Unexpected end of UFS file %s at offset %d while reading ahead", mUfsPath,
+                    mBlockStart + mOffset + bytesRead));
+              }
+              bytesRead += read;
+            }
+            READAHEAD_BYTES.inc(bytesRead);
+            mRead.complete(true);
+          } catch (Throwable t) {
+            mRead.completeExceptionally(t);
+          }
+        } finally {
+          AuthenticatedClientUser.remove();
+        }
+      }
+    }
+  }
+}
@@ -37,6 +37,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -51,6 +52,9 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   private static final Counter BLOCKS_READ_UFS =
       MetricsSystem.counter(MetricKey.WORKER_BLOCKS_READ_UFS.getName());
 
+  /** The number of sequential reads after which data is read ahead of the reader. */
+  private static final int SEQUENTIAL_READS_BEFORE_READAHEAD = 2;
+
   private final Counter mUfsBytesRead;
   private final Meter mUfsBytesReadThroughput;
 
@@ -65,9 +69,17 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   /** The ufs client resource. */
   private final CloseableResource<UnderFileSystem> mUfsResource;
   private final boolean mIsPositionShort;
+  /** The readahead of the worker, or null if data is not read ahead for the block. */
+  @Nullable
+  private UfsReadahead mReadahead;
 
   /** The input stream to read from UFS. */
   private InputStream mUnderFileSystemInputStream;
+  /** The data read ahead of the reader, set while the block is read sequentially. */
+  @Nullable
+  private UfsReadahead.Stream mReadaheadStream;
+  /** The number of sequential reads since the last non-sequential one. */
+  private int mSequentialReads;
   /** The block writer to write the block to Alluxio. */
   private BlockWriter mBlockWriter;
   /** If set, the reader is closed and should not be used afterwards. */
@@ -78,6 +90,8 @@ public final class UnderFileSystemBlockReader extends BlockReader {
    * When mUnderFileSystemInputStream is not set, this is set to -1 (an invalid state) when
    * mUnderFileSystemInputStream is null. Check mUnderFileSystemInputStream directly to see whether
    * that is valid instead of relying on this invalid state of the position to be safe.
+   * While data is read ahead, mUnderFileSystemInputStream is not set and this is the position
+   * of mReadaheadStream.
    */
   private long mInStreamPos;
 
@@ -99,10 +113,34 @@ public final class UnderFileSystemBlockReader extends BlockReader {
       boolean positionShort, LocalBlockStore localBlockStore, UfsManager.UfsClient ufsClient,
       UfsInputStreamCache ufsInStreamCache, Counter ufsBytesRead, Meter ufsBytesReadThroughput)
       throws IOException {
+    return create(blockMeta, offset, positionShort, localBlockStore, ufsClient, ufsInStreamCache,
+        null, ufsBytesRead, ufsBytesReadThroughput);
+  }
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockReader} and initializes it with a reading
+   * offset.
+   *
+   * @param blockMeta the block meta
+   * @param offset the position within the block to start the read
+   * @param localBlockStore the Local block store
+   * @param ufsClient the manager of ufs
+   * @param positionShort whether the client op is a positioned read to a small buffer
+   * @param ufsInStreamCache the UFS in stream cache
+   * @param readahead the readahead to read the block ahead of sequential reads with, or null to
+   *        never read ahead
+   * @param ufsBytesRead counter metric to track ufs bytes read
+   * @param ufsBytesReadThroughput meter metric to track bytes read throughput
+   * @return the block reader
+   */
+  public static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
+      boolean positionShort, LocalBlockStore localBlockStore, UfsManager.UfsClient ufsClient,
+      UfsInputStreamCache ufsInStreamCache, @Nullable UfsReadahead readahead,
+      Counter ufsBytesRead, Meter ufsBytesReadThroughput) throws IOException {
     UnderFileSystemBlockReader ufsBlockReader =
         new UnderFileSystemBlockReader(blockMeta, positionShort, localBlockStore, ufsClient,
             ufsInStreamCache, ufsBytesRead, ufsBytesReadThroughput);
-    ufsBlockReader.init(offset);
+    ufsBlockReader.init(offset, readahead);
     return ufsBlockReader;
   }
 
@@ -135,8 +173,12 @@ public final class UnderFileSystemBlockReader extends BlockReader {
    * Initializes the reader. This is only called in the factory method.
    *
    * @param offset the position within the block to start the read
+   * @param readahead the readahead of the worker, or null to never read ahead
    */
-  private void init(long offset) throws IOException {
+  private void init(long offset, @Nullable UfsReadahead readahead) throws IOException {
+    if (readahead != null && !mIsPositionShort && readahead.isEnabled(mUfsResource.get())) {
+      mReadahead = readahead;
+    }
     updateUnderFileSystemInputStream(offset);
     updateBlockWriter(offset);
   }
@@ -154,7 +196,10 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   @Override
   public ByteBuffer read(long offset, long length) throws IOException {
     Preconditions.checkState(!mClosed);
-    updateUnderFileSystemInputStream(offset);
+    updateReadahead(offset);
+    if (mReadaheadStream == null) {
+      updateUnderFileSystemInputStream(offset);
+    }
     updateBlockWriter(offset);
 
     long bytesToRead = Math.min(length, mBlockMeta.getBlockSize() - offset);
@@ -163,20 +208,27 @@ public final class UnderFileSystemBlockReader extends BlockReader {
     }
     byte[] data = new byte[(int) bytesToRead];
     int bytesRead = 0;
-    Preconditions.checkNotNull(mUnderFileSystemInputStream, "mUnderFileSystemInputStream");
     while (bytesRead < bytesToRead) {
       int read;
-      try {
-        read = mUnderFileSystemInputStream.read(data, bytesRead, (int) (bytesToRead - bytesRead));
-      } catch (IOException e) {
-        throw AlluxioStatusException.fromIOException(e);
+      ByteBuffer readahead = readAhead((int) (bytesToRead - bytesRead));
+      if (readahead != null) {
+        read = readahead.remaining();
+        readahead.get(data, bytesRead, read);
+      } else {
+        Preconditions.checkNotNull(mUnderFileSystemInputStream, "mUnderFileSystemInputStream");
+        try {
+          read =
+              mUnderFileSystemInputStream.read(data, bytesRead, (int) (bytesToRead - bytesRead));
+        } catch (IOException e) {
+          throw AlluxioStatusException.fromIOException(e);
+        }
       }
       if (read == -1) {
         break;
       }
       bytesRead += read;
+      mInStreamPos += read;
     }
-    mInStreamPos += bytesRead;
 
     // We should always read the number of bytes as expected since the UFS file length (hence block
     // size) should be always accurate.
@@ -214,12 +266,13 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   @Override
   public int transferTo(ByteBuf buf) throws IOException {
     Preconditions.checkState(!mClosed);
-    if (mUnderFileSystemInputStream == null) {
+    if (mUnderFileSystemInputStream == null && mReadaheadStream == null) {
       return -1;
     }
     if (mBlockMeta.getBlockSize() <= mInStreamPos) {
       return -1;
     }
+    updateReadahead(mInStreamPos);
    // Make a copy of the state to keep track of what we have read in this transferTo call.
     ByteBuf bufCopy = null;
     if (mBlockWriter != null) {
@@ -228,7 +281,14 @@ public final class UnderFileSystemBlockReader extends BlockReader {
     }
     int bytesToRead =
         (int) Math.min(buf.writableBytes(), mBlockMeta.getBlockSize() - mInStreamPos);
-    int bytesRead = buf.writeBytes(mUnderFileSystemInputStream, bytesToRead);
+    int bytesRead;
+    ByteBuffer readahead = readAhead(bytesToRead);
+    if (readahead != null) {
+      bytesRead = readahead.remaining();
+      buf.writeBytes(readahead);
+    } else {
+      bytesRead = buf.writeBytes(mUnderFileSystemInputStream, bytesToRead);
+    }
     if (bytesRead <= 0) {
       return bytesRead;
     }
@@ -269,6 +329,7 @@ public final class UnderFileSystemBlockReader extends BlockReader {
       // This aborts the block if the block is not fully read.
       updateBlockWriter(mBlockMeta.getBlockSize());
 
+      stopReadahead();
       if (mUnderFileSystemInputStream != null) {
         mUfsInstreamCache.release(mUnderFileSystemInputStream);
         mUnderFileSystemInputStream = null;
@@ -318,6 +379,67 @@ public final class UnderFileSystemBlockReader extends BlockReader {
     }
   }
 
+  /**
+   * Tracks whether the block is read sequentially given an offset to read, and starts reading
+   * ahead once enough sequential reads are seen or stops reading ahead on a non-sequential read.
+   *
+   * @param offset the read offset within the block
+   */
+  private void updateReadahead(long offset) throws IOException {
+    if (mReadahead == null) {
+      return;
+    }
+    if (offset != mInStreamPos) {
+      mSequentialReads = 0;
+      stopReadahead();
+      return;
+    }
+    mSequentialReads++;
+    if (mReadaheadStream == null && mSequentialReads >= SEQUENTIAL_READS_BEFORE_READAHEAD
+        && offset < mBlockMeta.getBlockSize()) {
+      if (mUnderFileSystemInputStream != null) {
+        mUfsInstreamCache.release(mUnderFileSystemInputStream);
+        mUnderFileSystemInputStream = null;
+      }
+      mReadaheadStream = mReadahead.open(mUfsResource.get(), mBlockMeta.getUnderFileSystemPath(),
+          mBlockMeta.getOffset(), mBlockMeta.getBlockSize(), offset);
+    }
+  }
+
+  /**
+   * Returns the data read ahead at the current position. If nothing is read ahead, it stops
+   * reading ahead and reopens the UFS input stream at the current position to read from.
+   *
+   * @param length the max number of bytes to return
+   * @return the data read ahead, or null if it should be read from the UFS input stream
+   */
+  @Nullable
+  private ByteBuffer readAhead(int length) throws IOException {
+    if (mReadaheadStream == null) {
+      return null;
+    }
+    ByteBuffer data = mReadaheadStream.next(length);
+    if (data == null) {
+      // read directly until the next sequential reads, as the memory budget is used up
+      long pos = mInStreamPos;
+      mSequentialReads = 0;
+      stopReadahead();
+      updateUnderFileSystemInputStream(pos);
+    }
+    return data;
+  }
+
+  /**
+   * Stops reading ahead, if it is.
+   */
+  private void stopReadahead() {
+    if (mReadaheadStream != null) {
+      mReadaheadStream.close();
+      mReadaheadStream = null;
+      mInStreamPos = -1;
+    }
+  }
+
   /**
    * Closes the current block writer, cleans up its temp block and sets it to null.
    */
@@ -97,6 +97,9 @@ public final class UnderFileSystemBlockStore implements SessionCleanable, Closea
   /** The cache for all ufs instream. */
   private final UfsInputStreamCache mUfsInstreamCache;
 
+  /** Reads ahead of sequential readers of UFS blocks. */
+  private final UfsReadahead mUfsReadahead;
+
   /**
    * Creates an instance of {@link UnderFileSystemBlockStore}.
    *
@@ -107,6 +110,7 @@ public final class UnderFileSystemBlockStore implements SessionCleanable, Closea
     mLocalBlockStore = localBlockStore;
     mUfsManager = ufsManager;
     mUfsInstreamCache = new UfsInputStreamCache();
+    mUfsReadahead = new UfsReadahead();
   }
 
   /**
@@ -219,6 +223,7 @@ public final class UnderFileSystemBlockStore implements SessionCleanable, Closea
   @Override
   public void close() throws IOException {
     mUfsIOManager.forEach((key, value) -> value.close());
+    mUfsReadahead.close();
   }
 
   /**
@@ -274,7 +279,8 @@ public final class UnderFileSystemBlockStore implements SessionCleanable, Closea
               MetricsSystem.escape(uri)));
     BlockReader reader =
         UnderFileSystemBlockReader.create(blockInfo.getMeta(), offset, positionShort,
-            mLocalBlockStore, ufsClient, mUfsInstreamCache, ufsBytesRead, ufsBytesReadThroughput);
+            mLocalBlockStore, ufsClient, mUfsInstreamCache, mUfsReadahead, ufsBytesRead,
+            ufsBytesReadThroughput);
     blockInfo.setBlockReader(reader);
     return reader;
   }
@@ -0,0 +1,72 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link BlockIoEngine} submitting reads to an {@link AsynchronousFileChannel} opened on the
+ * file of a block. Depending on the platform, the reads are either issued as asynchronous I/O by
+ * the operating system or run on the given executor, and their completion is always handled on
+ * the executor.
+ */
+@ThreadSafe
+public final class AsyncFileChannelIoEngine implements BlockIoEngine {
+  private final ExecutorService mExecutor;
+
+  /**
+   * @param executor the executor backing the asynchronous channels
+   */
+  public AsyncFileChannelIoEngine(ExecutorService executor) {
+    mExecutor = executor;
+  }
+
+  @Override
+  public AsyncFileReader open(LocalFileBlockReader blockReader) throws IOException {
+    AsynchronousFileChannel channel = AsynchronousFileChannel.open(
+        Paths.get(blockReader.getFilePath()), Collections.singleton(StandardOpenOption.READ),
+        mExecutor);
+    return new AsyncFileReader() {
+      @Override
+      public CompletableFuture<Integer> read(ByteBuffer dst, long position) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        channel.read(dst, position, future, new CompletionHandler<Integer,
+            CompletableFuture<Integer>>() {
+          @Override
+          public void completed(Integer result, CompletableFuture<Integer> attachment) {
+            attachment.complete(result);
+          }
+
+          @Override
+          public void failed(Throwable t, CompletableFuture<Integer> attachment) {
+            attachment.completeExceptionally(t);
+          }
+        });
+        return future;
+      }
+
+      @Override
+      public void close() throws IOException {
+        channel.close();
+      }
+    };
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A file opened by a {@link BlockIoEngine} for asynchronous positional reads. Several reads may
+ * be in flight at the same time.
+ */
+public interface AsyncFileReader extends Closeable {
+  /**
+   * Reads a sequence of bytes from the file into the given buffer, starting at the given position.
+   * The read may complete with fewer bytes than the remaining bytes of the buffer.
+   *
+   * @param dst the buffer to read into
+   * @param position the file position to start reading from
+   * @return a future of the number of bytes read, or -1 if the position is at or past the end of
+   *         the file
+   */
+  CompletableFuture<Integer> read(ByteBuffer dst, long position);
+}
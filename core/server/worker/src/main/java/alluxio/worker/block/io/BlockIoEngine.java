@@ -0,0 +1,58 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.worker.block.BlockIoEngineType;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An I/O engine which reads local block files asynchronously, so that many reads of a block can
+ * be in flight without blocking the caller.
+ */
+public interface BlockIoEngine {
+
+  /**
+   * Factory for {@link BlockIoEngine}.
+   */
+  class Factory {
+    /**
+     * @param executor the executor to run or complete the reads on
+     * @return a new {@link BlockIoEngine} of the type set by
+     *         {@link PropertyKey#WORKER_BLOCK_IO_ENGINE_TYPE}
+     */
+    public static BlockIoEngine create(ExecutorService executor) {
+      switch (Configuration.getEnum(PropertyKey.WORKER_BLOCK_IO_ENGINE_TYPE,
+          BlockIoEngineType.class)) {
+        case ASYNC_FILE_CHANNEL:
+          return new AsyncFileChannelIoEngine(executor);
+        case FILE_CHANNEL:
+        default:
+          return new FileChannelIoEngine(executor);
+      }
+    }
+
+    private Factory() {} // prevent instantiation
+  }
+
+  /**
+   * Opens the file of a local block for asynchronous reads. The returned reader must be closed
+   * before the block reader.
+   *
+   * @param blockReader the reader of the local block file
+   * @return the reader of the file
+   */
+  AsyncFileReader open(LocalFileBlockReader blockReader) throws IOException;
+}
@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.worker.block.BlockStoreLocation;
+
+import java.io.Closeable;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Registry of the {@link DirIoScheduler} of each storage directory of the worker. Callers only
+ * name the class of their requests where it differs from the default of the stream doing the
+ * I/O, see {@link #withIoClass(IoClass)}.
+ */
+@ThreadSafe
+public final class BlockIoScheduler {
+  private static final boolean ENABLED =
+      Configuration.getBoolean(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_ENABLED);
+  private static final int QUEUE_DEPTH =
+      Configuration.getInt(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_QUEUE_DEPTH);
+  private static final ConcurrentHashMap<BlockStoreLocation, DirIoScheduler> SCHEDULERS =
+      new ConcurrentHashMap<>();
+  private static final Comparator<BlockStoreLocation> LOCATION_ORDER =
+      Comparator.comparing(BlockStoreLocation::tierAlias).thenComparingInt(BlockStoreLocation::dir)
+          .thenComparing(BlockStoreLocation::mediumType);
+  private static final ThreadLocal<IoClass> IO_CLASS = new ThreadLocal<>();
+
+  /**
+   * @return whether I/O is scheduled
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * @param location the location of a storage directory
+   * @return the scheduler of the directory, or null if I/O is not scheduled or the location is
+   *         not a single directory
+   */
+  @Nullable
+  public static DirIoScheduler get(BlockStoreLocation location) {
+    if (!ENABLED || location.isAnyTier() || location.isAnyDir() || location.isAnyMedium()) {
+      return null;
+    }
+    return SCHEDULERS.computeIfAbsent(location, k -> new DirIoScheduler(QUEUE_DEPTH));
+  }
+
+  /**
+   * Waits until a request may run on a storage directory.
+   *
+   * @param defaultClass the class of the request unless overridden for the current thread
+   * @param location the location of the storage directory
+   * @return the permit to close once the request is done
+   */
+  public static IoPermit acquire(IoClass defaultClass, BlockStoreLocation location) {
+    DirIoScheduler scheduler = get(location);
+    if (scheduler == null) {
+      return IoPermit.NOOP;
+    }
+    IoClass ioClass = IO_CLASS.get();
+    return scheduler.acquire(ioClass == null ? defaultClass : ioClass);
+  }
+
+  /**
+   * Waits until a request may run on two storage directories, such as a move of a block from one
+   * to the other. The directories are always acquired in the same order, so concurrent requests
+   * in opposite directions cannot hold one directory each while waiting for the other.
+   *
+   * @param defaultClass the class of the request unless overridden for the current thread
+   * @param location1 the location of a storage directory
+   * @param location2 the location of the other storage directory
+   * @return the permit to close once the request is done
+   */
+  public static IoPermit acquire(IoClass defaultClass, BlockStoreLocation location1,
+      BlockStoreLocation location2) {
+    BlockStoreLocation first = location1;
+    BlockStoreLocation second = location2;
+    if (LOCATION_ORDER.compare(first, second) > 0) {
+      first = location2;
+      second = location1;
+    }
+    IoPermit firstPermit = acquire(defaultClass, first);
+    if (first.equals(second)) {
+      return firstPermit;
+    }
+    IoPermit secondPermit = acquire(defaultClass, second);
+    return () -> {
+      secondPermit.close();
+      firstPermit.close();
+    };
+  }
+
+  /**
+   * Classifies the requests of the current thread as the given class until the returned
+   * resource is closed.
+   *
+   * @param ioClass the class of the requests
+   * @return the resource restoring the previous class when closed
+   */
+  public static Closeable withIoClass(IoClass ioClass) {
+    IoClass previous = IO_CLASS.get();
+    IO_CLASS.set(ioClass);
+    return () -> {
+      if (previous == null) {
+        IO_CLASS.remove();
+      } else {
+        IO_CLASS.set(previous);
+      }
+    };
+  }
+
+  private BlockIoScheduler() {} // prevent instantiation
+}
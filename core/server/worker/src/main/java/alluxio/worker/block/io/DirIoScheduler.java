@@ -0,0 +1,203 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Schedules the I/O requests on a storage directory. At most a target queue depth of requests
+ * run at a time, and requests beyond it wait in a queue per {@link IoClass}.
+ *
+ * When a request finishes, the next one is taken from the queues in weighted fair order with
+ * stride scheduling: every class has a pass which advances by the inverse of its weight for each
+ * request it runs, and the queued class with the lowest pass goes first. A class starting to
+ * queue again resumes from the pass of the last scheduled request, so idling does not earn it a
+ * burst of requests later.
+ */
+@ThreadSafe
+public final class DirIoScheduler {
+  private static final long STRIDE = 1L << 20;
+  private static final IoClass[] IO_CLASSES = IoClass.values();
+  private static final String[] QUEUE_TIME_METRICS = new String[IO_CLASSES.length];
+  private static final String[] IO_TIME_METRICS = new String[IO_CLASSES.length];
+
+  static {
+    for (IoClass ioClass : IO_CLASSES) {
+      QUEUE_TIME_METRICS[ioClass.ordinal()] = Metric.getMetricNameWithTags(
+          MetricKey.WORKER_BLOCK_IO_QUEUE_TIME.getName(), MetricInfo.TAG_IO_CLASS, ioClass.name());
+      IO_TIME_METRICS[ioClass.ordinal()] = Metric.getMetricNameWithTags(
+          MetricKey.WORKER_BLOCK_IO_TIME.getName(), MetricInfo.TAG_IO_CLASS, ioClass.name());
+    }
+  }
+
+  private final int mQueueDepth;
+  private final long[] mStrides = new long[IO_CLASSES.length];
+  private final Lock mLock = new ReentrantLock();
+  @GuardedBy("mLock")
+  private final long[] mPasses = new long[IO_CLASSES.length];
+  @GuardedBy("mLock")
+  private final ArrayDeque<Condition>[] mQueues;
+  /** The pass of the last scheduled request. */
+  @GuardedBy("mLock")
+  private long mVirtualTime;
+  @GuardedBy("mLock")
+  private int mRunning;
+  @GuardedBy("mLock")
+  private int mQueued;
+
+  /**
+   * Creates a scheduler with the configured weights of the I/O classes.
+   *
+   * @param queueDepth the max number of requests running at a time
+   */
+  public DirIoScheduler(int queueDepth) {
+    this(queueDepth, weights());
+  }
+
+  /**
+   * @param queueDepth the max number of requests running at a time
+   * @param weights the weights of the I/O classes, indexed by ordinal
+   */
+  @SuppressWarnings("unchecked")
+  @VisibleForTesting
+  DirIoScheduler(int queueDepth, int[] weights) {
+    Preconditions.checkArgument(queueDepth > 0, "queueDepth should be positive");
+    Preconditions.checkArgument(weights.length == IO_CLASSES.length,
+        "expected %s weights but got %s", IO_CLASSES.length, weights.length);
+    mQueueDepth = queueDepth;
+    mQueues = new ArrayDeque[IO_CLASSES.length];
+    for (int i = 0; i < IO_CLASSES.length; i++) {
+      Preconditions.checkArgument(weights[i] > 0, "weight of %s should be positive",
+          IO_CLASSES[i]);
+      mStrides[i] = STRIDE / weights[i];
+      mQueues[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Waits until a request of the given class may run. Requests are short, so the wait is not
+   * interruptible.
+   *
+   * @param ioClass the class of the request
+   * @return the permit to close once the request is done, closing it again has no effect
+   */
+  public IoPermit acquire(IoClass ioClass) {
+    long startNs = System.nanoTime();
+    int index = ioClass.ordinal();
+    mLock.lock();
+    try {
+      if (mRunning < mQueueDepth && mQueued == 0) {
+        schedule(index);
+      } else {
+        Condition admitted = mLock.newCondition();
+        if (mQueues[index].isEmpty()) {
+          mPasses[index] = Math.max(mPasses[index], mVirtualTime);
+        }
+        mQueues[index].add(admitted);
+        mQueued++;
+        // the condition is only signaled after it is removed from the queue
+        while (mQueues[index].contains(admitted)) {
+          admitted.awaitUninterruptibly();
+        }
+      }
+    } finally {
+      mLock.unlock();
+    }
+    MetricsSystem.timer(QUEUE_TIME_METRICS[index])
+        .update(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+    AtomicBoolean closed = new AtomicBoolean(false);
+    return () -> {
+      if (closed.compareAndSet(false, true)) {
+        release(index, startNs);
+      }
+    };
+  }
+
+  /**
+   * @return the number of running requests
+   */
+  @VisibleForTesting
+  int getRunning() {
+    mLock.lock();
+    try {
+      return mRunning;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of queued requests
+   */
+  @VisibleForTesting
+  int getQueued() {
+    mLock.lock();
+    try {
+      return mQueued;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  private void release(int index, long startNs) {
+    mLock.lock();
+    try {
+      mRunning--;
+      while (mRunning < mQueueDepth && mQueued > 0) {
+        int next = -1;
+        for (int i = 0; i < mQueues.length; i++) {
+          if (!mQueues[i].isEmpty() && (next == -1 || mPasses[i] < mPasses[next])) {
+            next = i;
+          }
+        }
+        mQueued--;
+        schedule(next);
+        mQueues[next].poll().signal();
+      }
+    } finally {
+      mLock.unlock();
+    }
+    MetricsSystem.timer(IO_TIME_METRICS[index])
+        .update(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+  }
+
+  @GuardedBy("mLock")
+  private void schedule(int index) {
+    mPasses[index] = Math.max(mPasses[index], mVirtualTime);
+    mVirtualTime = mPasses[index];
+    mPasses[index] += mStrides[index];
+    mRunning++;
+  }
+
+  private static int[] weights() {
+    int[] weights = new int[IO_CLASSES.length];
+    for (IoClass ioClass : IO_CLASSES) {
+      weights[ioClass.ordinal()] = ioClass.getWeight();
+    }
+    return weights;
+  }
+}
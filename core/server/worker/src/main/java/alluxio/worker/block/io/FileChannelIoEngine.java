@@ -0,0 +1,61 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link BlockIoEngine} running positional reads of the file channel of a block on an
+ * executor, so every read in flight occupies a thread of the executor.
+ */
+@ThreadSafe
+public final class FileChannelIoEngine implements BlockIoEngine {
+  private final Executor mExecutor;
+
+  /**
+   * @param executor the executor to run the reads on
+   */
+  public FileChannelIoEngine(Executor executor) {
+    mExecutor = executor;
+  }
+
+  @Override
+  public AsyncFileReader open(LocalFileBlockReader blockReader) {
+    FileChannel channel = (FileChannel) blockReader.getChannel();
+    return new AsyncFileReader() {
+      @Override
+      public CompletableFuture<Integer> read(ByteBuffer dst, long position) {
+        // the future fails with the IOException itself, as the other engines do, rather than
+        // with a wrapper which the callers would not recognize as an I/O failure
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        mExecutor.execute(() -> {
+          try {
+            future.complete(channel.read(dst, position));
+          } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+          }
+        });
+        return future;
+      }
+
+      @Override
+      public void close() {
+        // the channel is owned by the block reader
+      }
+    };
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+
+/**
+ * Classes of I/O requests on a storage directory, which are scheduled with different weights by
+ * the {@link DirIoScheduler}.
+ */
+public enum IoClass {
+  /** Reads of blocks by clients. */
+  FOREGROUND_READ(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_READ),
+  /** Writes of blocks by clients. */
+  FOREGROUND_WRITE(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_FOREGROUND_WRITE),
+  /** Writes of blocks cached asynchronously from the UFS or other workers. */
+  CACHE_FILL(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_CACHE_FILL),
+  /** Moves of blocks between storage directories by tier management. */
+  TIER_MOVE(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_WEIGHT_TIER_MOVE),
+  ;
+
+  private final PropertyKey mWeightKey;
+
+  IoClass(PropertyKey weightKey) {
+    mWeightKey = weightKey;
+  }
+
+  /**
+   * @return the configured weight of this class
+   */
+  public int getWeight() {
+    return Configuration.getInt(mWeightKey);
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import java.io.Closeable;
+
+/**
+ * A permit to run an I/O request on a storage directory, which must be closed once the request
+ * is done.
+ */
+public interface IoPermit extends Closeable {
+  /** A permit which does not need to be released. */
+  IoPermit NOOP = () -> { };
+
+  @Override
+  void close();
+}
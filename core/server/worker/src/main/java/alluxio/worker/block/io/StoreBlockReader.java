@@ -11,13 +11,17 @@
 
 package alluxio.worker.block.io;
 
+import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.meta.BlockMeta;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A local block reader used by block store.
- * It provides integration with the {@link BlockStreamTracker}.
+ * It provides integration with the {@link BlockStreamTracker} and the {@link BlockIoScheduler}.
  */
 public class StoreBlockReader extends LocalFileBlockReader {
   /** Session Id for the reader. */
@@ -41,6 +45,29 @@ public class StoreBlockReader extends LocalFileBlockReader {
     }
   }
 
+  /**
+   * @return the location of the block
+   */
+  public BlockStoreLocation getBlockLocation() {
+    return mBlockMeta.getBlockLocation();
+  }
+
+  @Override
+  public ByteBuffer read(long offset, long length) throws IOException {
+    try (IoPermit permit = BlockIoScheduler.acquire(IoClass.FOREGROUND_READ,
+        mBlockMeta.getBlockLocation())) {
+      return super.read(offset, length);
+    }
+  }
+
+  @Override
+  public int transferTo(ByteBuf buf) throws IOException {
+    try (IoPermit permit = BlockIoScheduler.acquire(IoClass.FOREGROUND_READ,
+        mBlockMeta.getBlockLocation())) {
+      return super.transferTo(buf);
+    }
+  }
+
   @Override
   public void close() throws IOException {
     if (mSessionId > 0) {
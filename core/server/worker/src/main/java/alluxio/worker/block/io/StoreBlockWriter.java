@@ -13,11 +13,15 @@ package alluxio.worker.block.io;
 
 import alluxio.worker.block.meta.TempBlockMeta;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A local block writer used by block store.
- * It provides integration with the {@link BlockStreamTracker}.
+ * It provides integration with the {@link BlockStreamTracker} and the {@link BlockIoScheduler}.
  */
 public class StoreBlockWriter extends LocalFileBlockWriter {
   /** Temp block meta for the writer. */
@@ -37,6 +41,49 @@ public class StoreBlockWriter extends LocalFileBlockWriter {
     }
   }
 
+  @Override
+  public long append(ByteBuffer inputBuf) {
+    try (IoPermit permit = BlockIoScheduler.acquire(IoClass.FOREGROUND_WRITE,
+        mBlockMeta.getBlockLocation())) {
+      return super.append(inputBuf);
+    }
+  }
+
+  @Override
+  public long append(ByteBuf buf) throws IOException {
+    try (IoPermit permit = BlockIoScheduler.acquire(IoClass.FOREGROUND_WRITE,
+        mBlockMeta.getBlockLocation())) {
+      return super.append(buf);
+    }
+  }
+
+  @Override
+  public WritableByteChannel getChannel() {
+    WritableByteChannel channel = super.getChannel();
+    if (!BlockIoScheduler.isEnabled()) {
+      return channel;
+    }
+    return new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer src) throws IOException {
+        try (IoPermit permit = BlockIoScheduler.acquire(IoClass.FOREGROUND_WRITE,
+            mBlockMeta.getBlockLocation())) {
+          return channel.write(src);
+        }
+      }
+
+      @Override
+      public boolean isOpen() {
+        return channel.isOpen();
+      }
+
+      @Override
+      public void close() throws IOException {
+        channel.close();
+      }
+    };
+  }
+
   @Override
   public void close() throws IOException {
     if (mBlockMeta.getSessionId() > 0) {
@@ -133,6 +133,8 @@ public class BlockTransferExecutor {
 
         boolean useReservedSpace = transferInfo.isSwap();
 
+        // each move waits for the I/O permits of the directories it actually reads and writes,
+        // which are only known once its destination is allocated
         mBlockStore.moveBlock(Sessions.createInternalSessionId(), transferInfo.getSrcBlockId(),
             AllocateOptions.forTierMove(transferInfo.getDstLocation())
                 .setUseReservedSpace(useReservedSpace));
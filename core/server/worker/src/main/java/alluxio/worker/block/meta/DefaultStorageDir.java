@@ -36,8 +36,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
@@ -47,18 +49,23 @@ import javax.annotation.concurrent.NotThreadSafe;
  * Through {@link StorageDirView}, this space will be reflected as:
  * - committed for user I/Os
  * - available for internal I/Os.
+ *
+ * Lookups are lock-free so that readers of a block never wait on updates to other blocks in the
+ * same directory. Updates are synchronized on the directory, callers coordinate updates of the
+ * same block among directories (e.g. a move) by themselves.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class DefaultStorageDir implements StorageDir {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultStorageDir.class);
 
   private final long mCapacityBytes;
   private final String mDirMedium;
   /** A map from block id to block metadata. */
-  private final Map<Long, BlockMeta> mBlockIdToBlockMap = new HashMap<>(200);
+  private final Map<Long, BlockMeta> mBlockIdToBlockMap = new ConcurrentHashMap<>(200);
   /** A map from block id to temp block metadata. */
-  private final Map<Long, TempBlockMeta> mBlockIdToTempBlockMap = new HashMap<>(200);
+  private final Map<Long, TempBlockMeta> mBlockIdToTempBlockMap = new ConcurrentHashMap<>(200);
   /** A map from session id to the set of temp blocks created by this session. */
+  @GuardedBy("this")
   private final Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap = new HashMap<>(200);
   private final AtomicLong mAvailableBytes;
   private final AtomicLong mCommittedBytes;
@@ -222,7 +229,7 @@ public final class DefaultStorageDir implements StorageDir {
   }
 
   @Override
-  public void addBlockMeta(BlockMeta blockMeta) {
+  public synchronized void addBlockMeta(BlockMeta blockMeta) {
     Preconditions.checkNotNull(blockMeta, "blockMeta");
     long blockId = blockMeta.getBlockId();
     long blockSize = blockMeta.getBlockSize();
@@ -238,7 +245,7 @@ public final class DefaultStorageDir implements StorageDir {
   }
 
   @Override
-  public void addTempBlockMeta(TempBlockMeta tempBlockMeta) {
+  public synchronized void addTempBlockMeta(TempBlockMeta tempBlockMeta) {
     Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
     long sessionId = tempBlockMeta.getSessionId();
     long blockId = tempBlockMeta.getBlockId();
@@ -261,7 +268,7 @@ public final class DefaultStorageDir implements StorageDir {
   }
 
   @Override
-  public void removeBlockMeta(BlockMeta blockMeta) {
+  public synchronized void removeBlockMeta(BlockMeta blockMeta) {
     Preconditions.checkNotNull(blockMeta, "blockMeta");
     long blockId = blockMeta.getBlockId();
     BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
@@ -272,7 +279,7 @@ public final class DefaultStorageDir implements StorageDir {
 
   @Override
   @SuppressFBWarnings("NP_NULL_ON_SOME_PATH")
-  public void removeTempBlockMeta(TempBlockMeta tempBlockMeta) {
+  public synchronized void removeTempBlockMeta(TempBlockMeta tempBlockMeta) {
     Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
     final long blockId = tempBlockMeta.getBlockId();
     final long sessionId = tempBlockMeta.getSessionId();
@@ -290,7 +297,7 @@ public final class DefaultStorageDir implements StorageDir {
   }
 
   @Override
-  public void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize) {
+  public synchronized void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize) {
     long oldSize = tempBlockMeta.getBlockSize();
     checkState(oldSize < newSize, "Shrinking block, not supported!");
     if (newSize > oldSize) {
@@ -300,7 +307,7 @@ public final class DefaultStorageDir implements StorageDir {
   }
 
   @Override
-  public void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
+  public synchronized void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
     Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     // The session's temporary blocks have already been removed.
     if (sessionTempBlocks == null) {
@@ -330,7 +337,7 @@ public final class DefaultStorageDir implements StorageDir {
   }
 
   @Override
-  public List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
+  public synchronized List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
     Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
 
     if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
@@ -21,6 +21,8 @@ import alluxio.exception.status.InvalidArgumentException;
 import alluxio.grpc.WriteRequest;
 import alluxio.grpc.WriteRequestCommand;
 import alluxio.grpc.WriteResponse;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.NioDataBuffer;
 import alluxio.security.authentication.AuthenticatedUserInfo;
@@ -197,6 +199,10 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
       try {
         completeRequest(mContext);
         replySuccess();
+        if (mContext.getMaxChunkSize() > 0) {
+          MetricsSystem.histogram(MetricKey.WORKER_BLOCK_WRITE_CHUNK_SIZE.getName())
+              .update(mContext.getMaxChunkSize());
+        }
       } catch (Exception e) {
         LogUtils.warnWithException(LOG, "Exception occurred while completing write request {}.",
             mContext.getRequest(), e);
@@ -276,6 +282,9 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
       }
       int readableBytes = buf.readableBytes();
       mContext.setPos(mContext.getPos() + readableBytes);
+      if (readableBytes > mContext.getMaxChunkSize()) {
+        mContext.setMaxChunkSize(readableBytes);
+      }
 
       long writeStartMs = System.currentTimeMillis();
       writeBuf(mContext, mResponseObserver, buf, mContext.getPos());
@@ -37,7 +37,13 @@ import alluxio.worker.block.AllocateOptions;
 import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.BlockStoreType;
 import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.BlockIoEngine;
+import alluxio.worker.block.io.BlockIoScheduler;
 import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.DelegatingBlockReader;
+import alluxio.worker.block.io.DirIoScheduler;
+import alluxio.worker.block.io.LocalFileBlockReader;
+import alluxio.worker.block.io.StoreBlockReader;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -82,6 +88,11 @@ import javax.annotation.concurrent.NotThreadSafe;
  *    new data chunk, it checks whether there are notifications (e.g. cancel, error), if
  *    there is, handle them properly. See more information about the notifications in the javadoc
  *    of {@link BlockReadRequestContext} about CANCEL, EOF, and ERROR flags.
+ * 3. For blocks in the local storage of a FILE block store, the data reader thread takes the
+ *    chunks from a {@link BlockReadPipeline}, which keeps several chunk reads in flight on the
+ *    {@link BlockIoEngine} set by {@link PropertyKey#WORKER_BLOCK_IO_ENGINE_TYPE}, backed by
+ *    {@link GrpcExecutors#BLOCK_READER_PIPELINE_EXECUTOR}. The chunks are still sent in order
+ *    through the serializing executor.
  *
  * @see BlockReadRequestContext
  */
@@ -92,6 +103,10 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
       Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES);
   private static final long MAX_BYTES_IN_FLIGHT =
       Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_BUFFER_SIZE_BYTES);
+  private static final int MAX_PIPELINE_DEPTH =
+      Configuration.getInt(PropertyKey.WORKER_NETWORK_READER_PIPELINE_DEPTH_MAX);
+  private static final BlockIoEngine IO_ENGINE =
+      BlockIoEngine.Factory.create(GrpcExecutors.BLOCK_READER_PIPELINE_EXECUTOR);
   private static final Logger SLOW_BUFFER_LOG = new SamplingLogger(LOG, Constants.MINUTE_MS);
   private static final long SLOW_BUFFER_MS =
       Configuration.getMs(PropertyKey.WORKER_REMOTE_IO_SLOW_THRESHOLD);
@@ -154,6 +169,10 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     try (LockResource lr = new LockResource(mLock)) {
       if (request.hasOffsetReceived()) {
         mContext.setPosReceived(request.getOffsetReceived());
+        if (request.getChunkSize() > 0) {
+          // the client may adapt the chunk size to what it observes of the connection
+          mContext.setChunkSize(request.getChunkSize());
+        }
         if (!tooManyPendingChunks()) {
           onReady();
         }
@@ -357,7 +376,8 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     private final CallStreamObserver<ReadResponse> mResponse;
     private final BlockReadRequestContext mContext;
     private final BlockReadRequest mRequest;
-    private final long mChunkSize;
+    /** The chunk size, which follows the chunk size requested by the client. */
+    private long mChunkSize;
 
     /**
      * Creates an instance of the {@link DataReader}.
@@ -402,6 +422,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
             mContext.setDataReaderActive(false);
             break;
           }
+          mChunkSize = Math.min(mContext.getChunkSize(), MAX_CHUNK_SIZE);
           chunkSize = (int) Math.min(mRequest.getEnd() - mContext.getPosToQueue(), mChunkSize);
 
           // chunkSize should always be > 0 here when reaches here.
@@ -419,8 +440,13 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
               mContext.setPosToQueue(mContext.getPosToQueue() + chunk.getLength());
             }
           }
-          if (chunk == null || chunk.getLength() < chunkSize || start + chunkSize == mRequest
-              .getEnd()) {
+          boolean lastChunk = mContext.getReadPipeline() != null
+              // the pipeline may return chunks read before the chunk size changed, and returns
+              // null once the block or file ends before the requested end
+              ? chunk == null || start + chunk.getLength() >= mRequest.getEnd()
+              : chunk == null || chunk.getLength() < chunkSize
+                  || start + chunkSize == mRequest.getEnd();
+          if (lastChunk) {
             // This can happen if the requested read length is greater than the actual length of the
             // block or file starting from the given offset.
             setEof();
@@ -496,12 +522,20 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     private void completeRequest(BlockReadRequestContext context) throws Exception {
       BlockReader reader = context.getBlockReader();
       try {
+        BlockReadPipeline pipeline = context.getReadPipeline();
+        if (pipeline != null) {
+          // reads in flight must finish before the reader is closed
+          pipeline.close();
+        }
         if (reader != null) {
           reader.close();
         }
       } finally {
+        context.setReadPipeline(null);
         context.setBlockReader(null);
         RPC_READ_COUNT.dec();
+        MetricsSystem.histogram(MetricKey.WORKER_BLOCK_READ_CHUNK_SIZE.getName())
+            .update(mChunkSize);
       }
     }
 
@@ -543,6 +577,10 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
               buf.release();
             }
           case FILE:
+            if (context.getReadPipeline() != null) {
+              context.getReadPipeline().setChunkSize(len);
+              return context.getReadPipeline().next(offset);
+            }
             //TODO(beinan): change the blockReader interface to accept pre-allocated byte buffer
             // or accept a supplier of the bytebuffer.
             if (mIsReaderBufferPooled) {
@@ -606,6 +644,18 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
       BlockReader reader = mWorker.createBlockReader(request.getSessionId(), request.getId(),
           request.getStart(), request.isPositionShort(), request.getOpenUfsBlockOptions());
       context.setBlockReader(reader);
+      BlockReader localReader = reader instanceof DelegatingBlockReader
+          ? ((DelegatingBlockReader) reader).getDelegate() : reader;
+      if (mBlockStoreType == BlockStoreType.FILE && MAX_PIPELINE_DEPTH > 1
+          && localReader instanceof LocalFileBlockReader) {
+        // Blocks in local storage support positional reads, so several chunks can be read at once
+        DirIoScheduler scheduler = localReader instanceof StoreBlockReader
+            ? BlockIoScheduler.get(((StoreBlockReader) localReader).getBlockLocation()) : null;
+        context.setReadPipeline(new BlockReadPipeline(
+            IO_ENGINE.open((LocalFileBlockReader) localReader), scheduler,
+            request.getStart(), request.getEnd(), (int) mChunkSize,
+            MAX_PIPELINE_DEPTH, mIsReaderBufferPooled));
+      }
     }
 
     /**
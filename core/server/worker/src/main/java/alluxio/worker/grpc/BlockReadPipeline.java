@@ -0,0 +1,222 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.worker.block.io.AsyncFileReader;
+import alluxio.worker.block.io.DirIoScheduler;
+import alluxio.worker.block.io.IoClass;
+import alluxio.worker.block.io.IoPermit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Keeps several chunk reads of a block file in flight on an I/O engine, so a sequential read
+ * stream is not limited by the latency of reading a single chunk. Chunks are positional reads of
+ * the file and are returned in order.
+ *
+ * The depth, i.e. the number of reads in flight, adapts to the observed read latency: it grows
+ * by one whenever the next chunk is not read yet when the stream asks for it, and shrinks by one
+ * whenever all the reads in flight have already completed, so the pipeline stays just deep
+ * enough to hide the read latency.
+ *
+ * When a {@link DirIoScheduler} is given, every chunk read holds a permit of the storage
+ * directory of the block until it completes.
+ */
+@NotThreadSafe
+final class BlockReadPipeline implements Closeable {
+  private final AsyncFileReader mReader;
+  @Nullable
+  private final DirIoScheduler mScheduler;
+  private final long mEnd;
+  private final int mMaxDepth;
+  private final boolean mPooled;
+  private final Deque<CompletableFuture<DataBuffer>> mReads = new ArrayDeque<>();
+  /** The lengths requested by the reads in flight, in the order of {@link #mReads}. */
+  private final Deque<Integer> mReadLengths = new ArrayDeque<>();
+  private int mChunkSize;
+  /** The offset of the next chunk to return. */
+  private long mPos;
+  /** The offset of the next chunk to read. */
+  private long mReadPos;
+  private int mDepth = 1;
+
+  /**
+   * @param reader the reader of the block file, closed with the pipeline
+   * @param scheduler the I/O scheduler of the storage directory of the block, or null
+   * @param start the offset to start reading from
+   * @param end the offset to stop reading at
+   * @param chunkSize the size of a chunk
+   * @param maxDepth the max number of reads in flight
+   * @param pooled whether to read chunks into pooled buffers
+   */
+  BlockReadPipeline(AsyncFileReader reader, @Nullable DirIoScheduler scheduler, long start,
+      long end, int chunkSize, int maxDepth, boolean pooled) {
+    Preconditions.checkArgument(chunkSize > 0, "chunkSize should be positive");
+    Preconditions.checkArgument(maxDepth > 0, "maxDepth should be positive");
+    mReader = reader;
+    mScheduler = scheduler;
+    mPos = start;
+    mReadPos = start;
+    mEnd = end;
+    mChunkSize = chunkSize;
+    mMaxDepth = maxDepth;
+    mPooled = pooled;
+  }
+
+  /**
+   * Returns the next chunk, waiting for it to be read if necessary. The last chunk before the
+   * end of the file may be shorter than the chunk size.
+   *
+   * @param offset the offset of the chunk, which must follow the previous chunk
+   * @return the chunk, or null if the end is reached
+   */
+  @Nullable
+  DataBuffer next(long offset) throws IOException {
+    Preconditions.checkArgument(offset == mPos,
+        "Pipelined read at offset %s does not follow the previous read at %s", offset, mPos);
+    fill();
+    CompletableFuture<DataBuffer> read = mReads.poll();
+    if (read == null) {
+      return null;
+    }
+    int len = mReadLengths.poll();
+    if (!read.isDone()) {
+      mDepth = Math.min(mDepth + 1, mMaxDepth);
+    } else if (mReads.isEmpty() || mReads.peekLast().isDone()) {
+      mDepth = Math.max(mDepth - 1, 1);
+    }
+    DataBuffer chunk;
+    try {
+      chunk = read.join();
+    } catch (CompletionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    }
+    if (chunk.getLength() < len) {
+      // the file ends before the requested end, reads past it are useless
+      close();
+    }
+    mPos += chunk.getLength();
+    fill();
+    return chunk;
+  }
+
+  /**
+   * Changes the size of the chunks read from now on. The chunks already in flight keep their
+   * size.
+   *
+   * @param chunkSize the size of a chunk
+   */
+  void setChunkSize(int chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0, "chunkSize should be positive");
+    mChunkSize = chunkSize;
+  }
+
+  /**
+   * @return the current depth
+   */
+  @VisibleForTesting
+  int getDepth() {
+    return mDepth;
+  }
+
+  /**
+   * Issues reads until the depth is reached.
+   */
+  private void fill() {
+    while (mReads.size() < mDepth && mReadPos < mEnd) {
+      long offset = mReadPos;
+      int len = (int) Math.min(mChunkSize, mEnd - offset);
+      IoPermit permit = mScheduler == null ? IoPermit.NOOP
+          : mScheduler.acquire(IoClass.FOREGROUND_READ);
+      CompletableFuture<DataBuffer> chunk = read(offset, len);
+      chunk.whenComplete((c, t) -> permit.close());
+      mReads.add(chunk);
+      mReadLengths.add(len);
+      mReadPos += len;
+    }
+  }
+
+  private CompletableFuture<DataBuffer> read(long offset, int len) {
+    ByteBuf buf = mPooled ? PooledByteBufAllocator.DEFAULT.buffer(len, len)
+        : Unpooled.directBuffer(len, len);
+    CompletableFuture<DataBuffer> chunk = new CompletableFuture<>();
+    readInto(buf, offset, chunk);
+    return chunk;
+  }
+
+  /**
+   * Reads into the writable bytes of the buffer, issuing another read for the rest when the
+   * engine returns fewer bytes, until the buffer is full or the end of the file is reached.
+   */
+  private void readInto(ByteBuf buf, long offset, CompletableFuture<DataBuffer> chunk) {
+    CompletableFuture<Integer> read;
+    try {
+      read = mReader.read(buf.nioBuffer(buf.writerIndex(), buf.writableBytes()),
+          offset + buf.writerIndex());
+    } catch (Throwable t) {
+      buf.release();
+      chunk.completeExceptionally(t);
+      return;
+    }
+    read.whenComplete((bytesRead, t) -> {
+      if (t != null) {
+        buf.release();
+        chunk.completeExceptionally(t instanceof CompletionException ? t.getCause() : t);
+        return;
+      }
+      if (bytesRead > 0) {
+        buf.writerIndex(buf.writerIndex() + bytesRead);
+      }
+      if (bytesRead == -1 || buf.writableBytes() == 0) {
+        chunk.complete(new NettyDataBuffer(buf));
+      } else {
+        readInto(buf, offset, chunk);
+      }
+    });
+  }
+
+  /**
+   * Waits for the reads in flight and releases their chunks, then closes the file reader. No more
+   * chunks are read afterwards. The block reader must not be closed before this returns.
+   */
+  @Override
+  public void close() throws IOException {
+    mReadPos = mEnd;
+    CompletableFuture<DataBuffer> read;
+    mReadLengths.clear();
+    while ((read = mReads.poll()) != null) {
+      try {
+        read.join().release();
+      } catch (CompletionException e) {
+        // the read is discarded
+      }
+    }
+    mReader.close();
+  }
+}
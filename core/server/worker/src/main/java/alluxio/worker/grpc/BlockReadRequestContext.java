@@ -38,6 +38,8 @@ public final class BlockReadRequestContext {
   private long mPosToQueue;
 
   private long mPosReceived;
+  /** The size of the chunks to read next, which the client may change with its receipts. */
+  private long mChunkSize;
   /**
    * mEof, mCancel and mError are the notifications processed by the data reader thread. They can
    * be set by either the gRPC I/O thread or the data reader thread. mError overrides mCancel
@@ -70,6 +72,8 @@ public final class BlockReadRequestContext {
   /** This is set when the SUCCESS or CANCEL response is sent. This is only for sanity check. */
   private volatile boolean mDone;
   private BlockReader mBlockReader;
+  /** The pipeline reading ahead of the stream, null if chunks are read one at a time. */
+  private BlockReadPipeline mReadPipeline;
   /** The requests of this context. */
   private final BlockReadRequest mRequest;
 
@@ -79,6 +83,7 @@ public final class BlockReadRequestContext {
   public BlockReadRequestContext(alluxio.grpc.ReadRequest request) {
     mRequest = BlockReadRequest.from(request);
     mPosToQueue = 0;
+    mChunkSize = mRequest.getChunkSize();
     mDataReaderActive = false;
     mEof = false;
     mCancel = false;
@@ -181,6 +186,22 @@ public final class BlockReadRequestContext {
     mPosToQueue = posToQueue;
   }
 
+  /**
+   * @return the size of the chunks to read next
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public long getChunkSize() {
+    return mChunkSize;
+  }
+
+  /**
+   * @param chunkSize the size of the chunks to read next
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public void setChunkSize(long chunkSize) {
+    mChunkSize = chunkSize;
+  }
+
   /**
    * @param posReceived the position before which data are received by the client
    */
@@ -248,4 +269,19 @@ public final class BlockReadRequestContext {
   public void setBlockReader(BlockReader blockReader) {
     mBlockReader = blockReader;
   }
+
+  /**
+   * @return the read pipeline of the block reader
+   */
+  @Nullable
+  public BlockReadPipeline getReadPipeline() {
+    return mReadPipeline;
+  }
+
+  /**
+   * @param readPipeline the read pipeline to set
+   */
+  public void setReadPipeline(@Nullable BlockReadPipeline readPipeline) {
+    mReadPipeline = readPipeline;
+  }
 }
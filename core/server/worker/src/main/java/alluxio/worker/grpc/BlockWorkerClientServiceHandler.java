@@ -15,12 +15,16 @@ import alluxio.RpcUtils;
 import alluxio.annotation.SuppressFBWarnings;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.status.InvalidArgumentException;
+import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.AsyncCacheRequest;
 import alluxio.grpc.AsyncCacheResponse;
+import alluxio.grpc.BlockRange;
 import alluxio.grpc.BlockStatus;
 import alluxio.grpc.BlockWorkerGrpc;
 import alluxio.grpc.CacheRequest;
 import alluxio.grpc.CacheResponse;
+import alluxio.grpc.Chunk;
 import alluxio.grpc.ClearMetricsRequest;
 import alluxio.grpc.ClearMetricsResponse;
 import alluxio.grpc.CreateLocalBlockRequest;
@@ -31,8 +35,12 @@ import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
 import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
+import alluxio.grpc.OpenFileTransferRequest;
+import alluxio.grpc.OpenFileTransferResponse;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.ReadResponseMarshaller;
@@ -41,6 +49,8 @@ import alluxio.grpc.RemoveBlockResponse;
 import alluxio.grpc.TaskStatus;
 import alluxio.grpc.WriteRequestMarshaller;
 import alluxio.grpc.WriteResponse;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.security.authentication.AuthenticatedUserInfo;
 import alluxio.underfs.UfsManager;
@@ -51,8 +61,11 @@ import alluxio.worker.block.AllocateOptions;
 import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.netty.FileTransferDataServer;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.ByteString;
 import io.grpc.MethodDescriptor;
 import io.grpc.Status;
 import io.grpc.stub.CallStreamObserver;
@@ -61,10 +74,14 @@ import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
 
 /**
  * Server side implementation of the gRPC BlockWorker interface.
@@ -74,11 +91,16 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
   private static final Logger LOG = LoggerFactory.getLogger(BlockWorkerClientServiceHandler.class);
   private static final boolean ZERO_COPY_ENABLED =
       Configuration.getBoolean(PropertyKey.WORKER_NETWORK_ZEROCOPY_ENABLED);
+  private static final long RANGE_READ_MAX_BYTES =
+      Configuration.getBytes(PropertyKey.WORKER_BLOCK_RANGE_READ_MAX_BYTES);
   private final DefaultBlockWorker mBlockWorker;
   private final UfsManager mUfsManager;
   private final ReadResponseMarshaller mReadResponseMarshaller = new ReadResponseMarshaller();
   private final WriteRequestMarshaller mWriteRequestMarshaller = new WriteRequestMarshaller();
   private final boolean mDomainSocketEnabled;
+  /** The file transfer endpoint of the worker, null if it is disabled. */
+  @Nullable
+  private final FileTransferDataServer mFileTransferDataServer;
 
   /**
    * Creates a new implementation of gRPC BlockWorker interface.
@@ -88,9 +110,22 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
    */
   public BlockWorkerClientServiceHandler(WorkerProcess workerProcess,
       boolean domainSocketEnabled) {
+    this(workerProcess, domainSocketEnabled, null);
+  }
+
+  /**
+   * Creates a new implementation of gRPC BlockWorker interface.
+   *
+   * @param workerProcess the worker process
+   * @param domainSocketEnabled is using domain sockets
+   * @param fileTransferDataServer the file transfer endpoint to grant reads from, or null
+   */
+  public BlockWorkerClientServiceHandler(WorkerProcess workerProcess,
+      boolean domainSocketEnabled, @Nullable FileTransferDataServer fileTransferDataServer) {
     mBlockWorker = (DefaultBlockWorker) workerProcess.getWorker(BlockWorker.class);
     mUfsManager = workerProcess.getUfsManager();
     mDomainSocketEnabled = domainSocketEnabled;
+    mFileTransferDataServer = fileTransferDataServer;
   }
 
   /**
@@ -123,6 +158,72 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
     return readHandler;
   }
 
+  @Override
+  public void readBlockRanges(ReadBlockRangesRequest request,
+      StreamObserver<ReadBlockRangesResponse> responseObserver) {
+    long sessionId = IdUtils.createSessionId();
+    RpcUtils.call(LOG, () -> {
+      try {
+        return readBlockRanges(sessionId, request);
+      } finally {
+        // releases what the readers of the session left behind, the readers are accounted for
+        // as active clients when they are opened and closed rather than by the session
+        mBlockWorker.getBlockStore().cleanupSession(sessionId);
+      }
+    }, "readBlockRanges", "request=%s", responseObserver, request);
+  }
+
+  /**
+   * Reads the ranges of a request one after another, opening each block only for its range.
+   */
+  private ReadBlockRangesResponse readBlockRanges(long sessionId, ReadBlockRangesRequest request)
+      throws IOException {
+    long totalBytes = 0;
+    for (BlockRange range : request.getRangesList()) {
+      if (range.getOffset() < 0 || range.getLength() < 0) {
+        throw new InvalidArgumentException(String.format("Invalid block range %s", range));
+      }
+      // compared with the bytes left under the limit so that the sum cannot overflow
+      if (range.getLength() > RANGE_READ_MAX_BYTES - totalBytes) {
+        throw new InvalidArgumentException(String.format(
+            "Reading block ranges in one call exceeds the limit of %d bytes (%s)",
+            RANGE_READ_MAX_BYTES, PropertyKey.WORKER_BLOCK_RANGE_READ_MAX_BYTES));
+      }
+      totalBytes += range.getLength();
+    }
+    ReadBlockRangesResponse.Builder response = ReadBlockRangesResponse.newBuilder();
+    long bytesRead = 0;
+    for (BlockRange range : request.getRangesList()) {
+      try (BlockReader reader = mBlockWorker.createBlockReader(sessionId, range.getBlockId(),
+          range.getOffset(), range.getPositionShort(),
+          range.hasOpenUfsBlockOptions() ? range.getOpenUfsBlockOptions() : null)) {
+        ByteBuffer data = reader.read(range.getOffset(), range.getLength());
+        bytesRead += data.remaining();
+        // the buffer may be backed by the block file, which is released with the reader
+        response.addChunks(Chunk.newBuilder().setData(ByteString.copyFrom(data)));
+      }
+    }
+    MetricsSystem.counter(MetricKey.WORKER_BLOCK_RANGES_READ.getName())
+        .inc(request.getRangesCount());
+    MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_REMOTE.getName()).inc(bytesRead);
+    MetricsSystem.meter(MetricKey.WORKER_BYTES_READ_REMOTE_THROUGHPUT.getName()).mark(bytesRead);
+    return response.build();
+  }
+
+  @Override
+  public void openFileTransfer(OpenFileTransferRequest request,
+      StreamObserver<OpenFileTransferResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      if (mFileTransferDataServer == null) {
+        throw new UnavailableException("The file transfer endpoint is disabled on this worker");
+      }
+      return OpenFileTransferResponse.newBuilder()
+          .setToken(mFileTransferDataServer.grant(request.getBlockId()))
+          .setPort(((InetSocketAddress) mFileTransferDataServer.getBindAddress()).getPort())
+          .build();
+    }, "openFileTransfer", "request=%s", responseObserver, request);
+  }
+
   @Override
   public StreamObserver<alluxio.grpc.WriteRequest> writeBlock(
       StreamObserver<WriteResponse> responseObserver) {
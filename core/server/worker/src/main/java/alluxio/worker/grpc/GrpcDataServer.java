@@ -29,6 +29,7 @@ import alluxio.util.network.NettyUtils;
 import alluxio.worker.DataServer;
 import alluxio.worker.WorkerProcess;
 import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.netty.FileTransferDataServer;
 
 import com.codahale.metrics.Counter;
 import io.netty.buffer.PooledByteBufAllocator;
@@ -45,6 +46,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -89,6 +91,20 @@ public final class GrpcDataServer implements DataServer {
    */
   public GrpcDataServer(final String hostName, final SocketAddress bindAddress,
       final WorkerProcess workerProcess) {
+    this(hostName, bindAddress, workerProcess, null);
+  }
+
+  /**
+   * Creates a new instance of {@link GrpcDataServer}.
+   *
+   * @param hostName the server host name
+   * @param bindAddress the server bind address
+   * @param workerProcess the Alluxio worker process
+   * @param fileTransferDataServer the file transfer endpoint to grant reads from, or null
+   */
+  public GrpcDataServer(final String hostName, final SocketAddress bindAddress,
+      final WorkerProcess workerProcess,
+      @Nullable final FileTransferDataServer fileTransferDataServer) {
     mSocketAddress = bindAddress;
     try {
       // There is no way to query domain socket address afterwards.
@@ -98,7 +114,7 @@ public final class GrpcDataServer implements DataServer {
       }
       BlockWorkerClientServiceHandler blockWorkerService =
           new BlockWorkerClientServiceHandler(
-              workerProcess, mDomainSocketAddress != null);
+              workerProcess, mDomainSocketAddress != null, fileTransferDataServer);
       mServer = createServerBuilder(hostName, bindAddress, NettyUtils.getWorkerChannel(
           Configuration.global()))
           .addService(ServiceType.BLOCK_WORKER_CLIENT_SERVICE, new GrpcService(
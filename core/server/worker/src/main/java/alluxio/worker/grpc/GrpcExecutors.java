@@ -78,6 +78,15 @@ public final class GrpcExecutors {
   public static final ExecutorService BLOCK_READER_SERIALIZED_RUNNER_EXECUTOR =
       new ImpersonateThreadPoolExecutor(BLOCK_SERIALIZED_THREAD_POOL_EXECUTOR, true);
 
+  // Used for the chunk reads kept in flight by BlockReadPipelines. The queue is bounded by the
+  // pipeline depth of each read stream.
+  public static final ExecutorService BLOCK_READER_PIPELINE_EXECUTOR =
+      new ThreadPoolExecutor(
+          Configuration.getInt(PropertyKey.WORKER_NETWORK_READER_PIPELINE_THREADS),
+          Configuration.getInt(PropertyKey.WORKER_NETWORK_READER_PIPELINE_THREADS),
+          THREAD_STOP_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+          ThreadFactoryUtils.build("BlockDataReaderPipelineExecutor-%d", true));
+
   // Used for writing blocks. The queue is always empty.
   private static final ThreadPoolExecutor BLOCK_WRITE_THREAD_POOL_EXECUTOR =
       new ThreadPoolExecutor(THREADS_MIN, Configuration.getInt(
@@ -44,6 +44,9 @@ public class WriteRequestContext<T extends WriteRequest> {
    */
   private long mPos;
 
+  /** The largest chunk received so far. This is only used by the gRPC event thread. */
+  private int mMaxChunkSize;
+
   private String mContentHash = null;
 
   private Counter mCounter;
@@ -99,6 +102,13 @@ public class WriteRequestContext<T extends WriteRequest> {
     return mPos;
   }
 
+  /**
+   * @return the size of the largest chunk received so far
+   */
+  public int getMaxChunkSize() {
+    return mMaxChunkSize;
+  }
+
   /**
    * @return metrics counter associated with this request
    */
@@ -138,6 +148,13 @@ public class WriteRequestContext<T extends WriteRequest> {
     mPos = posToWrite;
   }
 
+  /**
+   * @param maxChunkSize the size of the largest chunk received so far
+   */
+  public void setMaxChunkSize(int maxChunkSize) {
+    mMaxChunkSize = maxChunkSize;
+  }
+
   /**
    * @param done whether the EOF or CANCEL is received
    */
@@ -0,0 +1,155 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.network.ChannelType;
+import alluxio.network.protocol.FileTransferProtocol;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.network.NettyUtils;
+import alluxio.worker.DataServer;
+import alluxio.worker.block.BlockStore;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.codec.FixedLengthFrameDecoder;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Runs a netty server beside the gRPC data server which serves committed blocks of the local
+ * storage by transferring block files straight to the socket, see {@link FileTransferProtocol}.
+ * Clients are granted each read over the authenticated gRPC data server with {@link #grant}.
+ * Requests are handled on a separate executor group since pinning a block may block, while the
+ * transfers themselves run on the event loops.
+ */
+@NotThreadSafe
+public final class FileTransferDataServer implements DataServer {
+  private static final Logger LOG = LoggerFactory.getLogger(FileTransferDataServer.class);
+  private static final long SHUTDOWN_TIMEOUT =
+      Configuration.getMs(PropertyKey.WORKER_NETWORK_SHUTDOWN_TIMEOUT);
+  private static final long SHUTDOWN_QUIET_PERIOD =
+      Configuration.getMs(PropertyKey.WORKER_NETWORK_NETTY_SHUTDOWN_QUIET_PERIOD);
+  /** The time a client has to start a granted read. */
+  private static final long GRANT_TIMEOUT_MS = Constants.MINUTE_MS;
+
+  private final EventLoopGroup mBossGroup;
+  private final EventLoopGroup mWorkerGroup;
+  private final EventExecutorGroup mHandlerGroup;
+  private final Channel mChannel;
+  private final FileTransferGrants mGrants =
+      new FileTransferGrants(Clock.systemUTC(), GRANT_TIMEOUT_MS);
+
+  /**
+   * Creates a new instance of {@link FileTransferDataServer}.
+   *
+   * @param bindAddress the server bind address
+   * @param blockStore the block store to serve blocks from
+   */
+  public FileTransferDataServer(SocketAddress bindAddress, BlockStore blockStore) {
+    ChannelType type = NettyUtils.getWorkerChannel(Configuration.global());
+    int workerThreadCount =
+        Configuration.getInt(PropertyKey.WORKER_NETWORK_NETTY_WORKER_THREADS);
+    mBossGroup = NettyUtils.createEventLoop(type,
+        Configuration.getInt(PropertyKey.WORKER_NETWORK_NETTY_BOSS_THREADS),
+        "file-transfer-server-boss-%d", true);
+    mWorkerGroup = NettyUtils.createEventLoop(type, workerThreadCount,
+        "file-transfer-server-worker-%d", true);
+    mHandlerGroup = new DefaultEventExecutorGroup(workerThreadCount,
+        ThreadFactoryUtils.build("file-transfer-server-handler-%d", true));
+    ServerBootstrap bootstrap = new ServerBootstrap()
+        .group(mBossGroup, mWorkerGroup)
+        .channel(NettyUtils.getServerChannelClass(false, Configuration.global()))
+        .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+        .childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK,
+            (int) Configuration.getBytes(PropertyKey.WORKER_NETWORK_NETTY_WATERMARK_HIGH))
+        .childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK,
+            (int) Configuration.getBytes(PropertyKey.WORKER_NETWORK_NETTY_WATERMARK_LOW))
+        .childHandler(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            ch.pipeline()
+                .addLast(new FixedLengthFrameDecoder(FileTransferProtocol.REQUEST_LENGTH))
+                .addLast(mHandlerGroup, new FileTransferReadHandler(blockStore, mGrants));
+          }
+        });
+    try {
+      mChannel = bootstrap.bind(bindAddress).syncUninterruptibly().channel();
+    } catch (Exception e) {
+      shutdownGroups();
+      String message = String.format(
+          "Alluxio worker file transfer server failed to start on %s", bindAddress);
+      LOG.error(message, e);
+      throw new RuntimeException(message, e);
+    }
+    LOG.info("Alluxio worker file transfer server started, listening on {}", bindAddress);
+  }
+
+  /**
+   * Grants a client a single read of a block from this server.
+   *
+   * @param blockId the block id
+   * @return the token the client has to send with the read
+   */
+  public long grant(long blockId) {
+    return mGrants.grant(blockId);
+  }
+
+  @Override
+  public void close() throws IOException {
+    LOG.info("Shutting down Alluxio worker file transfer server at {}.", getBindAddress());
+    mChannel.close().awaitUninterruptibly(SHUTDOWN_TIMEOUT);
+    shutdownGroups();
+  }
+
+  private void shutdownGroups() {
+    for (EventExecutorGroup group : new EventExecutorGroup[] {
+        mBossGroup, mWorkerGroup, mHandlerGroup}) {
+      boolean completed = group
+          .shutdownGracefully(SHUTDOWN_QUIET_PERIOD, SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)
+          .awaitUninterruptibly(SHUTDOWN_TIMEOUT);
+      if (!completed) {
+        LOG.warn("Forced file transfer server group shutdown because graceful shutdown timed "
+            + "out.");
+      }
+    }
+  }
+
+  @Override
+  public SocketAddress getBindAddress() {
+    return mChannel.localAddress();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return !mChannel.isOpen();
+  }
+
+  @Override
+  public void awaitTermination() {
+    mChannel.closeFuture().awaitUninterruptibly();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import com.google.common.base.Preconditions;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The reads granted to clients of the file transfer endpoint. A grant is handed out over the
+ * authenticated gRPC data server as a random token, which is valid for a single read of its
+ * block until it expires.
+ */
+@ThreadSafe
+final class FileTransferGrants {
+  private final SecureRandom mRandom = new SecureRandom();
+  private final ConcurrentHashMap<Long, Grant> mGrants = new ConcurrentHashMap<>();
+  private final Clock mClock;
+  private final long mTimeoutMs;
+  /** The time after which expired grants are removed on the next grant. */
+  private volatile long mNextCleanupMs;
+
+  /**
+   * @param clock the clock to expire grants with
+   * @param timeoutMs the time after which an unused grant expires
+   */
+  FileTransferGrants(Clock clock, long timeoutMs) {
+    Preconditions.checkArgument(timeoutMs > 0, "timeoutMs should be positive");
+    mClock = clock;
+    mTimeoutMs = timeoutMs;
+  }
+
+  /**
+   * Grants a single read of a block.
+   *
+   * @param blockId the block id
+   * @return the token to redeem the grant with
+   */
+  long grant(long blockId) {
+    long now = mClock.millis();
+    if (now >= mNextCleanupMs) {
+      mNextCleanupMs = now + mTimeoutMs;
+      mGrants.values().removeIf(grant -> grant.mExpiryMs < now);
+    }
+    Grant grant = new Grant(blockId, now + mTimeoutMs);
+    long token;
+    do {
+      token = mRandom.nextLong();
+    } while (mGrants.putIfAbsent(token, grant) != null);
+    return token;
+  }
+
+  /**
+   * Redeems a grant, which can't be used again afterwards.
+   *
+   * @param token the token of the grant
+   * @param blockId the block id to read
+   * @return whether the token granted a read of the block which has not expired
+   */
+  boolean redeem(long token, long blockId) {
+    Grant grant = mGrants.remove(token);
+    return grant != null && grant.mBlockId == blockId && grant.mExpiryMs >= mClock.millis();
+  }
+
+  /**
+   * @return the number of grants which have not been redeemed or removed
+   */
+  int size() {
+    return mGrants.size();
+  }
+
+  private static final class Grant {
+    private final long mBlockId;
+    private final long mExpiryMs;
+
+    private Grant(long blockId, long expiryMs) {
+      mBlockId = blockId;
+      mExpiryMs = expiryMs;
+    }
+  }
+}
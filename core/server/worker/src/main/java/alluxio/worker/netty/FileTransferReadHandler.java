@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import alluxio.exception.runtime.BlockDoesNotExistRuntimeException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.FileTransferProtocol;
+import alluxio.util.IdUtils;
+import alluxio.worker.block.BlockLock;
+import alluxio.worker.block.BlockStore;
+import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.meta.BlockMeta;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Handles a request to the file transfer endpoint. The block is pinned while its file is
+ * transferred to the socket with a {@link DefaultFileRegion}, so the data is sent with
+ * sendfile when the channel supports it instead of being copied through user space. Only reads
+ * granted over the gRPC data server are served, see {@link FileTransferGrants}.
+ *
+ * Pinning may wait on the block lock, so this handler must not run on an event loop serving
+ * transfers.
+ */
+@NotThreadSafe
+final class FileTransferReadHandler extends SimpleChannelInboundHandler<ByteBuf> {
+  private static final Logger LOG = LoggerFactory.getLogger(FileTransferReadHandler.class);
+
+  private final BlockStore mBlockStore;
+  private final FileTransferGrants mGrants;
+  private boolean mRequestReceived;
+
+  /**
+   * @param blockStore the block store to serve blocks from
+   * @param grants the granted reads
+   */
+  FileTransferReadHandler(BlockStore blockStore, FileTransferGrants grants) {
+    mBlockStore = blockStore;
+    mGrants = grants;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
+    if (mRequestReceived) {
+      // only one request is served per connection
+      return;
+    }
+    mRequestReceived = true;
+    long token = msg.readLong();
+    long blockId = msg.readLong();
+    long offset = msg.readLong();
+    long length = msg.readLong();
+    if (!mGrants.redeem(token, blockId)) {
+      LOG.debug("Rejected an ungranted read of block {} from {}", blockId,
+          ctx.channel().remoteAddress());
+      replyError(ctx, String.format("Read of block %d was not granted", blockId));
+      return;
+    }
+    long sessionId = IdUtils.createSessionId();
+    Optional<BlockLock> lock = mBlockStore.pinBlock(sessionId, blockId);
+    if (!lock.isPresent()) {
+      replyError(ctx, new BlockDoesNotExistRuntimeException(blockId).getMessage());
+      return;
+    }
+    FileChannel file = null;
+    long count;
+    try {
+      BlockMeta meta = mBlockStore.getVolatileBlockMeta(blockId)
+          .orElseThrow(() -> new BlockDoesNotExistRuntimeException(blockId));
+      Preconditions.checkArgument(offset >= 0 && offset <= meta.getBlockSize() && length >= 0,
+          "Invalid range offset=%s length=%s for block %s of size %s",
+          offset, length, blockId, meta.getBlockSize());
+      count = Math.min(length, meta.getBlockSize() - offset);
+      file = FileChannel.open(Paths.get(meta.getPath()), StandardOpenOption.READ);
+      mBlockStore.accessBlock(sessionId, blockId);
+    } catch (Exception e) {
+      LOG.debug("Failed to serve block {} from the file transfer endpoint", blockId, e);
+      closeQuietly(file);
+      mBlockStore.unpinBlock(lock.get());
+      replyError(ctx, e.getMessage());
+      return;
+    }
+    DefaultBlockWorker.Metrics.WORKER_ACTIVE_CLIENTS.inc();
+    ctx.write(ctx.alloc().buffer(Long.BYTES).writeLong(count));
+    // the region closes the file once it is released
+    ctx.writeAndFlush(new DefaultFileRegion(file, offset, count)).addListener(future -> {
+      DefaultBlockWorker.Metrics.WORKER_ACTIVE_CLIENTS.dec();
+      mBlockStore.unpinBlock(lock.get());
+      if (future.isSuccess()) {
+        MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_REMOTE.getName()).inc(count);
+        MetricsSystem.meter(MetricKey.WORKER_BYTES_READ_REMOTE_THROUGHPUT.getName()).mark(count);
+      } else {
+        LOG.debug("Failed to transfer block {} to {}", blockId, ctx.channel().remoteAddress(),
+            future.cause());
+      }
+      ctx.close();
+    });
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    LOG.warn("Exception on file transfer channel {}: {}", ctx.channel(), cause.toString());
+    ctx.close();
+  }
+
+  private static void replyError(ChannelHandlerContext ctx, String message) {
+    byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+    ByteBuf reply = ctx.alloc().buffer(Long.BYTES + Integer.BYTES + bytes.length)
+        .writeLong(FileTransferProtocol.ERROR)
+        .writeInt(bytes.length)
+        .writeBytes(bytes);
+    ctx.writeAndFlush(reply).addListener(ChannelFutureListener.CLOSE);
+  }
+
+  private static void closeQuietly(FileChannel file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      file.close();
+    } catch (IOException e) {
+      LOG.debug("Failed to close block file", e);
+    }
+  }
+}
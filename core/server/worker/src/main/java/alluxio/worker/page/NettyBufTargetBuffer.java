@@ -81,10 +81,21 @@ public class NettyBufTargetBuffer implements PageReadTargetBuffer {
     mTarget.writeBytes(srcArray, srcOffset, length);
   }
 
+  @Override
+  public void writeBytes(ByteBuffer srcBuffer) {
+    mTarget.writeBytes(srcBuffer);
+  }
+
   @Override
   public int readFromFile(RandomAccessFile file, int length) throws IOException {
     try (FileChannel channel = file.getChannel()) {
       return mTarget.writeBytes(channel, length);
     }
   }
+
+  @Override
+  public int readFromChannel(FileChannel channel, long position, int length)
+      throws IOException {
+    return mTarget.writeBytes(channel, position, length);
+  }
 }
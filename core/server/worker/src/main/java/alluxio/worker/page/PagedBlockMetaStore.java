@@ -274,6 +274,11 @@ public class PagedBlockMetaStore implements PageMetaStore {
     return blockMeta;
   }
 
+  @Override
+  public long estimatedHeapBytes() {
+    return mDelegate.estimatedHeapBytes();
+  }
+
   @Override
   public List<PageStoreDir> getStoreDirs() {
     return mDelegate.getStoreDirs();
@@ -298,6 +303,11 @@ public class PagedBlockMetaStore implements PageMetaStore {
     return pageInfo;
   }
 
+  @Override
+  public List<PageInfo> getPages(PageStoreDir pageStoreDir) {
+    return mDelegate.getPages(pageStoreDir);
+  }
+
   @Override
   @GuardedBy("getLock().readLock()")
   public long bytes() {
@@ -137,7 +137,8 @@ public class PagedBlockReader extends BlockReader {
         // get the page at pageIndex as a whole from UFS
         ByteBuffer ufsBuf = NioDirectBufferPool.acquire((int) mPageSize);
         try {
-          int pageBytesRead = ufsBlockReader.readPageAtIndex(ufsBuf, pageIndex);
+          boolean cache = ufsBlockReader.getUfsReadOptions().isCacheIntoAlluxio();
+          int pageBytesRead = ufsBlockReader.readPageAtIndex(ufsBuf, pageIndex, cache);
           if (pageBytesRead > 0) {
             ufsBuf.position(currentPageOffset);
             ufsBuf.limit(currentPageOffset + bytesLeftInPage);
@@ -148,7 +149,8 @@ public class PagedBlockReader extends BlockReader {
             mReadFromUfs = true;
             ufsBuf.rewind();
             ufsBuf.limit(pageBytesRead);
-            if (ufsBlockReader.getUfsReadOptions().isCacheIntoAlluxio()) {
+            // a page read along with another reader which caches it is cached by that reader
+            if (cache && !ufsBlockReader.isLastPageCachedByOtherReader()) {
               mCacheManager.put(pageId, ufsBuf);
             }
           }
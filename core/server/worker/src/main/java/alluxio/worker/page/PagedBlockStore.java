@@ -48,6 +48,7 @@ import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.BlockStoreMeta;
 import alluxio.worker.block.CreateBlockOptions;
 import alluxio.worker.block.UfsInputStreamCache;
+import alluxio.worker.block.UfsReadCoalescer;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.DelegatingBlockReader;
@@ -81,13 +82,14 @@ public class PagedBlockStore implements BlockStore {
   private final CacheManager mCacheManager;
   private final UfsManager mUfsManager;
 
-  private final BlockLockManager mLockManager = new BlockLockManager();
+  private final BlockLockManager mLockManager = BlockLockManager.Factory.create();
   private final PagedBlockMetaStore mPageMetaStore;
   private final BlockMasterClientPool mBlockMasterClientPool;
   private final AtomicReference<Long> mWorkerId;
   /** A set of pinned inodes updated via periodic master-worker sync. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
   private final UfsInputStreamCache mUfsInStreamCache = new UfsInputStreamCache();
+  private final UfsReadCoalescer mUfsReadCoalescer = new UfsReadCoalescer();
   private final List<BlockStoreEventListener> mBlockStoreEventListeners =
       new CopyOnWriteArrayList<>();
   private final long mPageSize;
@@ -271,8 +273,8 @@ public class PagedBlockStore implements BlockStore {
               String.format("Block %d may need to be read from UFS, but key UFS read options "
                   + "is missing in client request", blockId), e, ErrorType.Internal, false);
         }
-        return new PagedUfsBlockReader(mUfsManager, mUfsInStreamCache, newBlockMeta,
-            offset, readOptions, mPageSize);
+        return new PagedUfsBlockReader(mUfsManager, mUfsInStreamCache, mUfsReadCoalescer,
+            newBlockMeta, offset, readOptions, mPageSize);
       }
       mPageMetaStore.addBlock(newBlockMeta);
       dir.getEvictor().addPinnedBlock(blockId);
@@ -300,7 +302,7 @@ public class PagedBlockStore implements BlockStore {
     }
     final Optional<PagedUfsBlockReader> ufsBlockReader =
         readOptions.map(opt -> new PagedUfsBlockReader(
-            mUfsManager, mUfsInStreamCache, blockMeta, offset, opt, mPageSize));
+            mUfsManager, mUfsInStreamCache, mUfsReadCoalescer, blockMeta, offset, opt, mPageSize));
     return new PagedBlockReader(mCacheManager, blockMeta, offset, ufsBlockReader, mPageSize);
   }
 
@@ -318,7 +320,7 @@ public class PagedBlockStore implements BlockStore {
           return new PagedBlockMeta(blockId, blockSize, dir);
         });
     UfsBlockReadOptions readOptions = UfsBlockReadOptions.fromProto(options);
-    return new PagedUfsBlockReader(mUfsManager, mUfsInStreamCache, blockMeta,
+    return new PagedUfsBlockReader(mUfsManager, mUfsInStreamCache, mUfsReadCoalescer, blockMeta,
         offset, readOptions, mPageSize);
   }
 
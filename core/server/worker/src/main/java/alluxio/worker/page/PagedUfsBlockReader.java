@@ -14,11 +14,14 @@ package alluxio.worker.page;
 import alluxio.conf.PropertyKey;
 import alluxio.network.protocol.databuffer.NioDirectBufferPool;
 import alluxio.resource.CloseableResource;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
 import alluxio.util.IdUtils;
 import alluxio.worker.block.UfsInputStreamCache;
+import alluxio.worker.block.UfsReadCoalescer;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.meta.BlockMeta;
 
@@ -40,11 +43,13 @@ public class PagedUfsBlockReader extends BlockReader {
   private final long mPageSize;
   private final UfsManager mUfsManager;
   private final UfsInputStreamCache mUfsInStreamCache;
+  private final UfsReadCoalescer mReadCoalescer;
   private final BlockMeta mBlockMeta;
   private final UfsBlockReadOptions mUfsBlockOptions;
   private final long mInitialOffset;
   private final ByteBuffer mLastPage;
   private long mLastPageIndex = -1;
+  private boolean mLastPageCachedByOtherReader = false;
   private boolean mClosed = false;
   private long mPosition;
 
@@ -59,11 +64,28 @@ public class PagedUfsBlockReader extends BlockReader {
   public PagedUfsBlockReader(UfsManager ufsManager,
       UfsInputStreamCache ufsInStreamCache, BlockMeta blockMeta,
       long offset, UfsBlockReadOptions ufsBlockReadOptions, long pageSize) {
+    this(ufsManager, ufsInStreamCache, new UfsReadCoalescer(false), blockMeta, offset,
+        ufsBlockReadOptions, pageSize);
+  }
+
+  /**
+   * @param ufsManager
+   * @param ufsInStreamCache
+   * @param readCoalescer coalesces page reads with concurrent readers of the same page
+   * @param blockMeta
+   * @param offset
+   * @param ufsBlockReadOptions
+   * @param pageSize
+   */
+  public PagedUfsBlockReader(UfsManager ufsManager,
+      UfsInputStreamCache ufsInStreamCache, UfsReadCoalescer readCoalescer, BlockMeta blockMeta,
+      long offset, UfsBlockReadOptions ufsBlockReadOptions, long pageSize) {
     Preconditions.checkArgument(offset >= 0 && offset <= blockMeta.getBlockSize(),
         "Attempt to read block %s which is %s bytes long at invalid byte offset %s",
         blockMeta.getBlockId(), blockMeta.getBlockSize(), offset);
     mUfsManager = ufsManager;
     mUfsInStreamCache = ufsInStreamCache;
+    mReadCoalescer = readCoalescer;
     mBlockMeta = blockMeta;
     mUfsBlockOptions = ufsBlockReadOptions;
     mPageSize = pageSize;
@@ -114,6 +136,21 @@ public class PagedUfsBlockReader extends BlockReader {
    * @return number of bytes read, or -1 if end of block is reached
    */
   public int readPageAtIndex(ByteBuffer buffer, long pageIndex) throws IOException {
+    return readPageAtIndex(buffer, pageIndex, false);
+  }
+
+  /**
+   * Reads a page from the UFS block at index {@code pageIndex}, like
+   * {@link #readPageAtIndex(ByteBuffer, long)}.
+   *
+   * @param buffer writable output buffer, must have enough remaining space for a page
+   * @param pageIndex the index of the page within the block
+   * @param cache whether the caller caches the page, concurrent readers of the same page rely
+   *        on it to cache the page
+   * @return number of bytes read, or -1 if end of block is reached
+   */
+  public int readPageAtIndex(ByteBuffer buffer, long pageIndex, boolean cache)
+      throws IOException {
     Preconditions.checkState(!mClosed);
     Preconditions.checkArgument(!buffer.isReadOnly(), "read-only buffer");
     Preconditions.checkArgument(buffer.remaining() >= mPageSize,
@@ -125,16 +162,43 @@ public class PagedUfsBlockReader extends BlockReader {
     if (pageIndex == mLastPageIndex) {
       return fillWithCachedPage(buffer, pageIndex * mPageSize, mLastPage.remaining());
     }
-    int totalBytesRead = 0;
     mLastPage.clear();
     mLastPageIndex = -1;
+    // the UFS is accessed as the client user of this thread, so only reads made with the same
+    // credentials are coalesced
+    User user = AuthenticatedClientUser.getOrNull();
+    UfsReadCoalescer.Result result = mReadCoalescer.read(mUfsBlockOptions.getUfsPath(),
+        mUfsBlockOptions.getOffsetInFile() + pageIndex * mPageSize, mPageSize,
+        user == null ? null : user.getName(), cache, mLastPage,
+        page -> readPage(page, pageIndex));
+    mLastPageCachedByOtherReader = result.isCachedByLeader();
+    int totalBytesRead = result.getBytesRead();
+    if (totalBytesRead < 0) {
+      // not a single byte has been read; report this to caller
+      return totalBytesRead;
+    }
+    mLastPage.flip();
+    mLastPageIndex = pageIndex;
+    fillWithCachedPage(buffer, pageIndex * mPageSize, totalBytesRead);
+    return totalBytesRead;
+  }
+
+  /**
+   * @return whether the last page read from the UFS was copied from a concurrent read of the
+   *         same page by another reader which caches the page
+   */
+  public boolean isLastPageCachedByOtherReader() {
+    return mLastPageCachedByOtherReader;
+  }
+
+  private int readPage(ByteBuffer page, long pageIndex) throws IOException {
+    int totalBytesRead = 0;
     try (ReadableByteChannel channel = getChannel(pageIndex * mPageSize)) {
       while (totalBytesRead < mPageSize) {
-        int bytesRead = channel.read(mLastPage);
+        int bytesRead = channel.read(page);
         if (bytesRead < 0) {
           // reached eof
           if (totalBytesRead == 0) {
-            // not a single byte has been read; report this to caller
             return bytesRead;
           }
           break;
@@ -142,9 +206,6 @@ public class PagedUfsBlockReader extends BlockReader {
         totalBytesRead += bytesRead;
       }
     }
-    mLastPage.flip();
-    mLastPageIndex = pageIndex;
-    fillWithCachedPage(buffer, pageIndex * mPageSize, totalBytesRead);
     return totalBytesRead;
   }
 
@@ -37,9 +37,9 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Unit tests for {@link BlockLockManager}.
+ * Unit tests for {@link DefaultBlockLockManager}.
  */
-public final class BlockLockManagerTest {
+public final class DefaultBlockLockManagerTest {
   private static final long TEST_SESSION_ID = 2;
   private static final long TEST_SESSION_ID2 = 3;
   private static final long TEST_BLOCK_ID = 9;
@@ -59,7 +59,7 @@ public final class BlockLockManagerTest {
    */
   @Before
   public void before() {
-    mLockManager = new BlockLockManager();
+    mLockManager = new DefaultBlockLockManager();
   }
 
   @After
@@ -186,7 +186,7 @@ public final class BlockLockManagerTest {
   public void grabManyLocks() throws Exception {
     int maxLocks = 100;
     setMaxLocks(maxLocks);
-    BlockLockManager manager = new BlockLockManager();
+    BlockLockManager manager = new DefaultBlockLockManager();
     for (int i = 0; i < maxLocks; i++) {
       manager.acquireBlockLock(i, i, BlockLockType.WRITE);
     }
@@ -199,7 +199,7 @@ public final class BlockLockManagerTest {
    */
   @Test
   public void lockAlreadyReadLockedBlock() {
-    BlockLockManager manager = new BlockLockManager();
+    BlockLockManager manager = new DefaultBlockLockManager();
     try (BlockLock readLock = manager.acquireBlockLock(1, 1, BlockLockType.READ)) {
       mThrown.expect(IllegalStateException.class);
       manager.acquireBlockLock(1, 1, BlockLockType.WRITE);
@@ -212,7 +212,7 @@ public final class BlockLockManagerTest {
    */
   @Test
   public void lockAlreadyWriteLockedBlock() {
-    BlockLockManager manager = new BlockLockManager();
+    BlockLockManager manager = new DefaultBlockLockManager();
     try (BlockLock readLock = manager.acquireBlockLock(1, 1, BlockLockType.WRITE)) {
       mThrown.expect(IllegalStateException.class);
       manager.acquireBlockLock(1, 1, BlockLockType.WRITE);
@@ -224,7 +224,7 @@ public final class BlockLockManagerTest {
    */
   @Test(timeout = 10000)
   public void lockAcrossSessions() {
-    BlockLockManager manager = new BlockLockManager();
+    BlockLockManager manager = new DefaultBlockLockManager();
     try (BlockLock lock1 = manager.acquireBlockLock(1, TEST_BLOCK_ID, BlockLockType.READ);
          BlockLock lock2 = manager.acquireBlockLock(2, TEST_BLOCK_ID, BlockLockType.READ)) {
       //do nothing
@@ -236,7 +236,7 @@ public final class BlockLockManagerTest {
    */
   @Test(timeout = 10000)
   public void readBlocksWrite() throws Exception {
-    BlockLockManager manager = new BlockLockManager();
+    BlockLockManager manager = new DefaultBlockLockManager();
     try (BlockLock lock = manager.acquireBlockLock(1, TEST_BLOCK_ID, BlockLockType.READ)) {
       lockExpectingHang(manager, TEST_BLOCK_ID);
     }
@@ -248,7 +248,7 @@ public final class BlockLockManagerTest {
   @Test(timeout = 10000)
   public void reuseLock() {
     setMaxLocks(1);
-    BlockLockManager manager = new BlockLockManager();
+    BlockLockManager manager = new DefaultBlockLockManager();
     BlockLock lock1 = manager.acquireBlockLock(TEST_SESSION_ID, 1, BlockLockType.WRITE);
     lock1.close(); // Without this line the next lock would hang.
     manager.acquireBlockLock(TEST_SESSION_ID, 2, BlockLockType.WRITE);
@@ -260,7 +260,7 @@ public final class BlockLockManagerTest {
   @Test(timeout = 10000)
   public void dontReuseLock() throws Exception {
     setMaxLocks(1);
-    final BlockLockManager manager = new BlockLockManager();
+    final BlockLockManager manager = new DefaultBlockLockManager();
     try (BlockLock lock = manager.acquireBlockLock(TEST_SESSION_ID, 1, BlockLockType.READ)) {
       manager.acquireBlockLock(TEST_SESSION_ID, 1, BlockLockType.READ);
     }
@@ -297,7 +297,7 @@ public final class BlockLockManagerTest {
     final int threadsPerBlock = 100;
     final int lockUnlocksPerThread = 50;
     setMaxLocks(numBlocks);
-    final BlockLockManager manager = new BlockLockManager();
+    final BlockLockManager manager = new DefaultBlockLockManager();
     final List<Thread> threads = new ArrayList<>();
     final CyclicBarrier barrier = new CyclicBarrier(numBlocks * threadsPerBlock);
     // If there are exceptions, we will store them here.
@@ -76,7 +76,7 @@ public class MonoBlockStoreCommitBlockTest {
     mMockedBlockMasterClient = mock(BlockMasterClient.class);
     when(mMockedBlockMasterClientPool.acquire()).thenReturn(mMockedBlockMasterClient);
     doNothing().when(mMockedBlockMasterClientPool).release(any());
-    mBlockLockManager = new BlockLockManager();
+    mBlockLockManager = new DefaultBlockLockManager();
     mBlockMetadataManager = BlockMetadataManager.createBlockMetadataManager();
 
     mTestDir1 = mBlockMetadataManager.getTier(FIRST_TIER_ALIAS).getDir(0);
@@ -0,0 +1,226 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.collections.ConcurrentHashSet;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.base.Throwables;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link RefCountBlockLockManager}.
+ */
+public final class RefCountBlockLockManagerTest {
+  private static final long TEST_SESSION_ID = 2;
+  private static final long TEST_SESSION_ID2 = 3;
+  private static final long TEST_BLOCK_ID = 9;
+
+  private BlockLockManager mLockManager;
+
+  @Before
+  public void before() {
+    mLockManager = new RefCountBlockLockManager();
+  }
+
+  @After
+  public void after() {
+    Configuration.reloadProperties();
+  }
+
+  @Test
+  public void lockBlock() {
+    // Read-lock on can both get through
+    try (BlockLock lock1 =
+             mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID, BlockLockType.READ);
+         BlockLock lock2 =
+             mLockManager.acquireBlockLock(TEST_SESSION_ID2, TEST_BLOCK_ID, BlockLockType.READ)) {
+      assertNotEquals(lock1.get(), lock2.get());
+      assertTrue(mLockManager.checkLock(TEST_SESSION_ID, TEST_BLOCK_ID, lock1.get()));
+      assertTrue(mLockManager.checkLock(TEST_SESSION_ID2, TEST_BLOCK_ID, lock2.get()));
+      assertEquals(Collections.singleton(TEST_BLOCK_ID), mLockManager.getLockedBlocks());
+    }
+    assertTrue(mLockManager.getLockedBlocks().isEmpty());
+    mLockManager.validate();
+  }
+
+  @Test
+  public void tryLockBlockWithWriteLockLocked() {
+    try (BlockLock lock = mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID,
+        BlockLockType.WRITE)) {
+      assertFalse(mLockManager.tryAcquireBlockLock(TEST_SESSION_ID2, TEST_BLOCK_ID,
+          BlockLockType.READ, 100, TimeUnit.MILLISECONDS).isPresent());
+      assertFalse(mLockManager.tryAcquireBlockLock(TEST_SESSION_ID2, TEST_BLOCK_ID,
+          BlockLockType.WRITE, 100, TimeUnit.MILLISECONDS).isPresent());
+      // failed attempts must not leave references to the block lock behind
+      mLockManager.validate();
+    }
+    Optional<BlockLock> lock = mLockManager.tryAcquireBlockLock(TEST_SESSION_ID2, TEST_BLOCK_ID,
+        BlockLockType.WRITE, 1, TimeUnit.SECONDS);
+    assertTrue(lock.isPresent());
+    lock.get().close();
+    mLockManager.validate();
+  }
+
+  @Test
+  public void lockAlreadyReadLockedBlock() {
+    try (BlockLock readLock = mLockManager.acquireBlockLock(1, 1, BlockLockType.READ)) {
+      Assert.assertThrows(IllegalStateException.class,
+          () -> mLockManager.acquireBlockLock(1, 1, BlockLockType.WRITE));
+    }
+    mLockManager.validate();
+  }
+
+  @Test(timeout = 10000)
+  public void readBlocksWrite() throws Exception {
+    try (BlockLock lock = mLockManager.acquireBlockLock(1, TEST_BLOCK_ID, BlockLockType.READ)) {
+      Thread thread = new Thread(() ->
+          mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID, BlockLockType.WRITE));
+      thread.start();
+      thread.join(200);
+      // Locking should not take 200ms unless there is a hang.
+      assertTrue(thread.isAlive());
+    }
+  }
+
+  @Test
+  public void cleanupSession() {
+    BlockLock lock1 =
+        mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID, BlockLockType.READ);
+    BlockLock lock2 =
+        mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID + 1, BlockLockType.WRITE);
+    BlockLock lock3 =
+        mLockManager.acquireBlockLock(TEST_SESSION_ID2, TEST_BLOCK_ID, BlockLockType.READ);
+    mLockManager.cleanupSession(TEST_SESSION_ID);
+    assertFalse(mLockManager.checkLock(TEST_SESSION_ID, TEST_BLOCK_ID, lock1.get()));
+    assertFalse(mLockManager.checkLock(TEST_SESSION_ID, TEST_BLOCK_ID + 1, lock2.get()));
+    assertTrue(mLockManager.checkLock(TEST_SESSION_ID2, TEST_BLOCK_ID, lock3.get()));
+    // closing a lock released by the clean-up is a no-op
+    lock1.close();
+    lock2.close();
+    assertTrue(mLockManager.tryAcquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID + 1,
+        BlockLockType.WRITE, 1, TimeUnit.SECONDS).isPresent());
+    lock3.close();
+    mLockManager.cleanupSession(TEST_SESSION_ID);
+    assertTrue(mLockManager.getLockedBlocks().isEmpty());
+    mLockManager.validate();
+  }
+
+  /**
+   * Tests that more blocks than WORKER_TIERED_STORE_BLOCK_LOCKS can be locked simultaneously.
+   */
+  @Test(timeout = 10000)
+  public void grabMoreLocksThanPoolSize() {
+    Configuration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS, 10);
+    BlockLockManager manager = new RefCountBlockLockManager();
+    List<BlockLock> locks = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      locks.add(manager.acquireBlockLock(i, i, BlockLockType.WRITE));
+    }
+    assertEquals(100, manager.getLockedBlocks().size());
+    locks.forEach(BlockLock::close);
+    // released locks are reused for other blocks
+    for (int i = 100; i < 200; i++) {
+      manager.acquireBlockLock(i, i, BlockLockType.WRITE).close();
+    }
+    assertTrue(manager.getLockedBlocks().isEmpty());
+    manager.validate();
+  }
+
+  @Test
+  public void recordLockWaitTime() {
+    MetricsSystem.resetAllMetrics();
+    mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID, BlockLockType.READ).close();
+    mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID, BlockLockType.WRITE).close();
+    mLockManager.acquireBlockLock(TEST_SESSION_ID, TEST_BLOCK_ID, BlockLockType.WRITE).close();
+    assertEquals(1, MetricsSystem.timer(
+        MetricKey.WORKER_BLOCK_READ_LOCK_WAIT_TIME.getName()).getCount());
+    assertEquals(2, MetricsSystem.timer(
+        MetricKey.WORKER_BLOCK_WRITE_LOCK_WAIT_TIME.getName()).getCount());
+  }
+
+  /**
+   * Tests that taking and releasing many block locks concurrently won't cause a failure.
+   */
+  @Test(timeout = 10000)
+  public void stress() throws Throwable {
+    final int numBlocks = 2;
+    final int threadsPerBlock = 100;
+    final int lockUnlocksPerThread = 50;
+    final List<Thread> threads = new ArrayList<>();
+    final CyclicBarrier barrier = new CyclicBarrier(numBlocks * threadsPerBlock);
+    // If there are exceptions, we will store them here.
+    final ConcurrentHashSet<Throwable> failedThreadThrowables = new ConcurrentHashSet<>();
+    Thread.UncaughtExceptionHandler exceptionHandler = (th, ex) -> failedThreadThrowables.add(ex);
+    for (int blockId = 0; blockId < numBlocks; blockId++) {
+      final int finalBlockId = blockId;
+      for (int i = 0; i < threadsPerBlock; i++) {
+        final long sessionId = blockId * threadsPerBlock + i;
+        Thread t = new Thread(() -> {
+          try {
+            barrier.await();
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+          // Lock and unlock the block lockUnlocksPerThread times.
+          for (int j = 0; j < lockUnlocksPerThread; j++) {
+            BlockLockType type = j % 10 == 0 ? BlockLockType.WRITE : BlockLockType.READ;
+            mLockManager.acquireBlockLock(sessionId, finalBlockId, type).close();
+          }
+          // Lock the block one last time, after all write locks are released.
+          try {
+            barrier.await();
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+          mLockManager.acquireBlockLock(sessionId, finalBlockId, BlockLockType.READ);
+        });
+        t.setUncaughtExceptionHandler(exceptionHandler);
+        threads.add(t);
+      }
+    }
+    Collections.shuffle(threads);
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    if (!failedThreadThrowables.isEmpty()) {
+      StringBuilder sb = new StringBuilder("Failed with the following errors:\n");
+      for (Throwable failedThreadThrowable : failedThreadThrowables) {
+        sb.append(Throwables.getStackTraceAsString(failedThreadThrowable));
+      }
+      Assert.fail(sb.toString());
+    }
+    assertEquals(numBlocks, mLockManager.getLockedBlocks().size());
+    mLockManager.validate();
+  }
+}
@@ -16,7 +16,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +36,7 @@ import alluxio.worker.block.annotator.BlockIterator;
 import alluxio.worker.block.evictor.EvictionPlan;
 import alluxio.worker.block.evictor.Evictor;
 import alluxio.worker.block.evictor.Evictor.Mode;
+import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.meta.DefaultBlockMeta;
 import alluxio.worker.block.meta.DefaultTempBlockMeta;
 import alluxio.worker.block.meta.StorageDir;
@@ -50,8 +53,11 @@ import org.mockito.invocation.InvocationOnMock;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unit tests for {@link TieredBlockStore}.
@@ -98,7 +104,7 @@ public final class TieredBlockStoreTest {
     File tempFolder = mTestFolder.newFolder();
     TieredBlockStoreTestUtils.setupDefaultConf(tempFolder.getAbsolutePath());
     mMetaManager = BlockMetadataManager.createBlockMetadataManager();
-    mLockManager = new BlockLockManager();
+    mLockManager = new DefaultBlockLockManager();
     mBlockStore = new TieredBlockStore(mMetaManager, mLockManager);
     mBlockIterator = mMetaManager.getBlockIterator();
 
@@ -164,6 +170,60 @@ public final class TieredBlockStoreTest {
     assertTrue(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir1, TEMP_BLOCK_ID)));
   }
 
+  @Test
+  public void commitBlockLockedReleasesLockOnFailure() throws Exception {
+    TieredBlockStoreTestUtils.createTempBlock(SESSION_ID1, TEMP_BLOCK_ID, BLOCK_SIZE, mTestDir1);
+    mBlockStore.registerBlockStoreEventListener(new AbstractBlockStoreEventListener() {
+      @Override
+      public void onCommitBlockToLocal(long blockId, BlockStoreLocation location) {
+        throw new IllegalStateException("listener failed");
+      }
+    });
+    Assert.assertThrows(IllegalStateException.class,
+        () -> mBlockStore.commitBlockLocked(SESSION_ID1, TEMP_BLOCK_ID, false));
+    assertTrue(mLockManager.getLockedBlocks().isEmpty());
+  }
+
+  @Test
+  public void commitBlockWithConcurrentAllocation() throws Exception {
+    // Fill up the dir with temp blocks, so that any allocation in it can only succeed by taking
+    // the space of a block being committed
+    int blockSize = 10;
+    int blockCount = (int) (mTestDir1.getCapacityBytes() / blockSize);
+    for (int i = 0; i < blockCount; i++) {
+      TieredBlockStoreTestUtils.createTempBlock(SESSION_ID1, TEMP_BLOCK_ID + i, blockSize,
+          mTestDir1);
+    }
+    AllocateOptions options = AllocateOptions.forCreate(blockSize,
+        mTestDir1.toBlockStoreLocation()).setForceLocation(true).setEvictionAllowed(false);
+    long allocatedBlockId = TEMP_BLOCK_ID + blockCount;
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicInteger allocated = new AtomicInteger(0);
+    Thread allocator = new Thread(() -> {
+      while (!done.get()) {
+        try {
+          mBlockStore.createBlock(SESSION_ID2, allocatedBlockId, options);
+          allocated.incrementAndGet();
+          mBlockStore.abortBlock(SESSION_ID2, allocatedBlockId);
+        } catch (ResourceExhaustedRuntimeException e) {
+          // expected, the dir stays full
+        }
+      }
+    });
+    allocator.start();
+    try {
+      for (int i = 0; i < blockCount; i++) {
+        mBlockStore.commitBlock(SESSION_ID1, TEMP_BLOCK_ID + i, false);
+        assertTrue(mTestDir1.hasBlockMeta(TEMP_BLOCK_ID + i));
+      }
+    } finally {
+      done.set(true);
+      allocator.join();
+    }
+    assertEquals(0, allocated.get());
+    assertEquals(0, mTestDir1.getAvailableBytes());
+  }
+
   @Test
   public void abortBlock() throws Exception {
     TieredBlockStoreTestUtils.createTempBlock(SESSION_ID1, TEMP_BLOCK_ID, BLOCK_SIZE, mTestDir1);
@@ -546,6 +606,36 @@ public final class TieredBlockStoreTest {
     assertEquals(mTestDir1.getCapacityBytes(), mTestDir1.getAvailableBytes());
   }
 
+  /**
+   * Tests that a block locked by a reader after freeSpace took its snapshot of the locked blocks
+   * is not evicted while being read.
+   */
+  @Test
+  public void freeSpaceWithConcurrentRead() throws Exception {
+    // the snapshot of locked blocks is taken before the reader locks the block
+    BlockLockManager lockManager =
+        mock(BlockLockManager.class, delegatesTo(new DefaultBlockLockManager()));
+    doReturn(Collections.emptySet()).when(lockManager).getLockedBlocks();
+    TieredBlockStore blockStore = new TieredBlockStore(mMetaManager, lockManager);
+    TieredBlockStoreTestUtils.cache2(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mBlockIterator);
+
+    try (BlockReader reader = blockStore.createBlockReader(SESSION_ID2, BLOCK_ID1, 0)) {
+      Assert.assertThrows(ResourceExhaustedRuntimeException.class,
+          () -> blockStore.freeSpace(SESSION_ID1, mTestDir1.getCapacityBytes(),
+              mTestDir1.getCapacityBytes(), mTestDir1.toBlockStoreLocation()));
+      assertTrue(mTestDir1.hasBlockMeta(BLOCK_ID1));
+      assertTrue(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir1, BLOCK_ID1)));
+      assertEquals(BLOCK_SIZE, reader.read(0, BLOCK_SIZE).remaining());
+    }
+
+    // Expect freeSpace to succeed once the reader is closed.
+    blockStore.freeSpace(SESSION_ID1, mTestDir1.getCapacityBytes(), mTestDir1.getCapacityBytes(),
+        mTestDir1.toBlockStoreLocation());
+    assertFalse(mTestDir1.hasBlockMeta(BLOCK_ID1));
+    assertFalse(FileUtils.exists(DefaultBlockMeta.commitPath(mTestDir1, BLOCK_ID1)));
+  }
+
   @Test
   public void getBlockWriterForNonExistingBlock() {
     mThrown.expect(IllegalStateException.class);
@@ -0,0 +1,182 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for {@link UfsReadCoalescer}.
+ */
+public final class UfsReadCoalescerTest {
+  private static final String PATH = "/file";
+  private static final int LENGTH = 100;
+
+  private final AtomicInteger mUfsReads = new AtomicInteger();
+
+  @Test
+  public void concurrentReadsOfSameRangeAreCoalesced() {
+    UfsReadCoalescer coalescer = new UfsReadCoalescer(true);
+    CompletableFuture<Void> ufsRead = new CompletableFuture<>();
+    ByteBuffer leaderBuf = ByteBuffer.allocate(LENGTH);
+    ByteBuffer followerBuf = ByteBuffer.allocate(LENGTH);
+    CompletableFuture<Integer> leader =
+        coalescer.read(PATH, 0, LENGTH, null, leaderBuf, dst -> readLater(dst, ufsRead));
+    CompletableFuture<Integer> follower =
+        coalescer.read(PATH, 0, LENGTH, null, followerBuf, dst -> readLater(dst, ufsRead));
+    assertFalse(follower.isDone());
+    ufsRead.complete(null);
+    assertEquals(LENGTH, (int) leader.join());
+    assertEquals(LENGTH, (int) follower.join());
+    assertEquals(1, mUfsReads.get());
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(0, LENGTH, (ByteBuffer) leaderBuf.flip()));
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(0, LENGTH, (ByteBuffer) followerBuf.flip()));
+    assertEquals(0, coalescer.getReadsInFlight());
+  }
+
+  @Test
+  public void differentRangesAreNotCoalesced() {
+    UfsReadCoalescer coalescer = new UfsReadCoalescer(true);
+    CompletableFuture<Void> ufsRead = new CompletableFuture<>();
+    CompletableFuture<Integer> first = coalescer.read(PATH, 0, LENGTH, null,
+        ByteBuffer.allocate(LENGTH), dst -> readLater(dst, ufsRead));
+    CompletableFuture<Integer> otherOffset = coalescer.read(PATH, LENGTH, LENGTH, null,
+        ByteBuffer.allocate(LENGTH), dst -> readLater(dst, ufsRead));
+    CompletableFuture<Integer> otherUser = coalescer.read(PATH, 0, LENGTH, "user",
+        ByteBuffer.allocate(LENGTH), dst -> readLater(dst, ufsRead));
+    ufsRead.complete(null);
+    CompletableFuture.allOf(first, otherOffset, otherUser).join();
+    assertEquals(3, mUfsReads.get());
+  }
+
+  @Test
+  public void failureIsPropagatedToFollowers() {
+    UfsReadCoalescer coalescer = new UfsReadCoalescer(true);
+    CompletableFuture<Integer> ufsRead = new CompletableFuture<>();
+    CompletableFuture<Integer> leader =
+        coalescer.read(PATH, 0, LENGTH, null, ByteBuffer.allocate(LENGTH), dst -> ufsRead);
+    CompletableFuture<Integer> follower =
+        coalescer.read(PATH, 0, LENGTH, null, ByteBuffer.allocate(LENGTH), dst -> ufsRead);
+    ufsRead.completeExceptionally(new IOException("failed"));
+    for (CompletableFuture<Integer> read : Arrays.asList(leader, follower)) {
+      try {
+        read.join();
+        fail("read should fail");
+      } catch (CompletionException e) {
+        assertTrue(e.getCause() instanceof IOException);
+      }
+    }
+    assertEquals(0, coalescer.getReadsInFlight());
+  }
+
+  @Test
+  public void completedReadsAreNotShared() throws Exception {
+    UfsReadCoalescer coalescer = new UfsReadCoalescer(true);
+    for (int i = 0; i < 3; i++) {
+      ByteBuffer buf = ByteBuffer.allocate(LENGTH);
+      assertEquals(LENGTH,
+          coalescer.read(PATH, 0, LENGTH, null, true, buf, this::readNow).getBytesRead());
+    }
+    assertEquals(3, mUfsReads.get());
+  }
+
+  @Test(timeout = 10000)
+  public void followersCacheUnlessLeaderCaches() throws Exception {
+    for (boolean leaderCaches : new boolean[] {true, false}) {
+      UfsReadCoalescer coalescer = new UfsReadCoalescer(true);
+      CountDownLatch ufsRead = new CountDownLatch(1);
+      AtomicReference<UfsReadCoalescer.Result> leaderResult = new AtomicReference<>();
+      AtomicReference<UfsReadCoalescer.Result> followerResult = new AtomicReference<>();
+      Thread leader = readInThread(coalescer, leaderCaches, dst -> {
+        ufsRead.await();
+        return readNow(dst);
+      }, leaderResult);
+      CommonUtils.waitFor("leading read", () -> coalescer.getReadsInFlight() == 1);
+      Thread follower = readInThread(coalescer, true, dst -> {
+        throw new IOException("read should be coalesced");
+      }, followerResult);
+      CommonUtils.waitFor("follower to wait for the leading read",
+          () -> follower.getState() == Thread.State.WAITING);
+      ufsRead.countDown();
+      leader.join();
+      follower.join();
+      assertFalse(leaderResult.get().isCachedByLeader());
+      assertEquals(LENGTH, followerResult.get().getBytesRead());
+      // the follower only relies on the leader to cache the data if the leader does
+      assertEquals(leaderCaches, followerResult.get().isCachedByLeader());
+    }
+  }
+
+  @Test
+  public void disabled() {
+    UfsReadCoalescer coalescer = new UfsReadCoalescer(false);
+    CompletableFuture<Void> ufsRead = new CompletableFuture<>();
+    CompletableFuture<Integer> first = coalescer.read(PATH, 0, LENGTH, null,
+        ByteBuffer.allocate(LENGTH), dst -> readLater(dst, ufsRead));
+    CompletableFuture<Integer> second = coalescer.read(PATH, 0, LENGTH, null,
+        ByteBuffer.allocate(LENGTH), dst -> readLater(dst, ufsRead));
+    ufsRead.complete(null);
+    CompletableFuture.allOf(first, second).join();
+    assertEquals(2, mUfsReads.get());
+    assertEquals(0, coalescer.getReadsInFlight());
+  }
+
+  private Thread readInThread(UfsReadCoalescer coalescer, boolean cache,
+      InterruptibleReader reader, AtomicReference<UfsReadCoalescer.Result> result) {
+    Thread thread = new Thread(() -> {
+      try {
+        result.set(coalescer.read(PATH, 0, LENGTH, null, cache, ByteBuffer.allocate(LENGTH),
+            dst -> {
+              try {
+                return reader.read(dst);
+              } catch (InterruptedException e) {
+                throw new IOException(e);
+              }
+            }));
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private interface InterruptibleReader {
+    int read(ByteBuffer dst) throws IOException, InterruptedException;
+  }
+
+  private CompletableFuture<Integer> readLater(ByteBuffer dst, CompletableFuture<Void> ufsRead) {
+    return ufsRead.thenApply(x -> readNow(dst));
+  }
+
+  private int readNow(ByteBuffer dst) {
+    mUfsReads.incrementAndGet();
+    dst.put(BufferUtils.getIncreasingByteArray(LENGTH));
+    return LENGTH;
+  }
+}
@@ -11,10 +11,14 @@
 
 package alluxio.worker.block;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 
@@ -28,16 +32,21 @@ import alluxio.metrics.MetricInfo;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UfsManager.UfsClient;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.options.OpenOptions;
 import alluxio.util.io.BufferUtils;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import org.junit.Assert;
@@ -48,8 +57,14 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public final class UnderFileSystemBlockReaderTest {
   private static final long TEST_BLOCK_SIZE = 1024;
@@ -113,6 +128,19 @@ public final class UnderFileSystemBlockReaderTest {
         MetricsSystem.escape(mUfsClient.getUfsMountPointUri()));
   }
 
+  /**
+   * @return a client of the test UFS mounted with readahead enabled
+   */
+  private UfsClient createReadaheadUfsClient() {
+    String ufsPath = mOpenUfsBlockOptions.getUfsPath();
+    return new UfsClient(
+        () -> UnderFileSystem.Factory.create(ufsPath,
+            UnderFileSystemConfiguration.defaults(Configuration.global())
+                .createMountSpecificConf(ImmutableMap.of(
+                    PropertyKey.UNDERFS_READAHEAD_ENABLED.getName(), "true"))),
+        new AlluxioURI(ufsPath));
+  }
+
   private void checkTempBlock(long start, long length) throws Exception {
     Assert.assertTrue(mAlluxioBlockStore.hasTempBlockMeta(BLOCK_ID));
     mAlluxioBlockStore.commitBlock(SESSION_ID, BLOCK_ID, false);
@@ -252,6 +280,126 @@ public final class UnderFileSystemBlockReaderTest {
     assertFalse(mAlluxioBlockStore.hasTempBlockMeta(BLOCK_ID));
   }
 
+  @Test
+  public void readSequentiallyWithReadahead() throws Exception {
+    UfsReadahead readahead = new UfsReadahead(100, 2, 1000,
+        MoreExecutors.newDirectExecutorService());
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
+        mAlluxioBlockStore, createReadaheadUfsClient(), mUfsInstreamCache, readahead,
+        mUfsBytesRead, mUfsBytesReadThroughput);
+    for (int offset = 0; offset < TEST_BLOCK_SIZE; offset += 64) {
+      ByteBuffer buffer = mReader.read(offset, 64);
+      int length = (int) Math.min(64, TEST_BLOCK_SIZE - offset);
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(offset, length, buffer));
+      if (offset > 0) {
+        assertTrue(readahead.getBuffersInUse() > 0);
+      }
+    }
+    mReader.close();
+    assertEquals(0, readahead.getBuffersInUse());
+    checkTempBlock(0, TEST_BLOCK_SIZE);
+  }
+
+  @Test
+  public void transferWithReadaheadOverBudget() throws Exception {
+    UfsReadahead readahead = new UfsReadahead(100, 4, 200,
+        MoreExecutors.newDirectExecutorService());
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
+        mAlluxioBlockStore, createReadaheadUfsClient(), mUfsInstreamCache, readahead,
+        mUfsBytesRead, mUfsBytesReadThroughput);
+    // another reader holds the whole memory budget at times
+    UfsReadahead.Stream other = readahead.open(mUfsClient.acquireUfsResource().get(),
+        mOpenUfsBlockOptions.getUfsPath(), 0, TEST_BLOCK_SIZE, 0);
+    ByteBuf buf =
+        PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE, (int) TEST_BLOCK_SIZE);
+    ByteBuf chunk = PooledByteBufAllocator.DEFAULT.buffer(48, 48);
+    try {
+      while (buf.writableBytes() > 0 && mReader.transferTo(chunk) != -1) {
+        buf.writeBytes(chunk);
+        chunk.clear();
+        if (buf.writerIndex() > TEST_BLOCK_SIZE / 2) {
+          other.close();
+        }
+      }
+      assertTrue(BufferUtils
+          .equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buf.nioBuffer()));
+      mReader.close();
+    } finally {
+      buf.release();
+      chunk.release();
+    }
+    assertEquals(0, readahead.getBuffersInUse());
+    checkTempBlock(0, TEST_BLOCK_SIZE);
+  }
+
+  @Test
+  public void readRandomlyWithReadahead() throws Exception {
+    UfsReadahead readahead = new UfsReadahead(100, 2, 1000,
+        MoreExecutors.newDirectExecutorService());
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
+        mAlluxioBlockStore, createReadaheadUfsClient(), mUfsInstreamCache, readahead,
+        mUfsBytesRead, mUfsBytesReadThroughput);
+    for (int offset : new int[] {512, 0, 256, 768, 128}) {
+      ByteBuffer buffer = mReader.read(offset, 64);
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(offset, 64, buffer));
+      assertEquals(0, readahead.getBuffersInUse());
+    }
+    mReader.close();
+  }
+
+  @Test(timeout = 10000)
+  public void closeReadaheadWithPendingReads() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    UfsReadahead readahead = new UfsReadahead(100, 2, 1000, executor);
+    // keep the only thread busy so that the reads ahead stay queued
+    CountDownLatch latch = new CountDownLatch(1);
+    executor.execute(() -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    UfsReadahead.Stream stream = readahead.open(mUfsClient.acquireUfsResource().get(),
+        mOpenUfsBlockOptions.getUfsPath(), 0, TEST_BLOCK_SIZE, 0);
+    assertEquals(2, readahead.getBuffersInUse());
+    readahead.close();
+    // the dropped reads fail instead of blocking the reader forever
+    assertNull(stream.next(64));
+    stream.close();
+    assertEquals(0, readahead.getBuffersInUse());
+  }
+
+  @Test(timeout = 10000)
+  public void readaheadAsClientUser() throws Exception {
+    UnderFileSystem ufs = spy(mUfsClient.acquireUfsResource().get());
+    List<String> users = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(invocation -> {
+      User user = AuthenticatedClientUser.getOrNull();
+      users.add(user == null ? null : user.getName());
+      return invocation.callRealMethod();
+    }).when(ufs).open(anyString(), any(OpenOptions.class));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    UfsReadahead readahead = new UfsReadahead(100, 2, 1000, executor);
+    AuthenticatedClientUser.set("alice");
+    UfsReadahead.Stream stream;
+    try {
+      stream = readahead.open(ufs, mOpenUfsBlockOptions.getUfsPath(), 0, TEST_BLOCK_SIZE, 0);
+    } finally {
+      AuthenticatedClientUser.remove();
+    }
+    ByteBuffer buffer = stream.next(64);
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(0, 64, buffer));
+    stream.close();
+    // the readahead thread does not keep the identity of the client after the reads
+    assertNull(executor.submit(AuthenticatedClientUser::getOrNull).get());
+    readahead.close();
+    assertFalse(users.isEmpty());
+    for (String user : users) {
+      assertEquals("alice", user);
+    }
+  }
+
   @Test
   public void getLocation() throws Exception {
     mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
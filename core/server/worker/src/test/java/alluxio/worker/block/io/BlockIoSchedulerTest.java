@@ -0,0 +1,123 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.worker.block.AllocateOptions;
+import alluxio.worker.block.BlockMetadataManager;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.DefaultBlockLockManager;
+import alluxio.worker.block.TieredBlockStore;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+import alluxio.worker.block.meta.StorageDir;
+import alluxio.worker.block.meta.StorageTier;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link BlockIoScheduler}.
+ */
+public final class BlockIoSchedulerTest {
+  private static final long SESSION_ID = 1;
+  private static final long BLOCK_ID = 1000;
+  private static final long BLOCK_SIZE = 512;
+  private static final String MEM_TIER_ALIAS = TieredBlockStoreTestUtils.TIER_ALIAS[0];
+
+  private BlockMetadataManager mMetaManager;
+  private TieredBlockStore mBlockStore;
+
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void beforeClass() {
+    // the scheduler reads its configuration once, before it is first used in this test JVM
+    Configuration.set(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_ENABLED, true);
+    Configuration.set(PropertyKey.WORKER_BLOCK_IO_SCHEDULER_QUEUE_DEPTH, 1);
+  }
+
+  @AfterClass
+  public static void afterClass() {
+    Configuration.reloadProperties();
+  }
+
+  @Before
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.WORKER_REVIEWER_CLASS,
+        "alluxio.worker.block.reviewer.AcceptingReviewer");
+    TieredBlockStoreTestUtils.setupDefaultConf(mTestFolder.newFolder().getAbsolutePath());
+    mMetaManager = BlockMetadataManager.createBlockMetadataManager();
+    mBlockStore = new TieredBlockStore(mMetaManager, new DefaultBlockLockManager());
+  }
+
+  @Test(timeout = 10000)
+  public void promoteToAnyDirWaitsForAllocatedDir() throws Exception {
+    StorageDir srcDir = mMetaManager.getTiers().get(1).getDir(0);
+    TieredBlockStoreTestUtils.cache(SESSION_ID, BLOCK_ID, BLOCK_SIZE, mBlockStore,
+        srcDir.toBlockStoreLocation(), false);
+    // keep every directory of the destination tier busy
+    StorageTier dstTier = mMetaManager.getTier(MEM_TIER_ALIAS);
+    List<DirIoScheduler> dstSchedulers = new ArrayList<>();
+    List<IoPermit> permits = new ArrayList<>();
+    for (StorageDir dir : dstTier.getStorageDirs()) {
+      DirIoScheduler scheduler = BlockIoScheduler.get(dir.toBlockStoreLocation());
+      dstSchedulers.add(scheduler);
+      permits.add(scheduler.acquire(IoClass.FOREGROUND_READ));
+    }
+    CompletableFuture<Void> promotion = CompletableFuture.runAsync(() -> {
+      try {
+        mBlockStore.moveBlock(SESSION_ID, BLOCK_ID,
+            AllocateOptions.forTierMove(BlockStoreLocation.anyDirInTier(MEM_TIER_ALIAS)));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    // the move waits on the directory picked by the allocator, not on the wildcard location
+    CommonUtils.waitFor("promotion to wait for its destination directory",
+        () -> dstSchedulers.stream().mapToInt(DirIoScheduler::getQueued).sum() == 1,
+        WaitForOptions.defaults().setTimeoutMs(5000));
+    StorageDir waitingDir = null;
+    for (int i = 0; i < dstSchedulers.size(); i++) {
+      if (dstSchedulers.get(i).getQueued() == 1) {
+        waitingDir = dstTier.getStorageDirs().get(i);
+      }
+    }
+    assertFalse(promotion.isDone());
+    assertEquals(srcDir.toBlockStoreLocation(),
+        mBlockStore.getVolatileBlockMeta(BLOCK_ID).get().getBlockLocation());
+    for (IoPermit permit : permits) {
+      permit.close();
+    }
+    promotion.get(5, TimeUnit.SECONDS);
+    assertEquals(waitingDir.toBlockStoreLocation(),
+        mBlockStore.getVolatileBlockMeta(BLOCK_ID).get().getBlockLocation());
+    for (DirIoScheduler scheduler : dstSchedulers) {
+      assertEquals(0, scheduler.getRunning());
+    }
+  }
+}
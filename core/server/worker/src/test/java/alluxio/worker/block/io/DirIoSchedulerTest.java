@@ -0,0 +1,151 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link DirIoScheduler}.
+ */
+public final class DirIoSchedulerTest {
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mExecutor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void queueDepthIsBounded() throws Exception {
+    DirIoScheduler scheduler = new DirIoScheduler(2, new int[] {1, 1, 1, 1});
+    IoPermit first = scheduler.acquire(IoClass.FOREGROUND_READ);
+    IoPermit second = scheduler.acquire(IoClass.CACHE_FILL);
+    assertEquals(2, scheduler.getRunning());
+    CountDownLatch admitted = new CountDownLatch(1);
+    Future<?> third = mExecutor.submit(() -> {
+      try (IoPermit permit = scheduler.acquire(IoClass.FOREGROUND_WRITE)) {
+        admitted.countDown();
+      }
+    });
+    waitForQueued(scheduler, 1);
+    assertEquals(1, admitted.getCount());
+    first.close();
+    third.get();
+    second.close();
+    assertEquals(0, scheduler.getRunning());
+    assertEquals(0, scheduler.getQueued());
+  }
+
+  @Test
+  public void closePermitTwice() throws Exception {
+    DirIoScheduler scheduler = new DirIoScheduler(1, new int[] {1, 1, 1, 1});
+    IoPermit first = scheduler.acquire(IoClass.TIER_MOVE);
+    first.close();
+    first.close();
+    assertEquals(0, scheduler.getRunning());
+    IoPermit second = scheduler.acquire(IoClass.FOREGROUND_READ);
+    // closing the first permit again must not release the slot held by the second one
+    first.close();
+    assertEquals(1, scheduler.getRunning());
+    Future<?> third = mExecutor.submit(() -> scheduler.acquire(IoClass.FOREGROUND_READ).close());
+    waitForQueued(scheduler, 1);
+    second.close();
+    third.get();
+    assertEquals(0, scheduler.getRunning());
+    assertEquals(0, scheduler.getQueued());
+  }
+
+  @Test
+  public void weightedFairOrder() throws Exception {
+    DirIoScheduler scheduler = new DirIoScheduler(1, new int[] {4, 1, 1, 1});
+    IoPermit holder = scheduler.acquire(IoClass.TIER_MOVE);
+    List<IoClass> order = Collections.synchronizedList(new ArrayList<>());
+    List<Future<?>> requests = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      requests.add(submit(scheduler, IoClass.FOREGROUND_READ, order));
+    }
+    waitForQueued(scheduler, 8);
+    for (int i = 0; i < 2; i++) {
+      requests.add(submit(scheduler, IoClass.TIER_MOVE, order));
+    }
+    waitForQueued(scheduler, 10);
+    holder.close();
+    for (Future<?> request : requests) {
+      request.get();
+    }
+    IoClass r = IoClass.FOREGROUND_READ;
+    IoClass m = IoClass.TIER_MOVE;
+    // reads advance their pass four times slower, so they run four times as often
+    assertEquals(Arrays.asList(r, r, r, r, r, m, r, r, r, m), order);
+  }
+
+  @Test
+  public void idleClassDoesNotBurst() throws Exception {
+    DirIoScheduler scheduler = new DirIoScheduler(1, new int[] {1, 1, 1, 1});
+    // reads run alone for a while, which must not give moves credit over them later
+    for (int i = 0; i < 10; i++) {
+      scheduler.acquire(IoClass.FOREGROUND_READ).close();
+    }
+    IoPermit holder = scheduler.acquire(IoClass.FOREGROUND_READ);
+    List<IoClass> order = Collections.synchronizedList(new ArrayList<>());
+    List<Future<?>> requests = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      requests.add(submit(scheduler, IoClass.TIER_MOVE, order));
+    }
+    waitForQueued(scheduler, 3);
+    for (int i = 0; i < 3; i++) {
+      requests.add(submit(scheduler, IoClass.FOREGROUND_READ, order));
+    }
+    waitForQueued(scheduler, 6);
+    holder.close();
+    for (Future<?> request : requests) {
+      request.get();
+    }
+    IoClass r = IoClass.FOREGROUND_READ;
+    IoClass m = IoClass.TIER_MOVE;
+    assertEquals(Arrays.asList(m, r, m, r, m, r), order);
+  }
+
+  private Future<?> submit(DirIoScheduler scheduler, IoClass ioClass, List<IoClass> order) {
+    return mExecutor.submit(() -> {
+      try (IoPermit permit = scheduler.acquire(ioClass)) {
+        order.add(ioClass);
+      }
+    });
+  }
+
+  private static void waitForQueued(DirIoScheduler scheduler, int queued) throws Exception {
+    CommonUtils.waitFor("requests to be queued", () -> scheduler.getQueued() == queued,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+}
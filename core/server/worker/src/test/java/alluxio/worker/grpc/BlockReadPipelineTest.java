@@ -0,0 +1,195 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.BlockIoEngineType;
+import alluxio.worker.block.io.AsyncFileChannelIoEngine;
+import alluxio.worker.block.io.AsyncFileReader;
+import alluxio.worker.block.io.BlockIoEngine;
+import alluxio.worker.block.io.FileChannelIoEngine;
+import alluxio.worker.block.io.LocalFileBlockReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests for {@link BlockReadPipeline}.
+ */
+@RunWith(Parameterized.class)
+public final class BlockReadPipelineTest {
+  private static final int CHUNK_SIZE = 1024;
+  private static final int FILE_SIZE = CHUNK_SIZE * 20 + CHUNK_SIZE / 3;
+  private static final int MAX_DEPTH = 4;
+
+  /**
+   * @return the I/O engines to test with
+   */
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        {BlockIoEngineType.FILE_CHANNEL}, {BlockIoEngineType.ASYNC_FILE_CHANNEL}});
+  }
+
+  @Parameterized.Parameter
+  public BlockIoEngineType mEngineType;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private ExecutorService mExecutor;
+  private BlockIoEngine mEngine;
+  private LocalFileBlockReader mBlockReader;
+
+  @Before
+  public void before() throws Exception {
+    File file = mFolder.newFile();
+    Files.write(file.toPath(), BufferUtils.getIncreasingByteArray(FILE_SIZE));
+    mBlockReader = new LocalFileBlockReader(file.getPath());
+    mExecutor = Executors.newFixedThreadPool(MAX_DEPTH);
+    mEngine = mEngineType == BlockIoEngineType.ASYNC_FILE_CHANNEL
+        ? new AsyncFileChannelIoEngine(mExecutor) : new FileChannelIoEngine(mExecutor);
+  }
+
+  @After
+  public void after() throws Exception {
+    mBlockReader.close();
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void readInOrder() throws Exception {
+    try (BlockReadPipeline pipeline = create(0, FILE_SIZE)) {
+      checkChunks(pipeline, 0, FILE_SIZE);
+    }
+  }
+
+  @Test
+  public void readPartial() throws Exception {
+    int start = CHUNK_SIZE / 2;
+    int end = FILE_SIZE - CHUNK_SIZE * 3;
+    try (BlockReadPipeline pipeline = create(start, end)) {
+      checkChunks(pipeline, start, end);
+    }
+  }
+
+  @Test
+  public void readPastEndOfFile() throws Exception {
+    try (BlockReadPipeline pipeline = create(0, FILE_SIZE + CHUNK_SIZE * 10)) {
+      checkChunks(pipeline, 0, FILE_SIZE);
+    }
+  }
+
+  @Test
+  public void depthGrowsWhenWaitingOnReads() throws Exception {
+    // slow reads completing one at a time, so the stream always waits for the next chunk
+    ExecutorService slowExecutor = Executors.newSingleThreadExecutor();
+    BlockIoEngine slowEngine = new FileChannelIoEngine(command ->
+        slowExecutor.execute(() -> {
+          CommonUtils.sleepMs(10);
+          command.run();
+        }));
+    try (BlockReadPipeline pipeline = new BlockReadPipeline(slowEngine.open(mBlockReader), null,
+        0, FILE_SIZE, CHUNK_SIZE, MAX_DEPTH, false)) {
+      assertEquals(1, pipeline.getDepth());
+      long pos = 0;
+      for (int i = 0; i < MAX_DEPTH * 2; i++) {
+        DataBuffer chunk = pipeline.next(pos);
+        pos += chunk.getLength();
+        chunk.release();
+      }
+      assertEquals(MAX_DEPTH, pipeline.getDepth());
+    } finally {
+      slowExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void depthIsBounded() throws Exception {
+    try (BlockReadPipeline pipeline = create(0, FILE_SIZE)) {
+      long pos = 0;
+      DataBuffer chunk;
+      while ((chunk = pipeline.next(pos)) != null) {
+        assertTrue(pipeline.getDepth() >= 1 && pipeline.getDepth() <= MAX_DEPTH);
+        pos += chunk.getLength();
+        chunk.release();
+      }
+    }
+  }
+
+  @Test
+  public void closeReleasesReadsInFlight() throws Exception {
+    BlockReadPipeline pipeline = create(0, FILE_SIZE);
+    DataBuffer chunk = pipeline.next(0);
+    chunk.release();
+    pipeline.close();
+    assertNull(pipeline.next(chunk.getLength()));
+  }
+
+  @Test
+  public void readFailureIsIOException() throws Exception {
+    AsyncFileReader reader = mEngine.open(mBlockReader);
+    // reads of a closed channel fail
+    if (mEngineType == BlockIoEngineType.FILE_CHANNEL) {
+      mBlockReader.getChannel().close();
+    } else {
+      reader.close();
+    }
+    try (BlockReadPipeline pipeline = new BlockReadPipeline(reader, null, 0, FILE_SIZE,
+        CHUNK_SIZE, MAX_DEPTH, false)) {
+      assertThrows(ClosedChannelException.class, () -> pipeline.next(0));
+    }
+  }
+
+  private BlockReadPipeline create(long start, long end) throws Exception {
+    return new BlockReadPipeline(mEngine.open(mBlockReader), null, start, end, CHUNK_SIZE,
+        MAX_DEPTH, true);
+  }
+
+  private static void checkChunks(BlockReadPipeline pipeline, int start, int end)
+      throws Exception {
+    int pos = start;
+    DataBuffer chunk;
+    while ((chunk = pipeline.next(pos)) != null) {
+      try {
+        assertTrue(chunk.getLength() <= CHUNK_SIZE);
+        byte[] bytes = new byte[chunk.readableBytes()];
+        chunk.readBytes(bytes, 0, bytes.length);
+        assertTrue(BufferUtils.equalIncreasingByteArray(pos, bytes.length, bytes));
+        pos += bytes.length;
+      } finally {
+        chunk.release();
+      }
+    }
+    assertEquals(end, pos);
+  }
+}
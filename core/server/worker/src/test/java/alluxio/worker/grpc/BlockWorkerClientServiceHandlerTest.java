@@ -0,0 +1,111 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.grpc.BlockRange;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
+import alluxio.worker.WorkerProcess;
+import alluxio.worker.block.BlockStore;
+import alluxio.worker.block.BlockWorker;
+import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.BlockReader;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for {@link BlockWorkerClientServiceHandler}.
+ */
+public final class BlockWorkerClientServiceHandlerTest {
+  private DefaultBlockWorker mBlockWorker;
+  private BlockStore mBlockStore;
+  private BlockWorkerClientServiceHandler mHandler;
+  private StreamObserver<ReadBlockRangesResponse> mResponseObserver;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void before() {
+    mBlockWorker = mock(DefaultBlockWorker.class);
+    mBlockStore = mock(BlockStore.class);
+    when(mBlockWorker.getBlockStore()).thenReturn(mBlockStore);
+    WorkerProcess workerProcess = mock(WorkerProcess.class);
+    when(workerProcess.getWorker(BlockWorker.class)).thenReturn(mBlockWorker);
+    mHandler = new BlockWorkerClientServiceHandler(workerProcess, false);
+    mResponseObserver = mock(StreamObserver.class);
+  }
+
+  @Test
+  public void readBlockRanges() throws Exception {
+    BlockReader reader = mock(BlockReader.class);
+    when(reader.read(2, 3)).thenReturn(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    when(mBlockWorker.createBlockReader(anyLong(), eq(1L), eq(2L), anyBoolean(), any()))
+        .thenReturn(reader);
+    mHandler.readBlockRanges(ReadBlockRangesRequest.newBuilder()
+        .addRanges(BlockRange.newBuilder().setBlockId(1).setOffset(2).setLength(3)).build(),
+        mResponseObserver);
+    ArgumentCaptor<ReadBlockRangesResponse> response =
+        ArgumentCaptor.forClass(ReadBlockRangesResponse.class);
+    verify(mResponseObserver).onNext(response.capture());
+    assertEquals(ByteString.copyFrom(new byte[] {1, 2, 3}),
+        response.getValue().getChunks(0).getData());
+    verify(reader).close();
+    verify(mBlockStore).cleanupSession(anyLong());
+  }
+
+  @Test
+  public void rejectOverflowingRanges() throws Exception {
+    // the sum of the lengths overflows to a negative number
+    BlockRange range = BlockRange.newBuilder().setBlockId(1).setLength(Long.MAX_VALUE / 2 + 1)
+        .build();
+    mHandler.readBlockRanges(
+        ReadBlockRangesRequest.newBuilder().addRanges(range).addRanges(range).build(),
+        mResponseObserver);
+    assertEquals(Status.Code.INVALID_ARGUMENT, getError().getCode());
+    verify(mBlockWorker, never())
+        .createBlockReader(anyLong(), anyLong(), anyLong(), anyBoolean(), any());
+  }
+
+  @Test
+  public void cleanupSessionOnFailure() throws Exception {
+    when(mBlockWorker.createBlockReader(anyLong(), anyLong(), anyLong(), anyBoolean(), any()))
+        .thenThrow(new IOException("read failed"));
+    mHandler.readBlockRanges(ReadBlockRangesRequest.newBuilder()
+        .addRanges(BlockRange.newBuilder().setBlockId(1).setLength(1)).build(),
+        mResponseObserver);
+    getError();
+    verify(mBlockStore).cleanupSession(anyLong());
+  }
+
+  private Status getError() {
+    ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+    verify(mResponseObserver).onError(error.capture());
+    return Status.fromThrowable(error.getValue());
+  }
+}
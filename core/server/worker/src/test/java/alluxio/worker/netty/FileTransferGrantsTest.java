@@ -0,0 +1,65 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.clock.ManualClock;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FileTransferGrants}.
+ */
+public final class FileTransferGrantsTest {
+  private static final long BLOCK_ID = 1L;
+  private static final long TIMEOUT_MS = 1000L;
+
+  private final ManualClock mClock = new ManualClock();
+  private final FileTransferGrants mGrants = new FileTransferGrants(mClock, TIMEOUT_MS);
+
+  @Test
+  public void redeemOnce() {
+    long token = mGrants.grant(BLOCK_ID);
+    assertNotEquals(token, mGrants.grant(BLOCK_ID));
+    assertTrue(mGrants.redeem(token, BLOCK_ID));
+    assertFalse(mGrants.redeem(token, BLOCK_ID));
+  }
+
+  @Test
+  public void redeemOtherBlock() {
+    long token = mGrants.grant(BLOCK_ID);
+    assertFalse(mGrants.redeem(token, BLOCK_ID + 1));
+    // a failed attempt uses up the grant
+    assertFalse(mGrants.redeem(token, BLOCK_ID));
+  }
+
+  @Test
+  public void expire() {
+    long token = mGrants.grant(BLOCK_ID);
+    mClock.addTimeMs(TIMEOUT_MS + 1);
+    assertFalse(mGrants.redeem(token, BLOCK_ID));
+  }
+
+  @Test
+  public void removeExpiredOnGrant() {
+    mGrants.grant(BLOCK_ID);
+    mGrants.grant(BLOCK_ID);
+    mClock.addTimeMs(TIMEOUT_MS + 1);
+    long token = mGrants.grant(BLOCK_ID);
+    assertEquals(1, mGrants.size());
+    assertTrue(mGrants.redeem(token, BLOCK_ID));
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.network.protocol.FileTransferProtocol;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.BlockLock;
+import alluxio.worker.block.BlockStore;
+import alluxio.worker.block.meta.BlockMeta;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * Tests for {@link FileTransferReadHandler}.
+ */
+public final class FileTransferReadHandlerTest {
+  private static final long BLOCK_ID = 1L;
+  private static final int BLOCK_SIZE = 1024;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private BlockStore mBlockStore;
+  private BlockLock mLock;
+  private FileTransferGrants mGrants;
+  private EmbeddedChannel mChannel;
+
+  @Before
+  public void before() throws Exception {
+    File blockFile = mFolder.newFile();
+    Files.write(blockFile.toPath(), BufferUtils.getIncreasingByteArray(BLOCK_SIZE));
+    BlockMeta meta = mock(BlockMeta.class);
+    when(meta.getPath()).thenReturn(blockFile.getPath());
+    when(meta.getBlockSize()).thenReturn((long) BLOCK_SIZE);
+    mLock = mock(BlockLock.class);
+    mBlockStore = mock(BlockStore.class);
+    when(mBlockStore.pinBlock(anyLong(), eq(BLOCK_ID))).thenReturn(Optional.of(mLock));
+    when(mBlockStore.getVolatileBlockMeta(BLOCK_ID)).thenReturn(Optional.of(meta));
+    mGrants = new FileTransferGrants(Clock.systemUTC(), Constants.MINUTE_MS);
+    mChannel = new EmbeddedChannel(new FileTransferReadHandler(mBlockStore, mGrants));
+  }
+
+  @Test
+  public void transferBlock() throws Exception {
+    mChannel.writeInbound(request(mGrants.grant(BLOCK_ID), BLOCK_ID, 10, BLOCK_SIZE));
+    ByteBuf header = mChannel.readOutbound();
+    assertEquals(BLOCK_SIZE - 10, header.readLong());
+    header.release();
+    DefaultFileRegion region = mChannel.readOutbound();
+    assertEquals(10, region.position());
+    assertEquals(BLOCK_SIZE - 10, region.count());
+    region.release();
+    assertNull(mChannel.readOutbound());
+    assertFalse(mChannel.isOpen());
+    verify(mBlockStore).accessBlock(anyLong(), eq(BLOCK_ID));
+    verify(mBlockStore).unpinBlock(mLock);
+    // the grant can't be used again
+    assertEquals(0, mGrants.size());
+  }
+
+  @Test
+  public void notGranted() throws Exception {
+    mChannel.writeInbound(request(1L, BLOCK_ID, 0, BLOCK_SIZE));
+    checkError();
+    verify(mBlockStore, never()).pinBlock(anyLong(), anyLong());
+  }
+
+  @Test
+  public void grantedForOtherBlock() throws Exception {
+    mChannel.writeInbound(request(mGrants.grant(BLOCK_ID + 1), BLOCK_ID, 0, BLOCK_SIZE));
+    checkError();
+    verify(mBlockStore, never()).pinBlock(anyLong(), anyLong());
+  }
+
+  @Test
+  public void blockNotFound() throws Exception {
+    when(mBlockStore.pinBlock(anyLong(), eq(BLOCK_ID))).thenReturn(Optional.empty());
+    mChannel.writeInbound(request(mGrants.grant(BLOCK_ID), BLOCK_ID, 0, BLOCK_SIZE));
+    checkError();
+    verify(mBlockStore, never()).unpinBlock(mLock);
+  }
+
+  @Test
+  public void invalidOffset() throws Exception {
+    mChannel.writeInbound(
+        request(mGrants.grant(BLOCK_ID), BLOCK_ID, BLOCK_SIZE + 1, BLOCK_SIZE));
+    checkError();
+    verify(mBlockStore).unpinBlock(mLock);
+  }
+
+  private void checkError() {
+    ByteBuf reply = mChannel.readOutbound();
+    assertEquals(FileTransferProtocol.ERROR, reply.readLong());
+    int length = reply.readInt();
+    assertTrue(length > 0);
+    assertEquals(length, reply.readableBytes());
+    reply.release();
+    assertNull(mChannel.readOutbound());
+    assertFalse(mChannel.isOpen());
+  }
+
+  private static ByteBuf request(long token, long blockId, long offset, long length) {
+    return Unpooled.buffer(FileTransferProtocol.REQUEST_LENGTH)
+        .writeLong(token).writeLong(blockId).writeLong(offset).writeLong(length);
+  }
+}
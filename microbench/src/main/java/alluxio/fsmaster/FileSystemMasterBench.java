@@ -13,6 +13,8 @@ package alluxio.fsmaster;
 
 import alluxio.BaseFileStructure;
 import alluxio.BaseThreadState;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.security.authentication.AuthenticatedClientUser;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -67,11 +69,19 @@ public class FileSystemMasterBench {
 
     @Param({"ZIPF"})
     public Distribution mDistribution;
+
+    @Param({"false", "true"})
+    public boolean mStripedLocks;
+
+    @Param({"false", "true"})
+    public boolean mOptimisticReads;
     FileSystemMasterBase mBase = new FileSystemMasterBase();
 
     @Setup(Level.Trial)
     public void setup() throws Exception {
       super.init(mDepth, mWidth, mFileCount, mDistribution);
+      Configuration.set(PropertyKey.MASTER_LOCK_POOL_STRIPED_ENABLED, mStripedLocks);
+      Configuration.set(PropertyKey.MASTER_FILE_SYSTEM_OPTIMISTIC_READ_ENABLED, mOptimisticReads);
       mBase.init();
       mBase.createPathDepths(mDepth);
       for (int d = 0; d < mDepth + 1; d++) {
@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.snapshot;
+
+import alluxio.annotation.SuppressFBWarnings;
+import alluxio.master.block.BlockId;
+import alluxio.master.file.meta.InodeLockManager;
+import alluxio.master.file.meta.InodeTreePersistentState;
+import alluxio.master.file.meta.TtlBucketList;
+import alluxio.master.journal.ParallelJournalReplayer;
+import alluxio.master.metastore.heap.HeapInodeStore;
+import alluxio.proto.journal.File.InodeDirectoryEntry;
+import alluxio.proto.journal.File.InodeFileEntry;
+import alluxio.proto.journal.File.UpdateInodeEntry;
+import alluxio.proto.journal.File.UpdateInodeFileEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how fast a standby master replays the journal entries of file creations with a
+ * {@link ParallelJournalReplayer}. The files are created in a number of directories, so the
+ * entries of files in different directories can be applied in parallel, while the entries of
+ * files in the same directory are applied in order as they update the directory.
+ */
+@SuppressFBWarnings("UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR")
+public class JournalReplayBench {
+  private static final String NOT_PERSISTED = "NOT_PERSISTED";
+
+  @State(Scope.Benchmark)
+  public static class Journal {
+    @Param({"1", "2", "4", "8"})
+    public int mParallelism;
+
+    @Param({"64"})
+    public int mDirectories;
+
+    @Param({"100000"})
+    public int mFiles;
+
+    /** The number of entries replicated together. */
+    @Param({"1000"})
+    public int mBatchSize;
+
+    ParallelJournalReplayer mReplayer;
+    List<JournalEntry> mDirectoryEntries;
+    List<List<JournalEntry>> mBatches;
+    InodeTreePersistentState mState;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      LogManager.getRootLogger().setLevel(org.apache.log4j.Level.ERROR);
+      mReplayer = new ParallelJournalReplayer(mParallelism);
+      long sequence = 0;
+      mDirectoryEntries = new ArrayList<>();
+      mDirectoryEntries.add(JournalEntry.newBuilder().setSequenceNumber(sequence++)
+          .setInodeDirectory(InodeDirectoryEntry.newBuilder().setId(0).setParentId(-1)
+              .setName("").setPersistenceState(NOT_PERSISTED)).build());
+      for (int i = 1; i <= mDirectories; i++) {
+        mDirectoryEntries.add(JournalEntry.newBuilder().setSequenceNumber(sequence++)
+            .setInodeDirectory(InodeDirectoryEntry.newBuilder().setId(i).setParentId(0)
+                .setName("dir" + i).setPersistenceState(NOT_PERSISTED)).build());
+      }
+      List<JournalEntry> entries = new ArrayList<>();
+      for (int i = 0; i < mFiles; i++) {
+        long id = BlockId.createBlockId(i, BlockId.getMaxSequenceNumber());
+        long parentId = 1 + i % mDirectories;
+        entries.add(JournalEntry.newBuilder().setSequenceNumber(sequence++)
+            .setInodeFile(InodeFileEntry.newBuilder().setId(id).setParentId(parentId)
+                .setName("file" + i).setPersistenceState(NOT_PERSISTED)
+                .setCreationTimeMs(i).setLastModificationTimeMs(i)).build());
+        entries.add(JournalEntry.newBuilder().setSequenceNumber(sequence++)
+            .setUpdateInode(UpdateInodeEntry.newBuilder().setId(parentId)
+                .setLastModificationTimeMs(i)).build());
+        entries.add(JournalEntry.newBuilder().setSequenceNumber(sequence++)
+            .setUpdateInodeFile(UpdateInodeFileEntry.newBuilder().setId(id)
+                .setCompleted(true).setLength(0)).build());
+      }
+      mBatches = new ArrayList<>();
+      for (int i = 0; i < entries.size(); i += mBatchSize) {
+        mBatches.add(entries.subList(i, Math.min(entries.size(), i + mBatchSize)));
+      }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+      HeapInodeStore inodeStore = new HeapInodeStore();
+      mState = new InodeTreePersistentState(inodeStore, new InodeLockManager(),
+          new TtlBucketList(inodeStore));
+      mDirectoryEntries.forEach(mState::processJournalEntry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      mReplayer.close();
+    }
+  }
+
+  @Benchmark
+  public void replay(Journal journal) {
+    for (List<JournalEntry> batch : journal.mBatches) {
+      journal.mReplayer.apply(batch, journal.mState::processJournalEntry);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .forks(0)
+        .parent(argsCli)
+        .include(JournalReplayBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker;
+
+import alluxio.AlluxioTestDirectory;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.worker.block.AllocateOptions;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.TieredBlockStore;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.BlockWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the latency of opening readers of blocks in a {@link TieredBlockStore}, while
+ * other blocks are moved between tiers or removed and re-created in the background, as done by
+ * the tier management tasks and eviction. Compare the {@code readOnly} group, where readers run
+ * alone, with the {@code readWithMoves} and {@code readWithRemoves} groups, where readers of
+ * unrelated blocks should not be delayed by the metadata updates.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockStoreMetadataLockBench {
+  private static final String TOP_TIER = "MEM";
+  private static final String BOTTOM_TIER = "SSD";
+  private static final String TIER_CAPACITY = "1GB";
+  private static final long WRITER_SESSION_ID = 1L;
+  private static final AtomicLong NEXT_SESSION_ID = new AtomicLong(2L);
+
+  @State(Scope.Benchmark)
+  public static class BenchParams {
+    /** Number of blocks read by the readers. */
+    @Param({"1000"})
+    public int mNumReadBlocks;
+
+    /** Number of blocks moved or removed in the background. */
+    @Param({"100"})
+    public int mNumUpdateBlocks;
+
+    @Param({"65536"})
+    public int mBlockSize;
+
+    public TieredBlockStore mStore;
+
+    public byte[] mData;
+
+    public long mUpdateBlockIdStart;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, 2);
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_ALIAS, TOP_TIER);
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_PATH,
+          AlluxioTestDirectory.createTemporaryDirectory("mem_tier").getAbsolutePath());
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_MEDIUMTYPE, TOP_TIER);
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_QUOTA, TIER_CAPACITY);
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL1_ALIAS, BOTTOM_TIER);
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL1_DIRS_PATH,
+          AlluxioTestDirectory.createTemporaryDirectory("ssd_tier").getAbsolutePath());
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL1_DIRS_MEDIUMTYPE, BOTTOM_TIER);
+      Configuration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL1_DIRS_QUOTA, TIER_CAPACITY);
+      // keep the management tasks from moving blocks by themselves
+      Configuration.set(PropertyKey.WORKER_MANAGEMENT_TIER_ALIGN_ENABLED, false);
+      Configuration.set(PropertyKey.WORKER_MANAGEMENT_TIER_PROMOTE_ENABLED, false);
+      Configuration.set(PropertyKey.WORKER_MANAGEMENT_TIER_SWAP_RESTORE_ENABLED, false);
+
+      mStore = new TieredBlockStore();
+      mData = new byte[mBlockSize];
+      ThreadLocalRandom.current().nextBytes(mData);
+      for (long blockId = 0; blockId < mNumReadBlocks; blockId++) {
+        createBlock(blockId);
+      }
+      mUpdateBlockIdStart = mNumReadBlocks;
+      for (int i = 0; i < mNumUpdateBlocks; i++) {
+        createBlock(mUpdateBlockIdStart + i);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+      mStore.close();
+      Configuration.reloadProperties();
+    }
+
+    /**
+     * Creates and commits a block in the top tier.
+     *
+     * @param blockId the block id
+     */
+    public void createBlock(long blockId) throws Exception {
+      mStore.createBlock(WRITER_SESSION_ID, blockId,
+          AllocateOptions.forCreate(mBlockSize, BlockStoreLocation.anyDirInTier(TOP_TIER)));
+      try (BlockWriter writer = mStore.createBlockWriter(WRITER_SESSION_ID, blockId)) {
+        writer.append(ByteBuffer.wrap(mData));
+      }
+      mStore.commitBlock(WRITER_SESSION_ID, blockId, false);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadParams {
+    public final long mSessionId = NEXT_SESSION_ID.getAndIncrement();
+
+    public long mNextUpdate;
+
+    public boolean mToBottomTier = true;
+  }
+
+  @Benchmark
+  @Group("readOnly")
+  @GroupThreads(8)
+  public void readOnlyReader(BenchParams params, ThreadParams thread, Blackhole bh)
+      throws Exception {
+    read(params, thread, bh);
+  }
+
+  @Benchmark
+  @Group("readWithMoves")
+  @GroupThreads(8)
+  public void readWithMovesReader(BenchParams params, ThreadParams thread, Blackhole bh)
+      throws Exception {
+    read(params, thread, bh);
+  }
+
+  @Benchmark
+  @Group("readWithMoves")
+  @GroupThreads(1)
+  public void readWithMovesMover(BenchParams params, ThreadParams thread) throws Exception {
+    long blockId = params.mUpdateBlockIdStart + thread.mNextUpdate;
+    String tier = thread.mToBottomTier ? BOTTOM_TIER : TOP_TIER;
+    params.mStore.moveBlock(thread.mSessionId, blockId,
+        AllocateOptions.forTierMove(BlockStoreLocation.anyDirInTier(tier)));
+    if (++thread.mNextUpdate == params.mNumUpdateBlocks) {
+      thread.mNextUpdate = 0;
+      thread.mToBottomTier = !thread.mToBottomTier;
+    }
+  }
+
+  @Benchmark
+  @Group("readWithRemoves")
+  @GroupThreads(8)
+  public void readWithRemovesReader(BenchParams params, ThreadParams thread, Blackhole bh)
+      throws Exception {
+    read(params, thread, bh);
+  }
+
+  @Benchmark
+  @Group("readWithRemoves")
+  @GroupThreads(1)
+  public void readWithRemovesRemover(BenchParams params, ThreadParams thread) throws Exception {
+    long blockId = params.mUpdateBlockIdStart + thread.mNextUpdate;
+    params.mStore.removeBlock(thread.mSessionId, blockId);
+    params.createBlock(blockId);
+    thread.mNextUpdate = (thread.mNextUpdate + 1) % params.mNumUpdateBlocks;
+  }
+
+  private static void read(BenchParams params, ThreadParams thread, Blackhole bh)
+      throws Exception {
+    long blockId = ThreadLocalRandom.current().nextInt(params.mNumReadBlocks);
+    try (BlockReader reader = params.mStore.createBlockReader(thread.mSessionId, blockId, 0)) {
+      bh.consume(reader.getLength());
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(BlockStoreMetadataLockBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}